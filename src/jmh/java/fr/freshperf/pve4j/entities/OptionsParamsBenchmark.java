@@ -0,0 +1,107 @@
+package fr.freshperf.pve4j.entities;
+
+import fr.freshperf.pve4j.entities.nodes.node.PveNodeTasksOptions;
+import fr.freshperf.pve4j.entities.nodes.node.lxc.PveLxcCreateOptions;
+import fr.freshperf.pve4j.entities.nodes.node.qemu.PveQemuCloneOptions;
+import fr.freshperf.pve4j.entities.nodes.node.qemu.PveQemuConfigUpdateOptions;
+import fr.freshperf.pve4j.entities.nodes.node.qemu.PveQemuCreateOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning the create and update options into request parameters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OptionsParamsBenchmark {
+
+    private PveQemuCreateOptions qemuCreate;
+    private PveQemuConfigUpdateOptions qemuConfigUpdate;
+    private PveQemuCloneOptions qemuClone;
+    private PveLxcCreateOptions lxcCreate;
+    private PveNodeTasksOptions nodeTasks;
+
+    @Setup
+    public void setUp() {
+        qemuCreate = PveQemuCreateOptions.builder()
+                .name("web-01")
+                .memory(8192)
+                .cores(4)
+                .sockets(1)
+                .cpu("x86-64-v2-AES")
+                .ostype("l26")
+                .scsihw("virtio-scsi-single")
+                .scsi(0, "local-lvm:64,iothread=1,ssd=1")
+                .net(0, "virtio,bridge=vmbr0,firewall=1,tag=20")
+                .cdrom("local:iso/debian-12.5.0-amd64-netinst.iso")
+                .boot("order=scsi0;ide2;net0")
+                .agent(true)
+                .onboot(true)
+                .build();
+        qemuConfigUpdate = PveQemuConfigUpdateOptions.builder()
+                .cores(8)
+                .memory(16384)
+                .description("Front web server")
+                .tags("web;prod")
+                .net(1, "virtio,bridge=vmbr1")
+                .scsi(1, "ceph-pool:256,iothread=1")
+                .ipconfig(0, "ip=10.0.20.14/24,gw=10.0.20.1")
+                .onboot(true);
+        qemuClone = PveQemuCloneOptions.builder()
+                .name("web-02")
+                .target("pve2")
+                .storage("ceph-pool")
+                .full(true);
+        lxcCreate = PveLxcCreateOptions.builder()
+                .ostemplate("local:vztmpl/debian-12-standard_12.2-1_amd64.tar.zst")
+                .hostname("ct-01")
+                .memory(2048)
+                .swap(512)
+                .cores(2)
+                .rootfs("local-lvm:16")
+                .net(0, "name=eth0,bridge=vmbr0,ip=dhcp")
+                .unprivileged(true)
+                .onboot(true)
+                .build();
+        nodeTasks = PveNodeTasksOptions.builder()
+                .limit(50)
+                .vmid(104)
+                .typefilter("qmstart")
+                .errors(false)
+                .build();
+    }
+
+    @Benchmark
+    public Map<String, Object> qemuCreate() {
+        return qemuCreate.toParams(104);
+    }
+
+    @Benchmark
+    public Map<String, Object> qemuConfigUpdate() {
+        return qemuConfigUpdate.toParams();
+    }
+
+    @Benchmark
+    public Map<String, Object> qemuClone() {
+        return qemuClone.toParams(105);
+    }
+
+    @Benchmark
+    public Map<String, Object> lxcCreate() {
+        return lxcCreate.toParams(200);
+    }
+
+    @Benchmark
+    public Map<String, Object> nodeTasks() {
+        return nodeTasks.toParams();
+    }
+}
@@ -0,0 +1,26 @@
+package fr.freshperf.pve4j.entities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing a UPID, done for every task returned by a mutating call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PveTaskBenchmark {
+
+    private String upid = "UPID:pve3:0012A3F4:03B2C1D0:6650A1B2:qmstart:104:root@pam:";
+
+    @Benchmark
+    public PveTask parseUpid() {
+        return new PveTask(upid);
+    }
+}
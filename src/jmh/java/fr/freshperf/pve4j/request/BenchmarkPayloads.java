@@ -0,0 +1,128 @@
+package fr.freshperf.pve4j.request;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Synthetic API responses shaped like those of a mid-sized cluster.
+ */
+final class BenchmarkPayloads {
+
+    static final String UPID = "UPID:pve3:0012A3F4:03B2C1D0:6650A1B2:qmstart:104:root@pam:";
+
+    private BenchmarkPayloads() {
+    }
+
+    static byte[] clusterResources(int guests) {
+        StringBuilder json = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < guests; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int vmid = 100 + i;
+            json.append("{\"id\":\"qemu/").append(vmid).append("\",\"type\":\"qemu\",\"node\":\"pve").append(i % 16)
+                .append("\",\"vmid\":").append(vmid).append(",\"name\":\"vm-").append(i)
+                .append("\",\"status\":\"running\",\"cpu\":0.0123,\"maxcpu\":4,\"mem\":2147483648,\"maxmem\":4294967296")
+                .append(",\"disk\":0,\"maxdisk\":34359738368,\"uptime\":123456,\"netin\":123456789,\"netout\":987654321")
+                .append(",\"template\":0,\"tags\":\"web;prod\",\"pool\":\"pool").append(i % 8)
+                .append("\",\"hastate\":\"started\",\"shared\":0}");
+        }
+        return bytes(json.append("]}"));
+    }
+
+    static byte[] qemuConfig() {
+        return bytes(new StringBuilder("{\"data\":{")
+            .append("\"name\":\"web-01\",\"description\":\"Front web server\",\"tags\":\"web;prod\",")
+            .append("\"digest\":\"3f1c2a9be0d4f6a7c8b9d0e1f2a3b4c5d6e7f809\",\"ostype\":\"l26\",")
+            .append("\"machine\":\"pc-q35-8.1\",\"bios\":\"ovmf\",\"boot\":\"order=scsi0;ide2;net0\",")
+            .append("\"smbios1\":\"uuid=6c1b0f2e-8a3d-4b5c-9e7f-0a1b2c3d4e5f\",\"vmgenid\":\"0d6f8a2c-1b3e-4c5d-8e9f-a0b1c2d3e4f5\",")
+            .append("\"cpu\":\"x86-64-v2-AES\",\"sockets\":1,\"cores\":4,\"numa\":0,\"cpuunits\":1024,")
+            .append("\"memory\":\"8192\",\"balloon\":2048,\"acpi\":1,\"kvm\":1,\"onboot\":1,\"protection\":0,")
+            .append("\"agent\":\"enabled=1,fstrim_cloned_disks=1\",\"scsihw\":\"virtio-scsi-single\",")
+            .append("\"scsi0\":\"local-lvm:vm-104-disk-0,iothread=1,size=64G,ssd=1\",")
+            .append("\"scsi1\":\"ceph-pool:vm-104-disk-1,iothread=1,size=256G\",")
+            .append("\"efidisk0\":\"local-lvm:vm-104-disk-2,efitype=4m,pre-enrolled-keys=1,size=4M\",")
+            .append("\"ide2\":\"local:iso/debian-12.5.0-amd64-netinst.iso,media=cdrom,size=629M\",")
+            .append("\"net0\":\"virtio=BC:24:11:4E:7A:01,bridge=vmbr0,firewall=1,tag=20\",")
+            .append("\"net1\":\"virtio=BC:24:11:4E:7A:02,bridge=vmbr1\",")
+            .append("\"ipconfig0\":\"ip=10.0.20.14/24,gw=10.0.20.1\",\"ciuser\":\"debian\",")
+            .append("\"meta\":\"creation-qemu=8.1.5,ctime=1716560000\",\"startup\":\"order=2,up=30\"")
+            .append("}}"));
+    }
+
+    static byte[] qemuStatus() {
+        return bytes(new StringBuilder("{\"data\":{")
+            .append("\"vmid\":104,\"name\":\"web-01\",\"status\":\"running\",\"qmpstatus\":\"running\",")
+            .append("\"cpus\":4,\"cpu\":0.0421,\"pid\":182734,\"uptime\":1209600,\"tags\":\"web;prod\",")
+            .append("\"maxmem\":8589934592,\"mem\":3221225472,\"maxdisk\":68719476736,\"disk\":0,")
+            .append("\"netin\":98765432101,\"netout\":12345678901,\"diskread\":4567890123,\"diskwrite\":7890123456,")
+            .append("\"agent\":1,\"running-machine\":\"pc-q35-8.1+pve0\",\"running-qemu\":\"8.1.5\",")
+            .append("\"ha\":{\"managed\":1,\"state\":\"started\",\"group\":\"prod\"},")
+            .append("\"ballooninfo\":{\"actual\":8589934592,\"max_mem\":8589934592,\"total_mem\":8328843264,")
+            .append("\"free_mem\":5107617792,\"mem_swapped_in\":0,\"mem_swapped_out\":0,\"major_page_faults\":412,")
+            .append("\"minor_page_faults\":8123456,\"last_update\":1716560000}")
+            .append("}}"));
+    }
+
+    static byte[] nodeTasks(int tasks) {
+        StringBuilder json = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < tasks; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int vmid = 100 + i % 200;
+            json.append("{\"upid\":\"UPID:pve3:0012").append(String.format("%04X", i))
+                .append(":03B2C1D0:6650A1B2:qmstart:").append(vmid).append(":root@pam:\",")
+                .append("\"node\":\"pve3\",\"pid\":").append(1_200_000 + i).append(",\"pstart\":62046672,")
+                .append("\"starttime\":").append(1_716_560_000 + i).append(",\"endtime\":").append(1_716_560_004 + i)
+                .append(",\"type\":\"qmstart\",\"id\":\"").append(vmid).append("\",\"user\":\"root@pam\",")
+                .append("\"status\":\"OK\"}");
+        }
+        return bytes(json.append("]}"));
+    }
+
+    static byte[] taskStatus() {
+        return bytes(new StringBuilder("{\"data\":{")
+            .append("\"upid\":\"").append(UPID).append("\",\"node\":\"pve3\",\"pid\":1221620,\"pstart\":62046672,")
+            .append("\"starttime\":1716560306,\"type\":\"qmstart\",\"id\":\"104\",\"user\":\"root@pam\",")
+            .append("\"status\":\"stopped\",\"exitstatus\":\"OK\"")
+            .append("}}"));
+    }
+
+    static byte[] nodes(int nodes) {
+        StringBuilder json = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < nodes; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"node\":\"pve").append(i).append("\",\"status\":\"online\",\"level\":\"\",")
+                .append("\"id\":\"node/pve").append(i).append("\",\"type\":\"node\",\"cpu\":0.0734,\"maxcpu\":64,")
+                .append("\"mem\":201863462912,\"maxmem\":540950433792,\"disk\":18253611008,\"maxdisk\":100861726720,")
+                .append("\"uptime\":3456789,\"ssl_fingerprint\":")
+                .append("\"5A:1F:9C:3B:7E:22:D4:08:6F:A1:B3:C5:D7:E9:F0:12:34:56:78:9A:BC:DE:F0:11:22:33:44:55:66:77:88:99\"}");
+        }
+        return bytes(json.append("]}"));
+    }
+
+    static byte[] storageContent(int volumes) {
+        StringBuilder json = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < volumes; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int vmid = 100 + i / 2;
+            json.append("{\"volid\":\"ceph-pool:vm-").append(vmid).append("-disk-").append(i % 2)
+                .append("\",\"format\":\"raw\",\"content\":\"images\",\"size\":").append(34_359_738_368L * (1 + i % 4))
+                .append(",\"used\":").append(12_884_901_888L + i).append(",\"vmid\":").append(vmid)
+                .append(",\"ctime\":").append(1_700_000_000 + i).append("}");
+        }
+        return bytes(json.append("]}"));
+    }
+
+    static byte[] version() {
+        return bytes(new StringBuilder("{\"data\":{\"version\":\"8.2.2\",\"release\":\"8.2\",\"repoid\":\"9355359cd7afbae4\"}}"));
+    }
+
+    private static byte[] bytes(StringBuilder json) {
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
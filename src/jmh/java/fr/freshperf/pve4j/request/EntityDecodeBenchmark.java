@@ -0,0 +1,98 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import fr.freshperf.pve4j.entities.PveTaskStatus;
+import fr.freshperf.pve4j.entities.PveVersion;
+import fr.freshperf.pve4j.entities.cluster.resources.PveClusterResources;
+import fr.freshperf.pve4j.entities.nodes.PveNodesIndex;
+import fr.freshperf.pve4j.entities.nodes.node.PveNodeTask;
+import fr.freshperf.pve4j.entities.nodes.node.qemu.PveQemuConfig;
+import fr.freshperf.pve4j.entities.nodes.node.qemu.PveQemuStatus;
+import fr.freshperf.pve4j.entities.nodes.node.storage.PveStorageContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of decoding the response of each major endpoint, the way
+ * {@link ProxmoxHttpClient} does it: streamed through {@link ProxmoxResponseDecoder} with the
+ * {@link ProxmoxTypeAdapterFactory} registered, and the former way for comparison: the body read
+ * into a String, parsed into a tree, rewritten by {@link ProxmoxResponseTransformer} and bound
+ * with a plain Gson. Run with {@code -prof gc} to compare the allocation per response
+ * ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class EntityDecodeBenchmark {
+
+    @Param({"clusterResources", "qemuConfig", "qemuStatus", "nodeTasks", "taskStatus", "nodes",
+            "storageContent", "version"})
+    public String entity;
+
+    private final ProxmoxResponseDecoder decoder = new ProxmoxResponseDecoder(new GsonBuilder()
+            .registerTypeAdapterFactory(new ProxmoxTypeAdapterFactory())
+            .create());
+    private final Gson plainGson = new Gson();
+    @SuppressWarnings("deprecation")
+    private final ProxmoxResponseTransformer transformer = new ProxmoxResponseTransformer();
+    private byte[] payload;
+    private Type type;
+    private Class<?> elementClass;
+
+    @Setup
+    public void setUp() {
+        switch (entity) {
+            case "clusterResources" -> list(BenchmarkPayloads.clusterResources(500), PveClusterResources.class);
+            case "qemuConfig" -> single(BenchmarkPayloads.qemuConfig(), PveQemuConfig.class);
+            case "qemuStatus" -> single(BenchmarkPayloads.qemuStatus(), PveQemuStatus.class);
+            case "nodeTasks" -> list(BenchmarkPayloads.nodeTasks(50), PveNodeTask.class);
+            case "taskStatus" -> single(BenchmarkPayloads.taskStatus(), PveTaskStatus.class);
+            case "nodes" -> list(BenchmarkPayloads.nodes(16), PveNodesIndex.class);
+            case "storageContent" -> list(BenchmarkPayloads.storageContent(200), PveStorageContent.class);
+            case "version" -> single(BenchmarkPayloads.version(), PveVersion.class);
+            default -> throw new IllegalArgumentException("Unknown entity: " + entity);
+        }
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return decoder.decode(new ByteArrayInputStream(payload), type, null, elementClass);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Object decodeTree() {
+        JsonElement data = JsonParser.parseString(new String(payload, StandardCharsets.UTF_8))
+                .getAsJsonObject().get("data");
+        return plainGson.fromJson(transformer.transform(data, elementClass), type);
+    }
+
+    private void single(byte[] payload, Class<?> clazz) {
+        this.payload = payload;
+        this.type = clazz;
+        this.elementClass = clazz;
+    }
+
+    private void list(byte[] payload, Class<?> clazz) {
+        this.payload = payload;
+        this.type = TypeToken.getParameterized(List.class, clazz).getType();
+        this.elementClass = clazz;
+    }
+}
@@ -0,0 +1,55 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import fr.freshperf.pve4j.entities.cluster.resources.PveClusterResources;
+import fr.freshperf.pve4j.entities.nodes.node.qemu.PveQemuConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the legacy {@link ProxmoxResponseTransformer}, still run for requests setting it
+ * explicitly, on an already parsed {@code data} element.
+ */
+@SuppressWarnings("deprecation")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ResponseTransformBenchmark {
+
+    @Param({"100", "1000"})
+    public int guests;
+
+    private final ProxmoxResponseTransformer transformer = new ProxmoxResponseTransformer();
+    private JsonElement clusterResources;
+    private JsonElement qemuConfig;
+
+    @Setup
+    public void setUp() {
+        clusterResources = data(BenchmarkPayloads.clusterResources(guests));
+        qemuConfig = data(BenchmarkPayloads.qemuConfig());
+    }
+
+    @Benchmark
+    public JsonElement clusterResources() {
+        return transformer.transform(clusterResources, PveClusterResources.class);
+    }
+
+    @Benchmark
+    public JsonElement qemuConfig() {
+        return transformer.transform(qemuConfig, PveQemuConfig.class);
+    }
+
+    private static JsonElement data(byte[] payload) {
+        return JsonParser.parseString(new String(payload, StandardCharsets.UTF_8)).getAsJsonObject().get("data");
+    }
+}
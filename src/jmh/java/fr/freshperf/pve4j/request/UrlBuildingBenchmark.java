@@ -0,0 +1,57 @@
+package fr.freshperf.pve4j.request;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ProxmoxHttpClient#buildUrl(String, String, Map)}: path joining and the
+ * encoding of the query parameters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class UrlBuildingBenchmark {
+
+    private static final String BASE = "https://pve.example.com:8006/api2/json/";
+    private static final String PATH = "nodes/pve1/qemu/104/config";
+
+    @Param({"0", "3", "12"})
+    public int paramCount;
+
+    private Map<String, Object> params;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> all = new LinkedHashMap<>();
+        all.put("cores", 4);
+        all.put("memory", 8192);
+        all.put("onboot", true);
+        all.put("name", "web-01");
+        all.put("description", "Front web server, managed by the deploy pipeline");
+        all.put("net0", "virtio=BC:24:11:4E:7A:01,bridge=vmbr0,firewall=1,tag=20");
+        all.put("scsi0", "local-lvm:vm-104-disk-0,iothread=1,size=64G,ssd=1");
+        all.put("ipconfig0", "ip=10.0.20.14/24,gw=10.0.20.1");
+        all.put("tags", "web;prod");
+        all.put("boot", "order=scsi0;ide2;net0");
+        all.put("ciuser", "debian");
+        all.put("sshkeys", "ssh-ed25519 AAAAC3NzaC1lZDI1NTE5AAAAIOb3x7 deploy@ci");
+
+        params = new LinkedHashMap<>();
+        all.entrySet().stream().limit(paramCount).forEach(entry -> params.put(entry.getKey(), entry.getValue()));
+    }
+
+    @Benchmark
+    public String buildUrl() {
+        return ProxmoxHttpClient.buildUrl(BASE, PATH, params);
+    }
+}
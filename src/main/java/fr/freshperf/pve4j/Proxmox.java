@@ -1,6 +1,7 @@
 package fr.freshperf.pve4j;
 
 import fr.freshperf.pve4j.entities.PveTask;
+import fr.freshperf.pve4j.entities.PveTaskLog;
 import fr.freshperf.pve4j.entities.PveTaskStatus;
 import fr.freshperf.pve4j.entities.PveVersion;
 import fr.freshperf.pve4j.entities.access.PveAccess;
@@ -8,11 +9,15 @@ import fr.freshperf.pve4j.entities.access.PveAccessTicket;
 import fr.freshperf.pve4j.entities.cluster.PveCluster;
 import fr.freshperf.pve4j.entities.nodes.PveNodes;
 import fr.freshperf.pve4j.entities.pools.PvePools;
+import fr.freshperf.pve4j.inventory.ClusterInventory;
+import fr.freshperf.pve4j.request.ProxmoxEndpointPool;
 import fr.freshperf.pve4j.request.ProxmoxHttpClient;
 import fr.freshperf.pve4j.request.ProxmoxRequest;
 import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
 import fr.freshperf.pve4j.util.ProxmoxApiBaseUrlBuilder;
 
+import java.util.List;
+
 /**
  * Main entry point for the Proxmox VE API client.
  * Provides access to cluster, nodes, and access management endpoints.
@@ -25,6 +30,7 @@ public class Proxmox {
     private final PveNodes pveNodes;
     private final PveAccess pveAccess;
     private final PvePools pvePools;
+    private final ClusterInventory inventory;
 
     /**
      * Creates a new Proxmox client with API key authentication.
@@ -33,14 +39,16 @@ public class Proxmox {
      * @param port           the API port (usually 8006)
      * @param apikey         the API token for authentication
      * @param securityConfig SSL/TLS security configuration
+     * @param transportConfig HTTP transport configuration
      */
-    private Proxmox(String host, int port, String apikey, SecurityConfig securityConfig) {
+    private Proxmox(String host, int port, String apikey, SecurityConfig securityConfig, TransportConfig transportConfig) {
         this.httpClient = new ProxmoxHttpClient(
                 ProxmoxApiBaseUrlBuilder.buildApiBaseUrl(host, port)
-                , apikey, securityConfig);
+                , apikey, securityConfig, transportConfig);
 
         this.pveCluster = new PveCluster(httpClient);
-        this.pveNodes = new PveNodes(httpClient);
+        this.inventory = new ClusterInventory(pveCluster);
+        this.pveNodes = new PveNodes(httpClient, inventory);
         this.pveAccess = new PveAccess(httpClient);
         this.pvePools = new PvePools(httpClient);
     }
@@ -53,7 +61,8 @@ public class Proxmox {
     private Proxmox(ProxmoxHttpClient httpClient) {
         this.httpClient = httpClient;
         this.pveCluster = new PveCluster(httpClient);
-        this.pveNodes = new PveNodes(httpClient);
+        this.inventory = new ClusterInventory(pveCluster);
+        this.pveNodes = new PveNodes(httpClient, inventory);
         this.pveAccess = new PveAccess(httpClient);
         this.pvePools = new PvePools(httpClient);
     }
@@ -77,7 +86,22 @@ public class Proxmox {
      * @return A new Proxmox instance
      */
     public static Proxmox create(String host, int port, String apikey, SecurityConfig securityConfig) {
-        return new Proxmox(host, port, apikey, securityConfig);
+        return new Proxmox(host, port, apikey, securityConfig, TransportConfig.defaults());
+    }
+
+    /**
+     * Creates a Proxmox API client with custom security and transport configuration.
+     *
+     * @param host The Proxmox host address
+     * @param port The Proxmox API port (usually 8006 or 443)
+     * @param apikey The API token for authentication
+     * @param securityConfig Security configuration for SSL/TLS
+     * @param transportConfig Configuration of the HTTP transport (protocol, timeouts, connection reuse)
+     * @return A new Proxmox instance
+     */
+    public static Proxmox create(String host, int port, String apikey, SecurityConfig securityConfig,
+                                 TransportConfig transportConfig) {
+        return new Proxmox(host, port, apikey, securityConfig, transportConfig);
     }
 
     /**
@@ -89,7 +113,54 @@ public class Proxmox {
      * @return A new Proxmox instance with all security checks enabled
      */
     public static Proxmox create(String host, int port, String apikey) {
-        return new Proxmox(host, port, apikey, SecurityConfig.secure());
+        return new Proxmox(host, port, apikey, SecurityConfig.secure(), TransportConfig.defaults());
+    }
+
+    /**
+     * Creates a Proxmox API client spreading requests across several cluster nodes.
+     * Requests go to the node with the fewest requests in flight, and a node that stops
+     * answering is skipped until it recovers.
+     *
+     * @param hosts The Proxmox host addresses
+     * @param port The Proxmox API port (usually 8006 or 443)
+     * @param apikey The API token for authentication
+     * @param securityConfig Security configuration for SSL/TLS
+     * @return A new Proxmox instance
+     */
+    public static Proxmox create(List<String> hosts, int port, String apikey, SecurityConfig securityConfig) {
+        return create(hosts, port, apikey, securityConfig, TransportConfig.defaults());
+    }
+
+    /**
+     * Creates a Proxmox API client spreading requests across several cluster nodes,
+     * with custom security and transport configuration.
+     *
+     * @param hosts The Proxmox host addresses
+     * @param port The Proxmox API port (usually 8006 or 443)
+     * @param apikey The API token for authentication
+     * @param securityConfig Security configuration for SSL/TLS
+     * @param transportConfig Configuration of the HTTP transport (protocol, timeouts, connection reuse)
+     * @return A new Proxmox instance
+     */
+    public static Proxmox create(List<String> hosts, int port, String apikey, SecurityConfig securityConfig,
+                                 TransportConfig transportConfig) {
+        List<String> baseUrls = ProxmoxApiBaseUrlBuilder.buildApiBaseUrls(hosts, port);
+        ProxmoxHttpClient client = new ProxmoxHttpClient(baseUrls.get(0), apikey, securityConfig, transportConfig);
+        client.setEndpointPool(ProxmoxEndpointPool.of(baseUrls, ProxmoxEndpointPool.Strategy.LEAST_OUTSTANDING));
+        return new Proxmox(client);
+    }
+
+    /**
+     * Creates a Proxmox API client spreading requests across several cluster nodes,
+     * with default secure settings.
+     *
+     * @param hosts The Proxmox host addresses
+     * @param port The Proxmox API port (usually 8006 or 443)
+     * @param apikey The API token for authentication
+     * @return A new Proxmox instance with all security checks enabled
+     */
+    public static Proxmox create(List<String> hosts, int port, String apikey) {
+        return create(hosts, port, apikey, SecurityConfig.secure());
     }
 
     /**
@@ -107,8 +178,29 @@ public class Proxmox {
      * @throws InterruptedException If the request is interrupted
      */
     public static Proxmox createWithPassword(String host, int port, String username, String password, String realm, SecurityConfig securityConfig) throws ProxmoxAPIError, InterruptedException {
+        return createWithPassword(host, port, username, password, realm, securityConfig, TransportConfig.defaults());
+    }
+
+    /**
+     * Creates a Proxmox API client using username and password authentication, with custom
+     * security and transport configuration.
+     *
+     * @param host The Proxmox host address
+     * @param port The Proxmox API port (usually 8006 or 443)
+     * @param username The username for authentication
+     * @param password The password for authentication
+     * @param realm The authentication realm (default: pam)
+     * @param securityConfig Security configuration for SSL/TLS
+     * @param transportConfig Configuration of the HTTP transport (protocol, timeouts, connection reuse)
+     * @return A new Proxmox instance authenticated with username/password
+     * @throws ProxmoxAPIError If authentication fails
+     * @throws InterruptedException If the request is interrupted
+     */
+    public static Proxmox createWithPassword(String host, int port, String username, String password, String realm,
+                                             SecurityConfig securityConfig, TransportConfig transportConfig)
+            throws ProxmoxAPIError, InterruptedException {
         String baseUrl = ProxmoxApiBaseUrlBuilder.buildApiBaseUrl(host, port);
-        ProxmoxHttpClient tempClient = ProxmoxHttpClient.createUnauthenticated(baseUrl, securityConfig);
+        ProxmoxHttpClient tempClient = ProxmoxHttpClient.createUnauthenticated(baseUrl, securityConfig, transportConfig);
         PveAccess tempAccess = new PveAccess(tempClient);
         
         PveAccessTicket ticket = tempAccess.getTicket(username, password, realm).execute();
@@ -117,7 +209,8 @@ public class Proxmox {
             baseUrl, 
             ticket.getTicket(), 
             ticket.getCSRFPreventionToken(), 
-            securityConfig
+            securityConfig,
+            transportConfig
         );
         
         return new Proxmox(authenticatedClient);
@@ -162,9 +255,7 @@ public class Proxmox {
      * @return a request that returns the Proxmox version details
      */
     public ProxmoxRequest<PveVersion> getVersion() {
-        return new ProxmoxRequest<>(() -> {
-            return httpClient.get("/version").execute(PveVersion.class);
-        });
+        return new ProxmoxRequest<>(httpClient.get("/version"), PveVersion.class);
     }
 
     /**
@@ -178,10 +269,9 @@ public class Proxmox {
         if (task == null || task.getUpid() == null || task.getNode() == null) {
             throw new IllegalArgumentException("Task and its UPID and node must not be null");
         }
-        return new ProxmoxRequest<>(() -> {
-            return httpClient.get("nodes/" + task.getNode() + "/tasks/" + task.getUpid() + "/status")
-                    .execute(PveTaskStatus.class);
-        });
+        return new ProxmoxRequest<>(
+                httpClient.get("nodes/" + task.getNode() + "/tasks/" + task.getUpid() + "/status"),
+                PveTaskStatus.class);
     }
 
     /**
@@ -196,10 +286,20 @@ public class Proxmox {
         if (node == null || upid == null) {
             throw new IllegalArgumentException("Node and UPID must not be null");
         }
-        return new ProxmoxRequest<>(() -> {
-            return httpClient.get("nodes/" + node + "/tasks/" + upid + "/status")
-                    .execute(PveTaskStatus.class);
-        });
+        return new ProxmoxRequest<>(
+                httpClient.get("nodes/" + node + "/tasks/" + upid + "/status"),
+                PveTaskStatus.class);
+    }
+
+    /**
+     * Gets an incremental reader for the log of a task.
+     *
+     * @param task the task whose log is read (must have valid UPID and node)
+     * @return a log reader starting at the first line
+     * @throws IllegalArgumentException if task, UPID, or node is null
+     */
+    public PveTaskLog getTaskLog(PveTask task) {
+        return new PveTaskLog(this, task);
     }
 
     /**
@@ -211,6 +311,16 @@ public class Proxmox {
         return pveCluster;
     }
 
+    /**
+     * Gets the cluster inventory, an in-memory index of the cluster resources.
+     * It is empty until refreshed, see {@link ClusterInventory#start(java.time.Duration)}.
+     *
+     * @return the cluster inventory
+     */
+    public ClusterInventory getInventory() {
+        return inventory;
+    }
+
     /**
      * Gets the nodes management interface.
      *
@@ -0,0 +1,249 @@
+package fr.freshperf.pve4j;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration of the HTTP transport used to reach the Proxmox API.
+ * Use the builder pattern to customize the protocol, timeouts and connection reuse.
+ *
+ * <p>pveproxy only speaks HTTP/1.1, so this is the default: asking for HTTP/2 only makes the
+ * client offer it during the TLS handshake of every new connection, or send an upgrade attempt
+ * over plain HTTP, before falling back.</p>
+ *
+ * <p>The keep-alive and idle connection settings are not applied by the client: the JDK HTTP
+ * client only reads them from JVM-wide system properties, so an application opts in by calling
+ * {@link #applyConnectionSettings()} itself, before any HTTP client is created.</p>
+ *
+ * <pre>{@code
+ * TransportConfig transport = TransportConfig.builder()
+ *         .connectTimeout(Duration.ofSeconds(5))
+ *         .requestTimeout(Duration.ofSeconds(30))
+ *         .keepAlive(Duration.ofMinutes(2))
+ *         .build();
+ * transport.applyConnectionSettings();
+ * Proxmox proxmox = Proxmox.create("pve1", 8006, token, SecurityConfig.secure(), transport);
+ * }</pre>
+ *
+ * @since 0.1.0
+ */
+public class TransportConfig {
+
+    static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+
+    private final HttpClient.Version version;
+    private final Duration connectTimeout;
+    private final Duration requestTimeout;
+    private final Executor executor;
+    private final Duration keepAlive;
+    private final int maxIdleConnections;
+
+    private TransportConfig(Builder builder) {
+        this.version = builder.version;
+        this.connectTimeout = builder.connectTimeout;
+        this.requestTimeout = builder.requestTimeout;
+        this.executor = builder.executor;
+        this.keepAlive = builder.keepAlive;
+        this.maxIdleConnections = builder.maxIdleConnections;
+    }
+
+    /**
+     * Returns the HTTP protocol version.
+     *
+     * @return the protocol version
+     */
+    public HttpClient.Version getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the timeout for establishing a connection.
+     *
+     * @return the connect timeout
+     */
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Returns the timeout of each HTTP request, until its response headers arrive.
+     *
+     * @return the request timeout, or null for none
+     */
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Returns the executor running the HTTP client's asynchronous work.
+     *
+     * @return the executor, or null for the JDK default
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns how long an idle connection is kept open for reuse.
+     *
+     * @return the keep-alive duration, or null for the JDK default
+     */
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * Returns the number of idle connections kept open for reuse.
+     *
+     * @return the number of connections, or 0 for no limit
+     */
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    /**
+     * Creates a builder for TransportConfig with the default settings: HTTP/1.1, a 10-second
+     * connect timeout and no request timeout.
+     *
+     * @return a new TransportConfig builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a TransportConfig with the default settings.
+     *
+     * @return a default configuration instance
+     */
+    public static TransportConfig defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Sets the keep-alive and idle connection settings as the system properties the JDK HTTP
+     * client reads them from. Clients never call this: the properties apply to every HTTP client
+     * of the JVM, this library's or not, and are only read when the first one is created, so an
+     * application calls it once at startup. Properties already set, such as on the command line,
+     * are kept.
+     */
+    public void applyConnectionSettings() {
+        if (keepAlive != null && System.getProperty(KEEP_ALIVE_PROPERTY) == null) {
+            System.setProperty(KEEP_ALIVE_PROPERTY, Long.toString(Math.max(1, keepAlive.toSeconds())));
+        }
+        if (maxIdleConnections > 0 && System.getProperty(POOL_SIZE_PROPERTY) == null) {
+            System.setProperty(POOL_SIZE_PROPERTY, Integer.toString(maxIdleConnections));
+        }
+    }
+
+    /**
+     * Builder for constructing TransportConfig instances.
+     */
+    public static class Builder {
+        private HttpClient.Version version = HttpClient.Version.HTTP_1_1;
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration requestTimeout;
+        private Executor executor;
+        private Duration keepAlive;
+        private int maxIdleConnections;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the HTTP protocol version (HTTP/1.1 by default).
+         *
+         * @param version the protocol version
+         * @return this builder for chaining
+         */
+        public Builder version(HttpClient.Version version) {
+            if (version == null) {
+                throw new IllegalArgumentException("Version can't be null.");
+            }
+            this.version = version;
+            return this;
+        }
+
+        /**
+         * Sets the timeout for establishing a connection (10 seconds by default).
+         *
+         * @param connectTimeout the connect timeout
+         * @return this builder for chaining
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            if (connectTimeout == null || connectTimeout.isNegative() || connectTimeout.isZero()) {
+                throw new IllegalArgumentException("Connect timeout must be positive.");
+            }
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the timeout of each HTTP request, until its response headers arrive. A request
+         * with a shorter deadline uses the time left instead.
+         *
+         * @param requestTimeout the request timeout, or null for none (the default)
+         * @return this builder for chaining
+         */
+        public Builder requestTimeout(Duration requestTimeout) {
+            if (requestTimeout != null && (requestTimeout.isNegative() || requestTimeout.isZero())) {
+                throw new IllegalArgumentException("Request timeout must be positive.");
+            }
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the executor running the HTTP client's asynchronous work, such as completing
+         * the futures of {@code executeAsync()}.
+         *
+         * @param executor the executor, or null for the JDK default
+         * @return this builder for chaining
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets how long an idle connection is kept open for reuse. Only applied by
+         * {@link TransportConfig#applyConnectionSettings()}, for the whole JVM.
+         *
+         * @param keepAlive the keep-alive duration, at least one second
+         * @return this builder for chaining
+         */
+        public Builder keepAlive(Duration keepAlive) {
+            if (keepAlive == null || keepAlive.toSeconds() < 1) {
+                throw new IllegalArgumentException("Keep-alive must be at least one second.");
+            }
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * Sets the number of idle connections kept open for reuse. Only applied by
+         * {@link TransportConfig#applyConnectionSettings()}, for the whole JVM.
+         *
+         * @param maxIdleConnections the number of connections, or 0 for no limit (the default)
+         * @return this builder for chaining
+         */
+        public Builder maxIdleConnections(int maxIdleConnections) {
+            if (maxIdleConnections < 0) {
+                throw new IllegalArgumentException("Max idle connections can't be negative.");
+            }
+            this.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+
+        /**
+         * Builds the TransportConfig instance.
+         *
+         * @return the configured TransportConfig
+         */
+        public TransportConfig build() {
+            return new TransportConfig(this);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package fr.freshperf.pve4j.entities;
+
+import com.google.gson.reflect.TypeToken;
+import fr.freshperf.pve4j.Proxmox;
+import fr.freshperf.pve4j.request.ProxmoxRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Incremental reader for the log of a Proxmox task.
+ *
+ * <p>The reader remembers how many lines it has already returned, so each {@link #poll()} only
+ * fetches new lines through the {@code start}/{@code limit} parameters of
+ * {@code nodes/{node}/tasks/{upid}/log}. {@link #follow(Consumer, Duration)} keeps polling until
+ * the task has completed, without holding a thread between two polls.</p>
+ *
+ * <p>A reader tracks a single offset: polls must not overlap. Use one reader per consumer.</p>
+ *
+ * @since 0.1.0
+ */
+public class PveTaskLog {
+
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
+    private final Proxmox proxmox;
+    private final PveTask task;
+    private final int pageSize;
+    private volatile int nextLine;
+
+    /**
+     * Creates a log reader starting at the first line.
+     *
+     * @param proxmox the Proxmox instance owning the task
+     * @param task the task whose log is read (must have a valid UPID and node)
+     */
+    public PveTaskLog(Proxmox proxmox, PveTask task) {
+        this(proxmox, task, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Creates a log reader starting at the first line.
+     *
+     * @param proxmox the Proxmox instance owning the task
+     * @param task the task whose log is read (must have a valid UPID and node)
+     * @param pageSize the maximum number of lines fetched per request
+     */
+    public PveTaskLog(Proxmox proxmox, PveTask task, int pageSize) {
+        if (task == null || task.getUpid() == null || task.getNode() == null) {
+            throw new IllegalArgumentException("Task and its UPID and node must not be null");
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be at least 1");
+        }
+        this.proxmox = proxmox;
+        this.task = task;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Reads a range of the log, without moving the reader's offset.
+     *
+     * @param start the 0-based offset of the first line
+     * @param limit the maximum number of lines
+     * @return a request returning the log lines
+     */
+    public ProxmoxRequest<List<PveTaskLogLine>> read(int start, int limit) {
+        return new ProxmoxRequest<>(
+                proxmox.getHttpClient().get("nodes/" + task.getNode() + "/tasks/" + task.getUpid() + "/log")
+                        .param("start", start)
+                        .param("limit", limit),
+                new TypeToken<List<PveTaskLogLine>>(){});
+    }
+
+    /**
+     * Fetches the lines written since the previous poll and moves the offset past them.
+     *
+     * @return a future completed with the new lines, possibly empty
+     */
+    public CompletableFuture<List<PveTaskLogLine>> poll() {
+        return pollFrom(new ArrayList<>());
+    }
+
+    private CompletableFuture<List<PveTaskLogLine>> pollFrom(List<PveTaskLogLine> collected) {
+        int start = nextLine;
+        return read(start, pageSize).executeAsync().thenCompose(lines -> {
+            int received = 0;
+            for (PveTaskLogLine line : lines) {
+                // An empty range is answered with a placeholder line numbered before the offset.
+                if (line.getLineNumber() > start) {
+                    collected.add(line);
+                    received++;
+                }
+            }
+            nextLine = start + received;
+            if (received < pageSize) {
+                return CompletableFuture.completedFuture(collected);
+            }
+            return pollFrom(collected);
+        });
+    }
+
+    /**
+     * Polls the log until the task has completed, handing each new line to a consumer.
+     * The log is read one last time after completion, so no trailing line is missed.
+     * Cancelling the returned future stops following.
+     *
+     * @param consumer the consumer receiving lines, in order
+     * @param interval the delay between two polls
+     * @return a future completed with the final task status, or exceptionally if the task failed
+     */
+    public CompletableFuture<PveTaskStatus> follow(Consumer<PveTaskLogLine> consumer, Duration interval) {
+        Executor executor = ProxmoxRequest.getThreadManager().getVirtualThreadExecutor();
+        CompletableFuture<PveTaskStatus> completion = ProxmoxRequest.getAsyncTaskManager()
+                .waitForTaskAsync(proxmox, task, interval, null);
+        CompletableFuture<PveTaskStatus> result = new CompletableFuture<>();
+        result.whenComplete((status, throwable) -> completion.cancel(false));
+        followTick(consumer, interval, executor, completion, result);
+        return result;
+    }
+
+    private void followTick(Consumer<PveTaskLogLine> consumer, Duration interval, Executor executor,
+                            CompletableFuture<PveTaskStatus> completion, CompletableFuture<PveTaskStatus> result) {
+        if (result.isDone()) {
+            return;
+        }
+        boolean finished = completion.isDone();
+        poll().whenCompleteAsync((lines, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(unwrap(throwable));
+                return;
+            }
+            try {
+                lines.forEach(consumer);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (finished) {
+                completion.whenComplete((status, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(unwrap(error));
+                    } else {
+                        result.complete(status);
+                    }
+                });
+                return;
+            }
+            Executor delayed = CompletableFuture.delayedExecutor(interval.toMillis(), TimeUnit.MILLISECONDS, executor);
+            delayed.execute(() -> followTick(consumer, interval, executor, completion, result));
+        }, executor);
+    }
+
+    /**
+     * Returns a publisher of the log lines, following the log until the task has completed.
+     * Following starts with the first subscription; the publisher then completes, or fails
+     * if the task failed. Slow subscribers slow down polling instead of dropping lines.
+     *
+     * @param interval the delay between two polls
+     * @return a publisher of log lines
+     */
+    public Flow.Publisher<PveTaskLogLine> publish(Duration interval) {
+        SubmissionPublisher<PveTaskLogLine> publisher = new SubmissionPublisher<>(
+                ProxmoxRequest.getThreadManager().getVirtualThreadExecutor(), Flow.defaultBufferSize());
+        AtomicBoolean started = new AtomicBoolean();
+        return subscriber -> {
+            publisher.subscribe(subscriber);
+            if (started.compareAndSet(false, true)) {
+                follow(publisher::submit, interval).whenComplete((status, throwable) -> {
+                    if (throwable != null) {
+                        publisher.closeExceptionally(throwable);
+                    } else {
+                        publisher.close();
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Returns the offset of the next line to fetch, i.e. the number of lines already returned.
+     *
+     * @return the next line offset
+     */
+    public int getNextLine() {
+        return nextLine;
+    }
+
+    /**
+     * Returns the task whose log is read.
+     *
+     * @return the task
+     */
+    public PveTask getTask() {
+        return task;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+    }
+}
@@ -0,0 +1,36 @@
+package fr.freshperf.pve4j.entities;
+
+/**
+ * Represents a line of a Proxmox task log.
+ */
+public class PveTaskLogLine {
+
+    private int n;
+    private String t;
+
+    /**
+     * Returns the 1-based number of the line in the log.
+     *
+     * @return the line number
+     */
+    public int getLineNumber() {
+        return n;
+    }
+
+    /**
+     * Returns the text of the line, without its line break.
+     *
+     * @return the line text
+     */
+    public String getText() {
+        return t;
+    }
+
+    @Override
+    public String toString() {
+        return "PveTaskLogLine{" +
+                "n=" + n +
+                ", t='" + t + '\'' +
+                '}';
+    }
+}
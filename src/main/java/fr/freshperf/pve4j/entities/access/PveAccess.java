@@ -18,8 +18,9 @@ public record PveAccess(ProxmoxHttpClient httpClient) {
      * @return a request returning the list of access endpoints
      */
     public ProxmoxRequest<List<PveAccessIndex>> getIndex() {
-        return new ProxmoxRequest<>(() -> 
-            httpClient.get("access/").executeList(new TypeToken<List<PveAccessIndex>>(){})
+        return new ProxmoxRequest<>(
+            httpClient.get("access/"),
+            new TypeToken<List<PveAccessIndex>>(){}
         );
     }
 
@@ -32,15 +33,13 @@ public record PveAccess(ProxmoxHttpClient httpClient) {
      * @return a request returning the authentication ticket
      */
     public ProxmoxRequest<PveAccessTicket> getTicket(String username, String password, String realm) {
-        return new ProxmoxRequest<>(() -> {
-            var builder = httpClient.post("access/ticket")
-                .param("username", username)
-                .param("password", password);
-            if (realm != null && !realm.isEmpty()) {
-                builder.param("realm", realm);
-            }
-            return builder.execute(PveAccessTicket.class);
-        });
+        var builder = httpClient.post("access/ticket")
+            .param("username", username)
+            .param("password", password);
+        if (realm != null && !realm.isEmpty()) {
+            builder.param("realm", realm);
+        }
+        return new ProxmoxRequest<>(builder, PveAccessTicket.class);
     }
 
     /**
@@ -87,8 +86,9 @@ public record PveAccess(ProxmoxHttpClient httpClient) {
      * @return a request returning the list of ACL entries
      */
     public ProxmoxRequest<List<PveAccessAcl>> getAcl() {
-        return new ProxmoxRequest<>(() -> 
-            httpClient.get("access/acl").executeList(new TypeToken<List<PveAccessAcl>>(){})
+        return new ProxmoxRequest<>(
+            httpClient.get("access/acl"),
+            new TypeToken<List<PveAccessAcl>>(){}
         );
     }
 
@@ -98,8 +98,9 @@ public record PveAccess(ProxmoxHttpClient httpClient) {
      * @return a request returning the list of domains
      */
     public ProxmoxRequest<List<PveAccessDomain>> getDomains() {
-        return new ProxmoxRequest<>(() -> 
-            httpClient.get("access/domains").executeList(new TypeToken<List<PveAccessDomain>>(){})
+        return new ProxmoxRequest<>(
+            httpClient.get("access/domains"),
+            new TypeToken<List<PveAccessDomain>>(){}
         );
     }
 
@@ -109,8 +110,9 @@ public record PveAccess(ProxmoxHttpClient httpClient) {
      * @return a request returning the domain
      */
     public ProxmoxRequest<JsonElement> getDomain(String realm) {
-        return new ProxmoxRequest<>(() ->
-            httpClient.get("access/domains/"+realm).execute(JsonElement.class)
+        return new ProxmoxRequest<>(
+            httpClient.get("access/domains/"+realm),
+            JsonElement.class
         );
     }
 }
@@ -17,8 +17,9 @@ public record PveAccessGroups(ProxmoxHttpClient httpClient) {
      * @return a request returning the list of groups
      */
     public ProxmoxRequest<List<PveAccessGroup>> getIndex() {
-        return new ProxmoxRequest<>(() -> 
-            httpClient.get("access/groups").executeList(new TypeToken<List<PveAccessGroup>>(){})
+        return new ProxmoxRequest<>(
+            httpClient.get("access/groups"),
+            new TypeToken<List<PveAccessGroup>>(){}
         );
     }
 
@@ -33,8 +34,9 @@ public record PveAccessGroups(ProxmoxHttpClient httpClient) {
         if (groupid == null || groupid.isEmpty()) {
             throw new IllegalArgumentException("Group ID cannot be null or empty");
         }
-        return new ProxmoxRequest<>(() -> 
-            httpClient.get("access/groups/" + groupid).execute(PveAccessGroup.class)
+        return new ProxmoxRequest<>(
+            httpClient.get("access/groups/" + groupid),
+            PveAccessGroup.class
         );
     }
 }
@@ -17,8 +17,9 @@ public record PveAccessRoles(ProxmoxHttpClient httpClient) {
      * @return a request returning the list of roles
      */
     public ProxmoxRequest<List<PveAccessRole>> getIndex() {
-        return new ProxmoxRequest<>(() -> 
-            httpClient.get("access/roles").executeList(new TypeToken<List<PveAccessRole>>(){})
+        return new ProxmoxRequest<>(
+            httpClient.get("access/roles"),
+            new TypeToken<List<PveAccessRole>>(){}
         );
     }
 
@@ -33,8 +34,9 @@ public record PveAccessRoles(ProxmoxHttpClient httpClient) {
         if (roleid == null || roleid.isEmpty()) {
             throw new IllegalArgumentException("Role ID cannot be null or empty");
         }
-        return new ProxmoxRequest<>(() -> 
-            httpClient.get("access/roles/" + roleid).execute(PveAccessRole.class)
+        return new ProxmoxRequest<>(
+            httpClient.get("access/roles/" + roleid),
+            PveAccessRole.class
         );
     }
 }
@@ -17,8 +17,9 @@ public record PveAccessUsers(ProxmoxHttpClient httpClient) {
      * @return a request returning the list of users
      */
     public ProxmoxRequest<List<PveAccessUser>> getIndex() {
-        return new ProxmoxRequest<>(() -> 
-            httpClient.get("access/users").executeList(new TypeToken<List<PveAccessUser>>(){})
+        return new ProxmoxRequest<>(
+            httpClient.get("access/users"),
+            new TypeToken<List<PveAccessUser>>(){}
         );
     }
 
@@ -33,8 +34,9 @@ public record PveAccessUsers(ProxmoxHttpClient httpClient) {
         if (userid == null || userid.isEmpty()) {
             throw new IllegalArgumentException("User ID cannot be null or empty");
         }
-        return new ProxmoxRequest<>(() -> 
-            httpClient.get("access/users/" + userid).execute(PveAccessUser.class)
+        return new ProxmoxRequest<>(
+            httpClient.get("access/users/" + userid),
+            PveAccessUser.class
         );
     }
 }
@@ -28,7 +28,7 @@ public record PveCluster(ProxmoxHttpClient httpClient) {
      * @return a request returning the cluster index
      */
     public ProxmoxRequest<List<PveClusterIndex>> getIndex() {
-        return new ProxmoxRequest<>(() -> httpClient.get("cluster/").executeList(new TypeToken<List<PveClusterIndex>>(){}));
+        return new ProxmoxRequest<>(httpClient.get("cluster/"), new TypeToken<List<PveClusterIndex>>(){});
     }
 
     /**
@@ -37,7 +37,7 @@ public record PveCluster(ProxmoxHttpClient httpClient) {
      * @return a request returning the cluster status
      */
     public ProxmoxRequest<List<PveClusterStatus>> getStatus() {
-        return new ProxmoxRequest<>(() -> httpClient.get("cluster/status").executeList(new TypeToken<List<PveClusterStatus>>(){}));
+        return new ProxmoxRequest<>(httpClient.get("cluster/status"), new TypeToken<List<PveClusterStatus>>(){});
     }
 
     /**
@@ -46,7 +46,7 @@ public record PveCluster(ProxmoxHttpClient httpClient) {
      * @return a request returning the next free VMID
      */
     public ProxmoxRequest<Integer> getNextId() {
-        return new ProxmoxRequest<>(() -> httpClient.get("cluster/nextid").execute(Integer.class));
+        return new ProxmoxRequest<>(httpClient.get("cluster/nextid"), Integer.class);
     }
 
     /**
@@ -55,9 +55,7 @@ public record PveCluster(ProxmoxHttpClient httpClient) {
      * @return a request returning all cluster resources
      */
     public ProxmoxRequest<List<PveClusterResources>> getResources() {
-        return new ProxmoxRequest<>(() -> 
-            httpClient.get("cluster/resources").executeList(new TypeToken<List<PveClusterResources>>(){})
-        );
+        return new ProxmoxRequest<>(httpClient.get("cluster/resources"), new TypeToken<List<PveClusterResources>>(){});
     }
 
     /**
@@ -67,13 +65,11 @@ public record PveCluster(ProxmoxHttpClient httpClient) {
      * @return a request returning filtered cluster resources
      */
     public ProxmoxRequest<List<PveClusterResources>> getResources(String type) {
-        return new ProxmoxRequest<>(() -> {
-            var builder = httpClient.get("cluster/resources");
-            if (type != null && !type.isEmpty()) {
-                builder.param("type", type);
-            }
-            return builder.executeList(new TypeToken<List<PveClusterResources>>(){});
-        });
+        var builder = httpClient.get("cluster/resources");
+        if (type != null && !type.isEmpty()) {
+            builder.param("type", type);
+        }
+        return new ProxmoxRequest<>(builder, new TypeToken<List<PveClusterResources>>(){});
     }
 
 }
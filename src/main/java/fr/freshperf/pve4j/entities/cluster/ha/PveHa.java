@@ -28,9 +28,9 @@ public class PveHa {
      * @return a request returning the list of HA resources
      */
     public ProxmoxRequest<List<PveHaResource>> listResources() {
-        return new ProxmoxRequest<>(() ->
-            client.get("cluster/ha/resources")
-                .executeList(new TypeToken<>() {})
+        return new ProxmoxRequest<>(
+            client.get("cluster/ha/resources"),
+            new TypeToken<List<PveHaResource>>(){}
         );
     }
 
@@ -44,9 +44,9 @@ public class PveHa {
         if (sid == null || sid.isBlank()) {
             throw new IllegalArgumentException("sid cannot be null or empty");
         }
-        return new ProxmoxRequest<>(() ->
-            client.get("cluster/ha/resources/" + sid)
-                .execute(PveHaResource.class)
+        return new ProxmoxRequest<>(
+            client.get("cluster/ha/resources/" + sid),
+            PveHaResource.class
         );
     }
 
@@ -74,12 +74,11 @@ public class PveHa {
 
         PveHaResourceCreateOptions effectiveOptions = options != null ? options : PveHaResourceCreateOptions.builder();
 
-        return new ProxmoxRequest<>(() -> {
+        return new ProxmoxRequest<>(
             client.post("cluster/ha/resources")
-                .params(effectiveOptions.toParams(sid))
-                .execute();
-            return null;
-        });
+                .params(effectiveOptions.toParams(sid)),
+            Void.class
+        );
     }
 
     /**
@@ -92,11 +91,10 @@ public class PveHa {
         if (sid == null || sid.isBlank()) {
             throw new IllegalArgumentException("sid cannot be null or empty");
         }
-        return new ProxmoxRequest<>(() -> {
-            client.delete("cluster/ha/resources/" + sid)
-                .execute();
-            return null;
-        });
+        return new ProxmoxRequest<>(
+            client.delete("cluster/ha/resources/" + sid),
+            Void.class
+        );
     }
 
     /**
@@ -110,11 +108,10 @@ public class PveHa {
         if (sid == null || sid.isBlank()) {
             throw new IllegalArgumentException("sid cannot be null or empty");
         }
-        return new ProxmoxRequest<>(() -> {
+        return new ProxmoxRequest<>(
             client.put("cluster/ha/resources/" + sid)
-                .param("state", state)
-                .execute();
-            return null;
-        });
+                .param("state", state),
+            Void.class
+        );
     }
 }
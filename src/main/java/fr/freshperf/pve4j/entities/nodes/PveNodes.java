@@ -2,6 +2,9 @@ package fr.freshperf.pve4j.entities.nodes;
 
 import com.google.gson.reflect.TypeToken;
 import fr.freshperf.pve4j.entities.nodes.node.PveNode;
+import fr.freshperf.pve4j.entities.nodes.node.lxc.PveLxcContainer;
+import fr.freshperf.pve4j.entities.nodes.node.qemu.PveQemuVm;
+import fr.freshperf.pve4j.inventory.ClusterInventory;
 import fr.freshperf.pve4j.request.ProxmoxHttpClient;
 import fr.freshperf.pve4j.request.ProxmoxRequest;
 
@@ -9,8 +12,18 @@ import java.util.List;
 
 /**
  * Facade for Proxmox nodes management endpoints.
+ * When an inventory is attached, guests can be reached by VMID alone.
  */
-public record PveNodes(ProxmoxHttpClient client) {
+public record PveNodes(ProxmoxHttpClient client, ClusterInventory inventory) {
+
+    /**
+     * Creates a nodes facade without inventory.
+     *
+     * @param client the HTTP client
+     */
+    public PveNodes(ProxmoxHttpClient client) {
+        this(client, null);
+    }
 
     /**
      * Lists all nodes in the cluster.
@@ -18,7 +31,7 @@ public record PveNodes(ProxmoxHttpClient client) {
      * @return a request returning the list of nodes
      */
     public ProxmoxRequest<List<PveNodesIndex>> getIndex() {
-        return new ProxmoxRequest<>(() -> client.get("nodes/").executeList(new TypeToken<List<PveNodesIndex>>(){}));
+        return new ProxmoxRequest<>(client.get("nodes/"), new TypeToken<List<PveNodesIndex>>(){});
     }
 
     /**
@@ -34,4 +47,44 @@ public record PveNodes(ProxmoxHttpClient client) {
         }
         return new PveNode(client, nodeName);
     }
+
+    /**
+     * Resolves the node a guest lives on from the inventory, without any API call.
+     *
+     * @param vmid the VMID
+     * @return the node name, or null if the guest is not in the current inventory snapshot
+     */
+    public String findNodeOf(int vmid) {
+        return inventory != null ? inventory.getSnapshot().getNodeOf(vmid) : null;
+    }
+
+    /**
+     * Gets a QEMU VM by VMID, resolving its node from the inventory.
+     *
+     * @param vmid the VM ID
+     * @return the VM API facade
+     * @throws IllegalStateException if the VM is not in the current inventory snapshot
+     */
+    public PveQemuVm getQemuVm(int vmid) {
+        return get(requireNodeOf(vmid)).getQemu().get(vmid);
+    }
+
+    /**
+     * Gets an LXC container by VMID, resolving its node from the inventory.
+     *
+     * @param vmid the container ID
+     * @return the container API facade
+     * @throws IllegalStateException if the container is not in the current inventory snapshot
+     */
+    public PveLxcContainer getLxcContainer(int vmid) {
+        return get(requireNodeOf(vmid)).getLxc().get(vmid);
+    }
+
+    private String requireNodeOf(int vmid) {
+        String node = findNodeOf(vmid);
+        if (node == null) {
+            throw new IllegalStateException("VMID " + vmid + " is not in the cluster inventory; refresh it first");
+        }
+        return node;
+    }
 }
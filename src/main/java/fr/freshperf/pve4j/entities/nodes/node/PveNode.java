@@ -42,9 +42,7 @@ public class PveNode {
      * @return a request returning the node index
      */
     public ProxmoxRequest<List<PveNodeIndex>> getIndex() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName).executeList(new TypeToken<List<PveNodeIndex>>(){})
-        );
+        return new ProxmoxRequest<>(client.get("nodes/" + nodeName), new TypeToken<List<PveNodeIndex>>(){});
     }
 
     /**
@@ -53,9 +51,7 @@ public class PveNode {
      * @return a request returning the node status
      */
     public ProxmoxRequest<PveNodeStatus> getStatus() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName + "/status").execute(PveNodeStatus.class)
-        );
+        return new ProxmoxRequest<>(client.get("nodes/" + nodeName + "/status"), PveNodeStatus.class);
     }
 
     /**
@@ -64,9 +60,30 @@ public class PveNode {
      * @return a request returning the node version
      */
     public ProxmoxRequest<PveNodeVersion> getVersion() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName + "/version").execute(PveNodeVersion.class)
-        );
+        return new ProxmoxRequest<>(client.get("nodes/" + nodeName + "/version"), PveNodeVersion.class);
+    }
+
+    /**
+     * Lists the recent tasks of the node.
+     *
+     * @return a request returning the task list
+     */
+    public ProxmoxRequest<List<PveNodeTask>> getTasks() {
+        return getTasks(null);
+    }
+
+    /**
+     * Lists the tasks of the node with filters.
+     *
+     * @param options task list options or null
+     * @return a request returning the task list
+     */
+    public ProxmoxRequest<List<PveNodeTask>> getTasks(PveNodeTasksOptions options) {
+        var builder = client.get("nodes/" + nodeName + "/tasks");
+        if (options != null) {
+            builder.params(options.toParams());
+        }
+        return new ProxmoxRequest<>(builder, new TypeToken<List<PveNodeTask>>(){});
     }
 
     /**
@@ -0,0 +1,70 @@
+package fr.freshperf.pve4j.entities.nodes.node;
+
+/**
+ * Represents an entry of a node's task list.
+ * Finished tasks carry their end time and exit status in {@code status}.
+ */
+public class PveNodeTask {
+
+    private String upid, node, type, id, user, status;
+    private long pid, pstart, starttime, endtime;
+
+    public String getUpid() {
+        return upid;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    /**
+     * Returns the exit status of a finished task (e.g. "OK"), or null while it is running.
+     *
+     * @return the task exit status
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    public long getPid() {
+        return pid;
+    }
+
+    public long getPstart() {
+        return pstart;
+    }
+
+    public long getStarttime() {
+        return starttime;
+    }
+
+    public long getEndtime() {
+        return endtime;
+    }
+
+    @Override
+    public String toString() {
+        return "PveNodeTask{" +
+                "upid='" + upid + '\'' +
+                ", node='" + node + '\'' +
+                ", type='" + type + '\'' +
+                ", id='" + id + '\'' +
+                ", user='" + user + '\'' +
+                ", status='" + status + '\'' +
+                ", starttime=" + starttime +
+                ", endtime=" + endtime +
+                '}';
+    }
+}
@@ -0,0 +1,116 @@
+package fr.freshperf.pve4j.entities.nodes.node;
+
+import fr.freshperf.pve4j.entities.options.ParamsConvertible;
+import fr.freshperf.pve4j.util.ParamsHelpers;
+
+import java.util.Map;
+
+/**
+ * Options for listing the tasks of a node.
+ * Use the builder pattern to configure filters.
+ */
+public class PveNodeTasksOptions implements ParamsConvertible {
+
+    private String source;
+    private Integer start;
+    private Integer limit;
+    private String typefilter;
+    private Integer vmid;
+    private String userfilter;
+    private String statusfilter;
+    private Boolean errors;
+    private Integer since;
+    private Integer until;
+
+    /**
+     * Creates a new builder for task list options.
+     *
+     * @return a new PveNodeTasksOptions instance
+     */
+    public static PveNodeTasksOptions builder() {
+        return new PveNodeTasksOptions();
+    }
+
+    @Override
+    public void populateParams(Map<String, Object> params) {
+        ParamsHelpers.put(params, "source", source);
+        ParamsHelpers.putInt(params, "start", start);
+        ParamsHelpers.putInt(params, "limit", limit);
+        ParamsHelpers.put(params, "typefilter", typefilter);
+        ParamsHelpers.putInt(params, "vmid", vmid);
+        ParamsHelpers.put(params, "userfilter", userfilter);
+        ParamsHelpers.put(params, "statusfilter", statusfilter);
+        ParamsHelpers.putBool(params, "errors", errors);
+        ParamsHelpers.putInt(params, "since", since);
+        ParamsHelpers.putInt(params, "until", until);
+    }
+
+    /** Sets the task source: "archive" (default), "active" or "all". */
+    public PveNodeTasksOptions source(String source) {
+        this.source = source;
+        return this;
+    }
+
+    /** Sets the number of entries to skip. */
+    public PveNodeTasksOptions start(Integer start) {
+        this.start = start;
+        return this;
+    }
+
+    /** Sets the maximum number of entries returned (Proxmox defaults to 50). */
+    public PveNodeTasksOptions limit(Integer limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /** Only lists tasks of this type (e.g. "vzdump"). */
+    public PveNodeTasksOptions typefilter(String typefilter) {
+        this.typefilter = typefilter;
+        return this;
+    }
+
+    /** Only lists tasks for this VMID. */
+    public PveNodeTasksOptions vmid(Integer vmid) {
+        this.vmid = vmid;
+        return this;
+    }
+
+    /** Only lists tasks started by this user. */
+    public PveNodeTasksOptions userfilter(String userfilter) {
+        this.userfilter = userfilter;
+        return this;
+    }
+
+    /** Only lists tasks with these statuses (comma separated, e.g. "ok,error"). */
+    public PveNodeTasksOptions statusfilter(String statusfilter) {
+        this.statusfilter = statusfilter;
+        return this;
+    }
+
+    /** Only lists tasks that ended with an error. */
+    public PveNodeTasksOptions errors(Boolean errors) {
+        this.errors = errors;
+        return this;
+    }
+
+    /** Only lists tasks started since this UNIX epoch. */
+    public PveNodeTasksOptions since(Integer since) {
+        this.since = since;
+        return this;
+    }
+
+    /** Only lists tasks started until this UNIX epoch. */
+    public PveNodeTasksOptions until(Integer until) {
+        this.until = until;
+        return this;
+    }
+
+    /**
+     * Builds and returns the options instance.
+     *
+     * @return this instance
+     */
+    public PveNodeTasksOptions build() {
+        return this;
+    }
+}
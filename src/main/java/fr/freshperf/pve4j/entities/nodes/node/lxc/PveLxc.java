@@ -19,9 +19,7 @@ public record PveLxc(ProxmoxHttpClient client, String nodeName) {
      * @return a request returning the list of containers
      */
     public ProxmoxRequest<List<PveLxcIndex>> getIndex() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName + "/lxc").executeList(new TypeToken<List<PveLxcIndex>>(){})
-        );
+        return new ProxmoxRequest<>(client.get("nodes/" + nodeName + "/lxc"), new TypeToken<List<PveLxcIndex>>(){});
     }
 
     /**
@@ -54,11 +52,11 @@ public record PveLxc(ProxmoxHttpClient client, String nodeName) {
             throw new IllegalArgumentException("options cannot be null - ostemplate is required");
         }
 
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/lxc")
                 .params(options.toParams(vmid))
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 }
@@ -15,10 +15,7 @@ public record PveLxcContainer(ProxmoxHttpClient client, String nodeName, int vmi
      * @return a request returning the container status
      */
     public ProxmoxRequest<PveLxcStatus> getStatus() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName + "/lxc/" + vmid + "/status/current")
-                .execute(PveLxcStatus.class)
-        );
+        return new ProxmoxRequest<>(client.get("nodes/" + nodeName + "/lxc/" + vmid + "/status/current"), PveLxcStatus.class);
     }
 
     /**
@@ -27,10 +24,7 @@ public record PveLxcContainer(ProxmoxHttpClient client, String nodeName, int vmi
      * @return a request returning the container configuration
      */
     public ProxmoxRequest<PveLxcConfig> getConfig() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName + "/lxc/" + vmid + "/config")
-                .execute(PveLxcConfig.class)
-        );
+        return new ProxmoxRequest<>(client.get("nodes/" + nodeName + "/lxc/" + vmid + "/config"), PveLxcConfig.class);
     }
 
     /**
@@ -39,10 +33,7 @@ public record PveLxcContainer(ProxmoxHttpClient client, String nodeName, int vmi
      * @return a request returning the task result
      */
     public ProxmoxRequest<JsonObject> start() {
-        return new ProxmoxRequest<>(() -> 
-            client.post("nodes/" + nodeName + "/lxc/" + vmid + "/status/start")
-                .execute()
-        );
+        return new ProxmoxRequest<>(client.post("nodes/" + nodeName + "/lxc/" + vmid + "/status/start"), JsonObject.class);
     }
 
     /**
@@ -51,10 +42,7 @@ public record PveLxcContainer(ProxmoxHttpClient client, String nodeName, int vmi
      * @return a request returning the task result
      */
     public ProxmoxRequest<JsonObject> stop() {
-        return new ProxmoxRequest<>(() -> 
-            client.post("nodes/" + nodeName + "/lxc/" + vmid + "/status/stop")
-                .execute()
-        );
+        return new ProxmoxRequest<>(client.post("nodes/" + nodeName + "/lxc/" + vmid + "/status/stop"), JsonObject.class);
     }
 
     /**
@@ -63,10 +51,7 @@ public record PveLxcContainer(ProxmoxHttpClient client, String nodeName, int vmi
      * @return a request returning the task result
      */
     public ProxmoxRequest<JsonObject> shutdown() {
-        return new ProxmoxRequest<>(() -> 
-            client.post("nodes/" + nodeName + "/lxc/" + vmid + "/status/shutdown")
-                .execute()
-        );
+        return new ProxmoxRequest<>(client.post("nodes/" + nodeName + "/lxc/" + vmid + "/status/shutdown"), JsonObject.class);
     }
 
     /**
@@ -75,10 +60,7 @@ public record PveLxcContainer(ProxmoxHttpClient client, String nodeName, int vmi
      * @return a request returning the task result
      */
     public ProxmoxRequest<JsonObject> reboot() {
-        return new ProxmoxRequest<>(() -> 
-            client.post("nodes/" + nodeName + "/lxc/" + vmid + "/status/reboot")
-                .execute()
-        );
+        return new ProxmoxRequest<>(client.post("nodes/" + nodeName + "/lxc/" + vmid + "/status/reboot"), JsonObject.class);
     }
 
     /**
@@ -87,10 +69,7 @@ public record PveLxcContainer(ProxmoxHttpClient client, String nodeName, int vmi
      * @return a request returning the task result
      */
     public ProxmoxRequest<JsonObject> suspend() {
-        return new ProxmoxRequest<>(() -> 
-            client.post("nodes/" + nodeName + "/lxc/" + vmid + "/status/suspend")
-                .execute()
-        );
+        return new ProxmoxRequest<>(client.post("nodes/" + nodeName + "/lxc/" + vmid + "/status/suspend"), JsonObject.class);
     }
 
     /**
@@ -99,10 +78,7 @@ public record PveLxcContainer(ProxmoxHttpClient client, String nodeName, int vmi
      * @return a request returning the task result
      */
     public ProxmoxRequest<JsonObject> resume() {
-        return new ProxmoxRequest<>(() -> 
-            client.post("nodes/" + nodeName + "/lxc/" + vmid + "/status/resume")
-                .execute()
-        );
+        return new ProxmoxRequest<>(client.post("nodes/" + nodeName + "/lxc/" + vmid + "/status/resume"), JsonObject.class);
     }
 
     /**
@@ -111,10 +87,7 @@ public record PveLxcContainer(ProxmoxHttpClient client, String nodeName, int vmi
      * @return a request returning the task result
      */
     public ProxmoxRequest<JsonObject> delete() {
-        return new ProxmoxRequest<>(() -> 
-            client.delete("nodes/" + nodeName + "/lxc/" + vmid)
-                .execute()
-        );
+        return new ProxmoxRequest<>(client.delete("nodes/" + nodeName + "/lxc/" + vmid), JsonObject.class);
     }
 }
 
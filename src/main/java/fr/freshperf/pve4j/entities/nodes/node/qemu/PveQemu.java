@@ -19,10 +19,7 @@ public record PveQemu(ProxmoxHttpClient client, String nodeName) {
      * @return a request returning the list of VMs
      */
     public ProxmoxRequest<List<PveQemuIndex>> getIndex() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName + "/qemu").executeList(new TypeToken<>() {
-            })
-        );
+        return new ProxmoxRequest<>(client.get("nodes/" + nodeName + "/qemu"), new TypeToken<List<PveQemuIndex>>(){});
     }
 
     /**
@@ -65,11 +62,11 @@ public record PveQemu(ProxmoxHttpClient client, String nodeName) {
 
         PveQemuCreateOptions effectiveOptions = options != null ? options : PveQemuCreateOptions.builder();
 
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu")
                 .params(effectiveOptions.toParams(vmid))
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 }
@@ -65,9 +65,9 @@ public class PveQemuVm {
      * @return a request returning the VM status
      */
     public ProxmoxRequest<PveQemuStatus> getStatus() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/status/current")
-                .execute(PveQemuStatus.class)
+        return new ProxmoxRequest<>(
+            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/status/current"),
+            PveQemuStatus.class
         );
     }
     /**
@@ -76,9 +76,9 @@ public class PveQemuVm {
      * @return a request returning the VM configuration
      */
     public ProxmoxRequest<PveQemuConfig> getConfig() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/config")
-                .execute(PveQemuConfig.class)
+        return new ProxmoxRequest<>(
+            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/config"),
+            PveQemuConfig.class
         );
     }
 
@@ -88,10 +88,10 @@ public class PveQemuVm {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> start() {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/status/start")
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -101,10 +101,10 @@ public class PveQemuVm {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> stop() {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/status/stop")
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -114,10 +114,10 @@ public class PveQemuVm {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> shutdown() {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/status/shutdown")
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -127,10 +127,10 @@ public class PveQemuVm {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> reset() {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/status/reset")
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -140,10 +140,10 @@ public class PveQemuVm {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> suspend() {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/status/suspend")
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -153,10 +153,10 @@ public class PveQemuVm {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> resume() {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/status/resume")
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -166,10 +166,10 @@ public class PveQemuVm {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> reboot() {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/status/reboot")
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -179,10 +179,10 @@ public class PveQemuVm {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> delete() {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.delete("nodes/" + nodeName + "/qemu/" + vmid)
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -211,11 +211,11 @@ public class PveQemuVm {
 
         PveQemuCloneOptions effectiveOptions = options != null ? options : PveQemuCloneOptions.builder();
         
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/clone")
                 .params(effectiveOptions.toParams(newVmid))
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -241,11 +241,11 @@ public class PveQemuVm {
     public ProxmoxRequest<PveTask> resize(String disk, String size, PveQemuResizeOptions options) {
         PveQemuResizeOptions effectiveOptions = options != null ? options : PveQemuResizeOptions.builder();
         
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.put("nodes/" + nodeName + "/qemu/" + vmid + "/resize")
                 .params(effectiveOptions.toParams(disk, size))
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -260,11 +260,11 @@ public class PveQemuVm {
         if (options == null) {
             throw new IllegalArgumentException("options cannot be null");
         }
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/config")
                 .params(options.toParams())
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -279,11 +279,11 @@ public class PveQemuVm {
         if (options == null) {
             throw new IllegalArgumentException("options cannot be null");
         }
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.put("nodes/" + nodeName + "/qemu/" + vmid + "/config")
                 .params(options.toParams())
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -303,17 +303,14 @@ public class PveQemuVm {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> backup(PveQemuBackupOptions options) {
-        return new ProxmoxRequest<>(() -> {
-            var builder = client.post("nodes/" + nodeName + "/vzdump")
-                .param("vmid", String.valueOf(vmid));
-            
-            if (options != null) {
-                builder.params(options.toParams());
-            }
-            
-            return builder.transformer(new TaskResponseTransformer())
-                .execute(PveTask.class);
-        });
+        var builder = client.post("nodes/" + nodeName + "/vzdump")
+            .param("vmid", String.valueOf(vmid));
+
+        if (options != null) {
+            builder.params(options.toParams());
+        }
+
+        return new ProxmoxRequest<>(builder.transformer(new TaskResponseTransformer()), PveTask.class);
     }
 
     /**
@@ -338,18 +335,15 @@ public class PveQemuVm {
         if (targetNode == null || targetNode.isBlank()) {
             throw new IllegalArgumentException("targetNode cannot be null or empty");
         }
-        return new ProxmoxRequest<>(() -> {
-            var builder = client.post("nodes/" + nodeName + "/qemu/" + vmid + "/migrate")
-                .param("target", targetNode)
-                .param("online", online ? "1" : "0");
-            
-            if (targetStorage != null && !targetStorage.isBlank()) {
-                builder.param("targetstorage", targetStorage);
-            }
-            
-            return builder.transformer(new TaskResponseTransformer())
-                .execute(PveTask.class);
-        });
+        var builder = client.post("nodes/" + nodeName + "/qemu/" + vmid + "/migrate")
+            .param("target", targetNode)
+            .param("online", online ? "1" : "0");
+
+        if (targetStorage != null && !targetStorage.isBlank()) {
+            builder.param("targetstorage", targetStorage);
+        }
+
+        return new ProxmoxRequest<>(builder.transformer(new TaskResponseTransformer()), PveTask.class);
     }
 
     /**
@@ -358,10 +352,10 @@ public class PveQemuVm {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> template() {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/template")
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 }
@@ -35,9 +35,9 @@ public class PveQemuVmVnc {
      * @return a request returning the VNC proxy details
      */
     public ProxmoxRequest<PveQemuVmVncProxy> getVncProxy() {
-        return new ProxmoxRequest<>(() ->
-                client.post("nodes/" + nodeName + "/qemu/" + vmid + "/vncproxy")
-                        .execute(PveQemuVmVncProxy.class)
+        return new ProxmoxRequest<>(
+            client.post("nodes/" + nodeName + "/qemu/" + vmid + "/vncproxy"),
+            PveQemuVmVncProxy.class
         );
     }
 
@@ -61,11 +61,11 @@ public class PveQemuVmVnc {
      * @return a request returning the WebSocket details
      */
     public ProxmoxRequest<PveQemuVmVncWebsocket> openVncWebsocket(PveQemuVmVncProxy vmVncProxy) {
-        return new ProxmoxRequest<>(() ->
-                client.get("nodes/" + nodeName + "/qemu/" + vmid + "/vncwebsocket")
-                        .param("port", vmVncProxy.getPort())
-                        .param("vncticket", vmVncProxy.getTicket())
-                        .execute(PveQemuVmVncWebsocket.class)
+        return new ProxmoxRequest<>(
+            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/vncwebsocket")
+                .param("port", vmVncProxy.getPort())
+                .param("vncticket", vmVncProxy.getTicket()),
+            PveQemuVmVncWebsocket.class
         );
     }
 
@@ -40,9 +40,9 @@ public record PveQemuFirewall (ProxmoxHttpClient client, String nodeName, int vm
      * @return a request returning the firewall options
      */
     public ProxmoxRequest<PveQemuFirewallOptions> getOptions() {
-        return new ProxmoxRequest<>(() ->
-            client.get(path("/firewall/options"))
-                .execute(PveQemuFirewallOptions.class)
+        return new ProxmoxRequest<>(
+            client.get(path("/firewall/options")),
+            PveQemuFirewallOptions.class
         );
     }
 
@@ -57,11 +57,11 @@ public record PveQemuFirewall (ProxmoxHttpClient client, String nodeName, int vm
         if (options == null) {
             throw new IllegalArgumentException("options cannot be null");
         }
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.put(path("/firewall/options"))
                 .params(options.toParams())
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 }
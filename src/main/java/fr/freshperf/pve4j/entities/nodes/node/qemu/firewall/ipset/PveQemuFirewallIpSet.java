@@ -30,9 +30,9 @@ public record PveQemuFirewallIpSet (ProxmoxHttpClient client, String nodeName, i
      * @return a request returning the list of IP sets
      */
     public ProxmoxRequest<List<PveQemuFirewallIpSetEntry>> list() {
-        return new ProxmoxRequest<>(() ->
-            client.get(path("/ipset"))
-                .executeList(new TypeToken<List<PveQemuFirewallIpSetEntry>>() {})
+        return new ProxmoxRequest<>(
+            client.get(path("/ipset")),
+            new TypeToken<List<PveQemuFirewallIpSetEntry>>() {}
         );
     }
 
@@ -46,11 +46,11 @@ public record PveQemuFirewallIpSet (ProxmoxHttpClient client, String nodeName, i
     public ProxmoxRequest<PveTask> create(String name, PveQemuFirewallIpSetCreateOptions options) {
         requireNotBlank(name, "name cannot be null or blank");
         Map<String, Object> params = options != null ? options.toParams(name) : Map.of("name", name);
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post(path("/ipset"))
                 .params(params)
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -68,11 +68,11 @@ public record PveQemuFirewallIpSet (ProxmoxHttpClient client, String nodeName, i
         PveQemuFirewallIpSetCreateOptions effective = options != null ? options : PveQemuFirewallIpSetCreateOptions.builder();
         effective.rename(newName);
         Map<String, Object> params = effective.toParams(currentName);
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post(path("/ipset"))
                 .params(params)
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -86,11 +86,11 @@ public record PveQemuFirewallIpSet (ProxmoxHttpClient client, String nodeName, i
     public ProxmoxRequest<PveTask> delete(String name, Boolean force) {
         requireNotBlank(name, "name cannot be null or blank");
         Map<String, Object> params = force != null ? Map.of("force", force ? "1" : "0") : Map.of();
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.delete(path("/ipset/" + name))
                 .params(params)
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -102,9 +102,9 @@ public record PveQemuFirewallIpSet (ProxmoxHttpClient client, String nodeName, i
      */
     public ProxmoxRequest<List<PveQemuFirewallIpSetMember>> listMembers(String name) {
         requireNotBlank(name, "name cannot be null or blank");
-        return new ProxmoxRequest<>(() ->
-            client.get(path("/ipset/" + name))
-                .executeList(new TypeToken<List<PveQemuFirewallIpSetMember>>() {})
+        return new ProxmoxRequest<>(
+            client.get(path("/ipset/" + name)),
+            new TypeToken<List<PveQemuFirewallIpSetMember>>() {}
         );
     }
 
@@ -120,11 +120,11 @@ public record PveQemuFirewallIpSet (ProxmoxHttpClient client, String nodeName, i
         requireNotBlank(name, "name cannot be null or blank");
         requireNotBlank(cidr, "cidr cannot be null or blank");
         Map<String, Object> params = options != null ? options.toParams(cidr) : Map.of("cidr", cidr);
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post(path("/ipset/" + name))
                 .params(params)
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -138,9 +138,9 @@ public record PveQemuFirewallIpSet (ProxmoxHttpClient client, String nodeName, i
     public ProxmoxRequest<PveQemuFirewallIpSetMember> getMember(String name, String cidr) {
         requireNotBlank(name, "name cannot be null or blank");
         requireNotBlank(cidr, "cidr cannot be null or blank");
-        return new ProxmoxRequest<>(() ->
-            client.get(path("/ipset/" + name + "/" + cidr))
-                .execute(PveQemuFirewallIpSetMember.class)
+        return new ProxmoxRequest<>(
+            client.get(path("/ipset/" + name + "/" + cidr)),
+            PveQemuFirewallIpSetMember.class
         );
     }
 
@@ -158,11 +158,11 @@ public record PveQemuFirewallIpSet (ProxmoxHttpClient client, String nodeName, i
         if (options == null) {
             throw new IllegalArgumentException("options cannot be null");
         }
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.put(path("/ipset/" + name + "/" + cidr))
                 .params(options.toParams(cidr))
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -178,11 +178,11 @@ public record PveQemuFirewallIpSet (ProxmoxHttpClient client, String nodeName, i
         requireNotBlank(name, "name cannot be null or blank");
         requireNotBlank(cidr, "cidr cannot be null or blank");
         Map<String, Object> params = digest != null && !digest.isBlank() ? Map.of("digest", digest) : Map.of();
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.delete(path("/ipset/" + name + "/" + cidr))
                 .params(params)
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 }
@@ -34,9 +34,9 @@ public class PveFirewallRules {
      * @return a request returning the list of rules
      */
     public ProxmoxRequest<List<PveFirewallRule>> list() {
-        return new ProxmoxRequest<>(() ->
-            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/firewall/rules")
-                .executeList(new TypeToken<>() {})
+        return new ProxmoxRequest<>(
+            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/firewall/rules"),
+            new TypeToken<List<PveFirewallRule>>(){}
         );
     }
 
@@ -47,9 +47,9 @@ public class PveFirewallRules {
      * @return a request returning the rule
      */
     public ProxmoxRequest<PveFirewallRule> get(int pos) {
-        return new ProxmoxRequest<>(() ->
-            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/firewall/rules/" + pos)
-                .execute(PveFirewallRule.class)
+        return new ProxmoxRequest<>(
+            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/firewall/rules/" + pos),
+            PveFirewallRule.class
         );
     }
 
@@ -64,12 +64,11 @@ public class PveFirewallRules {
         if (options == null) {
             throw new IllegalArgumentException("options cannot be null");
         }
-        return new ProxmoxRequest<>(() -> {
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/firewall/rules")
-                .params(options.toParams())
-                .execute();
-            return null;
-        });
+                .params(options.toParams()),
+            Void.class
+        );
     }
 
     /**
@@ -83,12 +82,11 @@ public class PveFirewallRules {
         if (options == null) {
             throw new IllegalArgumentException("options cannot be null");
         }
-        return new ProxmoxRequest<>(() -> {
+        return new ProxmoxRequest<>(
             client.put("nodes/" + nodeName + "/qemu/" + vmid + "/firewall/rules/" + pos)
-                .params(options.toParams())
-                .execute();
-            return null;
-        });
+                .params(options.toParams()),
+            Void.class
+        );
     }
 
     /**
@@ -98,11 +96,10 @@ public class PveFirewallRules {
      * @return a request that completes when the rule is deleted
      */
     public ProxmoxRequest<Void> delete(int pos) {
-        return new ProxmoxRequest<>(() -> {
-            client.delete("nodes/" + nodeName + "/qemu/" + vmid + "/firewall/rules/" + pos)
-                .execute();
-            return null;
-        });
+        return new ProxmoxRequest<>(
+            client.delete("nodes/" + nodeName + "/qemu/" + vmid + "/firewall/rules/" + pos),
+            Void.class
+        );
     }
 }
 
@@ -36,9 +36,9 @@ public class PveQemuSnapshotItem {
      * @return a request returning the snapshot configuration
      */
     public ProxmoxRequest<PveQemuSnapshotConfig> getConfig() {
-        return new ProxmoxRequest<>(() ->
-            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/snapshot/" + snapname + "/config")
-                .execute(PveQemuSnapshotConfig.class)
+        return new ProxmoxRequest<>(
+            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/snapshot/" + snapname + "/config"),
+            PveQemuSnapshotConfig.class
         );
     }
 
@@ -53,12 +53,11 @@ public class PveQemuSnapshotItem {
         if (options == null) {
             throw new IllegalArgumentException("options cannot be null");
         }
-        return new ProxmoxRequest<>(() -> {
+        return new ProxmoxRequest<>(
             client.put("nodes/" + nodeName + "/qemu/" + vmid + "/snapshot/" + snapname + "/config")
-                .params(options.toParams())
-                .execute();
-            return null;
-        });
+                .params(options.toParams()),
+            Void.class
+        );
     }
 
     /**
@@ -67,10 +66,10 @@ public class PveQemuSnapshotItem {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> delete() {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.delete("nodes/" + nodeName + "/qemu/" + vmid + "/snapshot/" + snapname)
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -81,11 +80,11 @@ public class PveQemuSnapshotItem {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> delete(boolean force) {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.delete("nodes/" + nodeName + "/qemu/" + vmid + "/snapshot/" + snapname)
                 .param("force", force ? "1" : "0")
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -96,10 +95,10 @@ public class PveQemuSnapshotItem {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> rollback() {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/snapshot/" + snapname + "/rollback")
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
@@ -110,11 +109,11 @@ public class PveQemuSnapshotItem {
      * @return a request returning the task for tracking
      */
     public ProxmoxRequest<PveTask> rollback(boolean start) {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/snapshot/" + snapname + "/rollback")
                 .param("start", start ? "1" : "0")
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 }
@@ -36,9 +36,9 @@ public class PveQemuSnapshots {
      * @return a request returning the list of snapshots
      */
     public ProxmoxRequest<List<PveQemuSnapshot>> list() {
-        return new ProxmoxRequest<>(() ->
-            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/snapshot")
-                .executeList(new TypeToken<>() {})
+        return new ProxmoxRequest<>(
+            client.get("nodes/" + nodeName + "/qemu/" + vmid + "/snapshot"),
+            new TypeToken<List<PveQemuSnapshot>>(){}
         );
     }
 
@@ -68,11 +68,11 @@ public class PveQemuSnapshots {
 
         PveQemuSnapshotCreateOptions effectiveOptions = options != null ? options : PveQemuSnapshotCreateOptions.builder();
 
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.post("nodes/" + nodeName + "/qemu/" + vmid + "/snapshot")
                 .params(effectiveOptions.toParams(snapname))
-                .transformer(new TaskResponseTransformer())
-                .execute(PveTask.class)
+                .transformer(new TaskResponseTransformer()),
+            PveTask.class
         );
     }
 
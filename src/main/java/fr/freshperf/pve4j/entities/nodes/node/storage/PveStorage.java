@@ -17,8 +17,9 @@ public record PveStorage(ProxmoxHttpClient client, String nodeName) {
      * @return a request returning the list of storages
      */
     public ProxmoxRequest<List<PveStorageIndex>> getIndex() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName + "/storage").executeList(new TypeToken<List<PveStorageIndex>>(){})
+        return new ProxmoxRequest<>(
+            client.get("nodes/" + nodeName + "/storage"),
+            new TypeToken<List<PveStorageIndex>>(){}
         );
     }
 
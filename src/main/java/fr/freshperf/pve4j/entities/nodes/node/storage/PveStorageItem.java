@@ -17,9 +17,9 @@ public record PveStorageItem(ProxmoxHttpClient client, String nodeName, String s
      * @return a request returning the storage status
      */
     public ProxmoxRequest<PveStorageStatus> getStatus() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName + "/storage/" + storageId + "/status")
-                .execute(PveStorageStatus.class)
+        return new ProxmoxRequest<>(
+            client.get("nodes/" + nodeName + "/storage/" + storageId + "/status"),
+            PveStorageStatus.class
         );
     }
 
@@ -29,9 +29,9 @@ public record PveStorageItem(ProxmoxHttpClient client, String nodeName, String s
      * @return a request returning the list of storage content
      */
     public ProxmoxRequest<List<PveStorageContent>> getContent() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName + "/storage/" + storageId + "/content")
-                .executeList(new TypeToken<List<PveStorageContent>>(){})
+        return new ProxmoxRequest<>(
+            client.get("nodes/" + nodeName + "/storage/" + storageId + "/content"),
+            new TypeToken<List<PveStorageContent>>(){}
         );
     }
 
@@ -41,9 +41,9 @@ public record PveStorageItem(ProxmoxHttpClient client, String nodeName, String s
      * @return a request returning the RRD data
      */
     public ProxmoxRequest<PveStorageRrd> getRrd() {
-        return new ProxmoxRequest<>(() -> 
-            client.get("nodes/" + nodeName + "/storage/" + storageId + "/rrd")
-                .execute(PveStorageRrd.class)
+        return new ProxmoxRequest<>(
+            client.get("nodes/" + nodeName + "/storage/" + storageId + "/rrd"),
+            PveStorageRrd.class
         );
     }
 }
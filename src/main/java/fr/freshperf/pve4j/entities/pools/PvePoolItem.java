@@ -30,9 +30,9 @@ public class PvePoolItem {
      * @return a request returning the pool details
      */
     public ProxmoxRequest<PvePoolDetails> getDetails() {
-        return new ProxmoxRequest<>(() ->
-            client.get("pools/" + poolid)
-                .execute(PvePoolDetails.class)
+        return new ProxmoxRequest<>(
+            client.get("pools/" + poolid),
+            PvePoolDetails.class
         );
     }
 
@@ -43,10 +43,10 @@ public class PvePoolItem {
      * @return a request returning the pool details
      */
     public ProxmoxRequest<PvePoolDetails> getDetails(String type) {
-        return new ProxmoxRequest<>(() ->
+        return new ProxmoxRequest<>(
             client.get("pools/" + poolid)
-                .param("type", type)
-                .execute(PvePoolDetails.class)
+                .param("type", type),
+            PvePoolDetails.class
         );
     }
 
@@ -61,12 +61,11 @@ public class PvePoolItem {
         if (options == null) {
             throw new IllegalArgumentException("options cannot be null");
         }
-        return new ProxmoxRequest<>(() -> {
+        return new ProxmoxRequest<>(
             client.put("pools/" + poolid)
-                .params(options.toParams())
-                .execute();
-            return null;
-        });
+                .params(options.toParams()),
+            Void.class
+        );
     }
 
     /**
@@ -115,11 +114,10 @@ public class PvePoolItem {
      * @return a request that completes when the deletion is done
      */
     public ProxmoxRequest<Void> delete() {
-        return new ProxmoxRequest<>(() -> {
-            client.delete("pools/" + poolid)
-                .execute();
-            return null;
-        });
+        return new ProxmoxRequest<>(
+            client.delete("pools/" + poolid),
+            Void.class
+        );
     }
 }
 
@@ -28,9 +28,9 @@ public class PvePools {
      * @return a request returning the list of pools
      */
     public ProxmoxRequest<List<PvePool>> list() {
-        return new ProxmoxRequest<>(() ->
-            client.get("pools")
-                .executeList(new TypeToken<>() {})
+        return new ProxmoxRequest<>(
+            client.get("pools"),
+            new TypeToken<List<PvePool>>(){}
         );
     }
 
@@ -60,12 +60,11 @@ public class PvePools {
 
         PvePoolCreateOptions effectiveOptions = options != null ? options : PvePoolCreateOptions.builder();
 
-        return new ProxmoxRequest<>(() -> {
+        return new ProxmoxRequest<>(
             client.post("pools")
-                .params(effectiveOptions.toParams(poolid))
-                .execute();
-            return null;
-        });
+                .params(effectiveOptions.toParams(poolid)),
+            Void.class
+        );
     }
 
     /**
@@ -0,0 +1,34 @@
+package fr.freshperf.pve4j.inventory;
+
+import fr.freshperf.pve4j.entities.cluster.resources.PveClusterResources;
+
+/**
+ * A change of one cluster resource between two inventory snapshots.
+ *
+ * @param type     the kind of change
+ * @param id       the resource id (e.g. "qemu/100")
+ * @param previous the resource in the previous snapshot, null when added
+ * @param current  the resource in the new snapshot, null when removed
+ * @since 0.1.0
+ */
+public record ClusterChangeEvent(Type type, String id, PveClusterResources previous, PveClusterResources current) {
+
+    /**
+     * Kinds of resource changes. A single resource may produce several events per refresh,
+     * e.g. a VM migrated while being started.
+     */
+    public enum Type {
+        /** The resource appeared. */
+        ADDED,
+        /** The resource disappeared. */
+        REMOVED,
+        /** The status changed, e.g. a guest started or stopped. */
+        STATUS_CHANGED,
+        /** The resource moved to another node. */
+        NODE_CHANGED,
+        /** The lock was set, cleared or changed. */
+        LOCK_CHANGED,
+        /** The resource joined, left or changed pool. */
+        POOL_CHANGED
+    }
+}
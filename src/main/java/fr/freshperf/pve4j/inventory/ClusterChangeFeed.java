@@ -0,0 +1,167 @@
+package fr.freshperf.pve4j.inventory;
+
+import fr.freshperf.pve4j.entities.cluster.resources.PveClusterResources;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Turns successive inventory snapshots into typed change events.
+ *
+ * <p>The feed keeps the previous snapshot, keyed by resource id, and only emits the differences
+ * with each new one, so listeners do work proportional to change rather than to cluster size.
+ * The first snapshot is the baseline and emits nothing; read it from the inventory to get the
+ * initial state.</p>
+ *
+ * <pre>{@code
+ * ClusterChangeFeed feed = new ClusterChangeFeed();
+ * feed.addListener(event -> System.out.println(event.id() + " " + event.type()),
+ *         ClusterChangeEvent.Type.STATUS_CHANGED, ClusterChangeEvent.Type.NODE_CHANGED);
+ * feed.attach(proxmox.getInventory());
+ * proxmox.getInventory().start(Duration.ofSeconds(5));
+ * }</pre>
+ *
+ * @since 0.1.0
+ */
+public class ClusterChangeFeed implements Consumer<ClusterInventorySnapshot> {
+
+    private final List<Registration> listeners = new CopyOnWriteArrayList<>();
+    private volatile Consumer<Throwable> errorHandler;
+    private ClusterInventorySnapshot previous;
+
+    /**
+     * Registers a listener for all kinds of changes.
+     *
+     * @param listener the listener
+     */
+    public void addListener(ClusterChangeListener listener) {
+        listeners.add(new Registration(listener, EnumSet.allOf(ClusterChangeEvent.Type.class)));
+    }
+
+    /**
+     * Registers a listener for some kinds of changes.
+     *
+     * @param listener the listener
+     * @param first the first kind of change to receive
+     * @param others other kinds of change to receive
+     */
+    public void addListener(ClusterChangeListener listener, ClusterChangeEvent.Type first, ClusterChangeEvent.Type... others) {
+        listeners.add(new Registration(listener, EnumSet.of(first, others)));
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(ClusterChangeListener listener) {
+        listeners.removeIf(registration -> registration.listener() == listener);
+    }
+
+    /**
+     * Sets the handler receiving the exceptions thrown by listeners. Without a handler, these
+     * exceptions are ignored; the other listeners are notified either way.
+     *
+     * @param errorHandler the error handler, or null to ignore listener exceptions
+     */
+    public void setErrorHandler(Consumer<Throwable> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Returns the handler receiving the exceptions thrown by listeners.
+     *
+     * @return the error handler, or null if listener exceptions are ignored
+     */
+    public Consumer<Throwable> getErrorHandler() {
+        return errorHandler;
+    }
+
+    /**
+     * Feeds this change feed with every new snapshot of an inventory.
+     *
+     * @param inventory the inventory to follow
+     */
+    public void attach(ClusterInventory inventory) {
+        inventory.addListener(this);
+    }
+
+    /**
+     * Stops following an inventory.
+     *
+     * @param inventory the inventory to stop following
+     */
+    public void detach(ClusterInventory inventory) {
+        inventory.removeListener(this);
+    }
+
+    /**
+     * Compares a snapshot with the previous one and notifies listeners of the differences.
+     *
+     * @param snapshot the new snapshot
+     */
+    @Override
+    public synchronized void accept(ClusterInventorySnapshot snapshot) {
+        ClusterInventorySnapshot last = previous;
+        previous = snapshot;
+        if (last == null) {
+            return;
+        }
+
+        for (PveClusterResources current : snapshot.getResources()) {
+            if (current.getId() == null) {
+                continue;
+            }
+            PveClusterResources before = last.getById(current.getId());
+            if (before == null) {
+                emit(ClusterChangeEvent.Type.ADDED, current.getId(), null, current);
+                continue;
+            }
+            if (!Objects.equals(before.getStatus(), current.getStatus())) {
+                emit(ClusterChangeEvent.Type.STATUS_CHANGED, current.getId(), before, current);
+            }
+            if (!Objects.equals(before.getNode(), current.getNode())) {
+                emit(ClusterChangeEvent.Type.NODE_CHANGED, current.getId(), before, current);
+            }
+            if (!Objects.equals(before.getLock(), current.getLock())) {
+                emit(ClusterChangeEvent.Type.LOCK_CHANGED, current.getId(), before, current);
+            }
+            if (!Objects.equals(before.getPool(), current.getPool())) {
+                emit(ClusterChangeEvent.Type.POOL_CHANGED, current.getId(), before, current);
+            }
+        }
+
+        for (PveClusterResources before : last.getResources()) {
+            if (before.getId() != null && snapshot.getById(before.getId()) == null) {
+                emit(ClusterChangeEvent.Type.REMOVED, before.getId(), before, null);
+            }
+        }
+    }
+
+    private void emit(ClusterChangeEvent.Type type, String id, PveClusterResources previous, PveClusterResources current) {
+        ClusterChangeEvent event = null;
+        for (Registration registration : listeners) {
+            if (!registration.types().contains(type)) {
+                continue;
+            }
+            if (event == null) {
+                event = new ClusterChangeEvent(type, id, previous, current);
+            }
+            try {
+                registration.listener().onChange(event);
+            } catch (RuntimeException e) {
+                Consumer<Throwable> handler = errorHandler;
+                if (handler != null) {
+                    handler.accept(e);
+                }
+            }
+        }
+    }
+
+    private record Registration(ClusterChangeListener listener, Set<ClusterChangeEvent.Type> types) {
+    }
+}
@@ -0,0 +1,15 @@
+package fr.freshperf.pve4j.inventory;
+
+/**
+ * Listener for cluster resource changes.
+ */
+@FunctionalInterface
+public interface ClusterChangeListener {
+
+    /**
+     * Called for each change detected between two snapshots.
+     *
+     * @param event the change
+     */
+    void onChange(ClusterChangeEvent event);
+}
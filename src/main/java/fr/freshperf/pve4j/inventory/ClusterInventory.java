@@ -0,0 +1,192 @@
+package fr.freshperf.pve4j.inventory;
+
+import fr.freshperf.pve4j.entities.cluster.PveCluster;
+import fr.freshperf.pve4j.entities.cluster.resources.PveClusterResources;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index of the cluster resources, refreshed from {@code cluster/resources}.
+ *
+ * <p>Each refresh builds a new {@link ClusterInventorySnapshot} and swaps it in atomically, so
+ * readers never lock and always see a consistent snapshot. The inventory is empty until the
+ * first refresh; call {@link #refresh()} once, or {@link #start(Duration)} to refresh it in
+ * the background.</p>
+ *
+ * <p>Snapshots are published in the order their refreshes started: when refreshes overlap, a
+ * refresh that completes after a more recent one is dropped rather than replacing newer data.
+ * Listeners are called one snapshot at a time, in that order.</p>
+ *
+ * <pre>{@code
+ * ClusterInventory inventory = proxmox.getInventory();
+ * inventory.start(Duration.ofSeconds(30));
+ * String node = inventory.getSnapshot().getNodeOf(4312);
+ * }</pre>
+ *
+ * @since 0.1.0
+ */
+public class ClusterInventory {
+
+    private final PveCluster cluster;
+    private final List<Consumer<ClusterInventorySnapshot>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong generations = new AtomicLong();
+    private final Object publishLock = new Object();
+    private volatile ClusterInventorySnapshot snapshot = ClusterInventorySnapshot.empty();
+    private volatile Consumer<Throwable> errorHandler;
+    private long publishedGeneration; // Guarded by publishLock
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates an empty inventory.
+     *
+     * @param cluster the cluster facade used to fetch resources
+     */
+    public ClusterInventory(PveCluster cluster) {
+        this.cluster = cluster;
+    }
+
+    /**
+     * Returns the latest snapshot. Never blocks.
+     *
+     * @return the current snapshot, empty until the first refresh
+     */
+    public ClusterInventorySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Fetches the cluster resources and swaps in a new snapshot.
+     *
+     * @return a future completed with the new snapshot, or with the current one if a refresh
+     *         started later was published first
+     */
+    public CompletableFuture<ClusterInventorySnapshot> refresh() {
+        long generation = generations.incrementAndGet();
+        return cluster.getResources().executeAsync().thenApply(resources -> publish(resources, generation));
+    }
+
+    /**
+     * Builds a snapshot from resources fetched elsewhere and swaps it in.
+     *
+     * @param resources the cluster resources
+     * @return the new snapshot
+     */
+    public ClusterInventorySnapshot update(List<PveClusterResources> resources) {
+        return publish(resources, generations.incrementAndGet());
+    }
+
+    private ClusterInventorySnapshot publish(List<PveClusterResources> resources, long generation) {
+        synchronized (publishLock) {
+            if (generation < publishedGeneration) {
+                // Fetched before the current snapshot
+                return snapshot;
+            }
+            publishedGeneration = generation;
+            ClusterInventorySnapshot next = new ClusterInventorySnapshot(resources, Instant.now());
+            snapshot = next;
+            for (Consumer<ClusterInventorySnapshot> listener : listeners) {
+                try {
+                    listener.accept(next);
+                } catch (RuntimeException e) {
+                    reportError(e);
+                }
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Registers a listener called with each new snapshot.
+     *
+     * @param listener the listener
+     */
+    public void addListener(Consumer<ClusterInventorySnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a snapshot listener.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(Consumer<ClusterInventorySnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the handler receiving the errors of background refreshes and the exceptions thrown by
+     * listeners. Without a handler, these errors are ignored.
+     *
+     * @param errorHandler the error handler, or null to ignore errors
+     */
+    public void setErrorHandler(Consumer<Throwable> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Returns the handler receiving the errors of background refreshes and listeners.
+     *
+     * @return the error handler, or null if errors are ignored
+     */
+    public Consumer<Throwable> getErrorHandler() {
+        return errorHandler;
+    }
+
+    /**
+     * Starts refreshing the inventory in the background, immediately and then every {@code period}.
+     * A failed refresh keeps the previous snapshot and is passed to the
+     * {@linkplain #setErrorHandler(Consumer) error handler}. Restarting replaces the previous period.
+     *
+     * @param period the delay between two refreshes
+     */
+    public synchronized void start(Duration period) {
+        stop();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r);
+            thread.setName("pve4j-inventory-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh().join();
+            } catch (CompletionException e) {
+                reportError(e.getCause() != null ? e.getCause() : e);
+            } catch (RuntimeException e) {
+                reportError(e);
+            }
+        }, 0, period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops background refreshes. The last snapshot stays available.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void reportError(Throwable error) {
+        Consumer<Throwable> handler = errorHandler;
+        if (handler != null) {
+            handler.accept(error);
+        }
+    }
+
+    /** @return true if background refreshes are running */
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+}
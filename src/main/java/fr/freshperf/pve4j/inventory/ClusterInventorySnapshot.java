@@ -0,0 +1,197 @@
+package fr.freshperf.pve4j.inventory;
+
+import fr.freshperf.pve4j.entities.cluster.resources.PveClusterResources;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable view of the cluster resources at one point in time, indexed for constant-time lookups.
+ *
+ * <p>Indexes are built once from a {@code cluster/resources} listing: by id, by VMID, and by node,
+ * pool, type, storage and tag. Lookups never return null collections; unknown keys give an empty list.</p>
+ *
+ * @since 0.1.0
+ */
+public final class ClusterInventorySnapshot {
+
+    private static final Pattern TAG_SEPARATOR = Pattern.compile("[;,\\s]+");
+
+    private static final ClusterInventorySnapshot EMPTY = new ClusterInventorySnapshot(List.of(), Instant.EPOCH);
+
+    private final List<PveClusterResources> resources;
+    private final Instant fetchedAt;
+    private final Map<String, PveClusterResources> byId;
+    private final Map<Integer, PveClusterResources> byVmid;
+    private final Map<String, List<PveClusterResources>> byNode;
+    private final Map<String, List<PveClusterResources>> byPool;
+    private final Map<String, List<PveClusterResources>> byType;
+    private final Map<String, List<PveClusterResources>> byStorage;
+    private final Map<String, List<PveClusterResources>> byTag;
+
+    /**
+     * Builds the indexes of a resources listing.
+     *
+     * @param resources the cluster resources
+     * @param fetchedAt when the resources were fetched
+     */
+    public ClusterInventorySnapshot(List<PveClusterResources> resources, Instant fetchedAt) {
+        this.resources = List.copyOf(resources);
+        this.fetchedAt = fetchedAt;
+
+        Map<String, PveClusterResources> ids = new HashMap<>();
+        Map<Integer, PveClusterResources> vmids = new HashMap<>();
+        Map<String, List<PveClusterResources>> nodes = new HashMap<>();
+        Map<String, List<PveClusterResources>> pools = new HashMap<>();
+        Map<String, List<PveClusterResources>> types = new HashMap<>();
+        Map<String, List<PveClusterResources>> storages = new HashMap<>();
+        Map<String, List<PveClusterResources>> tags = new HashMap<>();
+
+        for (PveClusterResources resource : this.resources) {
+            if (resource.getId() != null) {
+                ids.put(resource.getId(), resource);
+            }
+            if (resource.getVmid() > 0) {
+                vmids.put(resource.getVmid(), resource);
+            }
+            index(nodes, resource.getNode(), resource);
+            index(pools, resource.getPool(), resource);
+            index(types, resource.getType(), resource);
+            index(storages, resource.getStorage(), resource);
+            if (resource.getTags() != null) {
+                for (String tag : TAG_SEPARATOR.split(resource.getTags())) {
+                    index(tags, tag, resource);
+                }
+            }
+        }
+
+        this.byId = Map.copyOf(ids);
+        this.byVmid = Map.copyOf(vmids);
+        this.byNode = freeze(nodes);
+        this.byPool = freeze(pools);
+        this.byType = freeze(types);
+        this.byStorage = freeze(storages);
+        this.byTag = freeze(tags);
+    }
+
+    /**
+     * Returns the snapshot of an inventory that was never refreshed.
+     *
+     * @return an empty snapshot
+     */
+    public static ClusterInventorySnapshot empty() {
+        return EMPTY;
+    }
+
+    private static void index(Map<String, List<PveClusterResources>> index, String key, PveClusterResources resource) {
+        if (key != null && !key.isEmpty()) {
+            index.computeIfAbsent(key, k -> new ArrayList<>()).add(resource);
+        }
+    }
+
+    private static Map<String, List<PveClusterResources>> freeze(Map<String, List<PveClusterResources>> index) {
+        index.replaceAll((key, list) -> Collections.unmodifiableList(list));
+        return Map.copyOf(index);
+    }
+
+    /** @return all resources of the snapshot */
+    public List<PveClusterResources> getResources() {
+        return resources;
+    }
+
+    /** @return when the resources were fetched */
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    /** @return true if the snapshot holds no resources */
+    public boolean isEmpty() {
+        return resources.isEmpty();
+    }
+
+    /**
+     * Gets a resource by its id (e.g. "qemu/100", "node/pve1", "storage/pve1/local").
+     *
+     * @param id the resource id
+     * @return the resource, or null if unknown
+     */
+    public PveClusterResources getById(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Gets a guest (VM or container) by VMID.
+     *
+     * @param vmid the VMID
+     * @return the guest, or null if unknown
+     */
+    public PveClusterResources getByVmid(int vmid) {
+        return byVmid.get(vmid);
+    }
+
+    /**
+     * Gets the node a guest lives on.
+     *
+     * @param vmid the VMID
+     * @return the node name, or null if the guest is unknown
+     */
+    public String getNodeOf(int vmid) {
+        PveClusterResources guest = byVmid.get(vmid);
+        return guest != null ? guest.getNode() : null;
+    }
+
+    /**
+     * Gets the resources of a node: the node itself, its guests and its storages.
+     *
+     * @param node the node name
+     * @return the resources of the node
+     */
+    public List<PveClusterResources> getByNode(String node) {
+        return byNode.getOrDefault(node, List.of());
+    }
+
+    /**
+     * Gets the members of a pool.
+     *
+     * @param pool the pool name
+     * @return the resources in the pool
+     */
+    public List<PveClusterResources> getByPool(String pool) {
+        return byPool.getOrDefault(pool, List.of());
+    }
+
+    /**
+     * Gets the resources of a type.
+     *
+     * @param type the resource type (e.g. "qemu", "lxc", "node", "storage")
+     * @return the resources of this type
+     */
+    public List<PveClusterResources> getByType(String type) {
+        return byType.getOrDefault(type, List.of());
+    }
+
+    /**
+     * Gets the per-node entries of a storage.
+     *
+     * @param storage the storage name
+     * @return the storage entries, one per node
+     */
+    public List<PveClusterResources> getByStorage(String storage) {
+        return byStorage.getOrDefault(storage, List.of());
+    }
+
+    /**
+     * Gets the guests carrying a tag.
+     *
+     * @param tag the tag
+     * @return the tagged resources
+     */
+    public List<PveClusterResources> getByTag(String tag) {
+        return byTag.getOrDefault(tag, List.of());
+    }
+}
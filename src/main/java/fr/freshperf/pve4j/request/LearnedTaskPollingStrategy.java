@@ -0,0 +1,157 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.entities.PveTask;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Polling strategy that keeps running duration statistics per task type.
+ *
+ * <p>Until a type has been observed, tasks are polled with the fallback strategy. Once the usual
+ * duration of a type is known, tasks are first checked a little before they are expected to be
+ * done, then at a short interval until somewhat after, all bounded by a minimum and maximum
+ * delay. Tasks running longer than that go back to the fallback strategy.</p>
+ *
+ * <p>Durations are learned from the run times reported by the server rather than from when the
+ * tasks were seen finished, so the estimate is not biased by the polling itself and can shrink
+ * as well as grow. They are tracked as exponentially weighted moving averages of the duration
+ * and of its deviation, so the estimate follows slow changes of the environment.</p>
+ *
+ * @since 0.1.0
+ */
+public class LearnedTaskPollingStrategy implements TaskPollingStrategy {
+
+    private static final double DEFAULT_SMOOTHING = 0.2;
+    private static final double MIN_SPREAD_FRACTION = 0.2;
+
+    private final Map<String, TypeStats> statsByType = new ConcurrentHashMap<>();
+    private final TaskPollingStrategy fallback;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final double smoothing;
+
+    /**
+     * Creates a learned strategy polling between 250ms and 30s, backing off exponentially
+     * from 250ms for unknown or overdue tasks.
+     */
+    public LearnedTaskPollingStrategy() {
+        this(TaskPollingStrategy.exponentialBackoff(Duration.ofMillis(250), 2, Duration.ofSeconds(30)),
+                Duration.ofMillis(250), Duration.ofSeconds(30), DEFAULT_SMOOTHING);
+    }
+
+    /**
+     * Creates a learned strategy.
+     *
+     * @param fallback the strategy used for unknown types and overdue tasks
+     * @param minDelay the minimum delay between checks
+     * @param maxDelay the maximum delay between checks
+     * @param smoothing the weight of the latest duration in the moving average, in (0, 1]
+     */
+    public LearnedTaskPollingStrategy(TaskPollingStrategy fallback, Duration minDelay, Duration maxDelay, double smoothing) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("smoothing must be in (0, 1]");
+        }
+        this.fallback = fallback;
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public Duration nextDelay(PveTask task, int checks, Duration elapsed) {
+        TypeStats stats = task.getType() != null ? statsByType.get(task.getType()) : null;
+        if (stats == null || stats.count() == 0) {
+            return fallback.nextDelay(task, checks, elapsed);
+        }
+        // Check at the start of the window the task usually ends in, then across it
+        long expected = stats.average().toNanos();
+        long spread = Math.max(stats.deviation().toNanos(), (long) (expected * MIN_SPREAD_FRACTION));
+        long now = elapsed.toNanos();
+        Duration delay;
+        if (now < expected - spread) {
+            delay = Duration.ofNanos(expected - spread - now);
+        } else if (now < expected + spread) {
+            delay = Duration.ofNanos(spread / 2);
+        } else {
+            return fallback.nextDelay(task, checks, elapsed);
+        }
+        if (delay.compareTo(minDelay) < 0) {
+            return minDelay;
+        }
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+
+    @Override
+    public void onTaskCompleted(PveTask task, Duration duration) {
+        if (task.getType() != null) {
+            statsByType.computeIfAbsent(task.getType(), type -> new TypeStats()).record(duration, smoothing);
+        }
+    }
+
+    /**
+     * Returns the learned average duration of a task type.
+     *
+     * @param type the task type (e.g. "qmstart")
+     * @return the average duration, or null if the type was never observed
+     */
+    public Duration getExpectedDuration(String type) {
+        TypeStats stats = statsByType.get(type);
+        return stats != null ? stats.average() : null;
+    }
+
+    /**
+     * Returns the learned mean deviation of the duration of a task type.
+     *
+     * @param type the task type (e.g. "qmstart")
+     * @return the mean deviation, or null if the type was never observed
+     */
+    public Duration getDurationDeviation(String type) {
+        TypeStats stats = statsByType.get(type);
+        return stats != null ? stats.deviation() : null;
+    }
+
+    /**
+     * Returns the number of completed tasks observed for a type.
+     *
+     * @param type the task type
+     * @return the number of observations
+     */
+    public long getObservations(String type) {
+        TypeStats stats = statsByType.get(type);
+        return stats != null ? stats.count() : 0;
+    }
+
+    /**
+     * Running duration statistics of one task type.
+     */
+    private static final class TypeStats {
+        private long count;
+        private double averageNanos;
+        private double deviationNanos;
+
+        synchronized void record(Duration duration, double smoothing) {
+            long nanos = duration.toNanos();
+            if (count == 0) {
+                averageNanos = nanos;
+            } else {
+                deviationNanos += smoothing * (Math.abs(nanos - averageNanos) - deviationNanos);
+                averageNanos += smoothing * (nanos - averageNanos);
+            }
+            count++;
+        }
+
+        synchronized Duration average() {
+            return count == 0 ? null : Duration.ofNanos((long) averageNanos);
+        }
+
+        synchronized Duration deviation() {
+            return count == 0 ? null : Duration.ofNanos((long) deviationNanos);
+        }
+
+        synchronized long count() {
+            return count;
+        }
+    }
+}
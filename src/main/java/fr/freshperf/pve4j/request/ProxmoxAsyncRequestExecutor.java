@@ -0,0 +1,21 @@
+package fr.freshperf.pve4j.request;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Functional interface for executing Proxmox API requests without blocking.
+ *
+ * @param <T> the return type of the request
+ */
+@FunctionalInterface
+public interface ProxmoxAsyncRequestExecutor<T> {
+
+    /**
+     * Starts the request and returns a future for its result.
+     * Failures are reported by completing the future exceptionally with a
+     * {@link fr.freshperf.pve4j.throwable.ProxmoxAPIError}.
+     *
+     * @return a future completed with the request result
+     */
+    CompletableFuture<T> executeAsync();
+}
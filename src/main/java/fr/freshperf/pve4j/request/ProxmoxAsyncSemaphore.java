@@ -0,0 +1,67 @@
+package fr.freshperf.pve4j.request;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fair semaphore handing out permits through futures, in arrival order.
+ * A waiter cancels its future to leave the queue.
+ */
+final class ProxmoxAsyncSemaphore {
+
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int available;
+
+    ProxmoxAsyncSemaphore(int permits) {
+        this.available = permits;
+    }
+
+    /**
+     * Takes a permit, or queues behind the current waiters.
+     *
+     * @return a future completing once the permit is granted
+     */
+    CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> waiter;
+        synchronized (this) {
+            if (available > 0 && waiters.isEmpty()) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+        }
+        waiter.whenComplete((ignored, throwable) -> {
+            if (waiter.isCancelled()) {
+                synchronized (this) {
+                    waiters.remove(waiter);
+                }
+            }
+        });
+        return waiter;
+    }
+
+    /**
+     * Hands a permit to the oldest waiter, or back to the semaphore.
+     */
+    void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            }
+            // Completed outside the lock; a waiter cancelled meanwhile passes the permit on
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    synchronized int getQueueLength() {
+        return waiters.size();
+    }
+}
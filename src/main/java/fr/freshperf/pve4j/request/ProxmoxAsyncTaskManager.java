@@ -3,18 +3,19 @@ package fr.freshperf.pve4j.request;
 import fr.freshperf.pve4j.Proxmox;
 import fr.freshperf.pve4j.entities.PveTask;
 import fr.freshperf.pve4j.entities.PveTaskStatus;
-import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
 
 import java.time.Duration;
 import java.util.concurrent.*;
+import java.util.function.Supplier;
 
 /**
  * Asynchronous task manager for PVE4J.
  * Uses CompletableFuture for a modern API with configurable timeouts.
  *
  * <p>This manager handles long-running Proxmox tasks (like VM cloning, backups, etc.)
- * by polling their status in virtual threads until completion, with optional timeouts
- * and retry mechanisms.</p>
+ * by polling their status until completion, with optional timeouts and retry mechanisms.
+ * Pending tasks are watched by a shared {@link ProxmoxTaskWatcher}, which batches the checks
+ * of all tasks running on the same node.</p>
  *
  * @since 0.1.0
  */
@@ -22,6 +23,8 @@ public class ProxmoxAsyncTaskManager {
 
     private final ProxmoxThreadManager threadManager;
     private final ScheduledExecutorService scheduler;
+    private final ProxmoxTaskWatcher taskWatcher;
+    private volatile TaskPollingStrategy pollingStrategy = TaskPollingStrategy.fixed(Duration.ofSeconds(1));
 
     /**
      * Creates a new asynchronous task manager.
@@ -36,6 +39,44 @@ public class ProxmoxAsyncTaskManager {
             thread.setDaemon(true);
             return thread;
         });
+        this.taskWatcher = new ProxmoxTaskWatcher(scheduler, threadManager.getVirtualThreadExecutor());
+    }
+
+    /**
+     * Returns the shared watcher used to track pending tasks.
+     *
+     * @return the task watcher
+     */
+    public ProxmoxTaskWatcher getTaskWatcher() {
+        return taskWatcher;
+    }
+
+    /**
+     * Returns the polling strategy used when a request does not configure its own.
+     *
+     * @return the default polling strategy
+     */
+    public TaskPollingStrategy getPollingStrategy() {
+        return pollingStrategy;
+    }
+
+    /**
+     * Sets the polling strategy used when a request does not configure its own.
+     * Defaults to a fixed 1 second interval.
+     *
+     * <pre>{@code
+     * manager.setPollingStrategy(TaskPollingStrategy.byType(
+     *     Map.of("vzdump", TaskPollingStrategy.exponentialBackoff(Duration.ofSeconds(5), 2, Duration.ofMinutes(1))),
+     *     TaskPollingStrategy.learned()));
+     * }</pre>
+     *
+     * @param pollingStrategy the default polling strategy
+     */
+    public void setPollingStrategy(TaskPollingStrategy pollingStrategy) {
+        if (pollingStrategy == null) {
+            throw new IllegalArgumentException("Polling strategy must not be null");
+        }
+        this.pollingStrategy = pollingStrategy;
     }
 
     /**
@@ -52,15 +93,30 @@ public class ProxmoxAsyncTaskManager {
             PveTask task,
             Duration checkInterval,
             Duration timeout) {
+        return waitForTaskAsync(proxmox, task, TaskPollingStrategy.fixed(checkInterval), timeout);
+    }
+
+    /**
+     * Waits for task completion asynchronously, checking the task as decided by a polling strategy.
+     *
+     * @param proxmox the Proxmox instance to check status
+     * @param task the task to monitor
+     * @param strategy the polling strategy, or null for {@link #getPollingStrategy()}
+     * @param timeout the maximum timeout (null for no timeout)
+     * @return a CompletableFuture containing the final status
+     */
+    public CompletableFuture<PveTaskStatus> waitForTaskAsync(
+            Proxmox proxmox,
+            PveTask task,
+            TaskPollingStrategy strategy,
+            Duration timeout) {
 
         if (task == null || !hasValidUpid(task)) {
             return CompletableFuture.completedFuture(null);
         }
 
-        CompletableFuture<PveTaskStatus> future = CompletableFuture.supplyAsync(
-            () -> pollTaskStatus(proxmox, task, checkInterval),
-            threadManager.getVirtualThreadExecutor()
-        );
+        CompletableFuture<PveTaskStatus> future = taskWatcher.watch(
+            proxmox, task, strategy != null ? strategy : pollingStrategy);
 
         if (timeout != null) {
             return addTimeout(future, timeout);
@@ -85,8 +141,27 @@ public class ProxmoxAsyncTaskManager {
             Duration checkInterval,
             Duration timeout,
             TaskCompletionCallback callback) {
+        return waitForTaskWithCallback(proxmox, task, TaskPollingStrategy.fixed(checkInterval), timeout, callback);
+    }
+
+    /**
+     * Waits for task completion with a callback, checking the task as decided by a polling strategy.
+     *
+     * @param proxmox the Proxmox instance to check status
+     * @param task the task to monitor
+     * @param strategy the polling strategy, or null for {@link #getPollingStrategy()}
+     * @param timeout the maximum timeout (null for no timeout)
+     * @param callback the callback to execute on completion
+     * @return a CompletableFuture for task control
+     */
+    public CompletableFuture<Void> waitForTaskWithCallback(
+            Proxmox proxmox,
+            PveTask task,
+            TaskPollingStrategy strategy,
+            Duration timeout,
+            TaskCompletionCallback callback) {
 
-        return waitForTaskAsync(proxmox, task, checkInterval, timeout)
+        return waitForTaskAsync(proxmox, task, strategy, timeout)
             .thenAccept(status -> {
                 if (callback != null && status != null) {
                     callback.onComplete(status);
@@ -99,57 +174,23 @@ public class ProxmoxAsyncTaskManager {
     }
 
     /**
-     * Polls task status until completion.
+     * Adds a timeout to a CompletableFuture.
+     * The future itself is completed on timeout, which also stops watching the task.
      */
-    private PveTaskStatus pollTaskStatus(Proxmox proxmox, PveTask task, Duration checkInterval) {
-        try {
-            while (!Thread.currentThread().isInterrupted()) {
-                PveTaskStatus status = proxmox.getTaskStatus(task).execute();
-
-                if (status.isCompleted()) {
-                    if (!status.isSuccessful()) {
-                        String errorMsg = status.getExitstatus() != null
-                            ? "Task failed with exit status: " + status.getExitstatus()
-                            : "Task completed with errors";
-                        throw new ProxmoxAPIError(errorMsg);
-                    }
-                    return status;
-                }
-
-                Thread.sleep(checkInterval.toMillis());
-            }
-            throw new InterruptedException("Task polling was interrupted");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new CompletionException("Task polling interrupted", e);
-        } catch (ProxmoxAPIError e) {
-            throw new CompletionException("Task failed", e);
-        }
+    private <T> CompletableFuture<T> addTimeout(CompletableFuture<T> future, Duration timeout) {
+        failAfter(future, timeout.toNanos(), () -> new TimeoutException("Operation timed out after " + timeout));
+        return future;
     }
 
-
     /**
-     * Adds a timeout to a CompletableFuture.
+     * Completes a future exceptionally if it is still pending after a delay.
+     * The scheduled check is dropped as soon as the future completes.
      */
-    private <T> CompletableFuture<T> addTimeout(CompletableFuture<T> future, Duration timeout) {
-        CompletableFuture<T> timeoutFuture = new CompletableFuture<>();
-
-        ScheduledFuture<?> scheduledTimeout = scheduler.schedule(() -> {
-            timeoutFuture.completeExceptionally(
-                new TimeoutException("Operation timed out after " + timeout)
-            );
-        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
-
-        future.whenComplete((result, throwable) -> {
-            scheduledTimeout.cancel(false);
-            if (throwable != null) {
-                timeoutFuture.completeExceptionally(throwable);
-            } else {
-                timeoutFuture.complete(result);
-            }
-        });
+    void failAfter(CompletableFuture<?> future, long delayNanos, Supplier<? extends Throwable> error) {
+        ScheduledFuture<?> scheduledTimeout = scheduler.schedule(
+            () -> future.completeExceptionally(error.get()), Math.max(0, delayNanos), TimeUnit.NANOSECONDS);
 
-        return timeoutFuture;
+        future.whenComplete((result, throwable) -> scheduledTimeout.cancel(false));
     }
 
     /**
@@ -0,0 +1,352 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import fr.freshperf.pve4j.util.ProxmoxPathTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission limits for outgoing API calls: requests in flight overall, per target node, and
+ * for mutating calls (anything but GET).
+ *
+ * <p>Requests over a limit wait in arrival order instead of failing. A request takes its node
+ * permit first, then its mutation permit, then a global one, so a busy node does not hold up
+ * requests for other nodes. Waiting costs no thread for async requests and a cheap park for
+ * blocking ones on virtual threads.</p>
+ *
+ * <pre>{@code
+ * client.setBulkhead(ProxmoxBulkhead.builder()
+ *         .maxInFlight(64)
+ *         .maxInFlightPerNode(16)
+ *         .maxInFlightMutations(8)
+ *         .build());
+ * }</pre>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxBulkhead {
+
+    private final int maxInFlight;
+    private final int maxInFlightPerNode;
+    private final int maxInFlightMutations;
+    private final ProxmoxAsyncSemaphore global;
+    private final ProxmoxAsyncSemaphore mutations;
+    private final ConcurrentHashMap<String, ProxmoxAsyncSemaphore> nodes = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private ProxmoxBulkhead(Builder builder) {
+        this.maxInFlight = builder.maxInFlight;
+        this.maxInFlightPerNode = builder.maxInFlightPerNode;
+        this.maxInFlightMutations = builder.maxInFlightMutations;
+        this.global = new ProxmoxAsyncSemaphore(maxInFlight);
+        this.mutations = new ProxmoxAsyncSemaphore(maxInFlightMutations);
+    }
+
+    /**
+     * Creates a builder with 64 requests in flight overall, 16 per node and 8 mutating.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** @return the maximum number of requests in flight */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /** @return the maximum number of requests in flight per node */
+    public int getMaxInFlightPerNode() {
+        return maxInFlightPerNode;
+    }
+
+    /** @return the maximum number of mutating requests in flight */
+    public int getMaxInFlightMutations() {
+        return maxInFlightMutations;
+    }
+
+    /** @return the number of admitted requests not yet finished */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /** @return the number of requests waiting for admission */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * Returns the number of requests waiting for a permit of a node.
+     *
+     * @param node the node name
+     * @return the number of requests waiting on the node limit
+     */
+    public int getQueueDepth(String node) {
+        ProxmoxAsyncSemaphore limit = nodes.get(node);
+        return limit != null ? limit.getQueueLength() : 0;
+    }
+
+    /** @return the number of requests admitted so far */
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    /** @return the average time requests waited for admission */
+    public Duration getAverageWaitTime() {
+        long count = admitted.sum();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(totalWaitNanos.sum() / count);
+    }
+
+    /** @return the longest time a request waited for admission */
+    public Duration getMaxWaitTime() {
+        return Duration.ofNanos(maxWaitNanos.get());
+    }
+
+    /**
+     * Waits for admission of a request, at most until its deadline.
+     *
+     * @param deadline the {@link System#nanoTime()} deadline of the request, or null for none
+     * @return the permit, to release once the request is done
+     * @throws ProxmoxAPIError if the deadline passed while waiting
+     * @throws InterruptedException if interrupted while waiting
+     */
+    Permit acquire(String method, String path, Long deadline) throws ProxmoxAPIError, InterruptedException {
+        CompletableFuture<Permit> admission = acquireAsync(method, path);
+        try {
+            if (deadline == null) {
+                return admission.get();
+            }
+            return admission.get(Math.max(0, ProxmoxDeadline.remainingNanos(deadline)), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            leave(admission);
+            throw e;
+        } catch (TimeoutException e) {
+            leave(admission);
+            throw ProxmoxDeadline.exceeded();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Admission failed", e.getCause());
+        }
+    }
+
+    /**
+     * Admits a request only if it does not have to wait, e.g. for a hedge, which is not worth
+     * queueing for.
+     *
+     * @return the permit, to release once the request is done, or null if a limit is reached
+     */
+    Permit tryAcquire(String method, String path) {
+        CompletableFuture<Permit> admission = acquireAsync(method, path);
+        return admission.cancel(false) ? null : admission.join();
+    }
+
+    private static void leave(CompletableFuture<Permit> admission) {
+        if (!admission.cancel(false)) {
+            // Admitted in the meantime
+            admission.join().release();
+        }
+    }
+
+    /**
+     * Queues a request for admission. Cancelling the future leaves the queue.
+     *
+     * @return a future completing with the permit, to release once the request is done
+     */
+    CompletableFuture<Permit> acquireAsync(String method, String path) {
+        List<ProxmoxAsyncSemaphore> limits = new ArrayList<>(3);
+        String node = ProxmoxPathTemplate.nodeOf(path);
+        if (node != null) {
+            limits.add(nodes.computeIfAbsent(node, name -> new ProxmoxAsyncSemaphore(maxInFlightPerNode)));
+        }
+        if (!method.equals("GET")) {
+            limits.add(mutations);
+        }
+        limits.add(global);
+
+        Permit permit = new Permit(limits);
+        CompletableFuture<Permit> admission = new CompletableFuture<>();
+        admission.whenComplete((granted, throwable) -> {
+            if (admission.isCancelled()) {
+                permit.release();
+            }
+        });
+        queued.incrementAndGet();
+        advance(permit, admission, System.nanoTime());
+        return admission;
+    }
+
+    private void advance(Permit permit, CompletableFuture<Permit> admission, long start) {
+        CompletableFuture<Void> step = permit.next();
+        if (step != null) {
+            step.thenRun(() -> {
+                if (permit.granted(step)) {
+                    advance(permit, admission, start);
+                }
+            });
+            return;
+        }
+        if (!permit.admit()) {
+            return;
+        }
+        long waited = System.nanoTime() - start;
+        admitted.increment();
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        if (!admission.complete(permit)) {
+            permit.release();
+        }
+    }
+
+    /**
+     * Permits held by one request.
+     */
+    final class Permit {
+
+        private final List<ProxmoxAsyncSemaphore> limits;
+        private CompletableFuture<Void> pending;
+        private int granted;
+        private boolean admitted;
+        private boolean released;
+
+        private Permit(List<ProxmoxAsyncSemaphore> limits) {
+            this.limits = limits;
+        }
+
+        /**
+         * Takes the permits available right away.
+         *
+         * @return the pending acquisition to wait for, or null once every permit is held
+         */
+        private synchronized CompletableFuture<Void> next() {
+            while (!released && granted < limits.size()) {
+                CompletableFuture<Void> step = limits.get(granted).acquire();
+                if (!step.isDone()) {
+                    pending = step;
+                    return step;
+                }
+                granted++;
+            }
+            return null;
+        }
+
+        private synchronized boolean granted(CompletableFuture<Void> step) {
+            if (released) {
+                // Granted after the request left the queue: hand the permit back
+                limits.get(granted).release();
+                return false;
+            }
+            pending = null;
+            granted++;
+            return true;
+        }
+
+        private synchronized boolean admit() {
+            if (released) {
+                return false;
+            }
+            admitted = true;
+            queued.decrementAndGet();
+            inFlight.incrementAndGet();
+            return true;
+        }
+
+        /**
+         * Releases the held permits, or leaves the queue. Only the first call has an effect.
+         */
+        void release() {
+            CompletableFuture<Void> waiting;
+            int held;
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+                waiting = pending;
+                held = granted;
+                if (admitted) {
+                    inFlight.decrementAndGet();
+                } else {
+                    queued.decrementAndGet();
+                }
+            }
+            if (waiting != null) {
+                waiting.cancel(false);
+            }
+            for (int i = held - 1; i >= 0; i--) {
+                limits.get(i).release();
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link ProxmoxBulkhead}.
+     */
+    public static class Builder {
+        private int maxInFlight = 64;
+        private int maxInFlightPerNode = 16;
+        private int maxInFlightMutations = 8;
+
+        /**
+         * Sets the maximum number of requests in flight overall.
+         *
+         * @param maxInFlight the limit, at least 1
+         * @return this builder
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = requirePositive(maxInFlight);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests in flight to a single node ({@code nodes/{node}/...}).
+         *
+         * @param maxInFlightPerNode the limit, at least 1
+         * @return this builder
+         */
+        public Builder maxInFlightPerNode(int maxInFlightPerNode) {
+            this.maxInFlightPerNode = requirePositive(maxInFlightPerNode);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of mutating requests (POST, PUT, PATCH, DELETE) in flight.
+         *
+         * @param maxInFlightMutations the limit, at least 1
+         * @return this builder
+         */
+        public Builder maxInFlightMutations(int maxInFlightMutations) {
+            this.maxInFlightMutations = requirePositive(maxInFlightMutations);
+            return this;
+        }
+
+        /**
+         * Builds the bulkhead.
+         *
+         * @return a new bulkhead
+         */
+        public ProxmoxBulkhead build() {
+            return new ProxmoxBulkhead(this);
+        }
+
+        private static int requirePositive(int limit) {
+            if (limit < 1) {
+                throw new IllegalArgumentException("Limit must be at least 1, got " + limit);
+            }
+            return limit;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.throwable.ProxmoxCircuitOpenError;
+import fr.freshperf.pve4j.util.ProxmoxPathTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breakers keyed by endpoint and path family: the node for {@code nodes/{node}/...}
+ * paths, otherwise the first path segment ({@code cluster}, {@code storage}, ...).
+ *
+ * <p>A circuit opens once the share of failed calls over a sliding window reaches the threshold.
+ * While open, requests fail at once with a {@link ProxmoxCircuitOpenError}, or move to another
+ * endpoint if the client has several. After the open duration the circuit is half-open: a few
+ * probe requests go through, and it closes if they all succeed or opens again on the first
+ * failure.</p>
+ *
+ * <p>Only signs of an unhealthy server count as failures: network errors, timeouts and 502, 503
+ * or 504 responses. API errors (4xx, 500) show a responsive server and count as successes.</p>
+ *
+ * <pre>{@code
+ * client.setCircuitBreaker(ProxmoxCircuitBreaker.builder()
+ *         .failureRateThreshold(0.5)
+ *         .minimumCalls(10)
+ *         .window(Duration.ofSeconds(30))
+ *         .openDuration(Duration.ofSeconds(10))
+ *         .build());
+ * }</pre>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxCircuitBreaker {
+
+    /**
+     * State of a circuit.
+     */
+    public enum State {
+        /** Requests go through and their outcome is recorded. */
+        CLOSED,
+        /** Requests are rejected without being sent. */
+        OPEN,
+        /** A limited number of probe requests go through. */
+        HALF_OPEN
+    }
+
+    private static final int SLOTS = 10;
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long windowNanos;
+    private final long openNanos;
+    private final int probes;
+    private final ConcurrentHashMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    private ProxmoxCircuitBreaker(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.minimumCalls = builder.minimumCalls;
+        this.windowNanos = builder.window.toNanos();
+        this.openNanos = builder.openDuration.toNanos();
+        this.probes = builder.probes;
+    }
+
+    /**
+     * Creates a builder opening circuits at 50% failures over at least 10 calls in 30 seconds,
+     * for 10 seconds, with 1 probe request.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the state of the circuit a request would use.
+     *
+     * @param baseUrl the base API URL of the endpoint
+     * @param path    the API path
+     * @return the circuit state, CLOSED if no request went through it yet
+     */
+    public State getState(String baseUrl, String path) {
+        Circuit circuit = circuits.get(key(baseUrl, path));
+        return circuit != null ? circuit.getState(System.nanoTime()) : State.CLOSED;
+    }
+
+    /**
+     * Returns the state of every circuit used so far.
+     *
+     * @return the circuit names mapped to their state
+     */
+    public Map<String, State> getStates() {
+        long now = System.nanoTime();
+        Map<String, State> states = new HashMap<>();
+        circuits.forEach((name, circuit) -> states.put(name, circuit.getState(now)));
+        return states;
+    }
+
+    /** @return the number of requests rejected by an open circuit */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the circuit of a request sent to an endpoint.
+     */
+    Circuit circuitFor(ProxmoxEndpoint endpoint, String path) {
+        return circuits.computeIfAbsent(key(endpoint.getBaseUrl(), path), Circuit::new);
+    }
+
+    private static String key(String baseUrl, String path) {
+        String node = ProxmoxPathTemplate.nodeOf(path);
+        if (node != null) {
+            return baseUrl + " nodes/" + node;
+        }
+        String normalized = ProxmoxPathTemplate.normalize(path);
+        int end = normalized.indexOf('/');
+        return baseUrl + ' ' + (end < 0 ? normalized : normalized.substring(0, end));
+    }
+
+    /**
+     * Circuit of one endpoint and path family.
+     */
+    final class Circuit {
+
+        /** Outcome of {@link #tryAcquire()}: the request must not be sent. */
+        static final int REJECTED = 0;
+        /** Outcome of {@link #tryAcquire()}: a regular request. */
+        static final int CALL = 1;
+        /** Outcome of {@link #tryAcquire()}: a probe request of a half-open circuit. */
+        static final int PROBE = 2;
+
+        private final String name;
+        private final long slotNanos = Math.max(1, windowNanos / SLOTS);
+        private final long origin = System.nanoTime();
+        private final long[] slotIndexes = new long[SLOTS];
+        private final int[] calls = new int[SLOTS];
+        private final int[] failures = new int[SLOTS];
+        private State state = State.CLOSED;
+        private long openedAt;
+        private int probesInFlight;
+        private int probeSuccesses;
+
+        private Circuit(String name) {
+            this.name = name;
+        }
+
+        int tryAcquire() {
+            return tryAcquire(System.nanoTime());
+        }
+
+        synchronized int tryAcquire(long now) {
+            State current = getState(now);
+            if (current == State.CLOSED) {
+                return CALL;
+            }
+            if (current == State.HALF_OPEN && probesInFlight + probeSuccesses < probes) {
+                probesInFlight++;
+                return PROBE;
+            }
+            rejected.increment();
+            return REJECTED;
+        }
+
+        void onSuccess(int call) {
+            onSuccess(call, System.nanoTime());
+        }
+
+        synchronized void onSuccess(int call, long now) {
+            if (call == PROBE && state == State.HALF_OPEN) {
+                probesInFlight = Math.max(0, probesInFlight - 1);
+                if (++probeSuccesses >= probes) {
+                    state = State.CLOSED;
+                    Arrays.fill(calls, 0);
+                    Arrays.fill(failures, 0);
+                }
+            } else if (call == CALL && state == State.CLOSED) {
+                calls[slot(now)]++;
+            }
+        }
+
+        void onFailure(int call) {
+            onFailure(call, System.nanoTime());
+        }
+
+        synchronized void onFailure(int call, long now) {
+            if (call == PROBE && state == State.HALF_OPEN) {
+                open(now);
+            } else if (call == CALL && state == State.CLOSED) {
+                int slot = slot(now);
+                calls[slot]++;
+                failures[slot]++;
+                long total = sum(calls, now);
+                if (total >= minimumCalls && sum(failures, now) >= failureRateThreshold * total) {
+                    open(now);
+                }
+            }
+        }
+
+        /**
+         * Records a call that ended without telling anything about the server, e.g. interrupted.
+         */
+        synchronized void onIgnored(int call) {
+            if (call == PROBE && state == State.HALF_OPEN) {
+                probesInFlight = Math.max(0, probesInFlight - 1);
+            }
+        }
+
+        ProxmoxCircuitOpenError openError() {
+            long remaining;
+            synchronized (this) {
+                remaining = state == State.OPEN ? Math.max(0, openedAt + openNanos - System.nanoTime()) : 0;
+            }
+            return new ProxmoxCircuitOpenError(name, Duration.ofNanos(remaining));
+        }
+
+        synchronized State getState(long now) {
+            if (state == State.OPEN && now - openedAt >= openNanos) {
+                state = State.HALF_OPEN;
+                probesInFlight = 0;
+                probeSuccesses = 0;
+            }
+            return state;
+        }
+
+        private void open(long now) {
+            state = State.OPEN;
+            openedAt = now;
+        }
+
+        private int slot(long now) {
+            long index = (now - origin) / slotNanos;
+            int slot = (int) (index % SLOTS);
+            if (slotIndexes[slot] != index) {
+                slotIndexes[slot] = index;
+                calls[slot] = 0;
+                failures[slot] = 0;
+            }
+            return slot;
+        }
+
+        private long sum(int[] counts, long now) {
+            long current = (now - origin) / slotNanos;
+            long total = 0;
+            for (int i = 0; i < SLOTS; i++) {
+                if (current - slotIndexes[i] < SLOTS) {
+                    total += counts[i];
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Builder for {@link ProxmoxCircuitBreaker}.
+     */
+    public static class Builder {
+        private double failureRateThreshold = 0.5;
+        private int minimumCalls = 10;
+        private Duration window = Duration.ofSeconds(30);
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int probes = 1;
+
+        /**
+         * Sets the share of failed calls that opens a circuit.
+         *
+         * @param failureRateThreshold the threshold, greater than 0 and at most 1
+         * @return this builder
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+                throw new IllegalArgumentException("Failure rate threshold must be in (0, 1], got " + failureRateThreshold);
+            }
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the number of calls in the window below which a circuit never opens.
+         *
+         * @param minimumCalls the number of calls, at least 1
+         * @return this builder
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls < 1) {
+                throw new IllegalArgumentException("Minimum calls must be at least 1, got " + minimumCalls);
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Sets the sliding window over which the failure rate is measured.
+         *
+         * @param window the window, at least 10 nanoseconds
+         * @return this builder
+         */
+        public Builder window(Duration window) {
+            if (window == null || window.toNanos() < SLOTS) {
+                throw new IllegalArgumentException("Window is too short: " + window);
+            }
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Sets how long a circuit stays open before letting probes through.
+         *
+         * @param openDuration the duration
+         * @return this builder
+         */
+        public Builder openDuration(Duration openDuration) {
+            if (openDuration == null || openDuration.isNegative()) {
+                throw new IllegalArgumentException("Open duration can't be null or negative.");
+            }
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * Sets the number of successful probes that close a half-open circuit.
+         *
+         * @param probes the number of probes, at least 1
+         * @return this builder
+         */
+        public Builder probes(int probes) {
+            if (probes < 1) {
+                throw new IllegalArgumentException("Probes must be at least 1, got " + probes);
+            }
+            this.probes = probes;
+            return this;
+        }
+
+        /**
+         * Builds the circuit breaker.
+         *
+         * @return a new circuit breaker
+         */
+        public ProxmoxCircuitBreaker build() {
+            return new ProxmoxCircuitBreaker(this);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import fr.freshperf.pve4j.throwable.ProxmoxDeadlineExceededError;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries the deadline of a {@link ProxmoxRequest}, and whether an attempt is a retry, to the
+ * HTTP requests its executor sends.
+ *
+ * <p>Executors are plain lambdas calling the client, so both are published on the calling
+ * thread while an attempt starts. {@link ProxmoxHttpClient} reads them once when the request is
+ * issued and passes them along with that call, never storing them on the shared request builder.
+ * Deadlines are {@link System#nanoTime()} values, null meaning none.</p>
+ */
+final class ProxmoxDeadline {
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> RETRY = new ThreadLocal<>();
+
+    private ProxmoxDeadline() {
+    }
+
+    /**
+     * Returns the deadline of the attempt running on this thread.
+     */
+    static Long current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Tells whether the attempt running on this thread retries a failed one.
+     */
+    static boolean isRetry() {
+        return Boolean.TRUE.equals(RETRY.get());
+    }
+
+    static <T> T call(Long deadline, boolean retry, ProxmoxRequestExecutor<T> executor)
+            throws ProxmoxAPIError, InterruptedException {
+        Long previous = CURRENT.get();
+        Boolean previousRetry = RETRY.get();
+        CURRENT.set(deadline);
+        RETRY.set(retry);
+        try {
+            return executor.execute();
+        } finally {
+            CURRENT.set(previous);
+            RETRY.set(previousRetry);
+        }
+    }
+
+    static <T> CompletableFuture<T> callAsync(Long deadline, boolean retry, ProxmoxAsyncRequestExecutor<T> executor) {
+        Long previous = CURRENT.get();
+        Boolean previousRetry = RETRY.get();
+        CURRENT.set(deadline);
+        RETRY.set(retry);
+        try {
+            return executor.executeAsync();
+        } finally {
+            CURRENT.set(previous);
+            RETRY.set(previousRetry);
+        }
+    }
+
+    /**
+     * Returns the time left before a deadline, negative once it has passed.
+     */
+    static long remainingNanos(long deadline) {
+        return deadline - System.nanoTime();
+    }
+
+    static ProxmoxDeadlineExceededError exceeded() {
+        return new ProxmoxDeadlineExceededError("Request deadline exceeded");
+    }
+}
@@ -0,0 +1,32 @@
+package fr.freshperf.pve4j.request;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of the decoding of a JSON response. Disabled by default.
+ */
+@Name("pve4j.JsonDecode")
+@Label("Proxmox JSON Decode")
+@Description("Decoding of a Proxmox API response into Java objects")
+@Category({"PVE4J", "JSON"})
+@Enabled(false)
+@StackTrace(false)
+final class ProxmoxDecodeEvent extends Event {
+
+    @Label("Target Type")
+    String targetType;
+
+    @Label("Element Count")
+    @Description("Number of decoded elements for lists, 1 for single objects, 0 for null")
+    int elementCount;
+
+    @Label("Streamed")
+    @Description("Whether the body was decoded as it arrived, the duration then includes reading it")
+    boolean streamed;
+}
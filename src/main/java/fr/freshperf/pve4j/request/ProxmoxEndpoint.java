@@ -0,0 +1,99 @@
+package fr.freshperf.pve4j.request;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pveproxy endpoint of the cluster, with its health and load.
+ *
+ * <p>Health is tracked passively from real requests. After a failure the endpoint is ejected
+ * for a cooldown that doubles with each consecutive failure (1s up to 30s); once the cooldown
+ * is over, the next request routed to it acts as a probe and a success restores it.</p>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxEndpoint {
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final long BASE_COOLDOWN_NANOS = Duration.ofSeconds(1).toNanos();
+    private static final long MAX_COOLDOWN_NANOS = Duration.ofSeconds(30).toNanos();
+
+    private final String baseUrl;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile long latencyNanos;
+    private int consecutiveFailures;
+    private long ejectedUntil;
+
+    /**
+     * Creates an endpoint.
+     *
+     * @param baseUrl the base API URL, e.g. "https://pve1:8006/api2/json/"
+     */
+    public ProxmoxEndpoint(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    /** @return the base API URL of the endpoint */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /** @return the number of requests currently in flight on this endpoint */
+    public int getOutstandingRequests() {
+        return outstanding.get();
+    }
+
+    /** @return the moving average latency of successful requests, or null if unknown */
+    public Duration getAverageLatency() {
+        long latency = latencyNanos;
+        return latency > 0 ? Duration.ofNanos(latency) : null;
+    }
+
+    /** @return the number of failures since the last success */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /** @return true unless the endpoint is ejected after a failure */
+    public synchronized boolean isHealthy() {
+        return consecutiveFailures == 0 || System.nanoTime() - ejectedUntil >= 0;
+    }
+
+    /**
+     * Returns how long the endpoint stays ejected.
+     */
+    synchronized long remainingCooldownNanos() {
+        return consecutiveFailures == 0 ? 0 : Math.max(0, ejectedUntil - System.nanoTime());
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    void succeeded(long latency) {
+        long previous = latencyNanos;
+        latencyNanos = previous == 0 ? latency : (long) (previous + LATENCY_SMOOTHING * (latency - previous));
+        synchronized (this) {
+            consecutiveFailures = 0;
+        }
+    }
+
+    synchronized void failed() {
+        consecutiveFailures++;
+        long cooldown = BASE_COOLDOWN_NANOS << Math.min(consecutiveFailures - 1, 5);
+        ejectedUntil = System.nanoTime() + Math.min(cooldown, MAX_COOLDOWN_NANOS);
+    }
+
+    @Override
+    public String toString() {
+        return "ProxmoxEndpoint{" +
+                "baseUrl='" + baseUrl + '\'' +
+                ", outstanding=" + outstanding.get() +
+                ", healthy=" + isHealthy() +
+                '}';
+    }
+}
@@ -0,0 +1,124 @@
+package fr.freshperf.pve4j.request;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Set of pveproxy endpoints a client spreads its requests over.
+ *
+ * <p>Healthy endpoints are picked in turn ({@link Strategy#ROUND_ROBIN}) or by fewest requests in
+ * flight ({@link Strategy#LEAST_OUTSTANDING}). If every endpoint is ejected, the one coming back
+ * first is used anyway, so a client never refuses to send a request.</p>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxEndpointPool {
+
+    /**
+     * How requests are spread over healthy endpoints.
+     */
+    public enum Strategy {
+        /** Each request goes to the next endpoint in turn. */
+        ROUND_ROBIN,
+        /** Each request goes to the endpoint with the fewest requests in flight, then the lowest latency. */
+        LEAST_OUTSTANDING
+    }
+
+    private final List<ProxmoxEndpoint> endpoints;
+    private final Strategy strategy;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private ProxmoxEndpointPool(List<ProxmoxEndpoint> endpoints, Strategy strategy) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one endpoint is required");
+        }
+        this.endpoints = List.copyOf(endpoints);
+        this.strategy = strategy;
+    }
+
+    /**
+     * Creates a pool from base API URLs.
+     *
+     * @param baseUrls the base API URLs, see {@link fr.freshperf.pve4j.util.ProxmoxApiBaseUrlBuilder#buildApiBaseUrls}
+     * @param strategy how requests are spread
+     * @return a new endpoint pool
+     * @throws IllegalArgumentException if no URL is given
+     */
+    public static ProxmoxEndpointPool of(List<String> baseUrls, Strategy strategy) {
+        List<ProxmoxEndpoint> endpoints = new ArrayList<>(baseUrls.size());
+        for (String baseUrl : baseUrls) {
+            endpoints.add(new ProxmoxEndpoint(baseUrl));
+        }
+        return new ProxmoxEndpointPool(endpoints, strategy);
+    }
+
+    /**
+     * Creates a pool with a single endpoint.
+     *
+     * @param baseUrl the base API URL
+     * @return a new endpoint pool
+     */
+    public static ProxmoxEndpointPool single(String baseUrl) {
+        return of(List.of(baseUrl), Strategy.ROUND_ROBIN);
+    }
+
+    /** @return the endpoints of the pool */
+    public List<ProxmoxEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /** @return how requests are spread */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Picks the endpoint for the next attempt of a request.
+     *
+     * @param excluded endpoints already tried by this request
+     * @return the endpoint to use, or null if every endpoint was tried
+     */
+    ProxmoxEndpoint select(Collection<ProxmoxEndpoint> excluded) {
+        int size = endpoints.size();
+        int offset = Math.floorMod(next.getAndIncrement(), size);
+        ProxmoxEndpoint best = null;
+        for (int i = 0; i < size; i++) {
+            ProxmoxEndpoint candidate = endpoints.get((offset + i) % size);
+            if (excluded.contains(candidate) || !candidate.isHealthy()) {
+                continue;
+            }
+            if (strategy == Strategy.ROUND_ROBIN) {
+                return candidate;
+            }
+            if (best == null || isLessLoaded(candidate, best)) {
+                best = candidate;
+            }
+        }
+        return best != null ? best : firstBack(excluded);
+    }
+
+    private ProxmoxEndpoint firstBack(Collection<ProxmoxEndpoint> excluded) {
+        ProxmoxEndpoint first = null;
+        long firstCooldown = Long.MAX_VALUE;
+        for (ProxmoxEndpoint candidate : endpoints) {
+            long cooldown = candidate.remainingCooldownNanos();
+            if (!excluded.contains(candidate) && cooldown < firstCooldown) {
+                first = candidate;
+                firstCooldown = cooldown;
+            }
+        }
+        return first;
+    }
+
+    private static boolean isLessLoaded(ProxmoxEndpoint candidate, ProxmoxEndpoint best) {
+        int outstanding = Integer.compare(candidate.getOutstandingRequests(), best.getOutstandingRequests());
+        if (outstanding != 0) {
+            return outstanding < 0;
+        }
+        var candidateLatency = candidate.getAverageLatency();
+        var bestLatency = best.getAverageLatency();
+        return candidateLatency != null && (bestLatency == null || candidateLatency.compareTo(bestLatency) < 0);
+    }
+}
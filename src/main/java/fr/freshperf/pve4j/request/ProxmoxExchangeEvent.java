@@ -0,0 +1,45 @@
+package fr.freshperf.pve4j.request;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of an HTTP exchange, from sending the request to decoding the response.
+ * Disabled by default.
+ */
+@Name("pve4j.HttpExchange")
+@Label("Proxmox HTTP Exchange")
+@Description("HTTP exchange with the Proxmox API, from sending the request to decoding the response")
+@Category({"PVE4J", "HTTP"})
+@Enabled(false)
+@StackTrace(false)
+final class ProxmoxExchangeEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Path Template")
+    String pathTemplate;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Status Code")
+    @Description("HTTP status code, or -1 if no response was received")
+    int statusCode;
+
+    @Label("Request Bytes")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @Description("Size of the response body, or -1 if unknown")
+    @DataAmount
+    long responseBytes;
+}
@@ -0,0 +1,190 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.util.ProxmoxPathTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hedging of GET requests: when no response has arrived after a high percentile of the usual
+ * latency, a duplicate is sent, the first response wins and the other request is cancelled.
+ *
+ * <p>Latencies are tracked per path template, see {@link ProxmoxPathTemplate#templateOf(String)},
+ * so {@code nodes/pve1/qemu/100/status/current} and {@code nodes/pve2/qemu/200/status/current}
+ * share a delay. No hedge is sent until enough
+ * latencies are known. The duplicate goes to the endpoint pool, hence to another endpoint when
+ * the client has several.</p>
+ *
+ * <p>A budget bounds the extra load: every GET earns {@link Builder#budget(double)} of a hedge
+ * and each hedge spends one, so with the default of 0.05 at most about 5% more requests are
+ * sent.</p>
+ *
+ * <pre>{@code
+ * client.setHedgingPolicy(ProxmoxHedgingPolicy.builder()
+ *         .percentile(0.95)
+ *         .budget(0.05)
+ *         .build());
+ * }</pre>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxHedgingPolicy {
+
+    private static final double MAX_BUDGET_TOKENS = 10;
+
+    private final double percentile;
+    private final int minSamples;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double budget;
+    private final ConcurrentHashMap<String, ProxmoxLatencyTracker> trackers = new ConcurrentHashMap<>();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private double tokens;
+
+    private ProxmoxHedgingPolicy(Builder builder) {
+        this.percentile = builder.percentile;
+        this.minSamples = builder.minSamples;
+        this.minDelayNanos = builder.minDelay.toNanos();
+        this.maxDelayNanos = builder.maxDelay.toNanos();
+        this.budget = builder.budget;
+    }
+
+    /**
+     * Creates a builder hedging after the 95th percentile (between 5 ms and 2 s) once 20 latencies
+     * are known, with a budget of 5% of GETs.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the delay after which a GET on a path is hedged.
+     *
+     * @param path the API path
+     * @return the delay, or null while too few latencies are known
+     */
+    public Duration getHedgeDelay(String path) {
+        long delay = hedgeDelayNanos(path);
+        return delay < 0 ? null : Duration.ofNanos(delay);
+    }
+
+    /** @return the number of hedges sent */
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /** @return the number of hedges whose response came first */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    long hedgeDelayNanos(String path) {
+        ProxmoxLatencyTracker tracker = trackers.get(ProxmoxPathTemplate.templateOf(path));
+        long latency = tracker != null ? tracker.percentile(percentile, minSamples) : -1;
+        return latency < 0 ? -1 : Math.min(maxDelayNanos, Math.max(minDelayNanos, latency));
+    }
+
+    void recordLatency(String path, long latencyNanos) {
+        trackers.computeIfAbsent(ProxmoxPathTemplate.templateOf(path), ignored -> new ProxmoxLatencyTracker())
+                .record(latencyNanos);
+    }
+
+    synchronized void onRequest() {
+        tokens = Math.min(MAX_BUDGET_TOKENS, tokens + budget);
+    }
+
+    synchronized boolean tryAcquireHedge() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        hedges.increment();
+        return true;
+    }
+
+    void onHedgeWon() {
+        hedgeWins.increment();
+    }
+
+    /**
+     * Builder for {@link ProxmoxHedgingPolicy}.
+     */
+    public static class Builder {
+        private double percentile = 0.95;
+        private int minSamples = 20;
+        private Duration minDelay = Duration.ofMillis(5);
+        private Duration maxDelay = Duration.ofSeconds(2);
+        private double budget = 0.05;
+
+        /**
+         * Sets the latency percentile after which a request is hedged.
+         *
+         * @param percentile the percentile, greater than 0 and less than 1
+         * @return this builder
+         */
+        public Builder percentile(double percentile) {
+            if (!(percentile > 0 && percentile < 1)) {
+                throw new IllegalArgumentException("Percentile must be in (0, 1), got " + percentile);
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Sets the number of latencies needed before hedging a kind of request.
+         *
+         * @param minSamples the number of latencies, at least 1
+         * @return this builder
+         */
+        public Builder minSamples(int minSamples) {
+            if (minSamples < 1) {
+                throw new IllegalArgumentException("Minimum samples must be at least 1, got " + minSamples);
+            }
+            this.minSamples = minSamples;
+            return this;
+        }
+
+        /**
+         * Sets the bounds of the hedge delay.
+         *
+         * @param minDelay the shortest delay
+         * @param maxDelay the longest delay
+         * @return this builder
+         */
+        public Builder delayBounds(Duration minDelay, Duration maxDelay) {
+            if (minDelay == null || maxDelay == null || minDelay.isNegative() || maxDelay.compareTo(minDelay) < 0) {
+                throw new IllegalArgumentException("Invalid delay bounds: " + minDelay + ", " + maxDelay);
+            }
+            this.minDelay = minDelay;
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Sets the share of GETs that may be hedged.
+         *
+         * @param budget the share, greater than 0 and at most 1
+         * @return this builder
+         */
+        public Builder budget(double budget) {
+            if (!(budget > 0 && budget <= 1)) {
+                throw new IllegalArgumentException("Budget must be in (0, 1], got " + budget);
+            }
+            this.budget = budget;
+            return this;
+        }
+
+        /**
+         * Builds the hedging policy.
+         *
+         * @return a new hedging policy
+         */
+        public ProxmoxHedgingPolicy build() {
+            return new ProxmoxHedgingPolicy(this);
+        }
+    }
+}
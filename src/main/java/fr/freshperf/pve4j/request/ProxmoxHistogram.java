@@ -0,0 +1,117 @@
+package fr.freshperf.pve4j.request;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets.
+ *
+ * <p>Each power of two is split into 16 buckets, so a percentile is known within 6.25% of the
+ * recorded value whatever its magnitude, from nanoseconds to hours. Recording a value is a
+ * couple of shifts and an atomic increment; no lock is taken and nothing is allocated, so it
+ * can sit on the request path.</p>
+ *
+ * <pre>{@code
+ * ProxmoxHistogram latency = operation.getLatency();
+ * Duration p99 = latency.getPercentile(0.99);
+ * }</pre>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values below SUB_BUCKETS get one bucket each, then 16 buckets per power of two up to 2^63
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds, negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /** @return the number of recorded latencies */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /** @return the highest recorded latency, zero if none */
+    public Duration getMax() {
+        return Duration.ofNanos(max.get());
+    }
+
+    /** @return the mean latency, zero if none */
+    public Duration getMean() {
+        long count = getCount();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(sum.sum() / count);
+    }
+
+    /**
+     * Returns the latency below which a share of the recorded latencies fall.
+     *
+     * @param percentile the share, between 0 and 1, e.g. 0.999 for the 99.9th percentile
+     * @return the upper bound of the bucket holding the percentile, never above the max;
+     *         zero if nothing was recorded
+     */
+    public Duration getPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 1)) {
+            throw new IllegalArgumentException("Percentile must be in [0, 1], got " + percentile);
+        }
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min(upperBoundOf(i), max.get()));
+            }
+        }
+        return getMax();
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long top = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        // For the last bucket, 2^63 wraps around and the bound is Long.MAX_VALUE
+        return ((top + 1) << shift) - 1;
+    }
+}
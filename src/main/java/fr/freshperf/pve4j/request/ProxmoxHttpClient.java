@@ -1,46 +1,76 @@
 package fr.freshperf.pve4j.request;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import fr.freshperf.pve4j.SecurityConfig;
+import fr.freshperf.pve4j.TransportConfig;
 import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import fr.freshperf.pve4j.util.ProxmoxPathTemplate;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import java.lang.reflect.ParameterizedType;
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.net.ConnectException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * HTTP client for making requests to the Proxmox VE API.
  * Handles authentication, SSL configuration, and JSON parsing.
+ *
+ * <p>Responses are decoded straight from the body bytes: the {@code data} envelope is located
+ * with a streaming reader and deserialized in one pass. Numeric 0/1 flags are read as booleans
+ * by {@link ProxmoxTypeAdapterFactory}.</p>
  */
 public class ProxmoxHttpClient {
 
     private final String apiToken;
     private final String ticket;
     private final String csrfToken;
-    private HttpClient client;
+    private ProxmoxTransport defaultTransport;
+    private volatile ProxmoxTransport transport;
+    private Duration requestTimeout;
     private final String baseUrl;
     private Gson gson;
-    private ProxmoxResponseTransformer defaultTransformer;
+    private ProxmoxResponseDecoder decoder;
+    private volatile ProxmoxSingleFlight singleFlight;
+    private volatile ProxmoxResponseCache responseCache;
+    private volatile ProxmoxEndpointPool endpointPool;
+    private volatile ProxmoxNodeAffinity nodeAffinity;
+    private volatile ProxmoxBulkhead bulkhead;
+    private volatile ProxmoxRateLimiter rateLimiter;
+    private volatile ProxmoxRetryBudget retryBudget;
+    private volatile ProxmoxCircuitBreaker circuitBreaker;
+    private volatile ProxmoxHedgingPolicy hedgingPolicy;
+    private volatile ProxmoxMetrics metrics;
+    private volatile ProxmoxTrafficRecorder trafficRecorder;
 
     /**
      * Returns the base URL for API requests.
@@ -51,6 +81,262 @@ public class ProxmoxHttpClient {
         return baseUrl;
     }
 
+    /**
+     * Returns the Gson instance used to deserialize responses.
+     * It has a {@link ProxmoxTypeAdapterFactory} registered.
+     *
+     * @return the response Gson instance
+     */
+    public Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * Enables or disables request coalescing for GET requests (disabled by default).
+     *
+     * <p>When enabled, concurrent identical GETs (same path, parameters and response type) share
+     * one in-flight exchange and receive the same decoded object, which callers must then treat
+     * as read-only. Requests are only shared while in flight: a retry always sends a new request.</p>
+     *
+     * @param enabled true to coalesce identical in-flight GETs
+     */
+    public void setSingleFlightEnabled(boolean enabled) {
+        this.singleFlight = enabled ? new ProxmoxSingleFlight() : null;
+    }
+
+    /**
+     * Returns whether identical in-flight GET requests are coalesced.
+     *
+     * @return true if request coalescing is enabled
+     */
+    public boolean isSingleFlightEnabled() {
+        return singleFlight != null;
+    }
+
+    /**
+     * Sets the cache serving repeated GET requests from memory, or null to disable caching
+     * (the default). Mutating requests sent through this client invalidate affected entries.
+     *
+     * @param responseCache the response cache, or null
+     */
+    public void setResponseCache(ProxmoxResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Returns the response cache.
+     *
+     * @return the response cache, or null if caching is disabled
+     */
+    public ProxmoxResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Sets the endpoints requests are spread across, or null to send everything to the base URL
+     * (the default). An endpoint failing to connect, or answering a GET with 502, 503 or 504, is
+     * ejected for a growing cooldown and the request is sent to the next endpoint.
+     *
+     * @param endpointPool the endpoint pool, or null
+     */
+    public void setEndpointPool(ProxmoxEndpointPool endpointPool) {
+        this.endpointPool = endpointPool != null ? endpointPool : ProxmoxEndpointPool.single(baseUrl);
+    }
+
+    /**
+     * Returns the endpoints requests are spread across.
+     *
+     * @return the endpoint pool
+     */
+    public ProxmoxEndpointPool getEndpointPool() {
+        return endpointPool;
+    }
+
+    /**
+     * Enables or disables node-affinity routing (disabled by default).
+     *
+     * <p>When enabled, {@code nodes/{node}/...} requests go straight to that node's pveproxy
+     * instead of being proxied by the endpoint the client is connected to. Node addresses are
+     * learned from {@code cluster/status} in the background, starting with the first node-scoped
+     * request; until then, and for unknown or unreachable nodes, requests use the endpoint pool.
+     * Refresh errors go to the {@linkplain ProxmoxNodeAffinity#setErrorHandler error handler} of
+     * {@link #getNodeAffinity()}.</p>
+     *
+     * @param enabled true to route node-scoped requests to their node
+     */
+    public void setNodeAffinityEnabled(boolean enabled) {
+        this.nodeAffinity = enabled ? new ProxmoxNodeAffinity(this) : null;
+    }
+
+    /**
+     * Returns the node-affinity router, e.g. to refresh node addresses after a cluster change.
+     *
+     * @return the node-affinity router, or null if node-affinity routing is disabled
+     */
+    public ProxmoxNodeAffinity getNodeAffinity() {
+        return nodeAffinity;
+    }
+
+    /**
+     * Sets the admission limits for requests sent by this client, or null for no limits (the
+     * default). Requests over a limit wait their turn; cache hits and coalesced requests don't
+     * take a permit.
+     *
+     * @param bulkhead the admission limits, or null
+     */
+    public void setBulkhead(ProxmoxBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * Returns the admission limits, e.g. to read queue depth and wait time.
+     *
+     * @return the admission limits, or null if requests are not limited
+     */
+    public ProxmoxBulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    /**
+     * Sets the rate limiter pacing requests sent by this client, or null for no rate limit
+     * (the default). Every attempt, retries included, takes a token from the bucket of its
+     * endpoint and path class.
+     *
+     * @param rateLimiter the rate limiter, or null
+     */
+    public void setRateLimiter(ProxmoxRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Returns the rate limiter.
+     *
+     * @return the rate limiter, or null if requests are not rate limited
+     */
+    public ProxmoxRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Sets the budget shared by the retries of {@link ProxmoxRequest}s sent through this client,
+     * or null for no budget (the default).
+     *
+     * @param retryBudget the retry budget, or null
+     */
+    public void setRetryBudget(ProxmoxRetryBudget retryBudget) {
+        this.retryBudget = retryBudget;
+    }
+
+    /**
+     * Returns the retry budget.
+     *
+     * @return the retry budget, or null if retries are not budgeted
+     */
+    public ProxmoxRetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Sets the circuit breakers guarding requests sent by this client, or null for none (the
+     * default). A request whose circuit is open fails at once with a
+     * {@link fr.freshperf.pve4j.throwable.ProxmoxCircuitOpenError}, unless another endpoint
+     * can take it.
+     *
+     * @param circuitBreaker the circuit breakers, or null
+     */
+    public void setCircuitBreaker(ProxmoxCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Returns the circuit breakers.
+     *
+     * @return the circuit breakers, or null if requests are not guarded
+     */
+    public ProxmoxCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Sets the hedging of GET requests, or null to disable it (the default). A GET still waiting
+     * for its response after the policy's delay is sent again, the first response is used and
+     * the other request is cancelled. Hedges share the bulkhead permit of their request.
+     *
+     * @param hedgingPolicy the hedging policy, or null
+     */
+    public void setHedgingPolicy(ProxmoxHedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+    }
+
+    /**
+     * Returns the hedging policy.
+     *
+     * @return the hedging policy, or null if requests are not hedged
+     */
+    public ProxmoxHedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    /**
+     * Sets the metrics receiving the latency, status and size of every exchange, and the retries
+     * and cache hits, per method and path template.
+     *
+     * @param metrics the metrics, or null to disable them (the default)
+     */
+    public void setMetrics(ProxmoxMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the metrics of this client.
+     *
+     * @return the metrics, or null if disabled
+     */
+    public ProxmoxMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the HTTP engine sending the requests of this client, or null to go back to the
+     * default {@link ProxmoxJdkTransport} built from the transport configuration. URLs,
+     * authentication headers and bodies are prepared by the client, so a transport only moves
+     * bytes.
+     *
+     * @param transport the transport, or null for the default one
+     */
+    public void setTransport(ProxmoxTransport transport) {
+        this.transport = transport != null ? transport : defaultTransport;
+    }
+
+    /**
+     * Returns the HTTP engine sending the requests of this client.
+     *
+     * @return the transport
+     */
+    public ProxmoxTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Sets the recorder writing the exchanges of this client to a file, for a
+     * {@link ProxmoxReplayTransport} to serve them again. While recording, response bodies are
+     * read whole before being decoded.
+     *
+     * @param trafficRecorder the recorder, or null to stop recording (the default)
+     */
+    public void setTrafficRecorder(ProxmoxTrafficRecorder trafficRecorder) {
+        this.trafficRecorder = trafficRecorder;
+    }
+
+    /**
+     * Returns the recorder of this client.
+     *
+     * @return the recorder, or null if not recording
+     */
+    public ProxmoxTrafficRecorder getTrafficRecorder() {
+        return trafficRecorder;
+    }
+
     /**
      * Returns the authentication ticket (if using ticket-based auth).
      *
@@ -78,19 +364,32 @@ public class ProxmoxHttpClient {
      * @param securityConfig SSL/TLS security configuration
      */
     public ProxmoxHttpClient(String baseUrl, String apiToken, SecurityConfig securityConfig) {
+        this(baseUrl, apiToken, securityConfig, TransportConfig.defaults());
+    }
+
+    /**
+     * Creates a new HTTP client with API token authentication and a custom transport.
+     *
+     * @param baseUrl         the base API URL
+     * @param apiToken        the API token for authentication
+     * @param securityConfig  SSL/TLS security configuration
+     * @param transportConfig HTTP transport configuration
+     */
+    public ProxmoxHttpClient(String baseUrl, String apiToken, SecurityConfig securityConfig, TransportConfig transportConfig) {
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
         this.apiToken = apiToken;
         this.ticket = null;
         this.csrfToken = null;
-        initializeClient(securityConfig);
+        initializeClient(securityConfig, transportConfig);
     }
 
-    private ProxmoxHttpClient(String baseUrl, SecurityConfig securityConfig, boolean unauthenticated) {
+    private ProxmoxHttpClient(String baseUrl, SecurityConfig securityConfig, TransportConfig transportConfig,
+                              boolean unauthenticated) {
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
         this.apiToken = null;
         this.ticket = null;
         this.csrfToken = null;
-        initializeClient(securityConfig);
+        initializeClient(securityConfig, transportConfig);
     }
 
     /**
@@ -101,18 +400,36 @@ public class ProxmoxHttpClient {
      * @return a new unauthenticated HTTP client
      */
     public static ProxmoxHttpClient createUnauthenticated(String baseUrl, SecurityConfig securityConfig) {
-        return new ProxmoxHttpClient(baseUrl, securityConfig, true);
+        return createUnauthenticated(baseUrl, securityConfig, TransportConfig.defaults());
     }
 
     /**
-     * Initializes the HTTP client with the given security configuration.
+     * Creates an unauthenticated HTTP client (for login requests) with a custom transport.
      *
-     * @param securityConfig SSL/TLS security configuration
+     * @param baseUrl         the base API URL
+     * @param securityConfig  SSL/TLS security configuration
+     * @param transportConfig HTTP transport configuration
+     * @return a new unauthenticated HTTP client
      */
-    private void initializeClient(SecurityConfig securityConfig) {
+    public static ProxmoxHttpClient createUnauthenticated(String baseUrl, SecurityConfig securityConfig,
+                                                          TransportConfig transportConfig) {
+        return new ProxmoxHttpClient(baseUrl, securityConfig, transportConfig, true);
+    }
+
+    /**
+     * Initializes the HTTP client with the given security and transport configuration.
+     *
+     * @param securityConfig  SSL/TLS security configuration
+     * @param transportConfig HTTP transport configuration
+     */
+    private void initializeClient(SecurityConfig securityConfig, TransportConfig transportConfig) {
         HttpClient.Builder clientBuilder = HttpClient.newBuilder()
-                .version(HttpClient.Version.HTTP_2)
-                .connectTimeout(Duration.ofSeconds(10));
+                .version(transportConfig.getVersion())
+                .connectTimeout(transportConfig.getConnectTimeout());
+        if (transportConfig.getExecutor() != null) {
+            clientBuilder.executor(transportConfig.getExecutor());
+        }
+        this.requestTimeout = transportConfig.getRequestTimeout();
 
         boolean needsCustomSsl = !securityConfig.shouldVerifySslCertificate();
         boolean needsHostnameDisabled = !securityConfig.shouldVerifyHostname();
@@ -162,9 +479,13 @@ public class ProxmoxHttpClient {
             }
         }
 
-        this.client = clientBuilder.build();
-        this.gson = new Gson();
-        this.defaultTransformer = new ProxmoxResponseTransformer();
+        this.defaultTransport = new ProxmoxJdkTransport(clientBuilder.build());
+        this.transport = defaultTransport;
+        this.gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProxmoxTypeAdapterFactory())
+                .create();
+        this.decoder = new ProxmoxResponseDecoder(gson);
+        this.endpointPool = ProxmoxEndpointPool.single(baseUrl);
     }
 
     /**
@@ -176,11 +497,25 @@ public class ProxmoxHttpClient {
      * @param securityConfig SSL/TLS security configuration
      */
     public ProxmoxHttpClient(String baseUrl, String ticket, String csrfToken, SecurityConfig securityConfig) {
+        this(baseUrl, ticket, csrfToken, securityConfig, TransportConfig.defaults());
+    }
+
+    /**
+     * Creates a new HTTP client with ticket-based authentication and a custom transport.
+     *
+     * @param baseUrl         the base API URL
+     * @param ticket          the authentication ticket
+     * @param csrfToken       the CSRF prevention token
+     * @param securityConfig  SSL/TLS security configuration
+     * @param transportConfig HTTP transport configuration
+     */
+    public ProxmoxHttpClient(String baseUrl, String ticket, String csrfToken, SecurityConfig securityConfig,
+                             TransportConfig transportConfig) {
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
         this.apiToken = null;
         this.ticket = ticket;
         this.csrfToken = csrfToken;
-        initializeClient(securityConfig);
+        initializeClient(securityConfig, transportConfig);
     }
 
     /**
@@ -237,143 +572,743 @@ public class ProxmoxHttpClient {
      * Executes a request and deserializes the response to the given class.
      */
     <T> T execute(RequestBuilder builder, Class<T> clazz) throws ProxmoxAPIError, InterruptedException {
-        return executeRequest(builder, clazz);
+        return executeRequest(builder, clazz, clazz);
     }
 
     /**
      * Executes a request and deserializes the response to a parameterized type.
      */
     <T> T executeList(RequestBuilder builder, TypeToken<T> typeToken) throws ProxmoxAPIError, InterruptedException {
-        return executeRequestWithType(builder, typeToken);
+        return executeRequest(builder, typeToken.getType(), extractElementClass(typeToken));
     }
-    
-    private <T> T executeRequest(RequestBuilder builder, Class<T> clazz) throws ProxmoxAPIError, InterruptedException {
-        String url = buildUrl(builder.path, builder.params);
-        
-        try {
-            HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("Content-Type", "application/json");
-            
-            if (apiToken != null) {
-                requestBuilder.header("Authorization", "PVEAPIToken=" + apiToken);
-            } else if (ticket != null) {
-                requestBuilder.header("Cookie", "PVEAuthCookie=" + ticket);
-                if (csrfToken != null && (builder.method.equals("POST") || builder.method.equals("PUT") || 
-                    builder.method.equals("PATCH") || builder.method.equals("DELETE"))) {
-                    requestBuilder.header("CSRFPreventionToken", csrfToken);
+
+    /**
+     * Executes a request without blocking and deserializes the response to the given class.
+     */
+    <T> CompletableFuture<T> executeAsync(RequestBuilder builder, Class<T> clazz) {
+        return executeRequestAsync(builder, clazz, clazz);
+    }
+
+    /**
+     * Executes a request without blocking and deserializes the response to a parameterized type.
+     */
+    <T> CompletableFuture<T> executeListAsync(RequestBuilder builder, TypeToken<T> typeToken) {
+        return executeRequestAsync(builder, typeToken.getType(), extractElementClass(typeToken));
+    }
+
+    private <T> T executeRequest(RequestBuilder builder, Type type, Class<?> elementClass) throws ProxmoxAPIError, InterruptedException {
+        Long deadline = ProxmoxDeadline.current();
+        boolean retry = ProxmoxDeadline.isRetry();
+        ProxmoxResponseCache cache = responseCache;
+        Consumer<byte[]> cacheWriter = null;
+        if (cache != null && builder.method.equals("GET")) {
+            Duration ttl = cache.ttlFor(builder.path);
+            if (ttl != null) {
+                String cacheKey = requestKey(builder);
+                byte[] cached = cache.get(cacheKey);
+                if (cached != null) {
+                    recordCacheHit(builder);
+                    return this.<T>reader(builder, buildUrl(baseUrl, builder.path, builder.params), type, elementClass, null)
+                            .fromBytes(cached).get();
                 }
+                long generation = cache.generation();
+                cacheWriter = body -> cache.put(cacheKey, builder.path, body, ttl, generation);
+            }
+        } else if (cache != null) {
+            cache.invalidateAffected(builder.path);
+            try {
+                return sendRequest(builder, deadline, type, elementClass, null, retry);
+            } finally {
+                cache.invalidateAffected(builder.path);
             }
+        }
+
+        Consumer<byte[]> bodyCapture = cacheWriter;
+        ProxmoxSingleFlight flights = singleFlight;
+        if (flights != null && builder.method.equals("GET")) {
+            return flights.execute(requestKey(builder, type), deadline,
+                    () -> sendRequest(builder, deadline, type, elementClass, bodyCapture, retry));
+        }
+        return sendRequest(builder, deadline, type, elementClass, bodyCapture, retry);
+    }
 
-            switch (builder.method) {
-                case "GET" -> requestBuilder.GET();
-                case "POST" -> requestBuilder.POST(HttpRequest.BodyPublishers.ofString(builder.body != null ? builder.body : "{}"));
-                case "PUT" -> requestBuilder.PUT(HttpRequest.BodyPublishers.ofString(builder.body != null ? builder.body : "{}"));
-                case "PATCH" -> requestBuilder.method("PATCH", HttpRequest.BodyPublishers.ofString(builder.body != null ? builder.body : "{}"));
-                case "DELETE" -> requestBuilder.DELETE();
+    private <T> CompletableFuture<T> executeRequestAsync(RequestBuilder builder, Type type, Class<?> elementClass) {
+        Long deadline = ProxmoxDeadline.current();
+        boolean retry = ProxmoxDeadline.isRetry();
+        ProxmoxResponseCache cache = responseCache;
+        Consumer<byte[]> cacheWriter = null;
+        if (cache != null && builder.method.equals("GET")) {
+            Duration ttl = cache.ttlFor(builder.path);
+            if (ttl != null) {
+                String cacheKey = requestKey(builder);
+                byte[] cached = cache.get(cacheKey);
+                if (cached != null) {
+                    recordCacheHit(builder);
+                    try {
+                        return CompletableFuture.completedFuture(this.<T>reader(
+                                builder, buildUrl(baseUrl, builder.path, builder.params), type, elementClass, null)
+                                .fromBytes(cached).get());
+                    } catch (ProxmoxAPIError e) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                }
+                long generation = cache.generation();
+                cacheWriter = body -> cache.put(cacheKey, builder.path, body, ttl, generation);
             }
+        } else if (cache != null) {
+            cache.invalidateAffected(builder.path);
+            CompletableFuture<T> result = sendRequestAsync(builder, deadline, type, elementClass, null, retry);
+            result.whenComplete((value, throwable) -> cache.invalidateAffected(builder.path));
+            return result;
+        }
 
-            HttpResponse<String> response = client.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofString());
-            
-            if (response.statusCode() >= 400) {
-                throw new ProxmoxAPIError(
-                    "HTTP request failed",
-                    response.statusCode(),
-                    response.body(),
-                    url
-                );
+        Consumer<byte[]> bodyCapture = cacheWriter;
+        ProxmoxSingleFlight flights = singleFlight;
+        if (flights != null && builder.method.equals("GET")) {
+            return flights.executeAsync(requestKey(builder, type), deadline,
+                    () -> sendRequestAsync(builder, deadline, type, elementClass, bodyCapture, retry));
+        }
+        return sendRequestAsync(builder, deadline, type, elementClass, bodyCapture, retry);
+    }
+
+    /**
+     * Sends a request once admitted by the bulkhead.
+     *
+     * @param retry true if the request retries a failed one, which the retry budget does not count
+     *              as a request
+     */
+    private <T> T sendRequest(RequestBuilder builder, Long deadline, Type type, Class<?> elementClass,
+                              Consumer<byte[]> bodyCapture, boolean retry)
+            throws ProxmoxAPIError, InterruptedException {
+        ProxmoxRetryBudget budget = retryBudget;
+        if (budget != null && !retry) {
+            budget.recordRequest();
+        }
+        // The rate limiter is waited for first, so that waiting holds neither a permit nor a circuit call
+        ProxmoxEndpoint endpoint = firstEndpoint(builder, endpointPool);
+        pace(rateLimiter, endpoint, builder.path, deadline);
+        ProxmoxBulkhead limits = bulkhead;
+        if (limits == null) {
+            return dispatchOrHedge(builder, deadline, endpoint, type, elementClass, bodyCapture);
+        }
+        ProxmoxBulkhead.Permit permit = limits.acquire(builder.method, builder.path, deadline);
+        try {
+            return dispatchOrHedge(builder, deadline, endpoint, type, elementClass, bodyCapture);
+        } finally {
+            permit.release();
+        }
+    }
+
+    private <T> T dispatchOrHedge(RequestBuilder builder, Long deadline, ProxmoxEndpoint endpoint, Type type,
+                                  Class<?> elementClass, Consumer<byte[]> bodyCapture)
+            throws ProxmoxAPIError, InterruptedException {
+        ProxmoxHedgingPolicy hedging = hedgingPolicy;
+        if (hedging == null || !builder.method.equals("GET")) {
+            return dispatch(builder, deadline, endpoint, type, elementClass, bodyCapture);
+        }
+        CompletableFuture<T> call = hedgedAsync(builder, deadline, endpoint, type, elementClass, bodyCapture,
+                hedging);
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = ProxmoxRequest.unwrap(e);
+            if (cause instanceof ProxmoxAPIError apiError) {
+                throw apiError;
             }
-            
-            JsonElement parsedResponse;
-            try {
-                parsedResponse = JsonParser.parseString(response.body());
-            } catch (JsonSyntaxException e) {
-                throw new ProxmoxAPIError(
-                    "Failed to parse JSON response: " + e.getMessage(),
-                    response.statusCode(),
-                    response.body(),
-                    url
-                );
+            throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+        }
+    }
+
+    /**
+     * Sends a request to an endpoint, moving to the next ones on failure.
+     *
+     * @param endpoint the first endpoint, which the rate limiter already let the request through to
+     */
+    private <T> T dispatch(RequestBuilder builder, Long deadline, ProxmoxEndpoint endpoint, Type type,
+                           Class<?> elementClass, Consumer<byte[]> bodyCapture)
+            throws ProxmoxAPIError, InterruptedException {
+        ProxmoxEndpointPool pool = endpointPool;
+        List<ProxmoxEndpoint> tried = new ArrayList<>(1);
+        ProxmoxRateLimiter limiter = rateLimiter;
+        ProxmoxCircuitBreaker breaker = circuitBreaker;
+        ProxmoxAPIError failure;
+        while (true) {
+            if (!tried.isEmpty()) {
+                pace(limiter, endpoint, builder.path, deadline);
             }
-            JsonElement dataElement = extractDataFromResponse(parsedResponse);
-            
-            ResponseTransformer transformer = builder.transformer != null ? builder.transformer : defaultTransformer;
-            JsonElement transformed = transformer.transform(dataElement, clazz);
-            
-            return gson.fromJson(transformed, clazz);
-            
-        } catch (Exception e) {
-            if (e instanceof ProxmoxAPIError) {
-                throw (ProxmoxAPIError) e;
+            ProxmoxCircuitBreaker.Circuit circuit = breaker != null ? breaker.circuitFor(endpoint, builder.path) : null;
+            int call = circuit != null ? circuit.tryAcquire() : ProxmoxCircuitBreaker.Circuit.CALL;
+            if (call == ProxmoxCircuitBreaker.Circuit.REJECTED) {
+                if (limiter != null) {
+                    limiter.release(endpoint, builder.path);
+                }
+                tried.add(endpoint);
+                failure = circuit.openError();
+            } else {
+                boolean recorded = false;
+                endpoint.begin();
+                try {
+                    long start = System.nanoTime();
+                    try {
+                        T value = exchange(builder, deadline, endpoint, type, elementClass, bodyCapture);
+                        recorded = true;
+                        recordAttempt(builder, endpoint, limiter, circuit, call, start, null);
+                        return value;
+                    } catch (ProxmoxAPIError e) {
+                        recorded = true;
+                        if (!recordAttempt(builder, endpoint, limiter, circuit, call, start, e)) {
+                            throw e;
+                        }
+                        tried.add(endpoint);
+                        failure = e;
+                    }
+                } finally {
+                    endpoint.end();
+                    if (!recorded && circuit != null) {
+                        circuit.onIgnored(call);
+                    }
+                }
+            }
+            endpoint = pool.select(tried);
+            if (endpoint == null) {
+                throw failure;
             }
-            throw new ProxmoxAPIError("Network error: " + e.getMessage(), e);
         }
     }
-    
-    private <T> T executeRequestWithType(RequestBuilder builder, TypeToken<T> typeToken) throws ProxmoxAPIError, InterruptedException {
-        String url = buildUrl(builder.path, builder.params);
-        
+
+    private <T> T exchange(RequestBuilder builder, Long deadline, ProxmoxEndpoint endpoint, Type type,
+                           Class<?> elementClass, Consumer<byte[]> bodyCapture)
+            throws ProxmoxAPIError, InterruptedException {
+        String url = buildUrl(endpoint.getBaseUrl(), builder.path, builder.params);
+
+        ProxmoxMetrics recorder = metrics;
+        ProxmoxExchangeEvent event = new ProxmoxExchangeEvent();
+        event.begin();
+        long start = System.nanoTime();
+        ProxmoxTransport.Request request = null;
+        ProxmoxTransport.Response response = null;
         try {
-            HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("Content-Type", "application/json");
-            
-            if (apiToken != null) {
-                requestBuilder.header("Authorization", "PVEAPIToken=" + apiToken);
-            } else if (ticket != null) {
-                requestBuilder.header("Cookie", "PVEAuthCookie=" + ticket);
-                if (csrfToken != null && (builder.method.equals("POST") || builder.method.equals("PUT") || 
-                    builder.method.equals("PATCH") || builder.method.equals("DELETE"))) {
-                    requestBuilder.header("CSRFPreventionToken", csrfToken);
+            request = buildTransportRequest(builder, deadline, url);
+            ProxmoxTrafficRecorder recording = trafficRecorder;
+            response = recording != null ? recording.send(transport, request) : transport.send(request);
+            T value = this.<T>reader(builder, url, type, elementClass, bodyCapture).read(response).get();
+            recordExchange(recorder, event, builder, request, response, null, start);
+            return value;
+        } catch (ProxmoxAPIError e) {
+            recordExchange(recorder, event, builder, request, response, e, start);
+            throw e;
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            ProxmoxAPIError error = new ProxmoxAPIError("Network error: " + e.getMessage(), e);
+            recordExchange(recorder, event, builder, request, response, error, start);
+            throw error;
+        }
+    }
+
+    private <T> CompletableFuture<T> sendRequestAsync(RequestBuilder builder, Long deadline, Type type,
+                                                      Class<?> elementClass, Consumer<byte[]> bodyCapture,
+                                                      boolean retry) {
+        ProxmoxRetryBudget budget = retryBudget;
+        if (budget != null && !retry) {
+            budget.recordRequest();
+        }
+        ProxmoxRateLimiter limiter = rateLimiter;
+        ProxmoxBulkhead limits = bulkhead;
+        ProxmoxEndpoint endpoint = firstEndpoint(builder, endpointPool);
+        if (limiter == null && limits == null) {
+            return dispatchOrHedgeAsync(builder, deadline, endpoint, type, elementClass, bodyCapture);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // The rate limiter is waited for first, so that waiting holds neither a permit nor a circuit call
+        paceAsync(limiter, endpoint, builder.path, deadline, result, () -> {
+            if (limits == null) {
+                forward(dispatchOrHedgeAsync(builder, deadline, endpoint, type, elementClass, bodyCapture), result,
+                        null);
+                return;
+            }
+            CompletableFuture<ProxmoxBulkhead.Permit> admission = limits.acquireAsync(builder.method, builder.path);
+            // Cancelling the returned future leaves the queue or aborts the request
+            result.whenComplete((value, throwable) -> {
+                if (result.isCancelled()) {
+                    admission.cancel(false);
                 }
+            });
+            admission.thenAccept(permit -> {
+                if (result.isDone()) {
+                    permit.release();
+                    return;
+                }
+                forward(dispatchOrHedgeAsync(builder, deadline, endpoint, type, elementClass, bodyCapture), result,
+                        permit);
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Completes {@code result} with a call, releasing the permit once the call is done, and
+     * cancels the call if {@code result} is cancelled.
+     */
+    private static <T> void forward(CompletableFuture<T> call, CompletableFuture<T> result,
+                                    ProxmoxBulkhead.Permit permit) {
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        call.whenComplete((value, throwable) -> {
+            if (permit != null) {
+                permit.release();
             }
+            if (throwable != null) {
+                result.completeExceptionally(ProxmoxRequest.unwrap(throwable));
+            } else {
+                result.complete(value);
+            }
+        });
+    }
 
-            switch (builder.method) {
-                case "GET" -> requestBuilder.GET();
-                case "POST" -> requestBuilder.POST(HttpRequest.BodyPublishers.ofString(builder.body != null ? builder.body : "{}"));
-                case "PUT" -> requestBuilder.PUT(HttpRequest.BodyPublishers.ofString(builder.body != null ? builder.body : "{}"));
-                case "PATCH" -> requestBuilder.method("PATCH", HttpRequest.BodyPublishers.ofString(builder.body != null ? builder.body : "{}"));
-                case "DELETE" -> requestBuilder.DELETE();
+    /**
+     * Waits for the rate limiter to let a request through to an endpoint, giving the token back if
+     * the wait would outlast the deadline, which fails the request, or if interrupted.
+     */
+    private static void pace(ProxmoxRateLimiter limiter, ProxmoxEndpoint endpoint, String path, Long deadline)
+            throws ProxmoxAPIError, InterruptedException {
+        long wait = limiter != null ? limiter.reserve(endpoint, path) : 0;
+        if (wait <= 0) {
+            return;
+        }
+        if (deadline != null && wait > ProxmoxDeadline.remainingNanos(deadline)) {
+            limiter.release(endpoint, path);
+            throw ProxmoxDeadline.exceeded();
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        } catch (InterruptedException e) {
+            limiter.release(endpoint, path);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs {@code send} once the rate limiter lets a request through to an endpoint. The request
+     * fails at once if the wait would outlast the deadline; if {@code result} completes first,
+     * such as when it is cancelled, the token is given back and {@code send} never runs.
+     */
+    private static void paceAsync(ProxmoxRateLimiter limiter, ProxmoxEndpoint endpoint, String path, Long deadline,
+                                  CompletableFuture<?> result, Runnable send) {
+        long wait = limiter != null ? limiter.reserve(endpoint, path) : 0;
+        if (wait <= 0) {
+            send.run();
+            return;
+        }
+        if (deadline != null && wait > ProxmoxDeadline.remainingNanos(deadline)) {
+            limiter.release(endpoint, path);
+            result.completeExceptionally(ProxmoxDeadline.exceeded());
+            return;
+        }
+        AtomicBoolean claimed = new AtomicBoolean();
+        result.whenComplete((value, throwable) -> {
+            if (claimed.compareAndSet(false, true)) {
+                limiter.release(endpoint, path);
+            }
+        });
+        CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS).execute(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                send.run();
             }
+        });
+    }
 
-            HttpResponse<String> response = client.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofString());
-            
-            if (response.statusCode() >= 400) {
-                throw new ProxmoxAPIError(
-                    "HTTP request failed",
-                    response.statusCode(),
-                    response.body(),
-                    url
-                );
+    private <T> CompletableFuture<T> dispatchOrHedgeAsync(RequestBuilder builder, Long deadline,
+                                                          ProxmoxEndpoint endpoint, Type type,
+                                                          Class<?> elementClass, Consumer<byte[]> bodyCapture) {
+        ProxmoxHedgingPolicy hedging = hedgingPolicy;
+        if (hedging == null || !builder.method.equals("GET")) {
+            return dispatchAsync(builder, deadline, endpoint, type, elementClass, bodyCapture);
+        }
+        return hedgedAsync(builder, deadline, endpoint, type, elementClass, bodyCapture, hedging);
+    }
+
+    /**
+     * Sends a GET and, if it is still pending after the hedge delay and the budget allows, a
+     * duplicate. The first success completes the result and cancels the other request; a failure
+     * only completes it once no other request is pending. The duplicate needs its own bulkhead
+     * permit and is not sent if none is free right away.
+     */
+    private <T> CompletableFuture<T> hedgedAsync(RequestBuilder builder, Long deadline, ProxmoxEndpoint endpoint,
+                                                 Type type, Class<?> elementClass, Consumer<byte[]> bodyCapture,
+                                                 ProxmoxHedgingPolicy hedging) {
+        hedging.onRequest();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        hedgeAttempt(builder, deadline, endpoint, type, elementClass, bodyCapture, hedging, pending, result);
+        long delay = hedging.hedgeDelayNanos(builder.path);
+        if (delay >= 0) {
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                ProxmoxBulkhead limits = bulkhead;
+                ProxmoxBulkhead.Permit permit = limits != null ? limits.tryAcquire(builder.method, builder.path) : null;
+                if (limits != null && permit == null) {
+                    return;
+                }
+                if (!hedging.tryAcquireHedge()) {
+                    if (permit != null) {
+                        permit.release();
+                    }
+                    return;
+                }
+                pending.incrementAndGet();
+                CompletableFuture<T> hedge = hedgeAttempt(builder, deadline, null, type, elementClass, bodyCapture,
+                        hedging, pending, result);
+                if (permit != null) {
+                    hedge.whenComplete((value, throwable) -> permit.release());
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * @param endpoint the endpoint of the first request, or null for a hedge
+     * @return the attempt, completed once it is done or cancelled
+     */
+    private <T> CompletableFuture<T> hedgeAttempt(RequestBuilder builder, Long deadline, ProxmoxEndpoint endpoint,
+                                                  Type type, Class<?> elementClass, Consumer<byte[]> bodyCapture,
+                                                  ProxmoxHedgingPolicy hedging, AtomicInteger pending,
+                                                  CompletableFuture<T> result) {
+        boolean hedge = endpoint == null;
+        long start = System.nanoTime();
+        CompletableFuture<T> attempt = dispatchAsync(builder, deadline, endpoint, type, elementClass, bodyCapture);
+        // Once the result is known, whether by this attempt or not, the other one is cancelled
+        result.whenComplete((value, throwable) -> attempt.cancel(true));
+        attempt.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                hedging.recordLatency(builder.path, System.nanoTime() - start);
+                if (result.complete(value) && hedge) {
+                    hedging.onHedgeWon();
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(ProxmoxRequest.unwrap(throwable));
             }
-            
-            JsonElement parsedResponse;
-            try {
-                parsedResponse = JsonParser.parseString(response.body());
-            } catch (JsonSyntaxException e) {
-                throw new ProxmoxAPIError(
-                    "Failed to parse JSON response: " + e.getMessage(),
-                    response.statusCode(),
-                    response.body(),
-                    url
-                );
+        });
+        return attempt;
+    }
+
+    /**
+     * Sends a request to an endpoint, moving to the next ones on failure.
+     *
+     * @param endpoint the first endpoint, which the rate limiter already let the request through
+     *                 to, or null for a hedge, which skips node affinity to reach another endpoint
+     *                 when the pool has several
+     */
+    private <T> CompletableFuture<T> dispatchAsync(RequestBuilder builder, Long deadline, ProxmoxEndpoint endpoint,
+                                                   Type type, Class<?> elementClass, Consumer<byte[]> bodyCapture) {
+        ProxmoxEndpointPool pool = endpointPool;
+        List<ProxmoxEndpoint> tried = new ArrayList<>(1);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (endpoint != null) {
+            attemptAsync(builder, deadline, type, elementClass, bodyCapture, pool, endpoint, tried, result);
+        } else {
+            paceNextAsync(builder, deadline, type, elementClass, bodyCapture, pool, pool.select(tried), tried, result);
+        }
+        return result;
+    }
+
+    private ProxmoxEndpoint firstEndpoint(RequestBuilder builder, ProxmoxEndpointPool pool) {
+        ProxmoxNodeAffinity affinity = nodeAffinity;
+        ProxmoxEndpoint endpoint = affinity != null ? affinity.endpointFor(builder.path) : null;
+        return endpoint != null ? endpoint : pool.select(List.of());
+    }
+
+    /**
+     * Sends a request to an endpoint it has not been through the rate limiter for yet.
+     */
+    private <T> void paceNextAsync(RequestBuilder builder, Long deadline, Type type, Class<?> elementClass,
+                                   Consumer<byte[]> bodyCapture, ProxmoxEndpointPool pool, ProxmoxEndpoint endpoint,
+                                   List<ProxmoxEndpoint> tried, CompletableFuture<T> result) {
+        paceAsync(rateLimiter, endpoint, builder.path, deadline, result,
+                () -> attemptAsync(builder, deadline, type, elementClass, bodyCapture, pool, endpoint, tried, result));
+    }
+
+    private <T> void attemptAsync(RequestBuilder builder, Long deadline, Type type, Class<?> elementClass,
+                                  Consumer<byte[]> bodyCapture, ProxmoxEndpointPool pool, ProxmoxEndpoint endpoint,
+                                  List<ProxmoxEndpoint> tried, CompletableFuture<T> result) {
+        ProxmoxRateLimiter limiter = rateLimiter;
+        ProxmoxCircuitBreaker breaker = circuitBreaker;
+        ProxmoxCircuitBreaker.Circuit circuit = breaker != null ? breaker.circuitFor(endpoint, builder.path) : null;
+        int call = circuit != null ? circuit.tryAcquire() : ProxmoxCircuitBreaker.Circuit.CALL;
+        if (call == ProxmoxCircuitBreaker.Circuit.REJECTED) {
+            if (limiter != null) {
+                limiter.release(endpoint, builder.path);
             }
-            JsonElement dataElement = extractDataFromResponse(parsedResponse);
-            
-            Class<?> elementClass = extractElementClass(typeToken);
-            
-            ResponseTransformer transformer = builder.transformer != null ? builder.transformer : defaultTransformer;
-            JsonElement transformed = transformer.transform(dataElement, elementClass);
-            
-            return gson.fromJson(transformed, typeToken.getType());
-            
+            tried.add(endpoint);
+            ProxmoxEndpoint next = pool.select(tried);
+            if (next != null) {
+                paceNextAsync(builder, deadline, type, elementClass, bodyCapture, pool, next, tried, result);
+            } else {
+                result.completeExceptionally(circuit.openError());
+            }
+            return;
+        }
+        sendAttemptAsync(builder, deadline, type, elementClass, bodyCapture, pool, endpoint, tried, result,
+                limiter, circuit, call);
+    }
+
+    private <T> void sendAttemptAsync(RequestBuilder builder, Long deadline, Type type, Class<?> elementClass,
+                                      Consumer<byte[]> bodyCapture, ProxmoxEndpointPool pool, ProxmoxEndpoint endpoint,
+                                      List<ProxmoxEndpoint> tried, CompletableFuture<T> result,
+                                      ProxmoxRateLimiter limiter, ProxmoxCircuitBreaker.Circuit circuit, int call) {
+        long start = System.nanoTime();
+        endpoint.begin();
+        CompletableFuture<T> attempt = exchangeAsync(builder, deadline, endpoint, type, elementClass, bodyCapture);
+        // Cancelling the returned future aborts the underlying HTTP exchange
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                attempt.cancel(true);
+            }
+        });
+        attempt.whenComplete((value, throwable) -> {
+            endpoint.end();
+            if (throwable == null) {
+                recordAttempt(builder, endpoint, limiter, circuit, call, start, null);
+                result.complete(value);
+                return;
+            }
+            Throwable cause = ProxmoxRequest.unwrap(throwable);
+            if (!(cause instanceof ProxmoxAPIError e)) {
+                if (circuit != null) {
+                    circuit.onIgnored(call);
+                }
+            } else if (recordAttempt(builder, endpoint, limiter, circuit, call, start, e)) {
+                tried.add(endpoint);
+                ProxmoxEndpoint next = pool.select(tried);
+                if (next != null && !result.isDone()) {
+                    paceNextAsync(builder, deadline, type, elementClass, bodyCapture, pool, next, tried, result);
+                    return;
+                }
+            }
+            result.completeExceptionally(cause);
+        });
+    }
+
+    /**
+     * Feeds the outcome of an attempt to the endpoint, the rate limiter and the circuit.
+     *
+     * @param error the error of the attempt, or null if it succeeded
+     * @return true if the request may be sent to another endpoint
+     */
+    private static boolean recordAttempt(RequestBuilder builder, ProxmoxEndpoint endpoint, ProxmoxRateLimiter limiter,
+                                         ProxmoxCircuitBreaker.Circuit circuit, int call, long start,
+                                         ProxmoxAPIError error) {
+        long latency = System.nanoTime() - start;
+        if (limiter != null) {
+            limiter.record(endpoint, builder.path, error != null && isOverload(error));
+        }
+        if (circuit != null) {
+            if (error != null && isServerFailure(error)) {
+                circuit.onFailure(call);
+            } else {
+                circuit.onSuccess(call);
+            }
+        }
+        if (error != null && isEndpointFailure(builder, error)) {
+            endpoint.failed();
+            return true;
+        }
+        endpoint.succeeded(latency);
+        return false;
+    }
+
+    private <T> CompletableFuture<T> exchangeAsync(RequestBuilder builder, Long deadline, ProxmoxEndpoint endpoint,
+                                                   Type type, Class<?> elementClass, Consumer<byte[]> bodyCapture) {
+        String url = buildUrl(endpoint.getBaseUrl(), builder.path, builder.params);
+
+        ProxmoxMetrics recorder = metrics;
+        ProxmoxExchangeEvent event = new ProxmoxExchangeEvent();
+        event.begin();
+        long start = System.nanoTime();
+        ProxmoxTransport.Request request;
+        CompletableFuture<ProxmoxTransport.Response> exchange;
+        try {
+            request = buildTransportRequest(builder, deadline, url);
+            ProxmoxTrafficRecorder recording = trafficRecorder;
+            exchange = recording != null ? recording.sendAsync(transport, request) : transport.sendAsync(request);
+        } catch (ProxmoxAPIError e) {
+            return CompletableFuture.failedFuture(e);
         } catch (Exception e) {
-            if (e instanceof ProxmoxAPIError) {
-                throw (ProxmoxAPIError) e;
+            return CompletableFuture.failedFuture(new ProxmoxAPIError("Network error: " + e.getMessage(), e));
+        }
+
+        ProxmoxResponseReader<T> reader = reader(builder, url, type, elementClass, bodyCapture);
+        CompletableFuture<T> result = exchange.handle((response, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable;
+                ProxmoxAPIError error = cause instanceof ProxmoxAPIError apiError
+                        ? apiError : new ProxmoxAPIError("Network error: " + cause.getMessage(), cause);
+                if (!(cause instanceof CancellationException)) {
+                    recordExchange(recorder, event, builder, request, null, error, start);
+                }
+                throw new CompletionException(error);
+            }
+            try {
+                T value = reader.read(response).get();
+                recordExchange(recorder, event, builder, request, response, null, start);
+                return value;
+            } catch (ProxmoxAPIError e) {
+                recordExchange(recorder, event, builder, request, response, e, start);
+                throw new CompletionException(e);
             }
-            throw new ProxmoxAPIError("Network error: " + e.getMessage(), e);
+        });
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Reports an exchange to the metrics and to JFR, when either is enabled.
+     */
+    private static void recordExchange(ProxmoxMetrics recorder, ProxmoxExchangeEvent event, RequestBuilder builder,
+                                       ProxmoxTransport.Request request, ProxmoxTransport.Response response,
+                                       ProxmoxAPIError error, long start) {
+        if (request == null) {
+            return;
+        }
+        event.end();
+        boolean commit = event.shouldCommit();
+        if (recorder == null && !commit) {
+            return;
+        }
+        int statusCode = response != null ? response.statusCode() : error.getStatusCode();
+        long requestBytes = request.body() != null ? request.body().length : 0;
+        long responseBytes = response != null ? response.bodyLength() : -1;
+        if (recorder != null) {
+            recorder.recordExchange(builder.method, builder.pathTemplate(), statusCode, System.nanoTime() - start,
+                    requestBytes, responseBytes);
+        }
+        if (commit) {
+            event.method = builder.method;
+            event.pathTemplate = builder.pathTemplate();
+            event.endpoint = request.uri().getAuthority();
+            event.statusCode = statusCode;
+            event.requestBytes = requestBytes;
+            event.responseBytes = responseBytes;
+            event.commit();
+        }
+    }
+
+    private void recordCacheHit(RequestBuilder builder) {
+        ProxmoxMetrics recorder = metrics;
+        if (recorder != null) {
+            recorder.recordCacheHit(builder.method, builder.pathTemplate());
         }
     }
+
+    void recordRetry(RequestBuilder builder) {
+        ProxmoxMetrics recorder = metrics;
+        if (recorder != null) {
+            recorder.recordRetry(builder.method, builder.pathTemplate());
+        }
+    }
+
+    /**
+     * Tells whether an error signals an overloaded server: 429, 503, 504 or a timeout.
+     */
+    private static boolean isOverload(ProxmoxAPIError error) {
+        int status = error.getStatusCode();
+        if (status == 429 || status == 503 || status == 504) {
+            return true;
+        }
+        for (Throwable cause = error.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether an error signals an unhealthy server: a network error, a timeout, or a
+     * 502, 503 or 504 response.
+     */
+    private static boolean isServerFailure(ProxmoxAPIError error) {
+        int status = error.getStatusCode();
+        return status == 502 || status == 503 || status == 504
+                || (status == -1 && error.getCause() instanceof IOException);
+    }
+
+    /**
+     * Tells whether an error is the endpoint's fault, so the request may be sent to another one.
+     * Connection failures qualify for every method since nothing reached the server. Other network
+     * errors and gateway errors (502, 503, 504) only qualify for GET requests, which are safe to
+     * repeat. Proxmox reports API errors such as a missing VM with status 500, so 500 never does.
+     */
+    private static boolean isEndpointFailure(RequestBuilder builder, ProxmoxAPIError error) {
+        boolean idempotent = builder.method.equals("GET");
+        int status = error.getStatusCode();
+        if (status == 502 || status == 503 || status == 504) {
+            return idempotent;
+        }
+        if (status != -1) {
+            return false;
+        }
+        for (Throwable cause = error.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException) {
+                return true;
+            }
+        }
+        return idempotent && error.getCause() instanceof IOException;
+    }
+
+    private ProxmoxTransport.Request buildTransportRequest(RequestBuilder builder, Long deadline, String url)
+            throws ProxmoxAPIError {
+        Map<String, String> headers = new HashMap<>(4);
+        headers.put("Content-Type", "application/json");
+
+        Duration timeout = requestTimeout;
+        if (deadline != null) {
+            // Each attempt may only use the time left before the request's deadline
+            long remaining = ProxmoxDeadline.remainingNanos(deadline);
+            if (remaining <= 0) {
+                throw ProxmoxDeadline.exceeded();
+            }
+            if (timeout == null || remaining < timeout.toNanos()) {
+                timeout = Duration.ofNanos(remaining);
+            }
+        }
+
+        if (apiToken != null) {
+            headers.put("Authorization", "PVEAPIToken=" + apiToken);
+        } else if (ticket != null) {
+            headers.put("Cookie", "PVEAuthCookie=" + ticket);
+            if (csrfToken != null && (builder.method.equals("POST") || builder.method.equals("PUT") ||
+                builder.method.equals("PATCH") || builder.method.equals("DELETE"))) {
+                headers.put("CSRFPreventionToken", csrfToken);
+            }
+        }
+
+        byte[] body = switch (builder.method) {
+            case "POST", "PUT", "PATCH" -> (builder.body != null ? builder.body : "{}").getBytes(StandardCharsets.UTF_8);
+            default -> null;
+        };
+
+        return new ProxmoxTransport.Request(builder.method, URI.create(url), headers, body, timeout);
+    }
+
+    private <T> ProxmoxResponseReader<T> reader(RequestBuilder builder, String url, Type type, Class<?> elementClass,
+                                               Consumer<byte[]> bodyCapture) {
+        return new ProxmoxResponseReader<>(decoder, url, type, builder.transformer, elementClass, bodyCapture);
+    }
     
     private Class<?> extractElementClass(TypeToken<?> typeToken) {
         Type type = typeToken.getType();
@@ -390,21 +1325,33 @@ public class ProxmoxHttpClient {
         return typeToken.getRawType();
     }
 
-    private JsonElement extractDataFromResponse(JsonElement jsonElement) {
-        if (jsonElement.isJsonObject()) {
-            JsonObject obj = jsonElement.getAsJsonObject();
-            if (obj.has("data")) {
-                JsonElement data = obj.get("data");
-                if (!data.isJsonNull()) {
-                    return data;
-                }
-            }
+    /**
+     * Identifies a request by method, path and sorted parameters.
+     */
+    static String requestKey(RequestBuilder builder) {
+        StringBuilder key = new StringBuilder(builder.method).append(' ')
+                .append(ProxmoxPathTemplate.normalize(builder.path));
+        if (!builder.params.isEmpty()) {
+            key.append('?');
+            new TreeMap<>(builder.params).forEach((name, value) -> key.append(name).append('=').append(value).append('&'));
         }
-        return jsonElement;
+        return key.toString();
     }
 
-    private String buildUrl(String path, Map<String, Object> params) {
-        StringBuilder url = new StringBuilder(baseUrl + path);
+    /**
+     * Identifies a request by method, path, sorted parameters and response type.
+     */
+    static String requestKey(RequestBuilder builder, Type type) {
+        StringBuilder key = new StringBuilder(requestKey(builder));
+        key.append(' ').append(type.getTypeName());
+        if (builder.transformer != null) {
+            key.append(' ').append(builder.transformer.getClass().getName());
+        }
+        return key.toString();
+    }
+
+    static String buildUrl(String base, String path, Map<String, Object> params) {
+        StringBuilder url = new StringBuilder(base + path);
         if (!params.isEmpty()) {
             String query = params.entrySet().stream()
                     .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8)
@@ -425,6 +1372,7 @@ public class ProxmoxHttpClient {
         private final Map<String, Object> params;
         private String body;
         private ResponseTransformer transformer;
+        private String pathTemplate; // Computed on first use by the metrics
 
         RequestBuilder(ProxmoxHttpClient client, String method, String path) {
             this.client = client;
@@ -433,6 +1381,23 @@ public class ProxmoxHttpClient {
             this.params = new HashMap<>();
         }
 
+        ProxmoxHttpClient client() {
+            return client;
+        }
+
+        String method() {
+            return method;
+        }
+
+        String pathTemplate() {
+            String template = pathTemplate;
+            if (template == null) {
+                template = ProxmoxPathTemplate.templateOf(path);
+                pathTemplate = template;
+            }
+            return template;
+        }
+
         /**
          * Adds a query parameter to the request.
          *
@@ -469,6 +1434,8 @@ public class ProxmoxHttpClient {
 
         /**
          * Sets a custom response transformer.
+         * The response {@code data} element is then parsed into a JSON tree and handed to the
+         * transformer before deserialization; without one, the response is decoded as a stream.
          *
          * @param transformer the transformer to use
          * @return this builder for chaining
@@ -514,5 +1481,37 @@ public class ProxmoxHttpClient {
         public <T> T executeList(TypeToken<T> typeToken) throws ProxmoxAPIError, InterruptedException {
             return client.executeList(this, typeToken);
         }
+
+        /**
+         * Executes the request without blocking and returns the raw JSON response.
+         *
+         * @return a future completed with the JSON response object, or exceptionally with a {@link ProxmoxAPIError}
+         */
+        public CompletableFuture<JsonObject> executeAsync() {
+            return client.executeAsync(this, JsonObject.class);
+        }
+
+        /**
+         * Executes the request without blocking and deserializes the response.
+         * The exchange runs on {@link HttpClient#sendAsync}, so no thread is held while waiting for the server.
+         *
+         * @param clazz the class to deserialize to
+         * @param <T>   the response type
+         * @return a future completed with the deserialized response, or exceptionally with a {@link ProxmoxAPIError}
+         */
+        public <T> CompletableFuture<T> executeAsync(Class<T> clazz) {
+            return client.executeAsync(this, clazz);
+        }
+
+        /**
+         * Executes the request without blocking and deserializes to a parameterized type (e.g., List).
+         *
+         * @param typeToken the type token for deserialization
+         * @param <T>       the response type
+         * @return a future completed with the deserialized response, or exceptionally with a {@link ProxmoxAPIError}
+         */
+        public <T> CompletableFuture<T> executeListAsync(TypeToken<T> typeToken) {
+            return client.executeListAsync(this, typeToken);
+        }
     }
 }
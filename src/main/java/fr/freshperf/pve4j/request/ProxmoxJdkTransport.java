@@ -0,0 +1,77 @@
+package fr.freshperf.pve4j.request;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Default {@link ProxmoxTransport}, running on {@link HttpClient}.
+ *
+ * <p>Blocking calls stream the response body, asynchronous calls buffer it so that decoding
+ * never blocks a thread on the network. Cancelling an asynchronous call aborts the exchange.</p>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxJdkTransport implements ProxmoxTransport {
+
+    private final HttpClient client;
+
+    /**
+     * Creates a transport sending requests with an HTTP client.
+     *
+     * @param client the HTTP client
+     */
+    public ProxmoxJdkTransport(HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Returns the underlying HTTP client.
+     *
+     * @return the HTTP client
+     */
+    public HttpClient getClient() {
+        return client;
+    }
+
+    @Override
+    public Response send(Request request) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(toHttpRequest(request), HttpResponse.BodyHandlers.ofInputStream());
+        return Response.ofStream(response.statusCode(), response.headers().map(), response.body());
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(Request request) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<HttpResponse<byte[]>> exchange =
+                client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        CompletableFuture<Response> result = exchange.thenApply(
+                response -> Response.ofBytes(response.statusCode(), response.headers().map(), response.body()));
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static HttpRequest toHttpRequest(Request request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().uri(request.uri());
+        request.headers().forEach(builder::header);
+        if (request.timeout() != null) {
+            builder.timeout(request.timeout());
+        }
+        HttpRequest.BodyPublisher body = request.body() != null
+                ? HttpRequest.BodyPublishers.ofByteArray(request.body())
+                : HttpRequest.BodyPublishers.noBody();
+        return builder.method(request.method(), body).build();
+    }
+}
@@ -0,0 +1,52 @@
+package fr.freshperf.pve4j.request;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latencies of a kind of request and estimates their percentiles.
+ * The sorted copy is refreshed every few samples rather than on each lookup.
+ */
+final class ProxmoxLatencyTracker {
+
+    private static final int CAPACITY = 1024;
+    private static final int REFRESH_EVERY = 32;
+
+    private final long[] samples = new long[CAPACITY];
+    private int count;
+    private int next;
+    private int sinceRefresh;
+    private long[] sorted = new long[0];
+
+    synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % CAPACITY;
+        if (count < CAPACITY) {
+            count++;
+        }
+        sinceRefresh++;
+    }
+
+    /**
+     * Returns a percentile of the recent latencies.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @param minSamples the number of samples needed for an estimate
+     * @return the latency in nanoseconds, or -1 if there are fewer samples than required
+     */
+    synchronized long percentile(double percentile, int minSamples) {
+        if (count < minSamples || count == 0) {
+            return -1;
+        }
+        if (sorted.length != count || sinceRefresh >= REFRESH_EVERY) {
+            sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            sinceRefresh = 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.min(sorted.length - 1, Math.max(0, index))];
+    }
+
+    synchronized int size() {
+        return count;
+    }
+}
@@ -0,0 +1,55 @@
+package fr.freshperf.pve4j.request;
+
+/**
+ * Receives measurements from the request pipeline of a {@link ProxmoxHttpClient}.
+ *
+ * <p>Requests are identified by their HTTP method and the template of their path, e.g.
+ * {@code GET nodes/{node}/qemu/{vmid}/status/current}, never by the concrete path, so the
+ * number of series stays bounded. Methods are called on the request path, from any thread,
+ * and must be fast and thread-safe.</p>
+ *
+ * <p>{@link ProxmoxMetricsRecorder} keeps latency histograms and counters in memory; other
+ * implementations can forward to an existing metrics library.</p>
+ *
+ * <pre>{@code
+ * ProxmoxMetricsRecorder metrics = new ProxmoxMetricsRecorder();
+ * client.setMetrics(metrics);
+ * }</pre>
+ *
+ * @since 0.1.0
+ * @see fr.freshperf.pve4j.util.ProxmoxPathTemplate#templateOf(String)
+ */
+public interface ProxmoxMetrics {
+
+    /**
+     * Records an HTTP exchange, that is one attempt sent to one endpoint. Retries, failovers and
+     * hedges each record their own exchange.
+     *
+     * @param method        the HTTP method
+     * @param pathTemplate  the path template
+     * @param statusCode    the HTTP status code, or -1 if no response was received
+     * @param latencyNanos  the time from sending the request to decoding the response
+     * @param requestBytes  the size of the request body
+     * @param responseBytes the size of the response body, or -1 if unknown
+     */
+    void recordExchange(String method, String pathTemplate, int statusCode, long latencyNanos,
+                        long requestBytes, long responseBytes);
+
+    /**
+     * Records a retry scheduled by a {@link ProxmoxRequest}.
+     *
+     * @param method       the HTTP method
+     * @param pathTemplate the path template
+     */
+    default void recordRetry(String method, String pathTemplate) {
+    }
+
+    /**
+     * Records a request served by the response cache, without any exchange.
+     *
+     * @param method       the HTTP method
+     * @param pathTemplate the path template
+     */
+    default void recordCacheHit(String method, String pathTemplate) {
+    }
+}
@@ -0,0 +1,210 @@
+package fr.freshperf.pve4j.request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory {@link ProxmoxMetrics}: a latency histogram and counters per method and path
+ * template, readable at any time.
+ *
+ * <pre>{@code
+ * ProxmoxMetricsRecorder metrics = new ProxmoxMetricsRecorder();
+ * client.setMetrics(metrics);
+ * ...
+ * for (ProxmoxMetricsRecorder.Operation operation : metrics.getOperations()) {
+ *     System.out.printf("%s %s p99=%s errors=%d%n", operation.getMethod(), operation.getPathTemplate(),
+ *             operation.getLatency().getPercentile(0.99), operation.getErrorCount());
+ * }
+ * }</pre>
+ *
+ * <p>To keep memory bounded, once {@code maxOperations} operations are known, new ones are all
+ * recorded under the {@value #OTHER} template of their method.</p>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxMetricsRecorder implements ProxmoxMetrics {
+
+    /** Template of the operations recorded past the limit. */
+    public static final String OTHER = "{other}";
+
+    private final int maxOperations;
+    private final ConcurrentHashMap<String, Operation> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a recorder keeping up to 1024 operations.
+     */
+    public ProxmoxMetricsRecorder() {
+        this(1024);
+    }
+
+    /**
+     * Creates a recorder.
+     *
+     * @param maxOperations the number of operations kept apart, at least 1
+     */
+    public ProxmoxMetricsRecorder(int maxOperations) {
+        if (maxOperations < 1) {
+            throw new IllegalArgumentException("Max operations must be at least 1, got " + maxOperations);
+        }
+        this.maxOperations = maxOperations;
+    }
+
+    @Override
+    public void recordExchange(String method, String pathTemplate, int statusCode, long latencyNanos,
+                               long requestBytes, long responseBytes) {
+        Operation operation = operation(method, pathTemplate);
+        operation.latency.record(latencyNanos);
+        operation.exchanges.increment();
+        if (statusCode < 0) {
+            operation.networkErrors.increment();
+        } else if (statusCode >= 500) {
+            operation.serverErrors.increment();
+        } else if (statusCode >= 400) {
+            operation.clientErrors.increment();
+        }
+        operation.bytesSent.add(requestBytes);
+        if (responseBytes > 0) {
+            operation.bytesReceived.add(responseBytes);
+        }
+    }
+
+    @Override
+    public void recordRetry(String method, String pathTemplate) {
+        operation(method, pathTemplate).retries.increment();
+    }
+
+    @Override
+    public void recordCacheHit(String method, String pathTemplate) {
+        operation(method, pathTemplate).cacheHits.increment();
+    }
+
+    /**
+     * Returns the metrics of an operation.
+     *
+     * @param method       the HTTP method
+     * @param pathTemplate the path template, e.g. "nodes/{node}/qemu/{vmid}/status/current"
+     * @return the operation, or null if nothing was recorded for it
+     */
+    public Operation getOperation(String method, String pathTemplate) {
+        return operations.get(key(method, pathTemplate));
+    }
+
+    /**
+     * Returns the metrics of all the operations recorded so far.
+     *
+     * @return a snapshot of the operations, in no particular order
+     */
+    public List<Operation> getOperations() {
+        return new ArrayList<>(operations.values());
+    }
+
+    /**
+     * Forgets all the operations.
+     */
+    public void clear() {
+        operations.clear();
+    }
+
+    private Operation operation(String method, String pathTemplate) {
+        Operation operation = operations.get(key(method, pathTemplate));
+        if (operation != null) {
+            return operation;
+        }
+        String template = operations.size() < maxOperations ? pathTemplate : OTHER;
+        return operations.computeIfAbsent(key(method, template), ignored -> new Operation(method, template));
+    }
+
+    private static String key(String method, String pathTemplate) {
+        return method + ' ' + pathTemplate;
+    }
+
+    /**
+     * Metrics of the requests sharing a method and a path template.
+     */
+    public static final class Operation {
+        private final String method;
+        private final String pathTemplate;
+        private final ProxmoxHistogram latency = new ProxmoxHistogram();
+        private final LongAdder exchanges = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder networkErrors = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+
+        private Operation(String method, String pathTemplate) {
+            this.method = method;
+            this.pathTemplate = pathTemplate;
+        }
+
+        /** @return the HTTP method */
+        public String getMethod() {
+            return method;
+        }
+
+        /** @return the path template */
+        public String getPathTemplate() {
+            return pathTemplate;
+        }
+
+        /** @return the latency of the exchanges, errors included */
+        public ProxmoxHistogram getLatency() {
+            return latency;
+        }
+
+        /** @return the number of exchanges */
+        public long getExchangeCount() {
+            return exchanges.sum();
+        }
+
+        /** @return the number of 4xx responses */
+        public long getClientErrorCount() {
+            return clientErrors.sum();
+        }
+
+        /** @return the number of 5xx responses */
+        public long getServerErrorCount() {
+            return serverErrors.sum();
+        }
+
+        /** @return the number of exchanges that got no response */
+        public long getNetworkErrorCount() {
+            return networkErrors.sum();
+        }
+
+        /** @return the number of failed exchanges: 4xx, 5xx and network errors */
+        public long getErrorCount() {
+            return clientErrors.sum() + serverErrors.sum() + networkErrors.sum();
+        }
+
+        /** @return the number of retries */
+        public long getRetryCount() {
+            return retries.sum();
+        }
+
+        /** @return the number of requests served by the response cache */
+        public long getCacheHitCount() {
+            return cacheHits.sum();
+        }
+
+        /** @return the number of request body bytes sent */
+        public long getBytesSent() {
+            return bytesSent.sum();
+        }
+
+        /** @return the number of response body bytes received, when their size was known */
+        public long getBytesReceived() {
+            return bytesReceived.sum();
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + pathTemplate + " (" + getExchangeCount() + " exchanges, p50=" + latency.getPercentile(0.5)
+                    + ", p99=" + latency.getPercentile(0.99) + ", p999=" + latency.getPercentile(0.999) + ")";
+        }
+    }
+}
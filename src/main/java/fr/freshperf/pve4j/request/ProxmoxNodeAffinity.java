@@ -0,0 +1,208 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.reflect.TypeToken;
+import fr.freshperf.pve4j.entities.cluster.PveClusterStatus;
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import fr.freshperf.pve4j.util.ProxmoxPathTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Routes node-scoped requests ({@code nodes/{node}/...}) straight to that node's own pveproxy,
+ * saving the hop through the proxy of the endpoint the client is connected to.
+ *
+ * <p>Node addresses are learned from {@code cluster/status} and reuse the scheme and port of the
+ * client's base URL. Requests for an unknown or ejected node fall back to the endpoint pool.
+ * With certificate checks on, node certificates must be valid for their IP address.</p>
+ *
+ * <p>Addresses are refreshed in the background on the first node-scoped request, once they are
+ * older than the {@linkplain #setRefreshInterval(Duration) refresh interval}, and after a request
+ * for an unknown node (at most every 30 seconds). Failed refreshes keep the known addresses and
+ * are passed to the {@linkplain #setErrorHandler(Consumer) error handler}.</p>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxNodeAffinity {
+
+    private static final long MISS_REFRESH_SPACING_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final ProxmoxHttpClient client;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Map<String, ProxmoxEndpoint> endpoints = Map.of();
+    private volatile Duration refreshInterval = Duration.ofMinutes(5);
+    private volatile Consumer<Throwable> errorHandler;
+    private volatile long refreshedAt;
+
+    ProxmoxNodeAffinity(ProxmoxHttpClient client) {
+        this.client = client;
+        // Due on the first node-scoped request
+        this.refreshedAt = System.nanoTime() - MISS_REFRESH_SPACING_NANOS;
+    }
+
+    /**
+     * Learns node addresses from {@code cluster/status}.
+     *
+     * @throws ProxmoxAPIError      if the request fails
+     * @throws InterruptedException if interrupted
+     */
+    public void refresh() throws ProxmoxAPIError, InterruptedException {
+        update(client.get("cluster/status").executeList(new TypeToken<List<PveClusterStatus>>(){}));
+    }
+
+    /**
+     * Learns node addresses from {@code cluster/status} without blocking.
+     *
+     * @return a future completing once the addresses are updated
+     */
+    public CompletableFuture<Void> refreshAsync() {
+        return client.get("cluster/status")
+                .executeListAsync(new TypeToken<List<PveClusterStatus>>(){})
+                .thenAccept(this::update);
+    }
+
+    /**
+     * Replaces the known node addresses with the online nodes of a cluster status.
+     * Endpoints whose address did not change keep their health and load.
+     *
+     * @param status the entries of {@code cluster/status}
+     */
+    public void update(List<PveClusterStatus> status) {
+        Map<String, ProxmoxEndpoint> previous = endpoints;
+        Map<String, ProxmoxEndpoint> updated = new HashMap<>();
+        for (PveClusterStatus entry : status) {
+            if (entry.getType() != PveClusterStatus.Type.node || !entry.isOnline()
+                    || entry.getName() == null || entry.getIp() == null || entry.getIp().isBlank()) {
+                continue;
+            }
+            String baseUrl = baseUrlFor(entry.getIp());
+            ProxmoxEndpoint endpoint = previous.get(entry.getName());
+            if (endpoint == null || !endpoint.getBaseUrl().equals(baseUrl)) {
+                endpoint = pooledOrNew(baseUrl);
+            }
+            updated.put(entry.getName(), endpoint);
+        }
+        endpoints = Map.copyOf(updated);
+        refreshedAt = System.nanoTime();
+    }
+
+    /**
+     * Sets how old node addresses may get before a node-scoped request refreshes them in the
+     * background (default 5 minutes).
+     *
+     * @param refreshInterval the maximum age of node addresses
+     */
+    public void setRefreshInterval(Duration refreshInterval) {
+        if (refreshInterval == null || refreshInterval.isNegative() || refreshInterval.isZero()) {
+            throw new IllegalArgumentException("Refresh interval must be positive");
+        }
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Returns how old node addresses may get before they are refreshed.
+     *
+     * @return the maximum age of node addresses
+     */
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Sets the handler receiving the errors of background refreshes. Without a handler, these
+     * errors are ignored.
+     *
+     * @param errorHandler the error handler, or null to ignore errors
+     */
+    public void setErrorHandler(Consumer<Throwable> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Returns the handler receiving the errors of background refreshes.
+     *
+     * @return the error handler, or null if errors are ignored
+     */
+    public Consumer<Throwable> getErrorHandler() {
+        return errorHandler;
+    }
+
+    /**
+     * Returns the learned base API URL of each node.
+     *
+     * @return node names mapped to their base API URL
+     */
+    public Map<String, String> getAddresses() {
+        Map<String, String> addresses = new HashMap<>();
+        endpoints.forEach((node, endpoint) -> addresses.put(node, endpoint.getBaseUrl()));
+        return addresses;
+    }
+
+    /**
+     * Returns the endpoint a request path should go to.
+     *
+     * @return the healthy endpoint of the node addressed by the path, or null
+     */
+    ProxmoxEndpoint endpointFor(String path) {
+        Map<String, ProxmoxEndpoint> known = endpoints;
+        String node = ProxmoxPathTemplate.nodeOf(path);
+        if (node == null) {
+            return null;
+        }
+        ProxmoxEndpoint endpoint = known.get(node);
+        long age = System.nanoTime() - refreshedAt;
+        if (age >= refreshInterval.toNanos() || (endpoint == null && age >= MISS_REFRESH_SPACING_NANOS)) {
+            refreshInBackground();
+        }
+        return endpoint != null && endpoint.isHealthy() ? endpoint : null;
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        // Space out attempts even if they fail
+        refreshedAt = System.nanoTime();
+        refreshAsync().whenComplete((ignored, throwable) -> {
+            refreshing.set(false);
+            if (throwable != null) {
+                reportError(throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable);
+            }
+        });
+    }
+
+    private void reportError(Throwable error) {
+        Consumer<Throwable> handler = errorHandler;
+        if (handler != null) {
+            handler.accept(error);
+        }
+    }
+
+    private ProxmoxEndpoint pooledOrNew(String baseUrl) {
+        for (ProxmoxEndpoint endpoint : client.getEndpointPool().getEndpoints()) {
+            if (endpoint.getBaseUrl().equals(baseUrl)) {
+                return endpoint;
+            }
+        }
+        return new ProxmoxEndpoint(baseUrl);
+    }
+
+    private String baseUrlFor(String ip) {
+        URI base = URI.create(client.getBaseUrl());
+        String host = ip.contains(":") && !ip.startsWith("[") ? "[" + ip + "]" : ip;
+        StringBuilder url = new StringBuilder(base.getScheme()).append("://").append(host);
+        if (base.getPort() != -1) {
+            url.append(':').append(base.getPort());
+        }
+        return url.append(base.getRawPath()).toString();
+    }
+}
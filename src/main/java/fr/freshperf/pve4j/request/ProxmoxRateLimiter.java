@@ -0,0 +1,236 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.util.ProxmoxPathTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side rate limiter with one token bucket per endpoint and path class.
+ *
+ * <p>Each bucket starts at its configured rate, which is also its ceiling. Responses with status
+ * 429, 503 or 504, and timeouts, cut the rate by {@link Builder#decreaseFactor(double)} (at most
+ * once per second); successful responses raise it again by
+ * {@link Builder#additiveIncrease(double)} requests per second every second. Retries go through
+ * the limiter like any other request, so they slow down with the rest.</p>
+ *
+ * <p>A request waits for its token before it takes a bulkhead permit or a circuit call, so
+ * waiting never holds either. A request whose wait would outlast its deadline fails at once with
+ * {@link fr.freshperf.pve4j.throwable.ProxmoxDeadlineExceededError}, and one cancelled while
+ * waiting gives its token back.</p>
+ *
+ * <p>Path classes are path patterns with their own rate; the first matching pattern applies and
+ * other paths share the default class of their endpoint.</p>
+ *
+ * <pre>{@code
+ * client.setRateLimiter(ProxmoxRateLimiter.builder()
+ *         .requestsPerSecond(50)
+ *         .limit("/nodes/{node}/qemu/{vmid}/status/**", 10)
+ *         .build());
+ * }</pre>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxRateLimiter {
+
+    private static final String DEFAULT_CLASS = "**";
+
+    private final double requestsPerSecond;
+    private final double minRequestsPerSecond;
+    private final double burstSeconds;
+    private final double additiveIncrease;
+    private final double decreaseFactor;
+    private final List<Rule> rules;
+    private final ConcurrentHashMap<String, ProxmoxTokenBucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder decreases = new LongAdder();
+
+    private ProxmoxRateLimiter(Builder builder) {
+        this.requestsPerSecond = builder.requestsPerSecond;
+        this.minRequestsPerSecond = builder.minRequestsPerSecond;
+        this.burstSeconds = builder.burstSeconds;
+        this.additiveIncrease = builder.additiveIncrease;
+        this.decreaseFactor = builder.decreaseFactor;
+        this.rules = List.copyOf(builder.rules);
+    }
+
+    /**
+     * Creates a builder for 20 requests per second per endpoint, at least 1, halving on overload
+     * and growing by 1 request per second every second.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the current rate of the bucket a request would use.
+     *
+     * @param baseUrl the base API URL of the endpoint
+     * @param path    the API path
+     * @return the current rate in requests per second
+     */
+    public double getCurrentRate(String baseUrl, String path) {
+        return bucket(baseUrl, path).getRate();
+    }
+
+    /** @return the number of responses that signalled overload */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /** @return the number of times a rate was lowered */
+    public long getDecreaseCount() {
+        return decreases.sum();
+    }
+
+    /**
+     * Reserves a token for a request.
+     *
+     * @return how long to wait before sending, in nanoseconds
+     */
+    long reserve(ProxmoxEndpoint endpoint, String path) {
+        return bucket(endpoint.getBaseUrl(), path).reserve(System.nanoTime());
+    }
+
+    /**
+     * Returns a token reserved for a request that was not sent, such as one cancelled or out of
+     * time while waiting for it.
+     */
+    void release(ProxmoxEndpoint endpoint, String path) {
+        bucket(endpoint.getBaseUrl(), path).release(System.nanoTime());
+    }
+
+    /**
+     * Adjusts the rate of a request's bucket from its outcome.
+     */
+    void record(ProxmoxEndpoint endpoint, String path, boolean overloaded) {
+        ProxmoxTokenBucket bucket = bucket(endpoint.getBaseUrl(), path);
+        if (!overloaded) {
+            bucket.increase(additiveIncrease, System.nanoTime());
+            return;
+        }
+        throttled.increment();
+        if (bucket.decrease(decreaseFactor, System.nanoTime())) {
+            decreases.increment();
+        }
+    }
+
+    private ProxmoxTokenBucket bucket(String baseUrl, String path) {
+        Rule rule = null;
+        for (Rule candidate : rules) {
+            if (candidate.template().matches(path)) {
+                rule = candidate;
+                break;
+            }
+        }
+        double rate = rule != null ? rule.requestsPerSecond() : requestsPerSecond;
+        String key = baseUrl + ' ' + (rule != null ? rule.template().getTemplate() : DEFAULT_CLASS);
+        return buckets.computeIfAbsent(key, ignored -> new ProxmoxTokenBucket(
+                rate, minRequestsPerSecond, Math.max(1, rate * burstSeconds), System.nanoTime()));
+    }
+
+    private record Rule(ProxmoxPathTemplate template, double requestsPerSecond) {
+    }
+
+    /**
+     * Builder for {@link ProxmoxRateLimiter}.
+     */
+    public static class Builder {
+        private final List<Rule> rules = new ArrayList<>();
+        private double requestsPerSecond = 20;
+        private double minRequestsPerSecond = 1;
+        private double burstSeconds = 1;
+        private double additiveIncrease = 1;
+        private double decreaseFactor = 0.5;
+
+        /**
+         * Sets the rate of each endpoint for paths without a class of their own.
+         *
+         * @param requestsPerSecond the maximum rate, greater than 0
+         * @return this builder
+         */
+        public Builder requestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requirePositive(requestsPerSecond);
+            return this;
+        }
+
+        /**
+         * Gives the paths matching a pattern their own rate on each endpoint.
+         *
+         * @param pathTemplate      the path pattern, see {@link ProxmoxPathTemplate}
+         * @param requestsPerSecond the maximum rate, greater than 0
+         * @return this builder
+         */
+        public Builder limit(String pathTemplate, double requestsPerSecond) {
+            rules.add(new Rule(ProxmoxPathTemplate.compile(pathTemplate), requirePositive(requestsPerSecond)));
+            return this;
+        }
+
+        /**
+         * Sets the rate below which overload no longer lowers a bucket.
+         *
+         * @param minRequestsPerSecond the minimum rate, greater than 0
+         * @return this builder
+         */
+        public Builder minRequestsPerSecond(double minRequestsPerSecond) {
+            this.minRequestsPerSecond = requirePositive(minRequestsPerSecond);
+            return this;
+        }
+
+        /**
+         * Sets how many seconds of requests may be sent at once after a quiet period.
+         *
+         * @param burstSeconds the burst size in seconds of the rate, greater than 0
+         * @return this builder
+         */
+        public Builder burstSeconds(double burstSeconds) {
+            this.burstSeconds = requirePositive(burstSeconds);
+            return this;
+        }
+
+        /**
+         * Sets how many requests per second a rate regains every second of successful responses.
+         *
+         * @param additiveIncrease the increase, greater than 0
+         * @return this builder
+         */
+        public Builder additiveIncrease(double additiveIncrease) {
+            this.additiveIncrease = requirePositive(additiveIncrease);
+            return this;
+        }
+
+        /**
+         * Sets the factor applied to a rate when a response signals overload.
+         *
+         * @param decreaseFactor the factor, between 0 and 1 exclusive
+         * @return this builder
+         */
+        public Builder decreaseFactor(double decreaseFactor) {
+            if (!(decreaseFactor > 0 && decreaseFactor < 1)) {
+                throw new IllegalArgumentException("Decrease factor must be between 0 and 1, got " + decreaseFactor);
+            }
+            this.decreaseFactor = decreaseFactor;
+            return this;
+        }
+
+        /**
+         * Builds the rate limiter.
+         *
+         * @return a new rate limiter
+         */
+        public ProxmoxRateLimiter build() {
+            return new ProxmoxRateLimiter(this);
+        }
+
+        private static double requirePositive(double value) {
+            if (!(value > 0)) {
+                throw new IllegalArgumentException("Value must be greater than 0, got " + value);
+            }
+            return value;
+        }
+    }
+}
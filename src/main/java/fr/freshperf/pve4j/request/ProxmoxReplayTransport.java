@@ -0,0 +1,160 @@
+package fr.freshperf.pve4j.request;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transport serving the exchanges of a {@link ProxmoxTrafficRecorder} recording from memory, to
+ * replay real traffic offline in tests and benchmarks.
+ *
+ * <pre>{@code
+ * client.setTransport(ProxmoxReplayTransport.load(Path.of("traffic.pve4j")));
+ * }</pre>
+ *
+ * <p>A request gets the responses recorded for the same method, path and query, in recording
+ * order, starting over once all were served. A request never recorded gets those of the same
+ * method and path template, so a replay may address other nodes or guests than the recording.
+ * Request bodies are not compared. Responses are served at once, or after their recorded latency
+ * with {@link #withOriginalTiming()}.</p>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxReplayTransport implements ProxmoxTransport {
+
+    private static final Map<String, List<String>> HEADERS =
+            Map.of("Content-Type", List.of("application/json;charset=utf-8"));
+
+    private final List<ProxmoxTrafficRecorder.Exchange> exchanges;
+    private final Map<String, Responses> byPath;
+    private final Map<String, Responses> byTemplate;
+    private final boolean originalTiming;
+
+    private ProxmoxReplayTransport(List<ProxmoxTrafficRecorder.Exchange> exchanges,
+                                   Map<String, Responses> byPath, Map<String, Responses> byTemplate,
+                                   boolean originalTiming) {
+        this.exchanges = exchanges;
+        this.byPath = byPath;
+        this.byTemplate = byTemplate;
+        this.originalTiming = originalTiming;
+    }
+
+    /**
+     * Creates a transport serving the exchanges of a recording file.
+     *
+     * @param file the recording file
+     * @return the transport
+     * @throws IOException if the file cannot be read or is not a recording
+     */
+    public static ProxmoxReplayTransport load(Path file) throws IOException {
+        return of(ProxmoxTrafficRecorder.read(file));
+    }
+
+    /**
+     * Creates a transport serving the given exchanges.
+     *
+     * @param exchanges the exchanges, in recording order
+     * @return the transport
+     */
+    public static ProxmoxReplayTransport of(List<ProxmoxTrafficRecorder.Exchange> exchanges) {
+        List<ProxmoxTrafficRecorder.Exchange> copy = List.copyOf(exchanges);
+        Map<String, List<ProxmoxTrafficRecorder.Exchange>> byPath = new HashMap<>();
+        Map<String, List<ProxmoxTrafficRecorder.Exchange>> byTemplate = new HashMap<>();
+        for (ProxmoxTrafficRecorder.Exchange exchange : copy) {
+            byPath.computeIfAbsent(key(exchange.method(), exchange.path()), ignored -> new ArrayList<>())
+                    .add(exchange);
+            byTemplate.computeIfAbsent(key(exchange.method(), exchange.pathTemplate()), ignored -> new ArrayList<>())
+                    .add(exchange);
+        }
+        return new ProxmoxReplayTransport(copy, responses(byPath), responses(byTemplate), false);
+    }
+
+    /**
+     * Returns a transport serving the same exchanges, each after its recorded latency.
+     *
+     * @return the transport
+     */
+    public ProxmoxReplayTransport withOriginalTiming() {
+        return new ProxmoxReplayTransport(exchanges, byPath, byTemplate, true);
+    }
+
+    /**
+     * Returns the exchanges served by this transport.
+     *
+     * @return the exchanges, in recording order
+     */
+    public List<ProxmoxTrafficRecorder.Exchange> getExchanges() {
+        return exchanges;
+    }
+
+    @Override
+    public Response send(Request request) throws IOException, InterruptedException {
+        ProxmoxTrafficRecorder.Exchange exchange = match(request);
+        if (originalTiming) {
+            TimeUnit.NANOSECONDS.sleep(exchange.latencyNanos());
+        }
+        return response(exchange);
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(Request request) {
+        ProxmoxTrafficRecorder.Exchange exchange;
+        try {
+            exchange = match(request);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!originalTiming) {
+            return CompletableFuture.completedFuture(response(exchange));
+        }
+        return CompletableFuture.supplyAsync(() -> response(exchange),
+                CompletableFuture.delayedExecutor(exchange.latencyNanos(), TimeUnit.NANOSECONDS));
+    }
+
+    private ProxmoxTrafficRecorder.Exchange match(Request request) throws IOException {
+        Responses responses = byPath.get(key(request.method(), ProxmoxTrafficRecorder.apiPathOf(request.uri())));
+        if (responses == null) {
+            responses = byTemplate.get(key(request.method(), ProxmoxTrafficRecorder.templateOf(request.uri())));
+        }
+        if (responses == null) {
+            throw new IOException("No recorded exchange for " + request.method() + " " + request.uri());
+        }
+        return responses.next();
+    }
+
+    private static Response response(ProxmoxTrafficRecorder.Exchange exchange) {
+        return Response.ofBytes(exchange.statusCode(), HEADERS, exchange.responseBody());
+    }
+
+    private static Map<String, Responses> responses(Map<String, List<ProxmoxTrafficRecorder.Exchange>> exchanges) {
+        Map<String, Responses> responses = new HashMap<>();
+        exchanges.forEach((key, list) -> responses.put(key, new Responses(list.toArray(ProxmoxTrafficRecorder.Exchange[]::new))));
+        return responses;
+    }
+
+    private static String key(String method, String path) {
+        return method + ' ' + path;
+    }
+
+    /**
+     * Recorded responses of a request, served in turn.
+     */
+    private static final class Responses {
+        private final ProxmoxTrafficRecorder.Exchange[] exchanges;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Responses(ProxmoxTrafficRecorder.Exchange[] exchanges) {
+            this.exchanges = exchanges;
+        }
+
+        ProxmoxTrafficRecorder.Exchange next() {
+            return exchanges[Math.floorMod(next.getAndIncrement(), exchanges.length)];
+        }
+    }
+}
@@ -2,13 +2,19 @@ package fr.freshperf.pve4j.request;
 
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.reflect.TypeToken;
 import fr.freshperf.pve4j.Proxmox;
 import fr.freshperf.pve4j.entities.PveTask;
 import fr.freshperf.pve4j.entities.PveTaskStatus;
 import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -25,13 +31,30 @@ import java.util.concurrent.TimeoutException;
  *     .getQemu()
  *     .get("100")
  *     .start()
- *     .retry(3)
- *     .retryDelay(Duration.ofSeconds(2))
  *     .taskTimeout(Duration.ofMinutes(5))
  *     .waitForCompletion(proxmox)
  *     .execute();
+ *
+ * proxmox.getCluster()
+ *     .getResources()
+ *     .retry(3)
+ *     .retryPolicy(RetryPolicy.decorrelatedJitter(Duration.ofMillis(500), Duration.ofSeconds(10)))
+ *     .execute();
  * }</pre>
  *
+ * <p>By default, only idempotent requests are retried, after a network error or a 429, 502, 503
+ * or 504 response, with a jittered exponential backoff; see {@link RetryPolicy}. Retries are
+ * charged to the {@linkplain ProxmoxHttpClient#setRetryBudget retry budget} of the client, or
+ * to the {@linkplain #setUnboundRetryBudget shared budget} for requests not built from a
+ * {@link ProxmoxHttpClient.RequestBuilder}.</p>
+ *
+ * <p>{@link #executeAsync()} runs the same pipeline without blocking: retries, retry delays and
+ * task waits are chained as asynchronous stages instead of sleeping threads.</p>
+ *
+ * <p>A {@link #timeout(Duration)} or {@link #deadline(Instant)} bounds the whole pipeline: each
+ * HTTP attempt only gets the time left, retries that would start past the deadline are dropped
+ * and task waits end at the deadline.</p>
+ *
  * @param <T> the return type of the request
  */
 public class ProxmoxRequest<T> {
@@ -45,11 +68,19 @@ public class ProxmoxRequest<T> {
         defaultAsyncTaskManager = new ProxmoxAsyncTaskManager(defaultThreadManager);
     }
 
+    private static final RetryPolicy DEFAULT_RETRY_POLICY =
+            RetryPolicy.exponentialJitter(Duration.ofSeconds(1), Duration.ofSeconds(30));
+    private static volatile ProxmoxRetryBudget unboundRetryBudget = ProxmoxRetryBudget.builder().build();
+
     private final ProxmoxRequestExecutor<T> requestExecutor;
+    private final ProxmoxAsyncRequestExecutor<T> asyncRequestExecutor;
+    private final ProxmoxHttpClient.RequestBuilder builder; // Source of the retry budget and metrics, may be null
     private int retryCount = 0;
-    private Duration retryDelay = Duration.ofSeconds(1);
-    private Duration taskCheckDelay = Duration.ofSeconds(1);
+    private RetryPolicy retryPolicy = DEFAULT_RETRY_POLICY;
+    private TaskPollingStrategy taskPollingStrategy; // Manager default when null
     private Duration taskTimeout = null; // No timeout by default
+    private Duration timeout; // Overall time budget, counted from execution
+    private Instant deadline;
     private TaskCompletionCallback taskCompletionCallback;
     private Proxmox proxmoxForCallback;
     private Proxmox proxmoxForWait;
@@ -60,7 +91,46 @@ public class ProxmoxRequest<T> {
      * @param requestExecutor the executor that performs the actual API call
      */
     public ProxmoxRequest(ProxmoxRequestExecutor<T> requestExecutor) {
+        this(requestExecutor, null);
+    }
+
+    /**
+     * Creates a new ProxmoxRequest with a blocking and a non-blocking executor.
+     *
+     * @param requestExecutor      the executor used by {@link #execute()}
+     * @param asyncRequestExecutor the executor used by {@link #executeAsync()}, or null to run
+     *                             {@code requestExecutor} on a virtual thread instead
+     */
+    public ProxmoxRequest(ProxmoxRequestExecutor<T> requestExecutor, ProxmoxAsyncRequestExecutor<T> asyncRequestExecutor) {
+        this(requestExecutor, asyncRequestExecutor, null);
+    }
+
+    private ProxmoxRequest(ProxmoxRequestExecutor<T> requestExecutor, ProxmoxAsyncRequestExecutor<T> asyncRequestExecutor,
+                           ProxmoxHttpClient.RequestBuilder builder) {
         this.requestExecutor = requestExecutor;
+        this.asyncRequestExecutor = asyncRequestExecutor;
+        this.builder = builder;
+    }
+
+    /**
+     * Creates a new ProxmoxRequest from an HTTP request builder.
+     * Both {@link #execute()} and {@link #executeAsync()} are served by the builder.
+     *
+     * @param builder the HTTP request to send
+     * @param clazz   the class to deserialize the response to
+     */
+    public ProxmoxRequest(ProxmoxHttpClient.RequestBuilder builder, Class<T> clazz) {
+        this(() -> builder.execute(clazz), () -> builder.executeAsync(clazz), builder);
+    }
+
+    /**
+     * Creates a new ProxmoxRequest from an HTTP request builder and a parameterized type.
+     *
+     * @param builder   the HTTP request to send
+     * @param typeToken the type token to deserialize the response to
+     */
+    public ProxmoxRequest(ProxmoxHttpClient.RequestBuilder builder, TypeToken<T> typeToken) {
+        this(() -> builder.executeList(typeToken), () -> builder.executeListAsync(typeToken), builder);
     }
     
     /**
@@ -81,6 +151,25 @@ public class ProxmoxRequest<T> {
         defaultAsyncTaskManager = asyncTaskManager;
     }
 
+    /**
+     * Returns the thread manager shared by all requests.
+     *
+     * @return the global thread manager
+     */
+    public static ProxmoxThreadManager getThreadManager() {
+        return defaultThreadManager;
+    }
+
+    /**
+     * Returns the asynchronous task manager shared by all requests, e.g. to change its
+     * default {@link TaskPollingStrategy}.
+     *
+     * @return the global asynchronous task manager
+     */
+    public static ProxmoxAsyncTaskManager getAsyncTaskManager() {
+        return defaultAsyncTaskManager;
+    }
+
     /**
      * Shuts down all thread managers gracefully.
      * Should be called before application shutdown.
@@ -94,6 +183,30 @@ public class ProxmoxRequest<T> {
         }
     }
 
+    /**
+     * Sets the retry budget shared by the requests that are not built from a
+     * {@link ProxmoxHttpClient.RequestBuilder}, which have no client budget to charge.
+     * Defaults to a budget with the {@linkplain ProxmoxRetryBudget#builder() default settings}.
+     *
+     * @param budget the shared retry budget
+     */
+    public static void setUnboundRetryBudget(ProxmoxRetryBudget budget) {
+        if (budget == null) {
+            throw new IllegalArgumentException("Retry budget cannot be null");
+        }
+        unboundRetryBudget = budget;
+    }
+
+    /**
+     * Returns the retry budget shared by the requests not built from a
+     * {@link ProxmoxHttpClient.RequestBuilder}.
+     *
+     * @return the shared retry budget
+     */
+    public static ProxmoxRetryBudget getUnboundRetryBudget() {
+        return unboundRetryBudget;
+    }
+
     /**
      * Configures the number of retry attempts for failed requests.
      *
@@ -106,24 +219,39 @@ public class ProxmoxRequest<T> {
     }
     
     /**
-     * Configures the delay between retry attempts.
+     * Configures a fixed delay between retry attempts.
      *
      * @param milliseconds the delay in milliseconds
      * @return this instance for method chaining
      */
     public ProxmoxRequest<T> retryDelay(long milliseconds) {
-        this.retryDelay = Duration.ofMillis(Math.max(0, milliseconds));
+        this.retryPolicy = RetryPolicy.fixed(Duration.ofMillis(Math.max(0, milliseconds)));
         return this;
     }
     
     /**
-     * Configures the delay between retry attempts.
+     * Configures a fixed delay between retry attempts.
      *
      * @param duration the delay duration
      * @return this instance for method chaining
      */
     public ProxmoxRequest<T> retryDelay(Duration duration) {
-        this.retryDelay = duration != null ? duration : Duration.ofMillis(0);
+        this.retryPolicy = RetryPolicy.fixed(duration != null ? duration : Duration.ofMillis(0));
+        return this;
+    }
+
+    /**
+     * Configures which failures are retried and the delay before each retry, e.g.
+     * {@link RetryPolicy#decorrelatedJitter(Duration, Duration)} to keep callers that failed
+     * together from retrying in lockstep.
+     *
+     * @param policy the retry policy (defaults to
+     *               {@link RetryPolicy#exponentialJitter(Duration, Duration) full jitter} from one
+     *               second, up to 30 seconds)
+     * @return this instance for method chaining
+     */
+    public ProxmoxRequest<T> retryPolicy(RetryPolicy policy) {
+        this.retryPolicy = policy != null ? policy : DEFAULT_RETRY_POLICY;
         return this;
     }
 
@@ -134,7 +262,7 @@ public class ProxmoxRequest<T> {
      * @return this instance for method chaining
      */
     public ProxmoxRequest<T> taskCheckDelay(long milliseconds) {
-        this.taskCheckDelay = Duration.ofMillis(Math.max(0, milliseconds));
+        this.taskPollingStrategy = TaskPollingStrategy.fixed(Duration.ofMillis(Math.max(0, milliseconds)));
         return this;
     }
 
@@ -145,7 +273,19 @@ public class ProxmoxRequest<T> {
      * @return this instance for method chaining
      */
     public ProxmoxRequest<T> taskCheckDelay(Duration duration) {
-        this.taskCheckDelay = duration != null ? duration : Duration.ofMillis(0);
+        this.taskPollingStrategy = TaskPollingStrategy.fixed(duration != null ? duration : Duration.ofMillis(0));
+        return this;
+    }
+
+    /**
+     * Configures when task status is checked, e.g. with a backoff or learned strategy.
+     * Without a delay or strategy, the async task manager's default strategy is used.
+     *
+     * @param strategy the polling strategy, or null for the manager default
+     * @return this instance for method chaining
+     */
+    public ProxmoxRequest<T> taskPollingStrategy(TaskPollingStrategy strategy) {
+        this.taskPollingStrategy = strategy;
         return this;
     }
 
@@ -160,6 +300,32 @@ public class ProxmoxRequest<T> {
         return this;
     }
 
+    /**
+     * Configures the time the whole request may take, counted from {@link #execute()} or
+     * {@link #executeAsync()}: HTTP attempts, delays between retries and the task wait of
+     * {@link #waitForCompletion(Proxmox)}.
+     *
+     * @param timeout the time budget, or null for none
+     * @return this instance for method chaining
+     */
+    public ProxmoxRequest<T> timeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Configures the instant by which the whole request must complete, like
+     * {@link #timeout(Duration)} but shared between requests working toward the same goal.
+     * The earliest of the timeout and the deadline applies.
+     *
+     * @param deadline the deadline, or null for none
+     * @return this instance for method chaining
+     */
+    public ProxmoxRequest<T> deadline(Instant deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     /**
      * Configures a callback to be executed when the task completes (asynchronously).
      * The callback runs in a separate virtual thread and does not block the main execution.
@@ -196,7 +362,11 @@ public class ProxmoxRequest<T> {
      * @throws InterruptedException if the thread is interrupted
      */
     public static PveTask waitForCompletion(Proxmox proxmox, PveTask task) throws ProxmoxAPIError, InterruptedException {
-        return waitForCompletion(proxmox, task, Duration.ofSeconds(1), null);
+        if (task == null || !hasValidUpid(task)) {
+            return task;
+        }
+        waitForTaskCompletion(proxmox, task, null, null);
+        return task;
     }
 
     /**
@@ -229,26 +399,8 @@ public class ProxmoxRequest<T> {
         if (task == null || !hasValidUpid(task)) {
             return task;
         }
-        
-        try {
-            CompletableFuture<PveTaskStatus> future = defaultAsyncTaskManager.waitForTaskAsync(
-                proxmox, task, checkDelay, timeout
-            );
-
-            future.join();
-            return task;
-        } catch (Exception e) {
-            Throwable cause = e.getCause();
-            if (cause instanceof ProxmoxAPIError) {
-                throw (ProxmoxAPIError) cause;
-            } else if (cause instanceof InterruptedException) {
-                throw (InterruptedException) cause;
-            } else if (cause instanceof TimeoutException) {
-                throw new ProxmoxAPIError("Task timeout exceeded: " + timeout);
-            } else {
-                throw new ProxmoxAPIError("Failed to wait for task completion: " + e.getMessage());
-            }
-        }
+        waitForTaskCompletion(proxmox, task, TaskPollingStrategy.fixed(checkDelay), timeout);
+        return task;
     }
 
     /**
@@ -268,16 +420,22 @@ public class ProxmoxRequest<T> {
         int attempts = 0;
         int maxAttempts = retryCount + 1;
         ProxmoxAPIError lastException = null;
+        Duration delay = null;
+        Long deadlineNanos = deadlineNanos();
+        recordUnboundRequest();
         
         while (attempts < maxAttempts) {
             try {
-                T result = requestExecutor.execute();
+                if (deadlineNanos != null && ProxmoxDeadline.remainingNanos(deadlineNanos) <= 0) {
+                    throw ProxmoxDeadline.exceeded();
+                }
+                T result = ProxmoxDeadline.call(deadlineNanos, attempts > 0, requestExecutor);
                 
                 PveTask task = extractTaskFromResponse(result);
                 
                 if (task != null && hasValidUpid(task)) {
                     if (proxmoxForWait != null) {
-                        waitForTaskCompletion(proxmoxForWait, task, taskCheckDelay, taskTimeout);
+                        waitForTaskCompletion(proxmoxForWait, task, taskPollingStrategy, taskWaitTimeout(deadlineNanos));
                         return result;
                     }
                     
@@ -285,7 +443,7 @@ public class ProxmoxRequest<T> {
                         defaultAsyncTaskManager.waitForTaskWithCallback(
                             proxmoxForCallback,
                             task,
-                            taskCheckDelay,
+                            taskPollingStrategy,
                             taskTimeout,
                             taskCompletionCallback
                         );
@@ -301,12 +459,16 @@ public class ProxmoxRequest<T> {
                     break;
                 }
                 
-                if (!shouldRetry(e)) {
+                if (!retryPolicy.shouldRetry(method(), e)) {
                     throw e;
                 }
                 
+                delay = retryDelay(attempts, delay, e);
+                if (!startsBeforeDeadline(delay, deadlineNanos) || !acquireRetry()) {
+                    throw e;
+                }
                 try {
-                    Thread.sleep(retryDelay.toMillis());
+                    TimeUnit.NANOSECONDS.sleep(delay.toNanos());
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     throw ie;
@@ -318,16 +480,160 @@ public class ProxmoxRequest<T> {
             : new ProxmoxAPIError("Request failed after " + maxAttempts + " attempts");
     }
     
+    /**
+     * Executes the request without blocking, on the default virtual thread executor.
+     *
+     * @return a future completed with the result, or exceptionally with a {@link ProxmoxAPIError}
+     * @see #executeAsync(Executor)
+     */
+    public CompletableFuture<T> executeAsync() {
+        return executeAsync(defaultThreadManager.getVirtualThreadExecutor());
+    }
+
+    /**
+     * Executes the request without blocking, with the configured retry and task monitoring settings.
+     *
+     * <p>Requests built from a {@link ProxmoxHttpClient.RequestBuilder} go through
+     * {@link java.net.http.HttpClient#sendAsync}; no thread is held while a request is in flight,
+     * while waiting between retries, or while waiting for a task. Requests created from a blocking
+     * executor only are run on {@code executor}.</p>
+     *
+     * <p>If {@link #waitForCompletion(Proxmox)} was called, the future completes once the task has
+     * finished. If {@link #onCompletion(TaskCompletionCallback, Proxmox)} was configured, the callback
+     * is scheduled and the future completes immediately with the result.</p>
+     *
+     * @param executor the executor used for retry delays and blocking fallbacks
+     * @return a future completed with the result, or exceptionally with a {@link ProxmoxAPIError}
+     */
+    public CompletableFuture<T> executeAsync(Executor executor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Long deadlineNanos = deadlineNanos();
+        if (deadlineNanos != null) {
+            defaultAsyncTaskManager.failAfter(result, ProxmoxDeadline.remainingNanos(deadlineNanos), ProxmoxDeadline::exceeded);
+        }
+        recordUnboundRequest();
+        attemptAsync(1, null, executor, deadlineNanos, result);
+        return result;
+    }
+
+    /**
+     * Runs an attempt and its retries, then the task wait. Each stage is cancelled once the
+     * result is complete, so cancelling it or reaching the deadline aborts the HTTP exchange or
+     * stops watching the task.
+     */
+    private void attemptAsync(int attempt, Duration previousDelay, Executor executor, Long deadlineNanos,
+                              CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<T> call = startAttempt(executor, deadlineNanos, attempt > 1);
+        result.whenComplete((value, throwable) -> call.cancel(true));
+        call.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                awaitTaskAsync(value, deadlineNanos, result);
+                return;
+            }
+            Throwable cause = unwrap(throwable);
+            if (cause instanceof ProxmoxAPIError e && attempt <= retryCount && retryPolicy.shouldRetry(method(), e)
+                    && !result.isDone()) {
+                Duration delay = retryDelay(attempt, previousDelay, e);
+                if (startsBeforeDeadline(delay, deadlineNanos) && acquireRetry()) {
+                    Executor delayed = CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS, executor);
+                    delayed.execute(() -> attemptAsync(attempt + 1, delay, executor, deadlineNanos, result));
+                    return;
+                }
+            }
+            result.completeExceptionally(cause);
+        });
+    }
+
+    private CompletableFuture<T> startAttempt(Executor executor, Long deadlineNanos, boolean retry) {
+        if (asyncRequestExecutor == null) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return ProxmoxDeadline.call(deadlineNanos, retry, requestExecutor);
+                } catch (ProxmoxAPIError | InterruptedException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        }
+        try {
+            return ProxmoxDeadline.callAsync(deadlineNanos, retry, asyncRequestExecutor);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void awaitTaskAsync(T value, Long deadlineNanos, CompletableFuture<T> result) {
+        PveTask task = extractTaskFromResponse(value);
+        if (task == null || !hasValidUpid(task)) {
+            result.complete(value);
+            return;
+        }
+
+        if (proxmoxForWait != null) {
+            Duration timeout = taskWaitTimeout(deadlineNanos);
+            CompletableFuture<PveTaskStatus> wait =
+                defaultAsyncTaskManager.waitForTaskAsync(proxmoxForWait, task, taskPollingStrategy, timeout);
+            // Cancelling the watch stops polling the task
+            result.whenComplete((ignored, throwable) -> wait.cancel(true));
+            wait.whenComplete((status, throwable) -> {
+                if (throwable != null) {
+                    result.completeExceptionally(toTaskWaitError(unwrap(throwable), timeout));
+                } else {
+                    result.complete(value);
+                }
+            });
+            return;
+        }
+
+        if (taskCompletionCallback != null && proxmoxForCallback != null) {
+            defaultAsyncTaskManager.waitForTaskWithCallback(
+                proxmoxForCallback,
+                task,
+                taskPollingStrategy,
+                taskTimeout,
+                taskCompletionCallback
+            );
+        }
+        result.complete(value);
+    }
+
+    /**
+     * Unwraps the exception a future stage was completed with.
+     */
+    static Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    private static Exception toTaskWaitError(Throwable cause, Duration timeout) {
+        if (cause instanceof ProxmoxAPIError || cause instanceof InterruptedException) {
+            return (Exception) cause;
+        } else if (cause instanceof TimeoutException) {
+            return new ProxmoxAPIError("Task timeout exceeded: " + timeout);
+        }
+        return new ProxmoxAPIError("Failed to wait for task completion: " + cause.getMessage());
+    }
+
     /**
      * Waits for task completion internally (blocking).
      */
-    private static void waitForTaskCompletion(Proxmox proxmox, PveTask task, Duration checkDelay, Duration timeout)
+    private static void waitForTaskCompletion(Proxmox proxmox, PveTask task, TaskPollingStrategy strategy, Duration timeout)
             throws ProxmoxAPIError, InterruptedException {
+        CompletableFuture<PveTaskStatus> future = defaultAsyncTaskManager.waitForTaskAsync(
+            proxmox, task, strategy, timeout
+        );
         try {
-            CompletableFuture<PveTaskStatus> future = defaultAsyncTaskManager.waitForTaskAsync(
-                proxmox, task, checkDelay, timeout
-            );
-            future.join();
+            future.get();
+        } catch (InterruptedException e) {
+            // Stop polling a task nobody waits for anymore
+            future.cancel(true);
+            throw e;
         } catch (Exception e) {
             Throwable cause = e.getCause();
             if (cause instanceof ProxmoxAPIError) {
@@ -414,9 +720,81 @@ public class ProxmoxRequest<T> {
             && !task.getNode().isEmpty();
     }
     
-    private boolean shouldRetry(ProxmoxAPIError e) {
-        int statusCode = e.getStatusCode();
-        return statusCode == 429 || statusCode == 503 || statusCode >= 500;
+    /**
+     * Returns the deadline of an execution starting now, as a {@link System#nanoTime()} value.
+     *
+     * @return the earliest of the timeout and the deadline, or null if neither is set
+     */
+    private Long deadlineNanos() {
+        long now = System.nanoTime();
+        Long result = null;
+        if (timeout != null) {
+            result = now + timeout.toNanos();
+        }
+        if (deadline != null) {
+            long untilDeadline = Duration.between(Instant.now(), deadline).toNanos();
+            result = result == null || untilDeadline < result - now ? now + untilDeadline : result;
+        }
+        return result;
+    }
+
+    private static boolean startsBeforeDeadline(Duration delay, Long deadlineNanos) {
+        return deadlineNanos == null || delay.toNanos() < ProxmoxDeadline.remainingNanos(deadlineNanos);
+    }
+
+    /**
+     * Returns the task timeout, shortened to the time left before the deadline.
+     */
+    private Duration taskWaitTimeout(Long deadlineNanos) {
+        if (deadlineNanos == null) {
+            return taskTimeout;
+        }
+        Duration remaining = Duration.ofNanos(Math.max(0, ProxmoxDeadline.remainingNanos(deadlineNanos)));
+        return taskTimeout == null || remaining.compareTo(taskTimeout) < 0 ? remaining : taskTimeout;
+    }
+
+    /**
+     * Counts an execution of a request without client in the shared retry budget. The requests
+     * of a client are counted by the client as they are sent.
+     */
+    private void recordUnboundRequest() {
+        if (builder == null && retryCount > 0) {
+            unboundRetryBudget.recordRequest();
+        }
+    }
+
+    private boolean acquireRetry() {
+        if (builder == null) {
+            return unboundRetryBudget.tryAcquireRetry();
+        }
+        ProxmoxRetryBudget budget = builder.client().getRetryBudget();
+        if (budget != null && !budget.tryAcquireRetry()) {
+            return false;
+        }
+        builder.client().recordRetry(builder);
+        return true;
+    }
+
+    private String method() {
+        return builder != null ? builder.method() : null;
+    }
+
+    /**
+     * Returns the delay before a retry: the policy's delay, raised to the server's
+     * {@code Retry-After} if longer, but not beyond the policy's maximum delay. A retry that
+     * would start after the deadline is dropped by the caller.
+     */
+    private Duration retryDelay(int retry, Duration previousDelay, ProxmoxAPIError error) {
+        Duration delay = retryPolicy.nextDelay(retry, previousDelay);
+        if (delay == null || delay.isNegative()) {
+            delay = Duration.ZERO;
+        }
+        Duration retryAfter = error.getRetryAfter();
+        Duration max = retryPolicy.maxDelay();
+        if (retryAfter != null && max != null && retryAfter.compareTo(max) > 0) {
+            retryAfter = max;
+        }
+        return retryAfter != null && retryAfter.compareTo(delay) > 0 ? retryAfter : delay;
     }
 }
 
@@ -0,0 +1,344 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.util.ProxmoxPathTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Response cache for read-only endpoints, with a time-to-live per path pattern.
+ *
+ * <p>Only GET requests whose path matches a configured pattern are cached; the first matching
+ * pattern gives the TTL. Raw response bodies are stored and decoded on each hit, so callers never
+ * share mutable objects. Entries are evicted in least-recently-used order once the entry count or
+ * the approximate size in bytes exceeds its bound.</p>
+ *
+ * <p>Mutating requests (POST, PUT, PATCH, DELETE) sent through the same client invalidate the
+ * cached entries of the guest or node they target. Each invalidation also bumps a generation for
+ * the invalidated prefix, so a GET that was already in flight does not store the body it read
+ * before the mutation.</p>
+ *
+ * <pre>{@code
+ * client.setResponseCache(ProxmoxResponseCache.builder()
+ *         .ttl("/version", Duration.ofHours(6))
+ *         .ttl("/nodes/{node}/qemu/{vmid}/config", Duration.ofSeconds(5))
+ *         .ttl("/cluster/resources", Duration.ofSeconds(2))
+ *         .maxEntries(10_000)
+ *         .maxBytes(64L * 1024 * 1024)
+ *         .build());
+ * }</pre>
+ *
+ * @since 0.1.0
+ */
+public class ProxmoxResponseCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final List<Rule> rules;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+
+    /** Generation of the last invalidation, per invalidated prefix and per exactly invalidated path. */
+    private final Map<String, Long> invalidatedPrefixes = new HashMap<>();
+    private final Map<String, Long> invalidatedPaths = new HashMap<>();
+    private long generation;
+    private long clearedGeneration;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private ProxmoxResponseCache(Builder builder) {
+        this.rules = List.copyOf(builder.rules);
+        this.maxEntries = builder.maxEntries;
+        this.maxBytes = builder.maxBytes;
+    }
+
+    /**
+     * Creates a builder for a response cache without any cached path.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the TTL configured for a path.
+     *
+     * @param path the API path
+     * @return the TTL, or null if the path is not cached
+     */
+    public Duration ttlFor(String path) {
+        for (Rule rule : rules) {
+            if (rule.template().matches(path)) {
+                return rule.ttl();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a live cached body, or null.
+     */
+    synchronized byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt() >= 0) {
+            remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.body();
+    }
+
+    /**
+     * Returns the current invalidation generation, to capture before reading a response that
+     * will be stored with {@link #put(String, String, byte[], Duration, long)}.
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Stores a response body, evicting the least recently used entries if needed.
+     */
+    synchronized void put(String key, String path, byte[] body, Duration ttl) {
+        put(key, path, body, ttl, generation);
+    }
+
+    /**
+     * Stores a response body read since {@code readGeneration}, unless its path has been
+     * invalidated in the meantime.
+     */
+    synchronized void put(String key, String path, byte[] body, Duration ttl, long readGeneration) {
+        if (invalidatedSince(ProxmoxPathTemplate.normalize(path), readGeneration)) {
+            return;
+        }
+        Entry entry = new Entry(ProxmoxPathTemplate.normalize(path), body,
+                System.nanoTime() + ttl.toNanos(), weigh(key, body));
+        if (entry.weight() > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            sizeInBytes -= previous.weight();
+        }
+        sizeInBytes += entry.weight();
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || sizeInBytes > maxBytes) && eldest.hasNext()) {
+            Entry evicted = eldest.next().getValue();
+            eldest.remove();
+            sizeInBytes -= evicted.weight();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Removes every entry whose path is {@code pathPrefix} or lies under it.
+     *
+     * @param pathPrefix the path prefix, e.g. "/nodes/pve1/qemu/100"
+     */
+    public synchronized void invalidate(String pathPrefix) {
+        String prefix = ProxmoxPathTemplate.normalize(pathPrefix);
+        invalidatedPrefixes.put(prefix, nextGeneration());
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.path().equals(prefix) || entry.path().startsWith(prefix + "/")) {
+                iterator.remove();
+                sizeInBytes -= entry.weight();
+            }
+        }
+    }
+
+    /**
+     * Invalidates the entries affected by a mutating request on a path: the guest
+     * ({@code nodes/{node}/qemu|lxc/{vmid}}) and its parent listing, or the node, or the
+     * top-level section the path belongs to.
+     *
+     * @param path the path of the mutating request
+     */
+    public void invalidateAffected(String path) {
+        String[] segments = ProxmoxPathTemplate.normalize(path).split("/");
+        if (segments.length >= 4 && segments[0].equals("nodes")
+                && (segments[2].equals("qemu") || segments[2].equals("lxc"))) {
+            String guests = segments[0] + "/" + segments[1] + "/" + segments[2];
+            invalidate(guests + "/" + segments[3]);
+            invalidateExact(guests);
+        } else if (segments.length >= 2 && segments[0].equals("nodes")) {
+            invalidate(segments[0] + "/" + segments[1]);
+        } else {
+            invalidate(segments[0]);
+        }
+    }
+
+    private synchronized void invalidateExact(String path) {
+        invalidatedPaths.put(path, nextGeneration());
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.path().equals(path)) {
+                iterator.remove();
+                sizeInBytes -= entry.weight();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        sizeInBytes = 0;
+        clearGenerations();
+    }
+
+    /** @return the number of cached entries */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** @return the approximate size of the cached entries in bytes */
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /** @return the number of lookups served from the cache */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /** @return the number of lookups that missed the cache */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /** @return the number of entries evicted to respect the bounds */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private long nextGeneration() {
+        // Forget per-path generations once there are more of them than entries; puts in flight
+        // at that point are dropped, as after invalidateAll()
+        if (invalidatedPrefixes.size() + invalidatedPaths.size() > maxEntries) {
+            clearGenerations();
+        }
+        return ++generation;
+    }
+
+    private void clearGenerations() {
+        invalidatedPrefixes.clear();
+        invalidatedPaths.clear();
+        clearedGeneration = ++generation;
+    }
+
+    private boolean invalidatedSince(String path, long readGeneration) {
+        if (clearedGeneration > readGeneration
+                || invalidatedPaths.getOrDefault(path, 0L) > readGeneration) {
+            return true;
+        }
+        for (int slash = path.indexOf('/'); ; slash = path.indexOf('/', slash + 1)) {
+            String prefix = slash < 0 ? path : path.substring(0, slash);
+            if (invalidatedPrefixes.getOrDefault(prefix, 0L) > readGeneration) {
+                return true;
+            }
+            if (slash < 0) {
+                return false;
+            }
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        entries.remove(key);
+        sizeInBytes -= entry.weight();
+    }
+
+    private static long weigh(String key, byte[] body) {
+        return body.length + 2L * key.length() + ENTRY_OVERHEAD_BYTES;
+    }
+
+    private record Rule(ProxmoxPathTemplate template, Duration ttl) {
+    }
+
+    private record Entry(String path, byte[] body, long expiresAt, long weight) {
+    }
+
+    /**
+     * Builder for constructing ProxmoxResponseCache instances.
+     */
+    public static class Builder {
+        private final List<Rule> rules = new ArrayList<>();
+        private int maxEntries = 10_000;
+        private long maxBytes = 32L * 1024 * 1024;
+
+        private Builder() {
+        }
+
+        /**
+         * Caches the responses of paths matching a pattern. Patterns are tried in order.
+         *
+         * @param pathTemplate the path pattern, see {@link ProxmoxPathTemplate}
+         * @param ttl how long a response stays valid
+         * @return this builder for chaining
+         */
+        public Builder ttl(String pathTemplate, Duration ttl) {
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("TTL must be positive");
+            }
+            rules.add(new Rule(ProxmoxPathTemplate.compile(pathTemplate), ttl));
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of entries (default 10,000).
+         *
+         * @param maxEntries the maximum number of entries
+         * @return this builder for chaining
+         */
+        public Builder maxEntries(int maxEntries) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("maxEntries must be at least 1");
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Sets the maximum approximate size of the entries in bytes (default 32 MiB).
+         *
+         * @param maxBytes the maximum size in bytes
+         * @return this builder for chaining
+         */
+        public Builder maxBytes(long maxBytes) {
+            if (maxBytes < 1) {
+                throw new IllegalArgumentException("maxBytes must be at least 1");
+            }
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Builds the response cache.
+         *
+         * @return the configured ProxmoxResponseCache
+         */
+        public ProxmoxResponseCache build() {
+            return new ProxmoxResponseCache(this);
+        }
+    }
+}
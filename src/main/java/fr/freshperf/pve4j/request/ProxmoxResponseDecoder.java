@@ -0,0 +1,182 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes Proxmox API responses straight from the response bytes.
+ *
+ * <p>Proxmox wraps every payload in a {@code {"data": ...}} envelope. Without a custom
+ * {@link ResponseTransformer}, the envelope is scanned with a {@link JsonReader} and the
+ * {@code data} value is deserialized in one pass, without building a {@code String} or a
+ * {@link JsonElement} tree of the whole response. Custom transformers still receive the
+ * {@code data} element as a tree.</p>
+ *
+ * <p>Gson reports a failure to read the body, such as a connection reset, like malformed JSON.
+ * The decoder tells them apart, so that the caller can treat the former as a network error.</p>
+ */
+final class ProxmoxResponseDecoder {
+
+    private final Gson gson;
+
+    /**
+     * Creates a decoder using the given Gson instance.
+     *
+     * @param gson the Gson instance used to deserialize payloads, usually with a
+     *             {@link ProxmoxTypeAdapterFactory} registered
+     */
+    ProxmoxResponseDecoder(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Decodes a response body.
+     *
+     * @param body         the response body, consumed but not closed
+     * @param type         the target type, {@code Void} to discard the payload
+     * @param transformer  a custom transformer, or null to decode the stream directly
+     * @param elementClass the element class passed to the transformer
+     * @param <T>          the response type
+     * @return the decoded value
+     * @throws IOException if the body cannot be read
+     * @throws JsonParseException if the body is not valid JSON or does not match the type
+     */
+    <T> T decode(InputStream body, Type type, ResponseTransformer transformer, Class<?> elementClass) throws IOException {
+        BodyStream stream = new BodyStream(body);
+        try {
+            return decodeStream(stream, type, transformer, elementClass);
+        } catch (IOException e) {
+            if (stream.failure != null) {
+                throw stream.failure;
+            }
+            // Malformed or truncated JSON, reported by the JsonReader
+            throw new JsonSyntaxException(e);
+        } catch (RuntimeException e) {
+            if (stream.failure != null) {
+                throw stream.failure;
+            }
+            throw e;
+        }
+    }
+
+    private <T> T decodeStream(InputStream body, Type type, ResponseTransformer transformer, Class<?> elementClass)
+            throws IOException {
+        if (type == Void.class) {
+            body.transferTo(OutputStream.nullOutputStream());
+            return null;
+        }
+
+        JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        if (transformer != null) {
+            JsonElement dataElement = extractDataFromResponse(JsonParser.parseReader(reader));
+            return gson.fromJson(transformer.transform(dataElement, elementClass), type);
+        }
+
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            return gson.fromJson(reader, type);
+        }
+
+        JsonObject envelope = new JsonObject();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("data".equals(name) && reader.peek() != JsonToken.NULL) {
+                T value = gson.fromJson(reader, type);
+                skipRemaining(reader);
+                return value;
+            }
+            envelope.add(name, "data".equals(name) ? readNull(reader) : JsonParser.parseReader(reader));
+        }
+        reader.endObject();
+
+        // No usable "data" member: decode the envelope itself, like the tree-based path
+        return gson.fromJson(envelope, type);
+    }
+
+    private static JsonElement readNull(JsonReader reader) throws IOException {
+        reader.nextNull();
+        return JsonNull.INSTANCE;
+    }
+
+    private static void skipRemaining(JsonReader reader) throws IOException {
+        while (reader.hasNext()) {
+            reader.nextName();
+            reader.skipValue();
+        }
+        reader.endObject();
+    }
+
+    private static JsonElement extractDataFromResponse(JsonElement jsonElement) {
+        if (jsonElement.isJsonObject()) {
+            JsonObject obj = jsonElement.getAsJsonObject();
+            if (obj.has("data")) {
+                JsonElement data = obj.get("data");
+                if (!data.isJsonNull()) {
+                    return data;
+                }
+            }
+        }
+        return jsonElement;
+    }
+
+    /**
+     * Remembers the first failure of the body stream, which Gson wraps in its own exceptions.
+     */
+    private static final class BodyStream extends FilterInputStream {
+        IOException failure;
+
+        BodyStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                throw failed(e);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                throw failed(e);
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            try {
+                return super.skip(n);
+            } catch (IOException e) {
+                throw failed(e);
+            }
+        }
+
+        private IOException failed(IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+            return e;
+        }
+    }
+}
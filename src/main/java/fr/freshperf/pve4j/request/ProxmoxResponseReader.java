@@ -0,0 +1,187 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParseException;
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Decodes Proxmox JSON responses from the response bytes returned by a {@link ProxmoxTransport}.
+ *
+ * <p>Error responses (status 400 and above) are read as a string for the resulting
+ * {@link ProxmoxAPIError}. Successful responses are either streamed through the decoder as
+ * the bytes arrive (blocking calls) or decoded from the buffered bytes (asynchronous calls,
+ * so that no thread blocks on the network while decoding). Buffered bodies can be handed to a
+ * capture callback after decoding, which the response cache uses to store them.</p>
+ *
+ * @param <T> the decoded response type
+ */
+final class ProxmoxResponseReader<T> {
+
+    /**
+     * Deferred decoding result. For streamed bodies, decoding happens when {@link #get()} is called.
+     *
+     * @param <T> the decoded response type
+     */
+    @FunctionalInterface
+    interface DecodedBody<T> {
+
+        /**
+         * Returns the decoded value.
+         *
+         * @return the decoded value
+         * @throws ProxmoxAPIError if the response is an error or cannot be decoded
+         */
+        T get() throws ProxmoxAPIError;
+    }
+
+    private final ProxmoxResponseDecoder decoder;
+    private final String url;
+    private final Type type;
+    private final ResponseTransformer transformer;
+    private final Class<?> elementClass;
+    private final Consumer<byte[]> bodyCapture;
+
+    ProxmoxResponseReader(ProxmoxResponseDecoder decoder, String url, Type type, ResponseTransformer transformer,
+                          Class<?> elementClass, Consumer<byte[]> bodyCapture) {
+        this.decoder = decoder;
+        this.url = url;
+        this.type = type;
+        this.transformer = transformer;
+        this.elementClass = elementClass;
+        this.bodyCapture = bodyCapture;
+    }
+
+    /**
+     * Decodes a body that was received earlier, e.g. from the response cache.
+     */
+    DecodedBody<T> fromBytes(byte[] bytes) {
+        return () -> decode(new ByteArrayInputStream(bytes), 200, false);
+    }
+
+    /**
+     * Decodes a response. The body is read when {@link DecodedBody#get()} is called.
+     */
+    DecodedBody<T> read(ProxmoxTransport.Response response) {
+        int statusCode = response.statusCode();
+
+        if (statusCode >= 400) {
+            Duration retryAfter = response.header("Retry-After")
+                    .map(ProxmoxResponseReader::parseRetryAfter)
+                    .orElse(null);
+            return () -> {
+                String body;
+                try {
+                    body = new String(response.bodyBytes(), StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new ProxmoxAPIError("Network error: " + e.getMessage(), e);
+                }
+                throw new ProxmoxAPIError("HTTP request failed", statusCode, body, url, retryAfter);
+            };
+        }
+
+        if (bodyCapture != null) {
+            return () -> {
+                byte[] bytes;
+                try {
+                    bytes = response.bodyBytes();
+                } catch (IOException e) {
+                    throw new ProxmoxAPIError("Network error: " + e.getMessage(), e);
+                }
+                T value = decode(new ByteArrayInputStream(bytes), statusCode, false);
+                // Only bodies that decode successfully are captured
+                bodyCapture.accept(bytes);
+                return value;
+            };
+        }
+
+        return () -> {
+            try (InputStream in = response.body()) {
+                T value = decode(in, statusCode, response.isStreamed());
+                // Drain what is left so the connection can go back to the pool
+                in.transferTo(OutputStream.nullOutputStream());
+                return value;
+            } catch (IOException e) {
+                throw new ProxmoxAPIError("Network error: " + e.getMessage(), e);
+            }
+        };
+    }
+
+    /**
+     * Parses a {@code Retry-After} value, either delay-seconds or an HTTP date.
+     *
+     * @return the delay, or null if the value is invalid
+     */
+    static Duration parseRetryAfter(String value) {
+        String trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException e) {
+            try {
+                Duration delay = Duration.between(Instant.now(),
+                        ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private T decode(InputStream in, int statusCode, boolean streamed) throws ProxmoxAPIError {
+        ProxmoxDecodeEvent event = new ProxmoxDecodeEvent();
+        event.begin();
+        try {
+            T value = decoder.decode(in, type, transformer, elementClass);
+            event.end();
+            if (event.shouldCommit()) {
+                event.targetType = type.getTypeName();
+                event.elementCount = elementCount(value);
+                event.streamed = streamed;
+                event.commit();
+            }
+            return value;
+        } catch (IOException e) {
+            // The body could not be read: a network error, whatever the status line said
+            throw new ProxmoxAPIError("Network error: " + e.getMessage(), e);
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new ProxmoxAPIError(
+                "Failed to parse JSON response: " + e.getMessage(),
+                statusCode,
+                null,
+                url,
+                e
+            );
+        }
+    }
+
+    private static int elementCount(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (value instanceof JsonArray array) {
+            return array.size();
+        }
+        return value.getClass().isArray() ? Array.getLength(value) : 1;
+    }
+}
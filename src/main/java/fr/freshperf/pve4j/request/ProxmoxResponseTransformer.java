@@ -13,9 +13,14 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.HashMap;
 
 /**
- * Default response transformer that handles Proxmox API response formatting.
+ * Response transformer that handles Proxmox API response formatting.
  * Converts numeric boolean values (0/1) to actual booleans based on target class fields.
+ *
+ * @deprecated responses are no longer rewritten: {@link ProxmoxTypeAdapterFactory} converts
+ * numeric booleans while deserializing, which {@link ProxmoxHttpClient} does by default.
+ * This class is kept for code calling it directly.
  */
+@Deprecated
 public class ProxmoxResponseTransformer implements ResponseTransformer {
 
     private static final ConcurrentHashMap<Class<?>, ClassFieldCache> CLASS_CACHE = new ConcurrentHashMap<>();
@@ -0,0 +1,198 @@
+package fr.freshperf.pve4j.request;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps retries to a share of the requests sent over a sliding window.
+ *
+ * <p>While a cluster is healthy almost nothing is retried and the budget is never reached. When
+ * it degrades, retries beyond the budget are dropped and the original error is returned, so the
+ * cluster sees less traffic rather than more. A small number of retries per window is always
+ * allowed so that a quiet client can still retry.</p>
+ *
+ * <pre>{@code
+ * client.setRetryBudget(ProxmoxRetryBudget.builder()
+ *         .ratio(0.1)
+ *         .minRetries(10)
+ *         .window(Duration.ofSeconds(10))
+ *         .build());
+ * }</pre>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxRetryBudget {
+
+    private static final int SLOTS = 10;
+
+    private final double ratio;
+    private final int minRetries;
+    private final Duration window;
+    private final long slotNanos;
+    private final long[] slotIndexes = new long[SLOTS];
+    private final long[] requests = new long[SLOTS];
+    private final long[] retries = new long[SLOTS];
+    private final long origin = System.nanoTime();
+    private final LongAdder rejected = new LongAdder();
+
+    private ProxmoxRetryBudget(Builder builder) {
+        this.ratio = builder.ratio;
+        this.minRetries = builder.minRetries;
+        this.window = builder.window;
+        this.slotNanos = Math.max(1, builder.window.toNanos() / SLOTS);
+    }
+
+    /**
+     * Creates a builder allowing retries for 10% of the requests over 10 seconds, and at least
+     * 10 retries per window.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** @return the share of requests that may be retries */
+    public double getRatio() {
+        return ratio;
+    }
+
+    /** @return the number of retries always allowed per window */
+    public int getMinRetries() {
+        return minRetries;
+    }
+
+    /** @return the length of the sliding window */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /** @return the number of requests sent in the current window, retries excluded */
+    public synchronized long getRequestCount() {
+        return sum(requests, System.nanoTime());
+    }
+
+    /** @return the number of retries made in the current window */
+    public synchronized long getRetryCount() {
+        return sum(retries, System.nanoTime());
+    }
+
+    /** @return the number of retries refused since creation */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Counts a request sent to the server. Retries are not counted, so that they do not raise
+     * the number of retries allowed.
+     */
+    void recordRequest() {
+        recordRequest(System.nanoTime());
+    }
+
+    synchronized void recordRequest(long now) {
+        requests[slot(now)]++;
+    }
+
+    /**
+     * Takes a retry from the budget.
+     *
+     * @return true if the retry may go ahead
+     */
+    boolean tryAcquireRetry() {
+        return tryAcquireRetry(System.nanoTime());
+    }
+
+    synchronized boolean tryAcquireRetry(long now) {
+        long allowed = minRetries + (long) (ratio * sum(requests, now));
+        if (sum(retries, now) >= allowed) {
+            rejected.increment();
+            return false;
+        }
+        retries[slot(now)]++;
+        return true;
+    }
+
+    private int slot(long now) {
+        long index = (now - origin) / slotNanos;
+        int slot = (int) (index % SLOTS);
+        if (slotIndexes[slot] != index) {
+            // The slot last held an older period of the window
+            slotIndexes[slot] = index;
+            requests[slot] = 0;
+            retries[slot] = 0;
+        }
+        return slot;
+    }
+
+    private long sum(long[] counts, long now) {
+        long current = (now - origin) / slotNanos;
+        long total = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            if (current - slotIndexes[i] < SLOTS) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Builder for {@link ProxmoxRetryBudget}.
+     */
+    public static class Builder {
+        private double ratio = 0.1;
+        private int minRetries = 10;
+        private Duration window = Duration.ofSeconds(10);
+
+        /**
+         * Sets the share of requests that may be retries.
+         *
+         * @param ratio the ratio, at least 0
+         * @return this builder
+         */
+        public Builder ratio(double ratio) {
+            if (!(ratio >= 0)) {
+                throw new IllegalArgumentException("Ratio must be at least 0, got " + ratio);
+            }
+            this.ratio = ratio;
+            return this;
+        }
+
+        /**
+         * Sets the number of retries allowed per window regardless of traffic.
+         *
+         * @param minRetries the number of retries, at least 0
+         * @return this builder
+         */
+        public Builder minRetries(int minRetries) {
+            if (minRetries < 0) {
+                throw new IllegalArgumentException("Minimum retries must be at least 0, got " + minRetries);
+            }
+            this.minRetries = minRetries;
+            return this;
+        }
+
+        /**
+         * Sets the length of the sliding window.
+         *
+         * @param window the window, at least 10 nanoseconds
+         * @return this builder
+         */
+        public Builder window(Duration window) {
+            if (window == null || window.toNanos() < SLOTS) {
+                throw new IllegalArgumentException("Window is too short: " + window);
+            }
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Builds the retry budget.
+         *
+         * @return a new retry budget
+         */
+        public ProxmoxRetryBudget build() {
+            return new ProxmoxRetryBudget(this);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import fr.freshperf.pve4j.throwable.ProxmoxDeadlineExceededError;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical in-flight requests so they share one exchange and its decoded result.
+ *
+ * <p>The first caller of a key sends the request; callers arriving while it is in flight wait
+ * for the same outcome. The key is released as soon as the request completes, so a later call,
+ * including a {@link ProxmoxRequest#retry(int) retry} after a failure, always sends a new request.</p>
+ *
+ * <p>The shared exchange runs within the deadline of the caller that sent it. If that deadline
+ * passes, callers with time left send the request themselves rather than fail with it.</p>
+ */
+final class ProxmoxSingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Blocking call sharing the outcome of an identical in-flight call. A caller joining a call
+     * in flight waits for it at most until its own deadline.
+     *
+     * @param deadline the {@link System#nanoTime()} deadline of the caller, or null for none
+     */
+    <T> T execute(String key, Long deadline, BlockingCall<T> call) throws ProxmoxAPIError, InterruptedException {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing, deadline, call);
+        }
+
+        try {
+            T value = call.execute();
+            flight.complete(value);
+            return value;
+        } catch (ProxmoxAPIError | InterruptedException | RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Non-blocking call sharing the outcome of an identical in-flight call.
+     * Each caller gets its own future: cancelling it does not affect the others.
+     *
+     * @param deadline the {@link System#nanoTime()} deadline of the caller, or null for none
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> executeAsync(String key, Long deadline, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return follow(existing, deadline, call);
+        }
+
+        CompletableFuture<T> exchange = start(call);
+        exchange.whenComplete((value, throwable) -> {
+            inFlight.remove(key, flight);
+            if (throwable != null) {
+                flight.completeExceptionally(ProxmoxRequest.unwrap(throwable));
+            } else {
+                flight.complete(value);
+            }
+        });
+        return (CompletableFuture<T>) flight.copy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> CompletableFuture<T> follow(CompletableFuture<Object> flight, Long deadline,
+                                                   Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        flight.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                result.complete((T) value);
+                return;
+            }
+            Throwable cause = ProxmoxRequest.unwrap(throwable);
+            if (!isOtherCallersDeadline(cause, deadline) || result.isDone()) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            // The leading caller ran out of time, not this one: send the request ourselves.
+            CompletableFuture<T> exchange = start(call);
+            result.whenComplete((ignored, failure) -> {
+                if (result.isCancelled()) {
+                    exchange.cancel(true);
+                }
+            });
+            exchange.whenComplete((own, failure) -> {
+                if (failure != null) {
+                    result.completeExceptionally(ProxmoxRequest.unwrap(failure));
+                } else {
+                    result.complete(own);
+                }
+            });
+        });
+        return result;
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Tells whether a shared call failed on the deadline of the caller that sent it while this
+     * caller still has time left.
+     */
+    private static boolean isOtherCallersDeadline(Throwable cause, Long deadline) {
+        return cause instanceof ProxmoxDeadlineExceededError
+                && (deadline == null || ProxmoxDeadline.remainingNanos(deadline) > 0);
+    }
+
+    /**
+     * Returns the number of distinct requests currently in flight.
+     */
+    int size() {
+        return inFlight.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T await(CompletableFuture<Object> flight, Long deadline, BlockingCall<T> call)
+            throws ProxmoxAPIError, InterruptedException {
+        try {
+            if (deadline == null) {
+                return (T) flight.get();
+            }
+            return (T) flight.get(Math.max(0, ProxmoxDeadline.remainingNanos(deadline)), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Leaving the flight only stops waiting: the leading caller still gets its outcome
+            throw ProxmoxDeadline.exceeded();
+        } catch (ExecutionException e) {
+            Throwable cause = ProxmoxRequest.unwrap(e);
+            if (isOtherCallersDeadline(cause, deadline)) {
+                // The leading caller ran out of time, not this one: send the request ourselves.
+                return call.execute();
+            }
+            if (cause instanceof ProxmoxAPIError apiError) {
+                throw apiError;
+            }
+            if (cause instanceof InterruptedException) {
+                // The leading caller was interrupted, not this one: send the request ourselves.
+                return call.execute();
+            }
+            throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+        }
+    }
+
+    @FunctionalInterface
+    interface BlockingCall<T> {
+        T execute() throws ProxmoxAPIError, InterruptedException;
+    }
+}
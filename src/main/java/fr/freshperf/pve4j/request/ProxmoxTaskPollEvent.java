@@ -0,0 +1,36 @@
+package fr.freshperf.pve4j.request;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of the wait for a task, from the start of the watch to its end. Disabled by default.
+ */
+@Name("pve4j.TaskPoll")
+@Label("Proxmox Task Poll")
+@Description("Wait for a Proxmox task to complete, polling its status")
+@Category({"PVE4J", "Tasks"})
+@Enabled(false)
+@StackTrace(false)
+final class ProxmoxTaskPollEvent extends Event {
+
+    @Label("Task Type")
+    @Description("Type from the UPID, e.g. qmstart")
+    String taskType;
+
+    @Label("Node")
+    String node;
+
+    @Label("Attempts")
+    @Description("Number of times the task was checked")
+    int attempts;
+
+    @Label("Outcome")
+    @Description("succeeded or failed as reported by the task, abandoned if the wait ended first: cancelled, timed out or unable to check")
+    String outcome;
+}
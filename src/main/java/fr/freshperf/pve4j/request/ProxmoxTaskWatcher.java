@@ -0,0 +1,472 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.Proxmox;
+import fr.freshperf.pve4j.entities.PveTask;
+import fr.freshperf.pve4j.entities.PveTaskStatus;
+import fr.freshperf.pve4j.entities.nodes.node.PveNodeTask;
+import fr.freshperf.pve4j.entities.nodes.node.PveNodeTasksOptions;
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared watcher for pending Proxmox tasks.
+ *
+ * <p>Watched tasks are grouped by node. On each tick, a group makes a single call to the
+ * node's active task list ({@code nodes/{node}/tasks?source=active}); tasks still listed as
+ * running are simply rescheduled, and tasks due within a few milliseconds of each other share a
+ * tick. Only tasks that have left the active list get an individual status call, capped at
+ * {@link #getMaxStatusChecksPerNode()} per tick; tasks over the cap are checked on a later tick,
+ * at least {@code 200 ms} after the current one. The number of requests sent to a node
+ * therefore stays roughly constant, whatever the number of outstanding tasks.</p>
+ *
+ * <p>A status call that fails with a network error or a 429, 502, 503 or 504 response is retried
+ * on the task's next check. The task's futures only complete exceptionally after
+ * {@code 5} such failures in a row, or on any other error.</p>
+ *
+ * <p>Each returned future completes as soon as its own task finishes. Completing or cancelling
+ * a future from the outside (e.g. on timeout) stops watching the task. When each task is checked
+ * is decided by its {@link TaskPollingStrategy}.</p>
+ *
+ * @since 0.1.0
+ */
+public class ProxmoxTaskWatcher {
+
+    private static final int DEFAULT_MAX_STATUS_CHECKS_PER_NODE = 8;
+    private static final int MIN_ACTIVE_LIST_LIMIT = 500;
+    private static final long COALESCE_WINDOW_NANOS = Duration.ofMillis(10).toNanos();
+    private static final long OVERFLOW_CHECK_SPACING_NANOS = Duration.ofMillis(200).toNanos();
+    private static final int MAX_CONSECUTIVE_STATUS_FAILURES = 5;
+
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final Map<GroupKey, NodeGroup> groups = new ConcurrentHashMap<>();
+    private volatile int maxStatusChecksPerNode = DEFAULT_MAX_STATUS_CHECKS_PER_NODE;
+
+    /**
+     * Creates a new task watcher.
+     *
+     * @param scheduler the scheduler used to trigger ticks
+     * @param executor the executor used to run ticks and status requests
+     */
+    public ProxmoxTaskWatcher(ScheduledExecutorService scheduler, Executor executor) {
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * Watches a task until it completes, checking it at a fixed interval.
+     * The first check happens after {@code checkInterval}.
+     *
+     * @param proxmox the Proxmox instance owning the task
+     * @param task the task to watch (must have a valid UPID and node)
+     * @param checkInterval the interval between two checks of this task
+     * @return a future completed with the final status, or exceptionally if the task failed
+     */
+    public CompletableFuture<PveTaskStatus> watch(Proxmox proxmox, PveTask task, Duration checkInterval) {
+        return watch(proxmox, task, TaskPollingStrategy.fixed(checkInterval));
+    }
+
+    /**
+     * Watches a task until it completes.
+     *
+     * @param proxmox the Proxmox instance owning the task
+     * @param task the task to watch (must have a valid UPID and node)
+     * @param strategy the strategy deciding when the task is checked
+     * @return a future completed with the final status, or exceptionally if the task failed
+     */
+    public CompletableFuture<PveTaskStatus> watch(Proxmox proxmox, PveTask task, TaskPollingStrategy strategy) {
+        CompletableFuture<PveTaskStatus> future = new CompletableFuture<>();
+        Watch watch = new Watch(task, strategy, future);
+        watch.reschedule(watch.startedAt);
+        ProxmoxTaskPollEvent event = new ProxmoxTaskPollEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            future.whenComplete((status, throwable) -> watch.commit(event));
+        }
+
+        GroupKey key = new GroupKey(proxmox, watch.task.getNode());
+        while (!groups.computeIfAbsent(key, k -> new NodeGroup(k)).add(watch)) {
+            // The group closed concurrently; it is removed from the map right after closing.
+            Thread.onSpinWait();
+        }
+        return future;
+    }
+
+    /**
+     * Returns the number of tasks currently watched, across all nodes.
+     *
+     * @return the number of pending watches
+     */
+    public int getPendingCount() {
+        int count = 0;
+        for (NodeGroup group : groups.values()) {
+            count += group.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the maximum number of individual status calls made per node and per tick.
+     *
+     * @return the status call cap
+     */
+    public int getMaxStatusChecksPerNode() {
+        return maxStatusChecksPerNode;
+    }
+
+    /**
+     * Sets the maximum number of individual status calls made per node and per tick.
+     * Tasks above the cap are checked on a later tick, spaced from the current one.
+     *
+     * @param maxStatusChecksPerNode the status call cap (at least 1)
+     */
+    public void setMaxStatusChecksPerNode(int maxStatusChecksPerNode) {
+        if (maxStatusChecksPerNode < 1) {
+            throw new IllegalArgumentException("maxStatusChecksPerNode must be at least 1");
+        }
+        this.maxStatusChecksPerNode = maxStatusChecksPerNode;
+    }
+
+    private record GroupKey(Proxmox proxmox, String node) {
+    }
+
+    /**
+     * A watched task and the future of one caller.
+     */
+    private static final class Watch {
+        final PveTask task;
+        final TaskPollingStrategy strategy;
+        final CompletableFuture<PveTaskStatus> future;
+        final long startedAt = System.nanoTime();
+        volatile long lastSeenRunningAt = System.currentTimeMillis();
+        int checks;
+        int consecutiveFailures;
+        long nextCheckAt;
+        volatile PveTaskStatus finalStatus;
+
+        Watch(PveTask task, TaskPollingStrategy strategy, CompletableFuture<PveTaskStatus> future) {
+            // Tasks decoded from a response only carry their UPID; parse it for the type.
+            this.task = task.getType() != null ? task : new PveTask(task.getUpid());
+            this.strategy = strategy;
+            this.future = future;
+        }
+
+        void reschedule(long now) {
+            Duration delay = strategy.nextDelay(task, checks, Duration.ofNanos(now - startedAt));
+            nextCheckAt = now + delay.toNanos();
+        }
+
+        void checked(long now) {
+            checks++;
+            consecutiveFailures = 0;
+            lastSeenRunningAt = System.currentTimeMillis();
+            reschedule(now);
+        }
+
+        /**
+         * Records a transient failure of a status call.
+         *
+         * @return true if the task should be checked again
+         */
+        boolean failed(long now) {
+            checks++;
+            if (++consecutiveFailures >= MAX_CONSECUTIVE_STATUS_FAILURES) {
+                return false;
+            }
+            reschedule(now);
+            return true;
+        }
+
+        /**
+         * Records the end of the task.
+         *
+         * @param endtime the end time reported by the server, in epoch seconds, or 0 if unknown
+         */
+        void completed(PveTaskStatus status, long endtime) {
+            checks++;
+            finalStatus = status;
+            Duration duration = runTime(endtime);
+            if (duration != null) {
+                strategy.onTaskCompleted(task, duration);
+            }
+        }
+
+        /**
+         * Returns how long the task ran on the server, from the start time of its UPID. Without
+         * an end time, the task is taken to have ended halfway between the last check that saw it
+         * running and now.
+         */
+        private Duration runTime(long endtime) {
+            long starttime;
+            try {
+                starttime = Long.parseLong(task.getStarttime(), 16);
+            } catch (NumberFormatException | NullPointerException e) {
+                return null;
+            }
+            long endMillis = endtime > 0
+                    ? TimeUnit.SECONDS.toMillis(endtime)
+                    : lastSeenRunningAt + (System.currentTimeMillis() - lastSeenRunningAt) / 2;
+            return Duration.ofMillis(Math.max(0, endMillis - TimeUnit.SECONDS.toMillis(starttime)));
+        }
+
+        void commit(ProxmoxTaskPollEvent event) {
+            event.end();
+            if (event.shouldCommit()) {
+                PveTaskStatus status = finalStatus;
+                event.taskType = task.getType();
+                event.node = task.getNode();
+                event.attempts = checks;
+                event.outcome = status == null ? "abandoned" : status.isSuccessful() ? "succeeded" : "failed";
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Pending watches of one node. All fields are guarded by the group's monitor.
+     */
+    private final class NodeGroup {
+        final GroupKey key;
+        final List<Watch> watches = new ArrayList<>();
+        ScheduledFuture<?> scheduledTick;
+        long scheduledAt;
+        boolean ticking;
+        boolean closed;
+
+        NodeGroup(GroupKey key) {
+            this.key = key;
+        }
+
+        synchronized int size() {
+            return watches.size();
+        }
+
+        synchronized boolean add(Watch watch) {
+            if (closed) {
+                return false;
+            }
+            watches.add(watch);
+            if (!ticking && (scheduledTick == null || watch.nextCheckAt - scheduledAt < 0)) {
+                scheduleTick(watch.nextCheckAt);
+            }
+            return true;
+        }
+
+        /**
+         * Schedules the next tick. Must be called with the monitor held.
+         */
+        private void scheduleTick(long at) {
+            if (scheduledTick != null) {
+                scheduledTick.cancel(false);
+            }
+            scheduledAt = at;
+            long delay = Math.max(0, at - System.nanoTime());
+            scheduledTick = scheduler.schedule(() -> executor.execute(this::tick), delay, TimeUnit.NANOSECONDS);
+        }
+
+        private void tick() {
+            Map<String, List<Watch>> due = new LinkedHashMap<>();
+            int watched;
+            synchronized (this) {
+                scheduledTick = null;
+                watches.removeIf(watch -> watch.future.isDone());
+                if (watches.isEmpty()) {
+                    closed = true;
+                } else {
+                    long now = System.nanoTime();
+                    for (Watch watch : watches) {
+                        // Tasks due shortly after share this tick rather than triggering their own
+                        if (watch.nextCheckAt - now <= COALESCE_WINDOW_NANOS) {
+                            due.computeIfAbsent(watch.task.getUpid(), upid -> new ArrayList<>()).add(watch);
+                        }
+                    }
+                    if (due.isEmpty()) {
+                        scheduleTick(earliestCheck());
+                        return;
+                    }
+                    ticking = true;
+                }
+                watched = watches.size();
+            }
+            if (due.isEmpty()) {
+                groups.remove(key, this);
+                return;
+            }
+
+            PveNodeTasksOptions options = PveNodeTasksOptions.builder()
+                    .source("active")
+                    .limit(Math.max(MIN_ACTIVE_LIST_LIMIT, watched * 2))
+                    .build();
+            CompletableFuture<List<PveNodeTask>> activeTasks;
+            try {
+                activeTasks = key.proxmox().getNodes().get(key.node()).getTasks(options).executeAsync(executor);
+            } catch (RuntimeException e) {
+                activeTasks = CompletableFuture.failedFuture(e);
+            }
+
+            activeTasks
+                .handle((list, throwable) -> checkStatuses(due, throwable == null ? list : null))
+                .thenCompose(checks -> checks)
+                .whenComplete((ignored, throwable) -> endTick());
+        }
+
+        /**
+         * Resolves due tasks against the active task list, falling back to capped status calls.
+         * A null list means the active list could not be fetched.
+         */
+        private CompletableFuture<Void> checkStatuses(Map<String, List<Watch>> due, List<PveNodeTask> activeTasks) {
+            Map<String, PveNodeTask> active = new HashMap<>();
+            if (activeTasks != null) {
+                for (PveNodeTask activeTask : activeTasks) {
+                    if (activeTask.getUpid() != null) {
+                        active.put(activeTask.getUpid(), activeTask);
+                    }
+                }
+            }
+
+            long now = System.nanoTime();
+            int budget = maxStatusChecksPerNode;
+            List<CompletableFuture<?>> statusChecks = new ArrayList<>();
+            for (Map.Entry<String, List<Watch>> entry : due.entrySet()) {
+                PveNodeTask listed = active.get(entry.getKey());
+                if (listed != null && listed.getStatus() == null) {
+                    reschedule(entry.getValue(), now);
+                } else if (listed != null) {
+                    complete(entry.getValue(), toStatus(listed), listed.getEndtime());
+                } else if (budget > 0) {
+                    budget--;
+                    statusChecks.add(checkStatus(entry.getValue()));
+                } else {
+                    // Over budget: checked on a later tick, without ticking back-to-back
+                    defer(entry.getValue(), now + OVERFLOW_CHECK_SPACING_NANOS);
+                }
+            }
+            return CompletableFuture.allOf(statusChecks.toArray(new CompletableFuture<?>[0]));
+        }
+
+        private CompletableFuture<?> checkStatus(List<Watch> sameTask) {
+            PveTask task = sameTask.get(0).task;
+            CompletableFuture<PveTaskStatus> status;
+            try {
+                status = key.proxmox().getTaskStatus(task).executeAsync(executor);
+            } catch (RuntimeException e) {
+                status = CompletableFuture.failedFuture(e);
+            }
+            return status.handle((result, throwable) -> {
+                if (throwable != null) {
+                    failed(sameTask, ProxmoxRequest.unwrap(throwable));
+                } else if (result != null && result.isCompleted()) {
+                    complete(sameTask, result, 0);
+                } else {
+                    reschedule(sameTask, System.nanoTime());
+                }
+                return null;
+            });
+        }
+
+        private void reschedule(List<Watch> sameTask, long now) {
+            synchronized (this) {
+                sameTask.forEach(watch -> watch.checked(now));
+            }
+        }
+
+        private void defer(List<Watch> sameTask, long checkAt) {
+            synchronized (this) {
+                sameTask.forEach(watch -> watch.nextCheckAt = checkAt);
+            }
+        }
+
+        private void failed(List<Watch> sameTask, Throwable cause) {
+            long now = System.nanoTime();
+            List<Watch> abandoned = new ArrayList<>();
+            synchronized (this) {
+                for (Watch watch : sameTask) {
+                    if (!isTransient(cause) || !watch.failed(now)) {
+                        abandoned.add(watch);
+                    }
+                }
+            }
+            abandoned.forEach(watch -> watch.future.completeExceptionally(cause));
+        }
+
+        private void complete(List<Watch> sameTask, PveTaskStatus status, long endtime) {
+            sameTask.forEach(watch -> watch.completed(status, endtime));
+            if (status.isSuccessful()) {
+                sameTask.forEach(watch -> watch.future.complete(status));
+                return;
+            }
+            String errorMsg = status.getExitstatus() != null
+                    ? "Task failed with exit status: " + status.getExitstatus()
+                    : "Task completed with errors";
+            sameTask.forEach(watch -> watch.future.completeExceptionally(new ProxmoxAPIError(errorMsg)));
+        }
+
+        private void endTick() {
+            synchronized (this) {
+                ticking = false;
+                watches.removeIf(watch -> watch.future.isDone());
+                if (!watches.isEmpty()) {
+                    scheduleTick(earliestCheck());
+                    return;
+                }
+                closed = true;
+            }
+            groups.remove(key, this);
+        }
+
+        /**
+         * Returns the earliest next check of the group. Must be called with the monitor held.
+         */
+        private long earliestCheck() {
+            Iterator<Watch> iterator = watches.iterator();
+            long earliest = iterator.next().nextCheckAt;
+            while (iterator.hasNext()) {
+                long next = iterator.next().nextCheckAt;
+                if (next - earliest < 0) {
+                    earliest = next;
+                }
+            }
+            return earliest;
+        }
+    }
+
+    /**
+     * Tells whether a failed status call is worth retrying: network errors, throttling and
+     * unavailable or timed out upstreams.
+     */
+    private static boolean isTransient(Throwable cause) {
+        if (!(cause instanceof ProxmoxAPIError error)) {
+            return false;
+        }
+        int statusCode = error.getStatusCode();
+        return statusCode == -1 || statusCode == 429 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    /**
+     * Builds a final status from a finished entry of the active task list.
+     */
+    private static PveTaskStatus toStatus(PveNodeTask task) {
+        PveTaskStatus status = new PveTaskStatus();
+        status.setUpid(task.getUpid());
+        status.setNode(task.getNode());
+        status.setType(task.getType());
+        status.setId(task.getId());
+        status.setUser(task.getUser());
+        status.setStatus("stopped");
+        status.setExitstatus(task.getStatus());
+        return status;
+    }
+}
@@ -0,0 +1,83 @@
+package fr.freshperf.pve4j.request;
+
+/**
+ * Token bucket with a rate adjusted by additive increase and multiplicative decrease.
+ *
+ * <p>Tokens are reserved rather than waited for: a caller takes a token even if the bucket is
+ * empty and waits until it would have been refilled, so callers are served in reservation order
+ * without any queue.</p>
+ */
+final class ProxmoxTokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final double maxRate;
+    private final double minRate;
+    private final double burst;
+    private double rate;
+    private double tokens;
+    private long refilledAt;
+    private long decreasedAt;
+
+    ProxmoxTokenBucket(double maxRate, double minRate, double burst, long now) {
+        this.maxRate = maxRate;
+        this.minRate = Math.min(minRate, maxRate);
+        this.burst = burst;
+        this.rate = maxRate;
+        this.tokens = burst;
+        this.refilledAt = now;
+        this.decreasedAt = now - NANOS_PER_SECOND;
+    }
+
+    /**
+     * Reserves a token.
+     *
+     * @return how long to wait before sending, in nanoseconds
+     */
+    synchronized long reserve(long now) {
+        refill(now);
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) (-tokens / rate * NANOS_PER_SECOND);
+    }
+
+    /**
+     * Gives back a token reserved for a request that was not sent.
+     */
+    synchronized void release(long now) {
+        refill(now);
+        tokens = Math.min(burst, tokens + 1);
+    }
+
+    /**
+     * Raises the rate so that it grows by {@code increase} requests per second every second.
+     */
+    synchronized void increase(double increase, long now) {
+        refill(now);
+        rate = Math.min(maxRate, rate + increase / rate);
+    }
+
+    /**
+     * Multiplies the rate by {@code factor}, at most once per second so that a burst of
+     * throttled responses to requests sent at the old rate counts once.
+     *
+     * @return true if the rate was lowered
+     */
+    synchronized boolean decrease(double factor, long now) {
+        if (now - decreasedAt < NANOS_PER_SECOND) {
+            return false;
+        }
+        refill(now);
+        decreasedAt = now;
+        rate = Math.max(minRate, rate * factor);
+        return true;
+    }
+
+    synchronized double getRate() {
+        return rate;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAt) * rate / NANOS_PER_SECOND);
+        refilledAt = now;
+    }
+}
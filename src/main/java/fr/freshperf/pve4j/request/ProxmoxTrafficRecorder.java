@@ -0,0 +1,340 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.util.ProxmoxPathTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records the exchanges of a client to a file, to be served again by a
+ * {@link ProxmoxReplayTransport}.
+ *
+ * <pre>{@code
+ * try (ProxmoxTrafficRecorder recorder = ProxmoxTrafficRecorder.open(Path.of("traffic.pve4j"))) {
+ *     client.setTrafficRecorder(recorder);
+ *     ...
+ *     client.setTrafficRecorder(null);
+ * }
+ * }</pre>
+ *
+ * <p>Each {@link Exchange} keeps the method, path, query, request and response bodies, status
+ * and timings of a request that got a response. The file is gzip-compressed. Response bodies
+ * are read whole before being decoded while recording.</p>
+ *
+ * <p>Headers, which carry the credentials, and logins are not recorded. Other bodies are stored
+ * as sent and received: mind what the recorded endpoints return.</p>
+ *
+ * <p>Each exchange is written as one length-prefixed record, so a file cut short is still read
+ * up to its last complete exchange. Recording stops at the first failed write; the error goes
+ * to the {@linkplain #setErrorHandler(Consumer) error handler} and requests carry on.</p>
+ *
+ * @since 0.1.0
+ */
+public final class ProxmoxTrafficRecorder implements Closeable {
+
+    private static final int MAGIC = 0x50564552;
+    private static final int VERSION = 2;
+    private static final String API_ROOT = "/api2/json/";
+    private static final String LOGIN_PATH = "access/ticket";
+
+    private final DataOutputStream out;
+    private final long origin = System.nanoTime();
+    private volatile Consumer<Throwable> errorHandler;
+    private long count;
+    private boolean closed;
+    private boolean failed;
+
+    ProxmoxTrafficRecorder(DataOutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Creates or truncates a recording file.
+     *
+     * @param file the file to write
+     * @return the recorder, to be closed once done
+     * @throws IOException if the file cannot be written
+     */
+    public static ProxmoxTrafficRecorder open(Path file) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024, true)));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        return new ProxmoxTrafficRecorder(out);
+    }
+
+    /**
+     * Reads the exchanges of a recording file. A file whose recorder was not closed is read up
+     * to its last complete exchange.
+     *
+     * @param file the recording file
+     * @return the exchanges, in recording order
+     * @throws IOException if the file cannot be read or is not a recording
+     */
+    public static List<Exchange> read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a traffic recording: " + file);
+            }
+            int version = in.readUnsignedShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported traffic recording version " + version + ": " + file);
+            }
+            List<Exchange> exchanges = new ArrayList<>();
+            try {
+                int length;
+                while ((length = in.readInt()) > 0) {
+                    byte[] record = new byte[length];
+                    in.readFully(record);
+                    exchanges.add(decode(record));
+                }
+            } catch (EOFException e) {
+                // Truncated by a recorder that was not closed
+            }
+            return exchanges;
+        }
+    }
+
+    /**
+     * Returns the number of exchanges recorded so far.
+     *
+     * @return the exchange count
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Sets the handler receiving the error that stopped the recording, if writing an exchange
+     * fails.
+     *
+     * @param errorHandler the error handler, or null to ignore errors
+     */
+    public void setErrorHandler(Consumer<Throwable> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Returns the handler receiving the error that stopped the recording.
+     *
+     * @return the error handler, or null if errors are ignored
+     */
+    public Consumer<Throwable> getErrorHandler() {
+        return errorHandler;
+    }
+
+    /**
+     * Writes the buffered exchanges to the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        if (!closed && !failed) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            if (!failed) {
+                out.writeInt(0);
+            }
+            out.close();
+        }
+    }
+
+    /**
+     * Sends a request through a transport, recording the exchange once the response is in.
+     */
+    ProxmoxTransport.Response send(ProxmoxTransport transport, ProxmoxTransport.Request request)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        ProxmoxTransport.Response response = transport.send(request);
+        return record(request, response, start);
+    }
+
+    /**
+     * Sends a request asynchronously through a transport, recording the exchange once the
+     * response is in.
+     */
+    CompletableFuture<ProxmoxTransport.Response> sendAsync(ProxmoxTransport transport,
+                                                           ProxmoxTransport.Request request) {
+        long start = System.nanoTime();
+        CompletableFuture<ProxmoxTransport.Response> source = transport.sendAsync(request);
+        CompletableFuture<ProxmoxTransport.Response> result = source.thenApply(response -> {
+            try {
+                return record(request, response, start);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+        // Cancelling the returned future aborts the underlying HTTP exchange
+        result.whenComplete((response, throwable) -> {
+            if (result.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private ProxmoxTransport.Response record(ProxmoxTransport.Request request, ProxmoxTransport.Response response,
+                                             long start) throws IOException {
+        String template = templateOf(request.uri());
+        if (template.equals(LOGIN_PATH)) {
+            return response;
+        }
+        byte[] body = response.bodyBytes();
+        long end = System.nanoTime();
+        String path = apiPathOf(request.uri());
+        write(new Exchange(request.method(), template, path, request.body(), response.statusCode(), body,
+                start - origin, end - start));
+        return ProxmoxTransport.Response.ofBytes(response.statusCode(), response.headers(), body);
+    }
+
+    private void write(Exchange exchange) {
+        byte[] record = encode(exchange);
+        IOException failure;
+        synchronized (this) {
+            if (closed || failed) {
+                return;
+            }
+            try {
+                out.writeInt(record.length);
+                out.write(record);
+                count++;
+                return;
+            } catch (IOException e) {
+                // The file may end with part of a record: nothing may follow it
+                failed = true;
+                failure = e;
+            }
+        }
+        reportError(new IOException("Traffic recording stopped, failed to record " + exchange.method() + " "
+                + exchange.path(), failure));
+    }
+
+    private void reportError(Throwable error) {
+        Consumer<Throwable> handler = errorHandler;
+        if (handler != null) {
+            handler.accept(error);
+        }
+    }
+
+    private static byte[] encode(Exchange exchange) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + length(exchange.requestBody())
+                + length(exchange.responseBody()));
+        try (DataOutputStream record = new DataOutputStream(bytes)) {
+            writeString(record, exchange.method());
+            writeString(record, exchange.pathTemplate());
+            writeString(record, exchange.path());
+            writeBytes(record, exchange.requestBody());
+            record.writeShort(exchange.statusCode());
+            writeBytes(record, exchange.responseBody());
+            record.writeLong(exchange.offsetNanos());
+            record.writeLong(exchange.latencyNanos());
+        } catch (IOException e) {
+            // Not thrown by a ByteArrayOutputStream
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Exchange decode(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        return new Exchange(readString(in), readString(in), readString(in), readBytes(in), in.readUnsignedShort(),
+                readBytes(in), in.readLong(), in.readLong());
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Returns the path of a request relative to the API root, with its raw query string, e.g.
+     * {@code nodes/pve1/tasks?source=active}.
+     */
+    static String apiPathOf(URI uri) {
+        String path = relative(uri.getRawPath());
+        return uri.getRawQuery() != null ? path + '?' + uri.getRawQuery() : path;
+    }
+
+    /**
+     * Returns the path template of a request, e.g. {@code nodes/{node}/tasks}.
+     */
+    static String templateOf(URI uri) {
+        return ProxmoxPathTemplate.templateOf(relative(uri.getPath()));
+    }
+
+    private static String relative(String path) {
+        if (path == null) {
+            return "";
+        }
+        int root = path.indexOf(API_ROOT);
+        return root >= 0 ? path.substring(root + API_ROOT.length()) : ProxmoxPathTemplate.normalize(path);
+    }
+
+    /**
+     * A recorded request and its response.
+     *
+     * @param method       the HTTP method
+     * @param pathTemplate the path template, e.g. "nodes/{node}/qemu/{vmid}/status/current"
+     * @param path         the path relative to the API root, with its raw query string
+     * @param requestBody  the request body, or null for none
+     * @param statusCode   the HTTP status code
+     * @param responseBody the response body
+     * @param offsetNanos  when the request was sent, from the start of the recording
+     * @param latencyNanos the time from sending the request to receiving the whole response
+     */
+    public record Exchange(String method, String pathTemplate, String path, byte[] requestBody, int statusCode,
+                           byte[] responseBody, long offsetNanos, long latencyNanos) {
+    }
+}
@@ -0,0 +1,170 @@
+package fr.freshperf.pve4j.request;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP engine sending the requests of a {@link ProxmoxHttpClient}.
+ *
+ * <p>The client resolves the endpoint URL, adds the authentication headers and encodes the
+ * body before handing the request over, and decodes the response bytes afterwards: a transport
+ * only moves bytes. The default one, {@link ProxmoxJdkTransport}, runs on
+ * {@link java.net.http.HttpClient}; another engine, or an in-memory transport for tests and
+ * benchmarks, can be set with {@link ProxmoxHttpClient#setTransport(ProxmoxTransport)}.</p>
+ *
+ * <p>Failures are reported as {@link IOException}s. To keep failover, rate limiting and circuit
+ * breaking accurate, a transport should use {@link java.net.ConnectException} or
+ * {@link java.net.http.HttpConnectTimeoutException} when no connection could be made, and
+ * {@link java.net.http.HttpTimeoutException} when the request timeout elapsed.</p>
+ *
+ * @since 0.1.0
+ */
+public interface ProxmoxTransport {
+
+    /**
+     * Sends a request, blocking until the response headers arrive. The body of the returned
+     * response may be streamed from the network; the caller closes it.
+     *
+     * @param request the request to send
+     * @return the response
+     * @throws IOException          if the request could not be sent or the response received
+     * @throws InterruptedException if interrupted while waiting
+     */
+    Response send(Request request) throws IOException, InterruptedException;
+
+    /**
+     * Sends a request without blocking. The returned response carries its whole body, so
+     * decoding it never waits on the network. Cancelling the future should abort the exchange.
+     *
+     * @param request the request to send
+     * @return a future completed with the response, or exceptionally with an {@link IOException}
+     */
+    CompletableFuture<Response> sendAsync(Request request);
+
+    /**
+     * HTTP request handed to a transport.
+     *
+     * @param method  the HTTP method
+     * @param uri     the full request URI, query string included
+     * @param headers the request headers
+     * @param body    the request body, or null for none
+     * @param timeout the time allowed until the response headers arrive, or null for none
+     */
+    record Request(String method, URI uri, Map<String, String> headers, byte[] body, Duration timeout) {
+    }
+
+    /**
+     * HTTP response returned by a transport, with its body either as bytes or as a stream.
+     */
+    final class Response {
+
+        private final int statusCode;
+        private final Map<String, List<String>> headers;
+        private final byte[] bytes;
+        private final InputStream stream;
+
+        private Response(int statusCode, Map<String, List<String>> headers, byte[] bytes, InputStream stream) {
+            this.statusCode = statusCode;
+            TreeMap<String, List<String>> caseInsensitive = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            if (headers != null) {
+                caseInsensitive.putAll(headers);
+            }
+            this.headers = Collections.unmodifiableMap(caseInsensitive);
+            this.bytes = bytes;
+            this.stream = stream;
+        }
+
+        /**
+         * Creates a response whose body was fully received.
+         *
+         * @param statusCode the HTTP status code
+         * @param headers    the response headers
+         * @param body       the response body
+         * @return the response
+         */
+        public static Response ofBytes(int statusCode, Map<String, List<String>> headers, byte[] body) {
+            return new Response(statusCode, headers, body != null ? body : new byte[0], null);
+        }
+
+        /**
+         * Creates a response whose body is read as it arrives.
+         *
+         * @param statusCode the HTTP status code
+         * @param headers    the response headers
+         * @param body       the response body stream
+         * @return the response
+         */
+        public static Response ofStream(int statusCode, Map<String, List<String>> headers, InputStream body) {
+            return new Response(statusCode, headers, null, body);
+        }
+
+        /** @return the HTTP status code */
+        public int statusCode() {
+            return statusCode;
+        }
+
+        /** @return the response headers, with case-insensitive names */
+        public Map<String, List<String>> headers() {
+            return headers;
+        }
+
+        /**
+         * Returns the first value of a header.
+         *
+         * @param name the header name, in any case
+         * @return the value, or empty if the header is missing
+         */
+        public Optional<String> header(String name) {
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? Optional.empty() : Optional.of(values.get(0));
+        }
+
+        /**
+         * Returns the size of the body: its length once received, the Content-Length header
+         * otherwise.
+         */
+        long bodyLength() {
+            if (bytes != null) {
+                return bytes.length;
+            }
+            try {
+                return header("Content-Length").map(Long::parseLong).orElse(-1L);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        boolean isStreamed() {
+            return stream != null;
+        }
+
+        /** @return the response body as a stream, to be closed by the caller */
+        public InputStream body() {
+            return stream != null ? stream : new ByteArrayInputStream(bytes);
+        }
+
+        /**
+         * Returns the whole response body, reading the stream to its end if needed.
+         *
+         * @return the body bytes
+         * @throws IOException if the body could not be read
+         */
+        public byte[] bodyBytes() throws IOException {
+            if (bytes != null) {
+                return bytes;
+            }
+            try (InputStream in = stream) {
+                return in.readAllBytes();
+            }
+        }
+    }
+}
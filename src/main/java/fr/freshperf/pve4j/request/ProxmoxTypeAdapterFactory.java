@@ -0,0 +1,64 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Gson type adapter factory adapting deserialization to Proxmox API conventions.
+ *
+ * <p>Proxmox reports most flags as numeric {@code 0}/{@code 1} values. This factory lets
+ * {@code boolean} and {@link Boolean} fields read those values while the response is being
+ * deserialized. Since Gson compiles and caches one adapter per entity class, fields are
+ * resolved once per class instead of on every response, and no intermediate JSON tree is needed.</p>
+ *
+ * <p>The factory is registered on the Gson instance of every {@link ProxmoxHttpClient}.</p>
+ */
+public class ProxmoxTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static final TypeAdapter<Boolean> NUMERIC_BOOLEAN_ADAPTER = new NumericBooleanTypeAdapter().nullSafe();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == boolean.class || rawType == Boolean.class) {
+            return (TypeAdapter<T>) NUMERIC_BOOLEAN_ADAPTER;
+        }
+        return null;
+    }
+
+    /**
+     * Boolean adapter accepting {@code true}/{@code false}, {@code 0}/{@code 1} and their string forms.
+     */
+    private static final class NumericBooleanTypeAdapter extends TypeAdapter<Boolean> {
+
+        @Override
+        public Boolean read(JsonReader in) throws IOException {
+            JsonToken token = in.peek();
+            switch (token) {
+                case NUMBER -> {
+                    return (int) in.nextDouble() == 1;
+                }
+                case STRING -> {
+                    String value = in.nextString();
+                    return "1".equals(value) || Boolean.parseBoolean(value);
+                }
+                default -> {
+                    return in.nextBoolean();
+                }
+            }
+        }
+
+        @Override
+        public void write(JsonWriter out, Boolean value) throws IOException {
+            out.value(value);
+        }
+    }
+}
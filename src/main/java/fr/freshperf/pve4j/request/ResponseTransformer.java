@@ -4,6 +4,10 @@ import com.google.gson.JsonElement;
 
 /**
  * Interface for transforming JSON responses before deserialization.
+ *
+ * <p>Transformers are opt-in, set per request with
+ * {@link ProxmoxHttpClient.RequestBuilder#transformer(ResponseTransformer)}. Requests without a
+ * transformer are decoded as a stream and never build a JSON tree.</p>
  */
 public interface ResponseTransformer {
 
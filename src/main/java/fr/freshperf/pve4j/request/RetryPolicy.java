@@ -0,0 +1,166 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import fr.freshperf.pve4j.throwable.ProxmoxCircuitOpenError;
+import fr.freshperf.pve4j.throwable.ProxmoxDeadlineExceededError;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a failed request is retried and how long to wait before the retry.
+ *
+ * <p>Jittered policies spread the retries of many callers that failed together, so a node that
+ * hiccups is not hit again by all of them at once. Whatever the policy, a {@code Retry-After}
+ * header sent with the error raises the delay to at least the requested value, up to
+ * {@link #maxDelay()}. Implementations must be thread-safe.</p>
+ *
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface RetryPolicy {
+
+    /**
+     * Returns the delay before a retry.
+     *
+     * @param retry the retry number, starting at 1
+     * @param previousDelay the delay before the previous retry, or null for the first retry
+     * @return the delay before this retry
+     */
+    Duration nextDelay(int retry, Duration previousDelay);
+
+    /**
+     * Tells whether a failed request may be retried. By default, network errors (caused by an
+     * {@link IOException}) and 429, 502, 503 and 504 responses are; a 500 is an error reported by
+     * the API itself and is not. Neither is an open circuit, which is meant to fail fast, nor an
+     * exceeded deadline.
+     *
+     * @param error the error of the failed attempt
+     * @return true to retry
+     */
+    default boolean shouldRetry(ProxmoxAPIError error) {
+        if (error instanceof ProxmoxCircuitOpenError || error instanceof ProxmoxDeadlineExceededError) {
+            return false;
+        }
+        int statusCode = error.getStatusCode();
+        if (statusCode == -1) {
+            for (Throwable cause = error.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return statusCode == 429 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    /**
+     * Tells whether a failed request sent with an HTTP method may be retried. By default, only
+     * idempotent methods (GET, HEAD, OPTIONS, PUT, DELETE) are, as a POST may have been carried
+     * out before the error, and then only if {@link #shouldRetry(ProxmoxAPIError)} agrees.
+     *
+     * @param method the HTTP method, or null if unknown (requests not built from a
+     *               {@link ProxmoxHttpClient.RequestBuilder})
+     * @param error the error of the failed attempt
+     * @return true to retry
+     */
+    default boolean shouldRetry(String method, ProxmoxAPIError error) {
+        return (method == null || isIdempotent(method)) && shouldRetry(error);
+    }
+
+    /**
+     * Returns the longest delay before a retry, which also caps the server's {@code Retry-After}.
+     * Defaults to 30 seconds.
+     *
+     * @return the maximum delay
+     */
+    default Duration maxDelay() {
+        return Duration.ofSeconds(30);
+    }
+
+    /**
+     * Waits the same delay before each retry.
+     *
+     * @param delay the delay between attempts
+     * @return a fixed-delay policy
+     */
+    static RetryPolicy fixed(Duration delay) {
+        return (retry, previousDelay) -> delay;
+    }
+
+    /**
+     * Multiplies the delay after each retry up to a cap, without jitter.
+     *
+     * @param initial the delay before the first retry
+     * @param multiplier the factor applied to the delay after each retry (at least 1)
+     * @param max the maximum delay
+     * @return an exponential backoff policy
+     */
+    static RetryPolicy exponentialBackoff(Duration initial, double multiplier, Duration max) {
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("multiplier must be at least 1");
+        }
+        long initialNanos = initial.toNanos();
+        long maxNanos = max.toNanos();
+        return bounded(max, (retry, previousDelay) -> {
+            double delay = initialNanos * Math.pow(multiplier, retry - 1);
+            return Duration.ofNanos(delay >= maxNanos ? maxNanos : (long) delay);
+        });
+    }
+
+    /**
+     * Waits a random delay between zero and an exponentially growing cap ("full jitter").
+     *
+     * @param initial the cap before the first retry, doubled after each retry
+     * @param max the maximum delay
+     * @return a jittered exponential backoff policy
+     */
+    static RetryPolicy exponentialJitter(Duration initial, Duration max) {
+        RetryPolicy backoff = exponentialBackoff(initial, 2, max);
+        return bounded(max, (retry, previousDelay) -> {
+            long cap = backoff.nextDelay(retry, previousDelay).toNanos();
+            return Duration.ofNanos(cap > 0 ? ThreadLocalRandom.current().nextLong(cap + 1) : 0);
+        });
+    }
+
+    /**
+     * Waits a random delay between {@code base} and three times the previous delay, up to a cap
+     * ("decorrelated jitter"). Delays grow like an exponential backoff but stay spread out.
+     *
+     * @param base the minimum delay, also used for the first retry
+     * @param max the maximum delay
+     * @return a decorrelated jitter policy
+     */
+    static RetryPolicy decorrelatedJitter(Duration base, Duration max) {
+        long baseNanos = base.toNanos();
+        long maxNanos = max.toNanos();
+        return bounded(max, (retry, previousDelay) -> {
+            long previous = previousDelay != null ? previousDelay.toNanos() : baseNanos;
+            long upper = Math.min(maxNanos, Math.max(baseNanos, previous) * 3);
+            long delay = upper > baseNanos ? ThreadLocalRandom.current().nextLong(baseNanos, upper + 1) : upper;
+            return Duration.ofNanos(Math.min(delay, maxNanos));
+        });
+    }
+
+    private static boolean isIdempotent(String method) {
+        return switch (method) {
+            case "GET", "HEAD", "OPTIONS", "PUT", "DELETE" -> true;
+            default -> false;
+        };
+    }
+
+    private static RetryPolicy bounded(Duration max, RetryPolicy delays) {
+        return new RetryPolicy() {
+            @Override
+            public Duration nextDelay(int retry, Duration previousDelay) {
+                return delays.nextDelay(retry, previousDelay);
+            }
+
+            @Override
+            public Duration maxDelay() {
+                return max;
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.entities.PveTask;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Decides how long to wait before the next status check of a pending task.
+ *
+ * <p>Strategies may use the task type (e.g. {@code qmstart}, {@code vzdump}) parsed from the UPID
+ * to poll short tasks eagerly and long tasks sparingly. Implementations must be thread-safe,
+ * as a single strategy is shared by every watched task.</p>
+ *
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface TaskPollingStrategy {
+
+    /**
+     * Returns the delay before the next status check of a task.
+     *
+     * @param task the watched task
+     * @param checks the number of checks already made for this task
+     * @param elapsed the time since the task started being watched
+     * @return the delay before the next check
+     */
+    Duration nextDelay(PveTask task, int checks, Duration elapsed);
+
+    /**
+     * Called once a watched task has finished, successfully or not.
+     *
+     * @param task the finished task
+     * @param duration how long the task ran on the server, from the start time in its UPID to its
+     *                 end time; when the server does not report the end time, it is estimated
+     *                 halfway between the last check that saw the task running and the one that
+     *                 saw it finished
+     */
+    default void onTaskCompleted(PveTask task, Duration duration) {
+    }
+
+    /**
+     * Polls at a fixed interval.
+     *
+     * @param interval the delay between checks
+     * @return a fixed-interval strategy
+     */
+    static TaskPollingStrategy fixed(Duration interval) {
+        return (task, checks, elapsed) -> interval;
+    }
+
+    /**
+     * Polls quickly at first, then multiplies the delay after each check up to a cap.
+     *
+     * @param initial the delay before the first check
+     * @param multiplier the factor applied to the delay after each check (at least 1)
+     * @param max the maximum delay between checks
+     * @return an exponential backoff strategy
+     */
+    static TaskPollingStrategy exponentialBackoff(Duration initial, double multiplier, Duration max) {
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("multiplier must be at least 1");
+        }
+        long initialNanos = initial.toNanos();
+        long maxNanos = max.toNanos();
+        return (task, checks, elapsed) -> {
+            double delay = initialNanos * Math.pow(multiplier, checks);
+            return Duration.ofNanos(delay >= maxNanos ? maxNanos : (long) delay);
+        };
+    }
+
+    /**
+     * Picks a strategy according to the task type.
+     *
+     * @param strategies the strategies by task type
+     * @param fallback the strategy used for other types
+     * @return a strategy dispatching on the task type
+     */
+    static TaskPollingStrategy byType(Map<String, TaskPollingStrategy> strategies, TaskPollingStrategy fallback) {
+        Map<String, TaskPollingStrategy> byType = Map.copyOf(strategies);
+        return new TaskPollingStrategy() {
+            @Override
+            public Duration nextDelay(PveTask task, int checks, Duration elapsed) {
+                return select(task).nextDelay(task, checks, elapsed);
+            }
+
+            @Override
+            public void onTaskCompleted(PveTask task, Duration duration) {
+                select(task).onTaskCompleted(task, duration);
+            }
+
+            private TaskPollingStrategy select(PveTask task) {
+                return task.getType() != null ? byType.getOrDefault(task.getType(), fallback) : fallback;
+            }
+        };
+    }
+
+    /**
+     * Learns the usual duration of each task type and polls around it.
+     *
+     * @return a new learned strategy with default bounds
+     * @see LearnedTaskPollingStrategy
+     */
+    static LearnedTaskPollingStrategy learned() {
+        return new LearnedTaskPollingStrategy();
+    }
+}
@@ -1,5 +1,7 @@
 package fr.freshperf.pve4j.throwable;
 
+import java.time.Duration;
+
 /**
  * Exception thrown when a Proxmox API request fails.
  * Contains HTTP status code, response body, and URL for debugging.
@@ -9,6 +11,7 @@ public class ProxmoxAPIError extends Exception {
     private final int statusCode;
     private final String responseBody;
     private final String url;
+    private final Duration retryAfter;
 
     /**
      * Creates an error from another throwable.
@@ -20,6 +23,7 @@ public class ProxmoxAPIError extends Exception {
         this.statusCode = -1;
         this.responseBody = null;
         this.url = null;
+        this.retryAfter = null;
     }
 
     /**
@@ -32,6 +36,7 @@ public class ProxmoxAPIError extends Exception {
         this.statusCode = -1;
         this.responseBody = null;
         this.url = null;
+        this.retryAfter = null;
     }
 
     /**
@@ -45,6 +50,7 @@ public class ProxmoxAPIError extends Exception {
         this.statusCode = -1;
         this.responseBody = null;
         this.url = null;
+        this.retryAfter = null;
     }
 
     /**
@@ -56,10 +62,24 @@ public class ProxmoxAPIError extends Exception {
      * @param url          the request URL
      */
     public ProxmoxAPIError(String message, int statusCode, String responseBody, String url) {
+        this(message, statusCode, responseBody, url, (Duration) null);
+    }
+
+    /**
+     * Creates an error with full HTTP response details and the delay asked by the server.
+     *
+     * @param message      the error message
+     * @param statusCode   the HTTP status code
+     * @param responseBody the response body
+     * @param url          the request URL
+     * @param retryAfter   the delay from the {@code Retry-After} header, or null
+     */
+    public ProxmoxAPIError(String message, int statusCode, String responseBody, String url, Duration retryAfter) {
         super(message);
         this.statusCode = statusCode;
         this.responseBody = responseBody;
         this.url = url;
+        this.retryAfter = retryAfter;
     }
 
     /**
@@ -76,6 +96,7 @@ public class ProxmoxAPIError extends Exception {
         this.statusCode = statusCode;
         this.responseBody = responseBody;
         this.url = url;
+        this.retryAfter = null;
     }
 
     /**
@@ -105,6 +126,16 @@ public class ProxmoxAPIError extends Exception {
         return url;
     }
 
+    /**
+     * Returns how long the server asked to wait before retrying, from the
+     * {@code Retry-After} header of a 429 or 503 response (may be null).
+     *
+     * @return the requested delay
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
     @Override
     public String getMessage() {
         if (statusCode > 0) {
@@ -0,0 +1,35 @@
+package fr.freshperf.pve4j.throwable;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown without sending a request because the circuit of its endpoint and path
+ * family is open after repeated failures.
+ *
+ * <p>{@link #getRetryAfter()} tells how long the circuit stays open before a probe request is
+ * let through.</p>
+ */
+public class ProxmoxCircuitOpenError extends ProxmoxAPIError {
+
+    private final String circuit;
+
+    /**
+     * Creates an error for an open circuit.
+     *
+     * @param circuit    the circuit name, e.g. "https://pve1:8006/api2/json/ nodes/pve2"
+     * @param retryAfter the time left before the circuit lets a probe through
+     */
+    public ProxmoxCircuitOpenError(String circuit, Duration retryAfter) {
+        super("Circuit open for " + circuit, -1, null, null, retryAfter);
+        this.circuit = circuit;
+    }
+
+    /**
+     * Returns the name of the open circuit.
+     *
+     * @return the circuit name
+     */
+    public String getCircuit() {
+        return circuit;
+    }
+}
@@ -0,0 +1,17 @@
+package fr.freshperf.pve4j.throwable;
+
+/**
+ * Exception thrown when the deadline of a request passed before it could complete, e.g. before
+ * an attempt could be sent or while waiting for its task.
+ */
+public class ProxmoxDeadlineExceededError extends ProxmoxAPIError {
+
+    /**
+     * Creates an error for an exceeded deadline.
+     *
+     * @param message the error message
+     */
+    public ProxmoxDeadlineExceededError(String message) {
+        super(message);
+    }
+}
@@ -6,6 +6,7 @@ import fr.freshperf.pve4j.request.ProxmoxHttpClient;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  * Utility class for building Proxmox API URLs.
@@ -82,6 +83,21 @@ public class ProxmoxApiBaseUrlBuilder {
         return baseUrl.toString();
     }
 
+    /**
+     * Builds the base API URLs of several cluster nodes.
+     *
+     * @param hosts the Proxmox host addresses
+     * @param port  the API port (use 0 to auto-detect from scheme)
+     * @return the base API URLs, in the order of the hosts
+     * @throws IllegalArgumentException if no host is given or a host is null or blank
+     */
+    public static List<String> buildApiBaseUrls(List<String> hosts, int port) {
+        if (hosts == null || hosts.isEmpty()) {
+            throw new IllegalArgumentException("At least one host is required");
+        }
+        return hosts.stream().map(host -> buildApiBaseUrl(host, port)).toList();
+    }
+
     /**
      * Builds a WebSocket URL for VNC connections.
      *
@@ -0,0 +1,175 @@
+package fr.freshperf.pve4j.util;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * API path pattern such as {@code /nodes/{node}/qemu/{vmid}/config}.
+ *
+ * <p>A {@code {name}} placeholder matches exactly one path segment and a trailing {@code **}
+ * matches any remaining segments. Leading and trailing slashes are ignored, so
+ * {@code /version} and {@code version} are the same path.</p>
+ */
+public final class ProxmoxPathTemplate {
+
+    // Collections of the Proxmox API whose next segment is an identifier, and its parameter name
+    private static final Map<String, String> PARAMETERS = Map.ofEntries(
+            Map.entry("nodes", "node"),
+            Map.entry("qemu", "vmid"),
+            Map.entry("lxc", "vmid"),
+            Map.entry("tasks", "upid"),
+            Map.entry("storage", "storage"),
+            Map.entry("content", "volume"),
+            Map.entry("snapshot", "snapname"),
+            Map.entry("services", "service"),
+            Map.entry("network", "iface"),
+            Map.entry("pools", "poolid"),
+            Map.entry("users", "userid"),
+            Map.entry("token", "tokenid"),
+            Map.entry("groups", "group"),
+            Map.entry("roles", "roleid"),
+            Map.entry("domains", "realm"),
+            Map.entry("resources", "sid"),
+            Map.entry("zones", "zone"),
+            Map.entry("vnets", "vnet"));
+
+    private final String template;
+    private final Pattern pattern;
+
+    private ProxmoxPathTemplate(String template, Pattern pattern) {
+        this.template = template;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Compiles a path template.
+     *
+     * @param template the template, e.g. "/nodes/{node}/qemu/{vmid}/config"
+     * @return the compiled template
+     * @throws IllegalArgumentException if the template is null or empty
+     */
+    public static ProxmoxPathTemplate compile(String template) {
+        String normalized = normalize(template);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Path template can't be null or empty.");
+        }
+        StringBuilder regex = new StringBuilder();
+        String[] segments = normalized.split("/");
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (i > 0) {
+                regex.append('/');
+            }
+            if (segment.equals("**") && i == segments.length - 1) {
+                if (i > 0) {
+                    // Also match the parent path itself
+                    regex.setLength(regex.length() - 1);
+                    regex.append("(/.*)?");
+                } else {
+                    regex.append(".*");
+                }
+            } else if (segment.startsWith("{") && segment.endsWith("}")) {
+                regex.append("[^/]+");
+            } else {
+                regex.append(Pattern.quote(segment));
+            }
+        }
+        return new ProxmoxPathTemplate(normalized, Pattern.compile(regex.toString()));
+    }
+
+    /**
+     * Checks whether a path matches this template.
+     *
+     * @param path the API path, with or without leading slash
+     * @return true if the path matches
+     */
+    public boolean matches(String path) {
+        return pattern.matcher(normalize(path)).matches();
+    }
+
+    /** @return the normalized template */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Returns the node an API path is scoped to.
+     *
+     * @param path the API path, e.g. "nodes/pve1/qemu/100/config"
+     * @return the node name, or null if the path is not under {@code nodes/{node}}
+     */
+    public static String nodeOf(String path) {
+        String normalized = normalize(path);
+        if (!normalized.startsWith("nodes/")) {
+            return null;
+        }
+        int end = normalized.indexOf('/', 6);
+        return end < 0 ? normalized.substring(6) : normalized.substring(6, end);
+    }
+
+    /**
+     * Returns the template of a concrete API path, replacing identifiers with named placeholders,
+     * so that requests on different nodes or guests share a template.
+     *
+     * <p>The segment after a known collection gets its parameter name, e.g.
+     * {@code nodes/pve1/qemu/100/status/current} becomes
+     * {@code nodes/{node}/qemu/{vmid}/status/current}. Other numeric segments become {@code {id}}
+     * and task identifiers {@code {upid}}.</p>
+     *
+     * @param path the API path
+     * @return the normalized template
+     */
+    public static String templateOf(String path) {
+        String normalized = normalize(path);
+        String[] segments = normalized.split("/");
+        StringBuilder template = new StringBuilder(normalized.length() + 16);
+        String collection = null;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (i > 0) {
+                template.append('/');
+            }
+            String parameter = collection != null ? PARAMETERS.get(collection) : null;
+            if (parameter != null) {
+                template.append('{').append(parameter).append('}');
+                collection = null;
+            } else if (segment.startsWith("UPID:")) {
+                template.append("{upid}");
+                collection = null;
+            } else if (!segment.isEmpty() && segment.chars().allMatch(Character::isDigit)) {
+                template.append("{id}");
+                collection = null;
+            } else {
+                template.append(segment);
+                collection = segment;
+            }
+        }
+        return template.toString();
+    }
+
+    /**
+     * Removes leading and trailing slashes from an API path.
+     *
+     * @param path the API path
+     * @return the normalized path, empty for null
+     */
+    public static String normalize(String path) {
+        if (path == null) {
+            return "";
+        }
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
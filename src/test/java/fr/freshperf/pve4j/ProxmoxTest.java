@@ -61,6 +61,15 @@ class ProxmoxTest {
         assertThat(nodes).isNotNull();
     }
 
+    @Test
+    @DisplayName("Should return an empty cluster inventory")
+    void shouldReturnEmptyClusterInventory() {
+        assertThat(proxmox.getInventory()).isNotNull();
+        assertThat(proxmox.getInventory().getSnapshot().isEmpty()).isTrue();
+        assertThat(proxmox.getInventory().isRunning()).isFalse();
+        assertThat(proxmox.getNodes().inventory()).isSameAs(proxmox.getInventory());
+    }
+
     @Test
     @DisplayName("Should return valid PveAccess instance")
     void shouldReturnValidPveAccess() {
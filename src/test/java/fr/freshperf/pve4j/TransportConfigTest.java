@@ -0,0 +1,100 @@
+package fr.freshperf.pve4j;
+
+import fr.freshperf.pve4j.request.ProxmoxHttpClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TransportConfig Tests")
+class TransportConfigTest {
+
+    @Test
+    @DisplayName("Should default to HTTP/1.1 with a connect timeout only")
+    void shouldDefaultToHttp11() {
+        TransportConfig config = TransportConfig.defaults();
+
+        assertThat(config.getVersion()).isEqualTo(HttpClient.Version.HTTP_1_1);
+        assertThat(config.getConnectTimeout()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(config.getRequestTimeout()).isNull();
+        assertThat(config.getExecutor()).isNull();
+        assertThat(config.getKeepAlive()).isNull();
+        assertThat(config.getMaxIdleConnections()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the configured settings")
+    void shouldKeepConfiguredSettings() {
+        Executor executor = Runnable::run;
+
+        TransportConfig config = TransportConfig.builder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(3))
+                .requestTimeout(Duration.ofSeconds(30))
+                .executor(executor)
+                .keepAlive(Duration.ofMinutes(2))
+                .maxIdleConnections(16)
+                .build();
+
+        assertThat(config.getVersion()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(config.getConnectTimeout()).isEqualTo(Duration.ofSeconds(3));
+        assertThat(config.getRequestTimeout()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(config.getExecutor()).isSameAs(executor);
+        assertThat(config.getKeepAlive()).isEqualTo(Duration.ofMinutes(2));
+        assertThat(config.getMaxIdleConnections()).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> TransportConfig.builder().connectTimeout(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TransportConfig.builder().requestTimeout(Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TransportConfig.builder().keepAlive(Duration.ofMillis(500)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TransportConfig.builder().maxIdleConnections(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TransportConfig.builder().version(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should leave connection properties alone when creating a client")
+    void shouldNotApplyConnectionSettingsImplicitly() {
+        String previous = System.getProperty(TransportConfig.POOL_SIZE_PROPERTY);
+        System.clearProperty(TransportConfig.POOL_SIZE_PROPERTY);
+        try {
+            new ProxmoxHttpClient("https://pve.local:8006/api2/json/", "token", SecurityConfig.secure(),
+                    TransportConfig.builder().maxIdleConnections(4).build());
+
+            assertThat(System.getProperty(TransportConfig.POOL_SIZE_PROPERTY)).isNull();
+        } finally {
+            if (previous != null) {
+                System.setProperty(TransportConfig.POOL_SIZE_PROPERTY, previous);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should not override connection properties set on the command line")
+    void shouldNotOverrideExistingProperties() {
+        String previous = System.getProperty(TransportConfig.KEEP_ALIVE_PROPERTY);
+        System.setProperty(TransportConfig.KEEP_ALIVE_PROPERTY, "42");
+        try {
+            TransportConfig.builder().keepAlive(Duration.ofMinutes(5)).build().applyConnectionSettings();
+
+            assertThat(System.getProperty(TransportConfig.KEEP_ALIVE_PROPERTY)).isEqualTo("42");
+        } finally {
+            if (previous == null) {
+                System.clearProperty(TransportConfig.KEEP_ALIVE_PROPERTY);
+            } else {
+                System.setProperty(TransportConfig.KEEP_ALIVE_PROPERTY, previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package fr.freshperf.pve4j.entities;
+
+import com.google.gson.Gson;
+import fr.freshperf.pve4j.Proxmox;
+import fr.freshperf.pve4j.request.ProxmoxTransport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PveTaskLog Tests")
+class PveTaskLogTest {
+
+    private static final PveTask TASK = new PveTask("UPID:pve:00001234:00005678:65A1B2C3:vzdump:100:root@pam:");
+
+    @Test
+    @DisplayName("Should decode a log line")
+    void shouldDecodeALogLine() {
+        PveTaskLogLine line = new Gson().fromJson("{\"n\":12,\"t\":\"INFO: backup started\"}", PveTaskLogLine.class);
+
+        assertThat(line.getLineNumber()).isEqualTo(12);
+        assertThat(line.getText()).isEqualTo("INFO: backup started");
+        assertThat(line.toString()).contains("PveTaskLogLine");
+    }
+
+    @Test
+    @DisplayName("Should start reading at the first line")
+    void shouldStartReadingAtTheFirstLine() {
+        PveTaskLog log = new PveTaskLog(null, TASK);
+
+        assertThat(log.getNextLine()).isZero();
+        assertThat(log.getTask()).isSameAs(TASK);
+    }
+
+    @Test
+    @DisplayName("Should reject a task without UPID")
+    void shouldRejectATaskWithoutUpid() {
+        assertThatThrownBy(() -> new PveTaskLog(null, new PveTask()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should only fetch new lines and page through them")
+    void shouldFetchNewLinesAcrossPages() throws Exception {
+        TaskNode node = new TaskNode();
+        node.append("INFO: starting new backup job", "INFO: Starting Backup of VM 100", "INFO: status = running",
+                "INFO: creating archive");
+        PveTaskLog log = new PveTaskLog(node.proxmox(), TASK, 2);
+
+        List<PveTaskLogLine> first = log.poll().get(5, TimeUnit.SECONDS);
+
+        assertThat(first).extracting(PveTaskLogLine::getLineNumber).containsExactly(1, 2, 3, 4);
+        assertThat(log.getNextLine()).isEqualTo(4);
+        assertThat(node.logStarts).containsExactly(0, 2, 4);
+
+        node.append("INFO: transferred 2.00 GiB");
+        node.logStarts.clear();
+        List<PveTaskLogLine> second = log.poll().get(5, TimeUnit.SECONDS);
+
+        assertThat(second).extracting(PveTaskLogLine::getText).containsExactly("INFO: transferred 2.00 GiB");
+        assertThat(log.getNextLine()).isEqualTo(5);
+        assertThat(node.logStarts).containsExactly(4);
+
+        assertThat(log.poll().get(5, TimeUnit.SECONDS)).isEmpty();
+        assertThat(log.getNextLine()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should follow the log until the task ends, including its last lines")
+    void shouldFollowUntilTheTaskEnds() throws Exception {
+        TaskNode node = new TaskNode();
+        node.append("INFO: starting new backup job");
+        PveTaskLog log = new PveTaskLog(node.proxmox(), TASK, 2);
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<PveTaskStatus> following = log.follow(line -> received.add(line.getText()),
+                Duration.ofMillis(20));
+        Thread.sleep(100);
+        node.append("INFO: Starting Backup of VM 100", "INFO: creating archive");
+        Thread.sleep(100);
+        node.finish("INFO: Finished Backup of VM 100", "INFO: Backup job finished successfully", "TASK OK");
+
+        PveTaskStatus status = following.get(5, TimeUnit.SECONDS);
+
+        assertThat(status.isSuccessful()).isTrue();
+        assertThat(received).containsExactly("INFO: starting new backup job", "INFO: Starting Backup of VM 100",
+                "INFO: creating archive", "INFO: Finished Backup of VM 100", "INFO: Backup job finished successfully",
+                "TASK OK");
+        int requests = node.logStarts.size();
+        Thread.sleep(100);
+        assertThat(node.logStarts).hasSize(requests);
+    }
+
+    /**
+     * A node serving the log and status of {@link #TASK}.
+     */
+    private static final class TaskNode implements ProxmoxTransport {
+        final List<String> lines = new CopyOnWriteArrayList<>();
+        final List<Integer> logStarts = new CopyOnWriteArrayList<>();
+        volatile boolean finished;
+
+        Proxmox proxmox() {
+            Proxmox proxmox = Proxmox.create("pve.example.com", 8006, "user@pam!test=secret");
+            proxmox.getHttpClient().setTransport(this);
+            return proxmox;
+        }
+
+        void append(String... text) {
+            lines.addAll(List.of(text));
+        }
+
+        synchronized void finish(String... text) {
+            append(text);
+            finished = true;
+        }
+
+        @Override
+        public synchronized Response send(Request request) {
+            String path = request.uri().getPath();
+            if (path.endsWith("/log")) {
+                Map<String, Integer> query = query(request.uri().getRawQuery());
+                int start = query.get("start");
+                logStarts.add(start);
+                int end = Math.min(lines.size(), start + query.get("limit"));
+                StringBuilder body = new StringBuilder();
+                for (int i = start; i < end; i++) {
+                    body.append(body.isEmpty() ? "" : ",")
+                            .append("{\"n\":").append(i + 1).append(",\"t\":\"").append(lines.get(i)).append("\"}");
+                }
+                if (body.isEmpty()) {
+                    body.append("{\"n\":").append(start).append(",\"t\":\"no content\"}");
+                }
+                return json("[" + body + "]");
+            }
+            if (path.endsWith("/status")) {
+                return json(finished
+                        ? "{\"status\":\"stopped\",\"exitstatus\":\"OK\"}"
+                        : "{\"status\":\"running\"}");
+            }
+            // Active task list: leave the check to the status call
+            return json("[]");
+        }
+
+        @Override
+        public CompletableFuture<Response> sendAsync(Request request) {
+            return CompletableFuture.completedFuture(send(request));
+        }
+
+        private static Map<String, Integer> query(String query) {
+            Map<String, Integer> params = new HashMap<>();
+            for (String param : query.split("&")) {
+                String[] pair = param.split("=", 2);
+                params.put(pair[0], Integer.parseInt(pair[1]));
+            }
+            return params;
+        }
+
+        private static Response json(String data) {
+            return Response.ofBytes(200, Map.of(), ("{\"data\":" + data + "}").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
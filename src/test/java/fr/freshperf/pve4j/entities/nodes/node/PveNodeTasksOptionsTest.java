@@ -0,0 +1,37 @@
+package fr.freshperf.pve4j.entities.nodes.node;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PveNodeTasksOptions Tests")
+class PveNodeTasksOptionsTest {
+
+    @Test
+    @DisplayName("Should produce no params when nothing is set")
+    void shouldProduceNoParamsWhenNothingIsSet() {
+        assertThat(PveNodeTasksOptions.builder().build().toParams()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should convert filters to API params")
+    void shouldConvertFiltersToApiParams() {
+        Map<String, Object> params = PveNodeTasksOptions.builder()
+                .source("active")
+                .limit(500)
+                .vmid(100)
+                .errors(true)
+                .build()
+                .toParams();
+
+        assertThat(params)
+                .containsEntry("source", "active")
+                .containsEntry("limit", "500")
+                .containsEntry("vmid", "100")
+                .containsEntry("errors", "1")
+                .hasSize(4);
+    }
+}
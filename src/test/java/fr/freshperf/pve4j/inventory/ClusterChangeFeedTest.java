@@ -0,0 +1,98 @@
+package fr.freshperf.pve4j.inventory;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import fr.freshperf.pve4j.entities.cluster.resources.PveClusterResources;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ClusterChangeFeed Tests")
+class ClusterChangeFeedTest {
+
+    private static ClusterInventorySnapshot snapshot(String json) {
+        List<PveClusterResources> resources = new Gson().fromJson(json, new TypeToken<List<PveClusterResources>>(){}.getType());
+        return new ClusterInventorySnapshot(resources, Instant.now());
+    }
+
+    @Test
+    @DisplayName("Should not emit events for the baseline snapshot")
+    void shouldNotEmitEventsForTheBaselineSnapshot() {
+        ClusterChangeFeed feed = new ClusterChangeFeed();
+        List<ClusterChangeEvent> events = new ArrayList<>();
+        feed.addListener(events::add);
+
+        feed.accept(snapshot("[{\"id\":\"qemu/100\",\"vmid\":100,\"node\":\"pve1\",\"status\":\"stopped\"}]"));
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should emit typed events for differences only")
+    void shouldEmitTypedEventsForDifferencesOnly() {
+        ClusterChangeFeed feed = new ClusterChangeFeed();
+        List<ClusterChangeEvent> events = new ArrayList<>();
+        feed.addListener(events::add);
+
+        feed.accept(snapshot("["
+                + "{\"id\":\"qemu/100\",\"vmid\":100,\"node\":\"pve1\",\"status\":\"stopped\"},"
+                + "{\"id\":\"qemu/101\",\"vmid\":101,\"node\":\"pve1\",\"status\":\"running\"},"
+                + "{\"id\":\"qemu/102\",\"vmid\":102,\"node\":\"pve1\",\"status\":\"running\"}]"));
+        feed.accept(snapshot("["
+                + "{\"id\":\"qemu/100\",\"vmid\":100,\"node\":\"pve2\",\"status\":\"running\",\"lock\":\"migrate\",\"pool\":\"prod\"},"
+                + "{\"id\":\"qemu/101\",\"vmid\":101,\"node\":\"pve1\",\"status\":\"running\"},"
+                + "{\"id\":\"lxc/200\",\"vmid\":200,\"node\":\"pve1\",\"status\":\"running\"}]"));
+
+        assertThat(events).extracting(ClusterChangeEvent::type, ClusterChangeEvent::id).containsExactly(
+                tuple(ClusterChangeEvent.Type.STATUS_CHANGED, "qemu/100"),
+                tuple(ClusterChangeEvent.Type.NODE_CHANGED, "qemu/100"),
+                tuple(ClusterChangeEvent.Type.LOCK_CHANGED, "qemu/100"),
+                tuple(ClusterChangeEvent.Type.POOL_CHANGED, "qemu/100"),
+                tuple(ClusterChangeEvent.Type.ADDED, "lxc/200"),
+                tuple(ClusterChangeEvent.Type.REMOVED, "qemu/102"));
+        assertThat(events.get(1).previous().getNode()).isEqualTo("pve1");
+        assertThat(events.get(1).current().getNode()).isEqualTo("pve2");
+    }
+
+    @Test
+    @DisplayName("Should only notify listeners of the requested types")
+    void shouldOnlyNotifyListenersOfTheRequestedTypes() {
+        ClusterInventory inventory = new ClusterInventory(null);
+        ClusterChangeFeed feed = new ClusterChangeFeed();
+        List<ClusterChangeEvent> events = new ArrayList<>();
+        feed.addListener(events::add, ClusterChangeEvent.Type.REMOVED);
+        feed.attach(inventory);
+
+        inventory.update(new Gson().fromJson("[{\"id\":\"qemu/100\",\"status\":\"stopped\"}]",
+                new TypeToken<List<PveClusterResources>>(){}.getType()));
+        inventory.update(new Gson().fromJson("[{\"id\":\"qemu/101\",\"status\":\"stopped\"}]",
+                new TypeToken<List<PveClusterResources>>(){}.getType()));
+
+        assertThat(events).extracting(ClusterChangeEvent::type).containsExactly(ClusterChangeEvent.Type.REMOVED);
+    }
+
+    @Test
+    @DisplayName("Should pass listener exceptions to the error handler and notify the other listeners")
+    void shouldReportListenerExceptions() {
+        ClusterChangeFeed feed = new ClusterChangeFeed();
+        List<Throwable> errors = new ArrayList<>();
+        List<ClusterChangeEvent> events = new ArrayList<>();
+        feed.setErrorHandler(errors::add);
+        feed.addListener(event -> {
+            throw new IllegalStateException("listener failed");
+        });
+        feed.addListener(events::add);
+
+        feed.accept(snapshot("[{\"id\":\"qemu/100\",\"status\":\"stopped\"}]"));
+        feed.accept(snapshot("[{\"id\":\"qemu/100\",\"status\":\"running\"}]"));
+
+        assertThat(events).extracting(ClusterChangeEvent::type).containsExactly(ClusterChangeEvent.Type.STATUS_CHANGED);
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0)).hasMessage("listener failed");
+    }
+}
@@ -0,0 +1,76 @@
+package fr.freshperf.pve4j.inventory;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import fr.freshperf.pve4j.entities.cluster.resources.PveClusterResources;
+import fr.freshperf.pve4j.entities.nodes.PveNodes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ClusterInventorySnapshot Tests")
+class ClusterInventorySnapshotTest {
+
+    private static final String RESOURCES = "["
+            + "{\"id\":\"node/pve1\",\"type\":\"node\",\"node\":\"pve1\",\"status\":\"online\"},"
+            + "{\"id\":\"qemu/100\",\"type\":\"qemu\",\"vmid\":100,\"node\":\"pve1\",\"pool\":\"prod\",\"tags\":\"web;eu\"},"
+            + "{\"id\":\"lxc/200\",\"type\":\"lxc\",\"vmid\":200,\"node\":\"pve2\",\"tags\":\"web\"},"
+            + "{\"id\":\"storage/pve1/local\",\"type\":\"storage\",\"node\":\"pve1\",\"storage\":\"local\"},"
+            + "{\"id\":\"storage/pve2/local\",\"type\":\"storage\",\"node\":\"pve2\",\"storage\":\"local\"}"
+            + "]";
+
+    private List<PveClusterResources> resources;
+
+    @BeforeEach
+    void setUp() {
+        resources = new Gson().fromJson(RESOURCES, new TypeToken<List<PveClusterResources>>(){}.getType());
+    }
+
+    @Test
+    @DisplayName("Should index resources by vmid, node, pool, type, storage and tag")
+    void shouldIndexResources() {
+        ClusterInventorySnapshot snapshot = new ClusterInventorySnapshot(resources, Instant.now());
+
+        assertThat(snapshot.getByVmid(100).getId()).isEqualTo("qemu/100");
+        assertThat(snapshot.getNodeOf(200)).isEqualTo("pve2");
+        assertThat(snapshot.getById("node/pve1").getStatus()).isEqualTo("online");
+        assertThat(snapshot.getByNode("pve1")).hasSize(3);
+        assertThat(snapshot.getByPool("prod")).extracting(PveClusterResources::getVmid).containsExactly(100);
+        assertThat(snapshot.getByType("storage")).hasSize(2);
+        assertThat(snapshot.getByStorage("local")).hasSize(2);
+        assertThat(snapshot.getByTag("web")).extracting(PveClusterResources::getVmid).containsExactly(100, 200);
+        assertThat(snapshot.getByTag("eu")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should return empty results for unknown keys")
+    void shouldReturnEmptyResultsForUnknownKeys() {
+        ClusterInventorySnapshot snapshot = ClusterInventorySnapshot.empty();
+
+        assertThat(snapshot.isEmpty()).isTrue();
+        assertThat(snapshot.getByVmid(100)).isNull();
+        assertThat(snapshot.getNodeOf(100)).isNull();
+        assertThat(snapshot.getByNode("pve1")).isEmpty();
+        assertThat(snapshot.getByTag("web")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should resolve a guest's node through PveNodes")
+    void shouldResolveAGuestsNodeThroughPveNodes() {
+        ClusterInventory inventory = new ClusterInventory(null);
+        PveNodes nodes = new PveNodes(null, inventory);
+
+        assertThatThrownBy(() -> nodes.getQemuVm(100)).isInstanceOf(IllegalStateException.class);
+
+        inventory.update(resources);
+
+        assertThat(nodes.findNodeOf(100)).isEqualTo("pve1");
+        assertThat(nodes.getQemuVm(100)).isNotNull();
+        assertThat(nodes.getLxcContainer(200)).isNotNull();
+    }
+}
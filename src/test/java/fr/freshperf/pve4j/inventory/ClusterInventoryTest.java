@@ -0,0 +1,109 @@
+package fr.freshperf.pve4j.inventory;
+
+import fr.freshperf.pve4j.Proxmox;
+import fr.freshperf.pve4j.request.ProxmoxTransport;
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ClusterInventory Tests")
+class ClusterInventoryTest {
+
+    private static final String ONE_GUEST = "{\"data\":[{\"id\":\"qemu/100\",\"type\":\"qemu\",\"vmid\":100,\"node\":\"pve1\"}]}";
+    private static final String TWO_GUESTS = "{\"data\":["
+            + "{\"id\":\"qemu/100\",\"type\":\"qemu\",\"vmid\":100,\"node\":\"pve2\"},"
+            + "{\"id\":\"qemu/101\",\"type\":\"qemu\",\"vmid\":101,\"node\":\"pve1\"}]}";
+
+    @Test
+    @DisplayName("Should not let an older refresh overwrite a newer snapshot")
+    void shouldDropOutOfOrderRefreshes() throws Exception {
+        QueuedTransport transport = new QueuedTransport();
+        ClusterInventory inventory = inventory(transport);
+        List<ClusterInventorySnapshot> published = new CopyOnWriteArrayList<>();
+        inventory.addListener(published::add);
+
+        CompletableFuture<ProxmoxTransport.Response> slow = new CompletableFuture<>();
+        transport.responses.add(slow);
+        transport.responses.add(CompletableFuture.completedFuture(json(200, TWO_GUESTS)));
+        CompletableFuture<ClusterInventorySnapshot> older = inventory.refresh();
+        ClusterInventorySnapshot newer = inventory.refresh().get(5, TimeUnit.SECONDS);
+        slow.complete(json(200, ONE_GUEST));
+
+        assertThat(older.get(5, TimeUnit.SECONDS)).isSameAs(newer);
+        assertThat(inventory.getSnapshot()).isSameAs(newer);
+        assertThat(inventory.getSnapshot().getNodeOf(100)).isEqualTo("pve2");
+        assertThat(published).containsExactly(newer);
+    }
+
+    @Test
+    @DisplayName("Should pass refresh and listener errors to the error handler")
+    void shouldReportErrorsToTheHandler() throws Exception {
+        QueuedTransport transport = new QueuedTransport();
+        ClusterInventory inventory = inventory(transport);
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        inventory.setErrorHandler(errors::add);
+        List<ClusterInventorySnapshot> published = new CopyOnWriteArrayList<>();
+        inventory.addListener(snapshot -> {
+            throw new IllegalStateException("listener failed");
+        });
+        inventory.addListener(published::add);
+
+        transport.responses.add(CompletableFuture.completedFuture(json(403, "{\"data\":null}")));
+        transport.responses.add(CompletableFuture.completedFuture(json(200, ONE_GUEST)));
+        inventory.start(Duration.ofMillis(50));
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (published.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            inventory.stop();
+        }
+
+        assertThat(published).hasSize(1);
+        assertThat(errors).hasSize(2);
+        assertThat(errors.get(0)).isInstanceOfSatisfying(ProxmoxAPIError.class,
+                error -> assertThat(error.getStatusCode()).isEqualTo(403));
+        assertThat(errors.get(1)).isInstanceOf(IllegalStateException.class).hasMessage("listener failed");
+    }
+
+    private static ClusterInventory inventory(ProxmoxTransport transport) {
+        Proxmox proxmox = Proxmox.create("pve.example.com", 8006, "user@pam!test=secret");
+        proxmox.getHttpClient().setTransport(transport);
+        return new ClusterInventory(proxmox.getCluster());
+    }
+
+    private static ProxmoxTransport.Response json(int statusCode, String body) {
+        return ProxmoxTransport.Response.ofBytes(statusCode, Map.of(), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Answers requests with queued responses, in order.
+     */
+    private static final class QueuedTransport implements ProxmoxTransport {
+        final Queue<CompletableFuture<Response>> responses = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public Response send(Request request) {
+            return sendAsync(request).join();
+        }
+
+        @Override
+        public CompletableFuture<Response> sendAsync(Request request) {
+            CompletableFuture<Response> response = responses.poll();
+            return response != null ? response : CompletableFuture.completedFuture(json(200, "{\"data\":[]}"));
+        }
+    }
+}
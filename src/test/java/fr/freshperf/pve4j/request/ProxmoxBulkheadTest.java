@@ -0,0 +1,136 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.throwable.ProxmoxDeadlineExceededError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxBulkhead Tests")
+class ProxmoxBulkheadTest {
+
+    @Test
+    @DisplayName("Should queue requests over the global limit in arrival order")
+    void shouldQueueOverGlobalLimitInOrder() {
+        ProxmoxBulkhead bulkhead = ProxmoxBulkhead.builder().maxInFlight(1).build();
+
+        CompletableFuture<ProxmoxBulkhead.Permit> first = bulkhead.acquireAsync("GET", "version");
+        CompletableFuture<ProxmoxBulkhead.Permit> second = bulkhead.acquireAsync("GET", "cluster/resources");
+        CompletableFuture<ProxmoxBulkhead.Permit> third = bulkhead.acquireAsync("GET", "version");
+
+        assertThat(first).isCompleted();
+        assertThat(second).isNotDone();
+        assertThat(bulkhead.getQueueDepth()).isEqualTo(2);
+        assertThat(bulkhead.getInFlight()).isEqualTo(1);
+
+        first.join().release();
+
+        assertThat(second).isCompleted();
+        assertThat(third).isNotDone();
+    }
+
+    @Test
+    @DisplayName("Should limit each node without holding up other nodes")
+    void shouldLimitEachNode() {
+        ProxmoxBulkhead bulkhead = ProxmoxBulkhead.builder().maxInFlightPerNode(1).build();
+
+        CompletableFuture<ProxmoxBulkhead.Permit> first = bulkhead.acquireAsync("GET", "nodes/pve1/status");
+        CompletableFuture<ProxmoxBulkhead.Permit> second = bulkhead.acquireAsync("GET", "nodes/pve1/qemu");
+        CompletableFuture<ProxmoxBulkhead.Permit> other = bulkhead.acquireAsync("GET", "nodes/pve2/status");
+
+        assertThat(first).isCompleted();
+        assertThat(second).isNotDone();
+        assertThat(other).isCompleted();
+        assertThat(bulkhead.getQueueDepth("pve1")).isEqualTo(1);
+        assertThat(bulkhead.getQueueDepth("pve2")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should limit mutating requests separately")
+    void shouldLimitMutationsSeparately() {
+        ProxmoxBulkhead bulkhead = ProxmoxBulkhead.builder().maxInFlightMutations(1).build();
+
+        CompletableFuture<ProxmoxBulkhead.Permit> post = bulkhead.acquireAsync("POST", "cluster/ha/resources");
+        CompletableFuture<ProxmoxBulkhead.Permit> delete = bulkhead.acquireAsync("DELETE", "pools/web");
+        CompletableFuture<ProxmoxBulkhead.Permit> get = bulkhead.acquireAsync("GET", "pools");
+
+        assertThat(post).isCompleted();
+        assertThat(delete).isNotDone();
+        assertThat(get).isCompleted();
+    }
+
+    @Test
+    @DisplayName("Should leave the queue when cancelled")
+    void shouldLeaveQueueWhenCancelled() {
+        ProxmoxBulkhead bulkhead = ProxmoxBulkhead.builder().maxInFlight(1).build();
+        CompletableFuture<ProxmoxBulkhead.Permit> first = bulkhead.acquireAsync("GET", "version");
+        CompletableFuture<ProxmoxBulkhead.Permit> cancelled = bulkhead.acquireAsync("GET", "version");
+        CompletableFuture<ProxmoxBulkhead.Permit> last = bulkhead.acquireAsync("GET", "version");
+
+        cancelled.cancel(false);
+        first.join().release();
+
+        assertThat(last).isCompleted();
+        assertThat(bulkhead.getQueueDepth()).isZero();
+        assertThat(bulkhead.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for admission at the deadline")
+    void shouldStopWaitingAtDeadline() throws Exception {
+        ProxmoxBulkhead bulkhead = ProxmoxBulkhead.builder().maxInFlight(1).build();
+        ProxmoxBulkhead.Permit held = bulkhead.acquire("GET", "version", null);
+
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofMillis(50).toNanos();
+        assertThatThrownBy(() -> bulkhead.acquire("GET", "version", deadline))
+                .isInstanceOf(ProxmoxDeadlineExceededError.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isBetween(Duration.ofMillis(50), Duration.ofSeconds(5));
+        assertThat(bulkhead.getQueueDepth()).isZero();
+        held.release();
+        assertThat(bulkhead.acquireAsync("GET", "version")).isCompleted();
+    }
+
+    @Test
+    @DisplayName("Should admit without queueing only when a permit is free")
+    void shouldTryAcquireWithoutQueueing() {
+        ProxmoxBulkhead bulkhead = ProxmoxBulkhead.builder().maxInFlightPerNode(1).build();
+
+        ProxmoxBulkhead.Permit first = bulkhead.tryAcquire("GET", "nodes/pve1/status");
+
+        assertThat(first).isNotNull();
+        assertThat(bulkhead.tryAcquire("GET", "nodes/pve1/status")).isNull();
+        assertThat(bulkhead.getQueueDepth()).isZero();
+        assertThat(bulkhead.getInFlight()).isEqualTo(1);
+        first.release();
+        assertThat(bulkhead.tryAcquire("GET", "nodes/pve1/status")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should release permits only once")
+    void shouldReleasePermitsOnlyOnce() {
+        ProxmoxBulkhead bulkhead = ProxmoxBulkhead.builder().maxInFlight(1).build();
+        ProxmoxBulkhead.Permit permit = bulkhead.acquireAsync("GET", "version").join();
+
+        permit.release();
+        permit.release();
+
+        assertThat(bulkhead.getInFlight()).isZero();
+        assertThat(bulkhead.acquireAsync("GET", "version")).isCompleted();
+        assertThat(bulkhead.acquireAsync("GET", "version")).isNotDone();
+        assertThat(bulkhead.getAdmittedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject limits below one")
+    void shouldRejectLimitsBelowOne() {
+        assertThatThrownBy(() -> ProxmoxBulkhead.builder().maxInFlight(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProxmoxBulkhead.builder().maxInFlightPerNode(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,127 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import fr.freshperf.pve4j.throwable.ProxmoxCircuitOpenError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static fr.freshperf.pve4j.request.ProxmoxCircuitBreaker.Circuit.CALL;
+import static fr.freshperf.pve4j.request.ProxmoxCircuitBreaker.Circuit.PROBE;
+import static fr.freshperf.pve4j.request.ProxmoxCircuitBreaker.Circuit.REJECTED;
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxCircuitBreaker Tests")
+class ProxmoxCircuitBreakerTest {
+
+    private static final String BASE_URL = "https://pve1:8006/api2/json/";
+    private static final ProxmoxEndpoint ENDPOINT = new ProxmoxEndpoint(BASE_URL);
+
+    private static ProxmoxCircuitBreaker breaker() {
+        return ProxmoxCircuitBreaker.builder()
+                .failureRateThreshold(0.5)
+                .minimumCalls(4)
+                .openDuration(Duration.ofMillis(50))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should open once the failure rate reaches the threshold")
+    void shouldOpenAtFailureRateThreshold() {
+        ProxmoxCircuitBreaker breaker = breaker();
+        ProxmoxCircuitBreaker.Circuit circuit = breaker.circuitFor(ENDPOINT, "nodes/pve2/status");
+
+        circuit.onSuccess(circuit.tryAcquire());
+        circuit.onSuccess(circuit.tryAcquire());
+        circuit.onFailure(circuit.tryAcquire());
+        assertThat(breaker.getState(BASE_URL, "nodes/pve2/status")).isEqualTo(ProxmoxCircuitBreaker.State.CLOSED);
+
+        circuit.onFailure(circuit.tryAcquire());
+
+        assertThat(breaker.getState(BASE_URL, "nodes/pve2/qemu")).isEqualTo(ProxmoxCircuitBreaker.State.OPEN);
+        assertThat(circuit.tryAcquire()).isEqualTo(REJECTED);
+        assertThat(breaker.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep one circuit per endpoint and path family")
+    void shouldKeepCircuitPerEndpointAndPathFamily() {
+        ProxmoxCircuitBreaker breaker = breaker();
+        ProxmoxCircuitBreaker.Circuit circuit = breaker.circuitFor(ENDPOINT, "nodes/pve2/status");
+        for (int i = 0; i < 4; i++) {
+            circuit.onFailure(circuit.tryAcquire());
+        }
+
+        assertThat(breaker.circuitFor(ENDPOINT, "/nodes/pve2/qemu/100/config")).isSameAs(circuit);
+        assertThat(breaker.circuitFor(ENDPOINT, "nodes/pve3/status").tryAcquire()).isEqualTo(CALL);
+        assertThat(breaker.circuitFor(ENDPOINT, "cluster/resources").tryAcquire()).isEqualTo(CALL);
+        assertThat(breaker.circuitFor(new ProxmoxEndpoint("https://pve2:8006/api2/json/"), "nodes/pve2/status")
+                .tryAcquire()).isEqualTo(CALL);
+    }
+
+    @Test
+    @DisplayName("Should close after a successful probe")
+    void shouldCloseAfterSuccessfulProbe() throws InterruptedException {
+        ProxmoxCircuitBreaker breaker = breaker();
+        ProxmoxCircuitBreaker.Circuit circuit = breaker.circuitFor(ENDPOINT, "version");
+        for (int i = 0; i < 4; i++) {
+            circuit.onFailure(circuit.tryAcquire());
+        }
+
+        Thread.sleep(60);
+        int probe = circuit.tryAcquire();
+
+        assertThat(probe).isEqualTo(PROBE);
+        assertThat(circuit.tryAcquire()).isEqualTo(REJECTED);
+        circuit.onSuccess(probe);
+        assertThat(breaker.getState(BASE_URL, "version")).isEqualTo(ProxmoxCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should open again when a probe fails")
+    void shouldReopenWhenProbeFails() throws InterruptedException {
+        ProxmoxCircuitBreaker breaker = breaker();
+        ProxmoxCircuitBreaker.Circuit circuit = breaker.circuitFor(ENDPOINT, "version");
+        for (int i = 0; i < 4; i++) {
+            circuit.onFailure(circuit.tryAcquire());
+        }
+
+        Thread.sleep(60);
+        circuit.onFailure(circuit.tryAcquire());
+
+        assertThat(breaker.getState(BASE_URL, "version")).isEqualTo(ProxmoxCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Should free the probe slot of an interrupted probe")
+    void shouldFreeProbeSlotOfIgnoredProbe() throws InterruptedException {
+        ProxmoxCircuitBreaker breaker = breaker();
+        ProxmoxCircuitBreaker.Circuit circuit = breaker.circuitFor(ENDPOINT, "version");
+        for (int i = 0; i < 4; i++) {
+            circuit.onFailure(circuit.tryAcquire());
+        }
+
+        Thread.sleep(60);
+        circuit.onIgnored(circuit.tryAcquire());
+
+        assertThat(circuit.tryAcquire()).isEqualTo(PROBE);
+    }
+
+    @Test
+    @DisplayName("Should report the open circuit and time left")
+    void shouldReportOpenCircuit() {
+        ProxmoxCircuitBreaker breaker = ProxmoxCircuitBreaker.builder()
+                .minimumCalls(1)
+                .openDuration(Duration.ofSeconds(30))
+                .build();
+        ProxmoxCircuitBreaker.Circuit circuit = breaker.circuitFor(ENDPOINT, "nodes/pve2/status");
+        circuit.onFailure(circuit.tryAcquire());
+
+        ProxmoxCircuitOpenError error = circuit.openError();
+
+        assertThat(error).isInstanceOf(ProxmoxAPIError.class);
+        assertThat(error.getCircuit()).isEqualTo(BASE_URL + " nodes/pve2");
+        assertThat(error.getRetryAfter()).isBetween(Duration.ofSeconds(29), Duration.ofSeconds(30));
+    }
+}
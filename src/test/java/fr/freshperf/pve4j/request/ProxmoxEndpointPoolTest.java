@@ -0,0 +1,95 @@
+package fr.freshperf.pve4j.request;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxEndpointPool Tests")
+class ProxmoxEndpointPoolTest {
+
+    private static final List<String> URLS = List.of(
+            "https://pve1:8006/api2/json/", "https://pve2:8006/api2/json/", "https://pve3:8006/api2/json/");
+
+    @Test
+    @DisplayName("Should visit every endpoint in round robin")
+    void shouldVisitEveryEndpointInRoundRobin() {
+        ProxmoxEndpointPool pool = ProxmoxEndpointPool.of(URLS, ProxmoxEndpointPool.Strategy.ROUND_ROBIN);
+
+        Set<ProxmoxEndpoint> picked = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            picked.add(pool.select(List.of()));
+        }
+
+        assertThat(picked).containsExactlyInAnyOrderElementsOf(pool.getEndpoints());
+    }
+
+    @Test
+    @DisplayName("Should pick the endpoint with the fewest requests in flight")
+    void shouldPickLeastOutstanding() {
+        ProxmoxEndpointPool pool = ProxmoxEndpointPool.of(URLS, ProxmoxEndpointPool.Strategy.LEAST_OUTSTANDING);
+        List<ProxmoxEndpoint> endpoints = pool.getEndpoints();
+        endpoints.get(0).begin();
+        endpoints.get(1).begin();
+        endpoints.get(1).begin();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(pool.select(List.of())).isSameAs(endpoints.get(2));
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip ejected and already tried endpoints")
+    void shouldSkipEjectedAndTriedEndpoints() {
+        ProxmoxEndpointPool pool = ProxmoxEndpointPool.of(URLS, ProxmoxEndpointPool.Strategy.ROUND_ROBIN);
+        List<ProxmoxEndpoint> endpoints = pool.getEndpoints();
+        endpoints.get(0).failed();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(pool.select(List.of(endpoints.get(1)))).isSameAs(endpoints.get(2));
+        }
+        assertThat(endpoints.get(0).isHealthy()).isFalse();
+        assertThat(endpoints.get(0).getConsecutiveFailures()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the endpoint coming back first when all are ejected")
+    void shouldFallBackToFirstBack() {
+        ProxmoxEndpointPool pool = ProxmoxEndpointPool.of(URLS, ProxmoxEndpointPool.Strategy.LEAST_OUTSTANDING);
+        List<ProxmoxEndpoint> endpoints = pool.getEndpoints();
+        endpoints.get(0).failed();
+        endpoints.get(0).failed();
+        endpoints.get(1).failed();
+        endpoints.get(2).failed();
+        endpoints.get(2).failed();
+
+        assertThat(pool.select(List.of())).isSameAs(endpoints.get(1));
+        assertThat(pool.select(List.of(endpoints.get(1)))).isIn(endpoints.get(0), endpoints.get(2));
+        assertThat(pool.select(endpoints)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should restore an endpoint after a success")
+    void shouldRestoreEndpointAfterSuccess() {
+        ProxmoxEndpoint endpoint = new ProxmoxEndpoint("https://pve1:8006/api2/json");
+        endpoint.failed();
+
+        endpoint.succeeded(1_000_000);
+
+        assertThat(endpoint.isHealthy()).isTrue();
+        assertThat(endpoint.getConsecutiveFailures()).isZero();
+        assertThat(endpoint.getBaseUrl()).isEqualTo("https://pve1:8006/api2/json/");
+        assertThat(endpoint.getAverageLatency()).hasMillis(1);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty pool")
+    void shouldRejectEmptyPool() {
+        assertThatThrownBy(() -> ProxmoxEndpointPool.of(List.of(), ProxmoxEndpointPool.Strategy.ROUND_ROBIN))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
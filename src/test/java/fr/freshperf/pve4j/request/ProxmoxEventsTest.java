@@ -0,0 +1,80 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.SecurityConfig;
+import fr.freshperf.pve4j.entities.PveVersion;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("JFR Events Tests")
+class ProxmoxEventsTest {
+
+    private static final String VERSION_RESPONSE = "{\"data\":{\"version\":\"8.2.2\",\"release\":\"8.2\"}}";
+
+    @Test
+    @DisplayName("Should be disabled by default")
+    void shouldBeDisabledByDefault() {
+        assertThat(EventType.getEventType(ProxmoxExchangeEvent.class).isEnabled()).isFalse();
+        assertThat(EventType.getEventType(ProxmoxDecodeEvent.class).isEnabled()).isFalse();
+        assertThat(EventType.getEventType(ProxmoxTaskPollEvent.class).isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should record exchanges and decoding when enabled")
+    void shouldRecordExchangesAndDecoding(@TempDir Path directory) throws Exception {
+        ProxmoxHttpClient client = new ProxmoxHttpClient("https://pve.example.com:8006/api2/json/", "token",
+                SecurityConfig.secure());
+        client.setTransport(new ProxmoxTransport() {
+            @Override
+            public Response send(Request request) {
+                return Response.ofBytes(200, Map.of(), VERSION_RESPONSE.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public CompletableFuture<Response> sendAsync(Request request) {
+                return CompletableFuture.completedFuture(send(request));
+            }
+        });
+
+        Path file = directory.resolve("pve4j.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("pve4j.HttpExchange");
+            recording.enable("pve4j.JsonDecode");
+            recording.start();
+            client.get("nodes/pve1/qemu/100/status/current").execute(PveVersion.class);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent exchange = single(events, "pve4j.HttpExchange");
+        assertThat(exchange.getString("method")).isEqualTo("GET");
+        assertThat(exchange.getString("pathTemplate")).isEqualTo("nodes/{node}/qemu/{vmid}/status/current");
+        assertThat(exchange.getInt("statusCode")).isEqualTo(200);
+        assertThat(exchange.getLong("responseBytes")).isEqualTo(VERSION_RESPONSE.length());
+
+        RecordedEvent decode = single(events, "pve4j.JsonDecode");
+        assertThat(decode.getString("targetType")).isEqualTo(PveVersion.class.getName());
+        assertThat(decode.getInt("elementCount")).isEqualTo(1);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertThat(matching).hasSize(1);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,162 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxHedgingPolicy Tests")
+class ProxmoxHedgingPolicyTest {
+
+    private static final ProxmoxTransport.Response VERSION = ProxmoxTransport.Response.ofBytes(200, Map.of(),
+            "{\"data\":{\"version\":\"8.2.2\"}}".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    @DisplayName("Should not hedge before enough latencies are known")
+    void shouldNotHedgeWithoutEnoughSamples() {
+        ProxmoxHedgingPolicy policy = ProxmoxHedgingPolicy.builder().minSamples(5).build();
+        for (int i = 0; i < 4; i++) {
+            policy.recordLatency("version", Duration.ofMillis(10).toNanos());
+        }
+
+        assertThat(policy.getHedgeDelay("version")).isNull();
+
+        policy.recordLatency("version", Duration.ofMillis(10).toNanos());
+        assertThat(policy.getHedgeDelay("version")).isEqualTo(Duration.ofMillis(10));
+    }
+
+    @Test
+    @DisplayName("Should hedge after the configured percentile")
+    void shouldHedgeAfterPercentile() {
+        ProxmoxHedgingPolicy policy = ProxmoxHedgingPolicy.builder().percentile(0.9).minSamples(1).build();
+        for (int i = 1; i <= 100; i++) {
+            policy.recordLatency("cluster/resources", Duration.ofMillis(i).toNanos());
+        }
+
+        assertThat(policy.getHedgeDelay("cluster/resources")).isEqualTo(Duration.ofMillis(90));
+    }
+
+    @Test
+    @DisplayName("Should keep the delay within its bounds")
+    void shouldBoundDelay() {
+        ProxmoxHedgingPolicy policy = ProxmoxHedgingPolicy.builder()
+                .minSamples(1)
+                .delayBounds(Duration.ofMillis(20), Duration.ofMillis(100))
+                .build();
+        policy.recordLatency("version", Duration.ofMillis(1).toNanos());
+        policy.recordLatency("cluster/status", Duration.ofSeconds(5).toNanos());
+
+        assertThat(policy.getHedgeDelay("version")).isEqualTo(Duration.ofMillis(20));
+        assertThat(policy.getHedgeDelay("cluster/status")).isEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("Should share latencies between nodes, guests and tasks")
+    void shouldShareLatenciesAcrossIds() {
+        ProxmoxHedgingPolicy policy = ProxmoxHedgingPolicy.builder().minSamples(2).build();
+        policy.recordLatency("/nodes/pve1/qemu/100/status/current", Duration.ofMillis(30).toNanos());
+        policy.recordLatency("nodes/pve2/qemu/200/status/current", Duration.ofMillis(30).toNanos());
+        policy.recordLatency("nodes/pve1/tasks/UPID:pve1:0001:task/status", Duration.ofMillis(40).toNanos());
+        policy.recordLatency("nodes/pve2/tasks/UPID:pve2:0002:task/status", Duration.ofMillis(40).toNanos());
+
+        assertThat(policy.getHedgeDelay("nodes/pve3/qemu/300/status/current")).isEqualTo(Duration.ofMillis(30));
+        assertThat(policy.getHedgeDelay("nodes/pve3/tasks/UPID:pve3:0003:task/status"))
+                .isEqualTo(Duration.ofMillis(40));
+        assertThat(policy.getHedgeDelay("nodes/pve3/lxc/300/status/current")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should limit hedges to the budget")
+    void shouldLimitHedgesToBudget() {
+        ProxmoxHedgingPolicy policy = ProxmoxHedgingPolicy.builder().budget(0.1).build();
+        int hedges = 0;
+        for (int i = 0; i < 100; i++) {
+            policy.onRequest();
+            if (policy.tryAcquireHedge()) {
+                hedges++;
+            }
+        }
+
+        assertThat(hedges).isBetween(9, 10);
+        assertThat(policy.getHedgeCount()).isEqualTo(hedges);
+    }
+
+    @Test
+    @DisplayName("Should only hedge with a free bulkhead permit, held until the hedge is done")
+    void shouldHedgeWithinBulkhead() throws Exception {
+        PendingTransport transport = new PendingTransport();
+        ProxmoxHttpClient client = new ProxmoxHttpClient("https://pve.example.com:8006/api2/json/", "token");
+        client.setTransport(transport);
+        ProxmoxHedgingPolicy policy = ProxmoxHedgingPolicy.builder()
+                .minSamples(1)
+                .delayBounds(Duration.ofMillis(10), Duration.ofMillis(10))
+                .budget(1)
+                .build();
+        policy.recordLatency("version", Duration.ofMillis(10).toNanos());
+        client.setHedgingPolicy(policy);
+
+        ProxmoxBulkhead full = ProxmoxBulkhead.builder().maxInFlight(1).build();
+        client.setBulkhead(full);
+        CompletableFuture<JsonObject> notHedged = client.get("version").executeAsync(JsonObject.class);
+        Thread.sleep(100);
+        assertThat(transport.sent).hasSize(1);
+        assertThat(policy.getHedgeCount()).isZero();
+        transport.sent.get(0).complete(VERSION);
+        notHedged.get(5, TimeUnit.SECONDS);
+        assertThat(full.getInFlight()).isZero();
+
+        transport.sent.clear();
+        ProxmoxBulkhead roomy = ProxmoxBulkhead.builder().maxInFlight(2).build();
+        client.setBulkhead(roomy);
+        CompletableFuture<JsonObject> hedged = client.get("version").executeAsync(JsonObject.class);
+        long start = System.nanoTime();
+        while (transport.sent.size() < 2 && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5)) {
+            Thread.sleep(5);
+        }
+        assertThat(transport.sent).hasSize(2);
+        assertThat(roomy.getInFlight()).isEqualTo(2);
+        transport.sent.get(1).complete(VERSION);
+        hedged.get(5, TimeUnit.SECONDS);
+        assertThat(policy.getHedgeWinCount()).isEqualTo(1);
+        assertThat(roomy.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> ProxmoxHedgingPolicy.builder().percentile(1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProxmoxHedgingPolicy.builder().budget(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProxmoxHedgingPolicy.builder().delayBounds(Duration.ofSeconds(1), Duration.ofMillis(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Leaves every request pending until the test answers it.
+     */
+    private static final class PendingTransport implements ProxmoxTransport {
+        final List<CompletableFuture<Response>> sent = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Response send(Request request) {
+            return sendAsync(request).join();
+        }
+
+        @Override
+        public CompletableFuture<Response> sendAsync(Request request) {
+            CompletableFuture<Response> response = new CompletableFuture<>();
+            sent.add(response);
+            return response;
+        }
+    }
+}
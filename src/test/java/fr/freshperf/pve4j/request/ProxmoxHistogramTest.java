@@ -0,0 +1,81 @@
+package fr.freshperf.pve4j.request;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxHistogram Tests")
+class ProxmoxHistogramTest {
+
+    @Test
+    @DisplayName("Should report zero when empty")
+    void shouldReportZeroWhenEmpty() {
+        ProxmoxHistogram histogram = new ProxmoxHistogram();
+
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getPercentile(0.99)).isEqualTo(Duration.ZERO);
+        assertThat(histogram.getMean()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should report percentiles within the bucket precision")
+    void shouldReportPercentilesWithinPrecision() {
+        ProxmoxHistogram histogram = new ProxmoxHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(Duration.ofMillis(i).toNanos() / 10);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(10_000);
+        assertThat(histogram.getPercentile(0.5).toNanos())
+                .isCloseTo(Duration.ofMillis(500).toNanos(), withinPercentage(6.25));
+        assertThat(histogram.getPercentile(0.99).toNanos())
+                .isCloseTo(Duration.ofMillis(990).toNanos(), withinPercentage(6.25));
+        assertThat(histogram.getPercentile(0.999).toNanos())
+                .isCloseTo(Duration.ofMillis(999).toNanos(), withinPercentage(6.25));
+        assertThat(histogram.getPercentile(1)).isEqualTo(histogram.getMax()).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should map every value to a bucket holding it")
+    void shouldMapValuesToBuckets() {
+        List<Long> values = new ArrayList<>(List.of(0L, 1L, 15L, 16L, 17L, 31L, 32L, 1_000_000L, Long.MAX_VALUE));
+        for (int shift = 0; shift < 63; shift++) {
+            values.add(1L << shift);
+            values.add((1L << shift) - 1);
+        }
+
+        for (long value : values) {
+            int bucket = ProxmoxHistogram.bucketOf(value);
+            assertThat(ProxmoxHistogram.upperBoundOf(bucket)).isGreaterThanOrEqualTo(value);
+            if (bucket > 0) {
+                assertThat(ProxmoxHistogram.upperBoundOf(bucket - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should not lose values recorded concurrently")
+    void shouldRecordConcurrently() throws InterruptedException {
+        ProxmoxHistogram histogram = new ProxmoxHistogram();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(80_000);
+        assertThat(histogram.getMax()).isEqualTo(Duration.ofNanos(9_999));
+    }
+}
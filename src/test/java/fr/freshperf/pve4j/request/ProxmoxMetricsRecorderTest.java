@@ -0,0 +1,95 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.JsonObject;
+import fr.freshperf.pve4j.SecurityConfig;
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxMetricsRecorder Tests")
+class ProxmoxMetricsRecorderTest {
+
+    private static final String TEMPLATE = "nodes/{node}/qemu/{vmid}/status/current";
+
+    @Test
+    @DisplayName("Should count exchanges, errors and bytes per operation")
+    void shouldCountPerOperation() {
+        ProxmoxMetricsRecorder metrics = new ProxmoxMetricsRecorder();
+        metrics.recordExchange("GET", TEMPLATE, 200, Duration.ofMillis(10).toNanos(), 0, 100);
+        metrics.recordExchange("GET", TEMPLATE, 500, Duration.ofMillis(20).toNanos(), 0, 50);
+        metrics.recordExchange("GET", TEMPLATE, 403, Duration.ofMillis(5).toNanos(), 0, -1);
+        metrics.recordExchange("GET", TEMPLATE, -1, Duration.ofSeconds(1).toNanos(), 0, -1);
+        metrics.recordExchange("POST", TEMPLATE, 200, Duration.ofMillis(10).toNanos(), 12, 30);
+        metrics.recordRetry("GET", TEMPLATE);
+
+        ProxmoxMetricsRecorder.Operation get = metrics.getOperation("GET", TEMPLATE);
+        assertThat(get.getExchangeCount()).isEqualTo(4);
+        assertThat(get.getServerErrorCount()).isEqualTo(1);
+        assertThat(get.getClientErrorCount()).isEqualTo(1);
+        assertThat(get.getNetworkErrorCount()).isEqualTo(1);
+        assertThat(get.getErrorCount()).isEqualTo(3);
+        assertThat(get.getRetryCount()).isEqualTo(1);
+        assertThat(get.getBytesReceived()).isEqualTo(150);
+        assertThat(get.getLatency().getMax()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(metrics.getOperation("POST", TEMPLATE).getBytesSent()).isEqualTo(12);
+        assertThat(metrics.getOperations()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should group operations past the limit")
+    void shouldGroupOperationsPastLimit() {
+        ProxmoxMetricsRecorder metrics = new ProxmoxMetricsRecorder(2);
+        metrics.recordExchange("GET", "version", 200, 1, 0, 0);
+        metrics.recordExchange("GET", "cluster/resources", 200, 1, 0, 0);
+        metrics.recordExchange("GET", "cluster/status", 200, 1, 0, 0);
+        metrics.recordExchange("GET", "cluster/tasks", 200, 1, 0, 0);
+        metrics.recordExchange("GET", "version", 200, 1, 0, 0);
+
+        assertThat(metrics.getOperation("GET", "version").getExchangeCount()).isEqualTo(2);
+        assertThat(metrics.getOperation("GET", ProxmoxMetricsRecorder.OTHER).getExchangeCount()).isEqualTo(2);
+        assertThat(metrics.getOperation("GET", "cluster/status")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should record the exchanges and retries of a client by path template")
+    void shouldRecordClientExchanges() {
+        ProxmoxMetricsRecorder metrics = new ProxmoxMetricsRecorder();
+        ProxmoxHttpClient client = new ProxmoxHttpClient("https://pve.example.com:8006/api2/json/", "token",
+                SecurityConfig.secure());
+        client.setMetrics(metrics);
+        client.setTransport(new ProxmoxTransport() {
+            @Override
+            public Response send(Request request) {
+                boolean unavailable = request.uri().getPath().contains("/999/");
+                return Response.ofBytes(unavailable ? 503 : 200, Map.of(),
+                        (unavailable ? "overloaded" : "{\"data\":{}}").getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public CompletableFuture<Response> sendAsync(Request request) {
+                return CompletableFuture.completedFuture(send(request));
+            }
+        });
+
+        new ProxmoxRequest<>(client.get("nodes/pve1/qemu/100/status/current"), JsonObject.class).executeAsync().join();
+        assertThatThrownBy(() -> new ProxmoxRequest<>(client.get("nodes/pve2/qemu/999/status/current"), JsonObject.class)
+                .retry(1)
+                .retryDelay(0)
+                .execute())
+            .isInstanceOf(ProxmoxAPIError.class);
+
+        ProxmoxMetricsRecorder.Operation operation = metrics.getOperation("GET", TEMPLATE);
+        assertThat(operation.getExchangeCount()).isEqualTo(3);
+        assertThat(operation.getServerErrorCount()).isEqualTo(2);
+        assertThat(operation.getRetryCount()).isEqualTo(1);
+        assertThat(operation.getBytesReceived()).isEqualTo(11 + 2 * 10);
+        assertThat(metrics.getOperations()).hasSize(1);
+    }
+}
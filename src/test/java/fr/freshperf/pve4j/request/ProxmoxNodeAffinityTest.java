@@ -0,0 +1,173 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import fr.freshperf.pve4j.entities.cluster.PveClusterStatus;
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxNodeAffinity Tests")
+class ProxmoxNodeAffinityTest {
+
+    private static final String STATUS = """
+            [
+              {"type": "cluster", "id": "cluster", "name": "prod", "nodes": 3, "quorate": 1},
+              {"type": "node", "id": "node/pve1", "name": "pve1", "ip": "10.0.0.1", "online": 1},
+              {"type": "node", "id": "node/pve2", "name": "pve2", "ip": "fd00::2", "online": 1},
+              {"type": "node", "id": "node/pve3", "name": "pve3", "ip": "10.0.0.3", "online": 0}
+            ]
+            """;
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new ProxmoxTypeAdapterFactory())
+            .create();
+
+    private static List<PveClusterStatus> status() {
+        return GSON.fromJson(STATUS, new TypeToken<List<PveClusterStatus>>(){}.getType());
+    }
+
+    @Test
+    @DisplayName("Should learn online node addresses with the client's scheme and port")
+    void shouldLearnOnlineNodeAddresses() {
+        ProxmoxNodeAffinity affinity = new ProxmoxNodeAffinity(new ProxmoxHttpClient("https://pve.local:8006/api2/json/", "token"));
+
+        affinity.update(status());
+
+        assertThat(affinity.getAddresses())
+                .containsEntry("pve1", "https://10.0.0.1:8006/api2/json/")
+                .containsEntry("pve2", "https://[fd00::2]:8006/api2/json/")
+                .doesNotContainKey("pve3");
+    }
+
+    @Test
+    @DisplayName("Should route only node-scoped paths of known nodes")
+    void shouldRouteNodeScopedPaths() {
+        ProxmoxNodeAffinity affinity = new ProxmoxNodeAffinity(new ProxmoxHttpClient("https://pve.local:8006/api2/json/", "token"));
+        affinity.update(status());
+
+        assertThat(affinity.endpointFor("nodes/pve1/qemu/100/status/current").getBaseUrl())
+                .isEqualTo("https://10.0.0.1:8006/api2/json/");
+        assertThat(affinity.endpointFor("/nodes/pve1").getBaseUrl()).isEqualTo("https://10.0.0.1:8006/api2/json/");
+        assertThat(affinity.endpointFor("nodes/pve3/qemu")).isNull();
+        assertThat(affinity.endpointFor("cluster/resources")).isNull();
+        assertThat(affinity.endpointFor("nodes")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fall back while a node endpoint is ejected")
+    void shouldFallBackWhileNodeIsEjected() {
+        ProxmoxNodeAffinity affinity = new ProxmoxNodeAffinity(new ProxmoxHttpClient("https://pve.local:8006/api2/json/", "token"));
+        affinity.update(status());
+
+        affinity.endpointFor("nodes/pve1/status").failed();
+
+        assertThat(affinity.endpointFor("nodes/pve1/status")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep endpoint state across refreshes")
+    void shouldKeepEndpointStateAcrossRefreshes() {
+        ProxmoxNodeAffinity affinity = new ProxmoxNodeAffinity(new ProxmoxHttpClient("https://pve.local:8006/api2/json/", "token"));
+        affinity.update(status());
+        ProxmoxEndpoint endpoint = affinity.endpointFor("nodes/pve1/status");
+
+        affinity.update(status());
+
+        assertThat(affinity.endpointFor("nodes/pve1/status")).isSameAs(endpoint);
+    }
+
+    @Test
+    @DisplayName("Should pass background refresh errors to the error handler")
+    void shouldReportRefreshErrors() throws Exception {
+        ClusterNode node = new ClusterNode();
+        node.statusCode = 403;
+        ProxmoxHttpClient client = node.client();
+        client.setNodeAffinityEnabled(true);
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        client.getNodeAffinity().setErrorHandler(errors::add);
+
+        client.get("nodes/pve1/status").execute();
+
+        awaitUntil(() -> !errors.isEmpty());
+        assertThat(errors.get(0)).isInstanceOfSatisfying(ProxmoxAPIError.class,
+                error -> assertThat(error.getStatusCode()).isEqualTo(403));
+        assertThat(client.getNodeAffinity().getAddresses()).isEmpty();
+        assertThat(node.statusCalls).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should refresh node addresses once they are older than the refresh interval")
+    void shouldRefreshStaleAddresses() throws Exception {
+        ClusterNode node = new ClusterNode();
+        ProxmoxHttpClient client = node.client();
+        client.setNodeAffinityEnabled(true);
+        ProxmoxNodeAffinity affinity = client.getNodeAffinity();
+        affinity.setRefreshInterval(Duration.ofMillis(500));
+
+        client.get("nodes/pve1/status").execute();
+        awaitUntil(() -> affinity.getAddresses().containsKey("pve1"));
+        node.status = STATUS.replace("\"online\": 0", "\"online\": 1");
+        client.get("nodes/pve3/status").execute();
+
+        // Unknown node, but refreshed too recently to refresh again
+        assertThat(node.statusCalls).hasSize(1);
+        Thread.sleep(600);
+        client.get("nodes/pve3/status").execute();
+        awaitUntil(() -> affinity.getAddresses().containsKey("pve3"));
+        assertThat(node.statusCalls).hasSize(2);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * Answers {@code cluster/status} with {@link #status} and every other request with empty data.
+     */
+    private static final class ClusterNode implements ProxmoxTransport {
+        final List<Long> statusCalls = new CopyOnWriteArrayList<>();
+        volatile String status = STATUS;
+        volatile int statusCode = 200;
+
+        ProxmoxHttpClient client() {
+            ProxmoxHttpClient client = new ProxmoxHttpClient("https://pve.local:8006/api2/json/", "token");
+            client.setTransport(this);
+            return client;
+        }
+
+        @Override
+        public Response send(Request request) {
+            if (request.uri().getPath().endsWith("/cluster/status")) {
+                statusCalls.add(System.nanoTime());
+                return json(statusCode, statusCode == 200 ? status : "null");
+            }
+            return json(200, "{}");
+        }
+
+        @Override
+        public CompletableFuture<Response> sendAsync(Request request) {
+            return CompletableFuture.completedFuture(send(request));
+        }
+
+        private static Response json(int statusCode, String data) {
+            return Response.ofBytes(statusCode, Map.of(), ("{\"data\":" + data + "}").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
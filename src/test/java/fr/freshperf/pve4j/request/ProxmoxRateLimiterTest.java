@@ -0,0 +1,206 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.JsonObject;
+import fr.freshperf.pve4j.throwable.ProxmoxDeadlineExceededError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxRateLimiter Tests")
+class ProxmoxRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final String BASE_URL = "https://pve1:8006/api2/json/";
+
+    @Test
+    @DisplayName("Should let a burst through then pace requests")
+    void shouldLetBurstThroughThenPace() {
+        ProxmoxTokenBucket bucket = new ProxmoxTokenBucket(10, 1, 2, 0);
+
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.reserve(0)).isEqualTo(SECOND / 10);
+        assertThat(bucket.reserve(0)).isEqualTo(2 * SECOND / 10);
+        assertThat(bucket.reserve(SECOND)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give back a released token")
+    void shouldGiveBackReleasedToken() {
+        ProxmoxTokenBucket bucket = new ProxmoxTokenBucket(10, 1, 1, 0);
+
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.reserve(0)).isEqualTo(SECOND / 10);
+        bucket.release(0);
+        assertThat(bucket.reserve(0)).isEqualTo(SECOND / 10);
+
+        // Never above the burst
+        bucket.release(SECOND);
+        assertThat(bucket.reserve(SECOND)).isZero();
+        assertThat(bucket.reserve(SECOND)).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    @DisplayName("Should halve the rate at most once per second")
+    void shouldHalveRateOncePerSecond() {
+        ProxmoxTokenBucket bucket = new ProxmoxTokenBucket(40, 1, 40, 0);
+
+        assertThat(bucket.decrease(0.5, 0)).isTrue();
+        assertThat(bucket.decrease(0.5, SECOND / 2)).isFalse();
+        assertThat(bucket.getRate()).isEqualTo(20);
+
+        assertThat(bucket.decrease(0.5, SECOND)).isTrue();
+        assertThat(bucket.getRate()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should stay between the minimum and maximum rate")
+    void shouldStayWithinBounds() {
+        ProxmoxTokenBucket bucket = new ProxmoxTokenBucket(4, 2, 4, 0);
+
+        bucket.decrease(0.1, 0);
+        assertThat(bucket.getRate()).isEqualTo(2);
+
+        for (int i = 0; i < 100; i++) {
+            bucket.increase(1, 0);
+        }
+        assertThat(bucket.getRate()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should regain rate additively on success")
+    void shouldRegainRateOnSuccess() {
+        ProxmoxTokenBucket bucket = new ProxmoxTokenBucket(100, 1, 100, 0);
+        bucket.decrease(0.5, 0);
+
+        for (int i = 0; i < 50; i++) {
+            bucket.increase(10, 0);
+        }
+
+        // 50 responses at ~50 req/s is about one second, worth ~10 req/s
+        assertThat(bucket.getRate()).isBetween(59.0, 61.0);
+    }
+
+    @Test
+    @DisplayName("Should keep a bucket per endpoint and path class")
+    void shouldKeepBucketPerEndpointAndPathClass() {
+        ProxmoxRateLimiter limiter = ProxmoxRateLimiter.builder()
+                .requestsPerSecond(50)
+                .limit("/nodes/{node}/qemu/{vmid}/status/**", 5)
+                .build();
+        ProxmoxEndpoint endpoint = new ProxmoxEndpoint(BASE_URL);
+
+        limiter.record(endpoint, "nodes/pve1/qemu/100/status/current", true);
+
+        assertThat(limiter.getCurrentRate(BASE_URL, "nodes/pve1/qemu/100/status/current")).isEqualTo(2.5);
+        assertThat(limiter.getCurrentRate(BASE_URL, "nodes/pve2/qemu/200/status/start")).isEqualTo(2.5);
+        assertThat(limiter.getCurrentRate(BASE_URL, "version")).isEqualTo(50);
+        assertThat(limiter.getCurrentRate("https://pve2:8006/api2/json/", "nodes/pve1/qemu/100/status/current"))
+                .isEqualTo(5);
+        assertThat(limiter.getThrottledCount()).isEqualTo(1);
+        assertThat(limiter.getDecreaseCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> ProxmoxRateLimiter.builder().requestsPerSecond(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProxmoxRateLimiter.builder().decreaseFactor(1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProxmoxRateLimiter.builder().limit("/", 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail at once when the wait would outlast the deadline")
+    void shouldFailFastPastDeadline() {
+        RecordingNode node = new RecordingNode();
+        ProxmoxHttpClient client = node.client(ProxmoxRateLimiter.builder().requestsPerSecond(1).build());
+        ProxmoxRateLimiter limiter = client.getRateLimiter();
+        ProxmoxEndpoint endpoint = new ProxmoxEndpoint(client.getBaseUrl());
+
+        client.get("version").executeAsync(JsonObject.class).join();
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> new ProxmoxRequest<>(client.get("version"), JsonObject.class)
+                .timeout(Duration.ofMillis(200))
+                .execute())
+                .isInstanceOf(ProxmoxDeadlineExceededError.class);
+
+        assertThat(System.nanoTime() - start).isLessThan(SECOND / 10);
+        assertThat(node.paths).hasSize(1);
+        // The token was given back, so the next request waits for one token only
+        assertThat(limiter.reserve(endpoint, "version")).isLessThanOrEqualTo(SECOND);
+    }
+
+    @Test
+    @DisplayName("Should give back the token of a request cancelled while waiting")
+    void shouldReleaseTokenOnCancel() throws Exception {
+        RecordingNode node = new RecordingNode();
+        ProxmoxHttpClient client = node.client(ProxmoxRateLimiter.builder().requestsPerSecond(1).build());
+        ProxmoxRateLimiter limiter = client.getRateLimiter();
+        ProxmoxEndpoint endpoint = new ProxmoxEndpoint(client.getBaseUrl());
+
+        client.get("version").executeAsync(JsonObject.class).join();
+        CompletableFuture<JsonObject> waiting = client.get("version").executeAsync(JsonObject.class);
+        waiting.cancel(true);
+
+        assertThat(limiter.reserve(endpoint, "version")).isLessThanOrEqualTo(SECOND);
+        Thread.sleep(1200);
+        assertThat(node.paths).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should not hold a bulkhead permit while waiting for a token")
+    void shouldWaitBeforeTakingPermit() throws Exception {
+        RecordingNode node = new RecordingNode();
+        ProxmoxHttpClient client = node.client(ProxmoxRateLimiter.builder()
+                .requestsPerSecond(50)
+                .limit("/cluster/**", 1)
+                .build());
+        client.setBulkhead(ProxmoxBulkhead.builder().maxInFlight(1).build());
+
+        client.get("cluster/resources").executeAsync(JsonObject.class).join();
+        CompletableFuture<JsonObject> paced = client.get("cluster/resources").executeAsync(JsonObject.class);
+        client.get("version").executeAsync(JsonObject.class).get(500, TimeUnit.MILLISECONDS);
+
+        assertThat(paced).isNotDone();
+        assertThat(node.paths).containsExactly("cluster/resources", "version");
+        paced.get(5, TimeUnit.SECONDS);
+        assertThat(node.paths).containsExactly("cluster/resources", "version", "cluster/resources");
+    }
+
+    /**
+     * A node answering every request with an empty object.
+     */
+    private static final class RecordingNode implements ProxmoxTransport {
+        final List<String> paths = new CopyOnWriteArrayList<>();
+
+        ProxmoxHttpClient client(ProxmoxRateLimiter limiter) {
+            ProxmoxHttpClient client = new ProxmoxHttpClient(BASE_URL, "token");
+            client.setTransport(this);
+            client.setRateLimiter(limiter);
+            return client;
+        }
+
+        @Override
+        public Response send(Request request) {
+            paths.add(request.uri().getPath().substring("/api2/json/".length()));
+            return Response.ofBytes(200, Map.of(), "{\"data\":{}}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public CompletableFuture<Response> sendAsync(Request request) {
+            return CompletableFuture.completedFuture(send(request));
+        }
+    }
+}
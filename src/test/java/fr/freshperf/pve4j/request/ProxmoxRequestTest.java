@@ -1,9 +1,25 @@
 package fr.freshperf.pve4j.request;
 
+import com.google.gson.JsonObject;
 import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import fr.freshperf.pve4j.throwable.ProxmoxCircuitOpenError;
+import fr.freshperf.pve4j.throwable.ProxmoxDeadlineExceededError;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
@@ -11,6 +27,12 @@ import static org.assertj.core.api.Assertions.*;
 @DisplayName("ProxmoxRequest Tests")
 class ProxmoxRequestTest {
 
+    @BeforeEach
+    void setUp() {
+        // Tests retrying requests without client must not share the budget of earlier tests
+        ProxmoxRequest.setUnboundRetryBudget(ProxmoxRetryBudget.builder().build());
+    }
+
     @Test
     @DisplayName("Should execute request successfully")
     void shouldExecuteRequestSuccessfully() throws ProxmoxAPIError, InterruptedException {
@@ -71,7 +93,7 @@ class ProxmoxRequestTest {
         AtomicInteger attempts = new AtomicInteger(0);
         ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> {
             attempts.incrementAndGet();
-            throw new ProxmoxAPIError("Persistent error", 500, "Internal error", "http://test.com");
+            throw new ProxmoxAPIError("Persistent error", 502, "Bad gateway", "http://test.com");
         });
 
         assertThatThrownBy(() -> request.retry(3).execute())
@@ -110,5 +132,424 @@ class ProxmoxRequestTest {
 
         assertThat(requestWithDelay).isNotNull();
     }
-}
 
+    @Test
+    @DisplayName("Should execute request asynchronously")
+    void shouldExecuteRequestAsynchronously() {
+        ProxmoxRequest<String> request = new ProxmoxRequest<>(
+            () -> "Sync",
+            () -> CompletableFuture.completedFuture("Async")
+        );
+
+        String result = request.executeAsync().join();
+
+        assertThat(result).isEqualTo("Async");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the blocking executor when no async executor is set")
+    void shouldFallBackToBlockingExecutor() {
+        ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> "Sync");
+
+        String result = request.executeAsync().join();
+
+        assertThat(result).isEqualTo("Sync");
+    }
+
+    @Test
+    @DisplayName("Should retry asynchronously on failure")
+    void shouldRetryAsynchronouslyOnFailure() {
+        AtomicInteger attempts = new AtomicInteger(0);
+        ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> "Sync", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                return CompletableFuture.failedFuture(
+                    new ProxmoxAPIError("Temporary error", 503, "Service unavailable", "http://test.com"));
+            }
+            return CompletableFuture.completedFuture("Success after retries");
+        });
+
+        String result = request.retry(3).retryDelay(10).executeAsync().join();
+
+        assertThat(result).isEqualTo("Success after retries");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should fail asynchronously after max retries")
+    void shouldFailAsynchronouslyAfterMaxRetries() {
+        AtomicInteger attempts = new AtomicInteger(0);
+        ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> {
+            attempts.incrementAndGet();
+            throw new ProxmoxAPIError("Persistent error", 502, "Bad gateway", "http://test.com");
+        });
+
+        assertThatThrownBy(() -> request.retry(2).retryDelay(0).executeAsync().join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(ProxmoxAPIError.class);
+
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not retry asynchronously on client errors")
+    void shouldNotRetryAsynchronouslyOnClientErrors() {
+        AtomicInteger attempts = new AtomicInteger(0);
+        ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> {
+            attempts.incrementAndGet();
+            throw new ProxmoxAPIError("Bad request", 400, "Bad request", "http://test.com");
+        });
+
+        assertThatThrownBy(() -> request.retry(3).executeAsync().join())
+            .hasCauseInstanceOf(ProxmoxAPIError.class);
+
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run blocking executor on the given executor")
+    void shouldRunBlockingExecutorOnGivenExecutor() {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "custom-executor"));
+        try {
+            ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> Thread.currentThread().getName());
+
+            String result = request.executeAsync(executor).join();
+
+            assertThat(result).isEqualTo("custom-executor");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should use the retry policy and honor Retry-After")
+    void shouldUseRetryPolicyAndHonorRetryAfter() throws ProxmoxAPIError, InterruptedException {
+        AtomicInteger attempts = new AtomicInteger(0);
+        ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> {
+            if (attempts.incrementAndGet() < 2) {
+                throw new ProxmoxAPIError("Too many requests", 429, "", "http://test.com", Duration.ofMillis(200));
+            }
+            return "Success";
+        });
+
+        long start = System.nanoTime();
+        String result = request.retry(1).retryPolicy(RetryPolicy.fixed(Duration.ZERO)).execute();
+
+        assertThat(result).isEqualTo("Success");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    @DisplayName("Should not retry errors rejected by the retry policy")
+    void shouldNotRetryErrorsRejectedByPolicy() {
+        AtomicInteger attempts = new AtomicInteger(0);
+        ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> {
+            attempts.incrementAndGet();
+            throw new ProxmoxAPIError("Internal error", 500, "", "http://test.com");
+        });
+        RetryPolicy onlyThrottling = new RetryPolicy() {
+            @Override
+            public Duration nextDelay(int retry, Duration previousDelay) {
+                return Duration.ZERO;
+            }
+
+            @Override
+            public boolean shouldRetry(ProxmoxAPIError error) {
+                return error.getStatusCode() == 429;
+            }
+        };
+
+        assertThatThrownBy(() -> request.retry(3).retryPolicy(onlyThrottling).execute())
+            .isInstanceOf(ProxmoxAPIError.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop retries that would start after the deadline")
+    void shouldDropRetriesPastDeadline() {
+        AtomicInteger attempts = new AtomicInteger(0);
+        ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> {
+            attempts.incrementAndGet();
+            throw new ProxmoxAPIError("Service unavailable", 503, "", "http://test.com");
+        });
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> request.retry(10).retryDelay(Duration.ofMillis(100)).timeout(Duration.ofMillis(250)).execute())
+            .isInstanceOf(ProxmoxAPIError.class)
+            .hasMessageContaining("Service unavailable");
+
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(900));
+    }
+
+    @Test
+    @DisplayName("Should give up waiting for the bulkhead at the deadline")
+    void shouldNotQueuePastDeadline() {
+        FailingNode node = new FailingNode(503, 0);
+        ProxmoxHttpClient client = node.client();
+        ProxmoxBulkhead bulkhead = ProxmoxBulkhead.builder().maxInFlight(1).build();
+        client.setBulkhead(bulkhead);
+        ProxmoxBulkhead.Permit held = bulkhead.acquireAsync("GET", "version").join();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> new ProxmoxRequest<>(client.get("nodes/pve1/status"), JsonObject.class)
+                .timeout(Duration.ofMillis(100)).execute())
+                .isInstanceOf(ProxmoxDeadlineExceededError.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(bulkhead.getQueueDepth()).isZero();
+        assertThat(node.methods).isEmpty();
+        held.release();
+    }
+
+    @Test
+    @DisplayName("Should not fail a shared request on the deadline of another caller")
+    void shouldNotShareAnotherCallersDeadline() throws Exception {
+        FailingNode node = new FailingNode(503, 0);
+        ProxmoxHttpClient client = node.client();
+        client.setSingleFlightEnabled(true);
+        ProxmoxBulkhead bulkhead = ProxmoxBulkhead.builder().maxInFlight(1).build();
+        client.setBulkhead(bulkhead);
+        ProxmoxBulkhead.Permit held = bulkhead.acquireAsync("GET", "version").join();
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<JsonObject> shorter = callers.submit(() -> new ProxmoxRequest<>(
+                    client.get("nodes/pve1/status"), JsonObject.class).timeout(Duration.ofMillis(100)).execute());
+            long start = System.nanoTime();
+            while (bulkhead.getQueueDepth() == 0 && System.nanoTime() - start < Duration.ofSeconds(5).toNanos()) {
+                Thread.sleep(1);
+            }
+            Future<JsonObject> longer = callers.submit(() -> new ProxmoxRequest<>(
+                    client.get("nodes/pve1/status"), JsonObject.class).timeout(Duration.ofSeconds(5)).execute());
+
+            assertThatThrownBy(() -> shorter.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ProxmoxDeadlineExceededError.class);
+            held.release();
+            assertThat(longer.get(5, TimeUnit.SECONDS)).isNotNull();
+        }
+        assertThat(node.methods).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should publish the deadline to the executor")
+    void shouldPublishDeadlineToExecutor() throws ProxmoxAPIError, InterruptedException {
+        ProxmoxRequest<Long> request = new ProxmoxRequest<>(ProxmoxDeadline::current);
+
+        long before = System.nanoTime();
+        Long deadline = request.deadline(Instant.now().plusSeconds(10)).timeout(Duration.ofSeconds(5)).execute();
+
+        assertThat(deadline).isBetween(before + Duration.ofSeconds(5).toNanos(), System.nanoTime() + Duration.ofSeconds(5).toNanos());
+        assertThat(ProxmoxDeadline.current()).isNull();
+        assertThat(new ProxmoxRequest<>(ProxmoxDeadline::current).execute()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fail async requests once the deadline passes")
+    void shouldFailAsyncRequestAtDeadline() {
+        CompletableFuture<String> attempt = new CompletableFuture<>();
+        ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> "unused", () -> attempt);
+
+        CompletableFuture<String> result = request.timeout(Duration.ofMillis(50)).executeAsync();
+
+        assertThatThrownBy(result::join)
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(ProxmoxDeadlineExceededError.class);
+        assertThat(attempt).isCancelled();
+    }
+
+    @Test
+    @DisplayName("Should cancel the in-flight attempt when the result is cancelled")
+    void shouldCancelInFlightAttempt() {
+        CompletableFuture<String> attempt = new CompletableFuture<>();
+        ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> "unused", () -> attempt);
+
+        CompletableFuture<String> result = request.executeAsync();
+        result.cancel(true);
+
+        assertThat(attempt).isCancelled();
+    }
+
+    @Test
+    @DisplayName("Should keep the deadline of each execution of a shared builder")
+    void shouldKeepDeadlinePerExecution() {
+        CompletableFuture<ProxmoxTransport.Response> first = new CompletableFuture<>();
+        List<ProxmoxTransport.Request> requests = new CopyOnWriteArrayList<>();
+        ProxmoxHttpClient client = new ProxmoxHttpClient("https://pve.local:8006/api2/json/", "token");
+        client.setBulkhead(ProxmoxBulkhead.builder().maxInFlight(1).build());
+        client.setTransport(new ProxmoxTransport() {
+            @Override
+            public Response send(Request request) {
+                return sendAsync(request).join();
+            }
+
+            @Override
+            public CompletableFuture<Response> sendAsync(Request request) {
+                requests.add(request);
+                return requests.size() == 1 ? first : CompletableFuture.completedFuture(
+                        Response.ofBytes(200, Map.of(), "{\"data\":{}}".getBytes(StandardCharsets.UTF_8)));
+            }
+        });
+        ProxmoxHttpClient.RequestBuilder builder = client.get("nodes/pve1/status");
+
+        CompletableFuture<JsonObject> blocking = builder.executeAsync(JsonObject.class);
+        CompletableFuture<JsonObject> bounded = new ProxmoxRequest<>(builder, JsonObject.class)
+                .timeout(Duration.ofSeconds(10))
+                .executeAsync();
+        CompletableFuture<JsonObject> unbounded = builder.executeAsync(JsonObject.class);
+        first.complete(ProxmoxTransport.Response.ofBytes(200, Map.of(), "{\"data\":{}}".getBytes(StandardCharsets.UTF_8)));
+        CompletableFuture.allOf(blocking, bounded, unbounded).join();
+
+        // Queued behind the first request, each one still uses its own deadline
+        assertThat(requests).hasSize(3);
+        assertThat(requests.get(0).timeout()).isNull();
+        assertThat(requests.get(1).timeout()).isNotNull();
+        assertThat(requests.get(1).timeout()).isLessThanOrEqualTo(Duration.ofSeconds(10));
+        assertThat(requests.get(2).timeout()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should cap Retry-After at the maximum delay of the policy")
+    void shouldCapRetryAfterAtPolicyMaximum() throws ProxmoxAPIError, InterruptedException {
+        AtomicInteger attempts = new AtomicInteger(0);
+        ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> {
+            if (attempts.incrementAndGet() < 2) {
+                throw new ProxmoxAPIError("Service unavailable", 503, "", "http://test.com", Duration.ofHours(1));
+            }
+            return "Success";
+        });
+
+        long start = System.nanoTime();
+        String result = request.retry(1)
+                .retryPolicy(RetryPolicy.exponentialBackoff(Duration.ofMillis(10), 2, Duration.ofMillis(100)))
+                .execute();
+
+        assertThat(result).isEqualTo("Success");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isBetween(Duration.ofMillis(100), Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should only retry idempotent methods by default")
+    void shouldOnlyRetryIdempotentMethods() throws Exception {
+        FailingNode node = new FailingNode(503, 1);
+        ProxmoxHttpClient client = node.client();
+
+        assertThat(new ProxmoxRequest<>(client.get("nodes/pve1/status"), JsonObject.class)
+                .retry(2).retryDelay(0).execute()).isNotNull();
+        assertThat(node.methods).containsExactly("GET", "GET");
+
+        node.failures.set(1);
+        node.methods.clear();
+        assertThatThrownBy(() -> new ProxmoxRequest<>(client.post("nodes/pve1/qemu/100/status/start"), JsonObject.class)
+                .retry(2).retryDelay(0).execute())
+                .isInstanceOf(ProxmoxAPIError.class);
+        assertThat(node.methods).containsExactly("POST");
+    }
+
+    @Test
+    @DisplayName("Should not retry API errors by default")
+    void shouldNotRetryApiErrors() {
+        FailingNode node = new FailingNode(500, Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> new ProxmoxRequest<>(node.client().get("nodes/pve1/status"), JsonObject.class)
+                .retry(2).retryDelay(0).execute())
+                .isInstanceOf(ProxmoxAPIError.class);
+        assertThat(node.methods).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should fail after one attempt on an open circuit")
+    void shouldNotRetryOpenCircuit() {
+        FailingNode node = new FailingNode(503, Integer.MAX_VALUE);
+        ProxmoxHttpClient client = node.client();
+        client.setCircuitBreaker(ProxmoxCircuitBreaker.builder()
+                .minimumCalls(1)
+                .openDuration(Duration.ofSeconds(30))
+                .build());
+        ProxmoxRetryBudget budget = ProxmoxRetryBudget.builder().build();
+        client.setRetryBudget(budget);
+        assertThatThrownBy(() -> new ProxmoxRequest<>(client.get("nodes/pve1/status"), JsonObject.class).execute())
+                .isInstanceOf(ProxmoxAPIError.class);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> new ProxmoxRequest<>(client.get("nodes/pve1/status"), JsonObject.class)
+                .retry(3).execute())
+                .isInstanceOf(ProxmoxCircuitOpenError.class);
+        assertThatThrownBy(() -> new ProxmoxRequest<>(client.get("nodes/pve1/status"), JsonObject.class)
+                .retry(3).executeAsync().join())
+                .hasCauseInstanceOf(ProxmoxCircuitOpenError.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(node.methods).hasSize(1);
+        assertThat(budget.getRequestCount()).isEqualTo(3);
+        assertThat(budget.getRetryCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count first attempts only as requests in the retry budget")
+    void shouldNotCountRetriesAsRequests() throws Exception {
+        FailingNode node = new FailingNode(503, 2);
+        ProxmoxHttpClient client = node.client();
+        ProxmoxRetryBudget budget = ProxmoxRetryBudget.builder().build();
+        client.setRetryBudget(budget);
+
+        new ProxmoxRequest<>(client.get("nodes/pve1/status"), JsonObject.class).retry(2).retryDelay(0).execute();
+        new ProxmoxRequest<>(client.get("nodes/pve1/status"), JsonObject.class).retry(2).retryDelay(0)
+                .executeAsync().join();
+
+        assertThat(node.methods).hasSize(4);
+        assertThat(budget.getRequestCount()).isEqualTo(2);
+        assertThat(budget.getRetryCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should charge retries of requests without client to the shared budget")
+    void shouldChargeUnboundRetriesToSharedBudget() {
+        ProxmoxRetryBudget budget = ProxmoxRetryBudget.builder().ratio(0).minRetries(2).build();
+        ProxmoxRequest.setUnboundRetryBudget(budget);
+        AtomicInteger attempts = new AtomicInteger(0);
+        ProxmoxRequest<String> request = new ProxmoxRequest<>(() -> {
+            attempts.incrementAndGet();
+            throw new ProxmoxAPIError("Service unavailable", 503, "", "http://test.com");
+        });
+
+        assertThatThrownBy(() -> request.retry(3).retryDelay(0).execute()).isInstanceOf(ProxmoxAPIError.class);
+        assertThatThrownBy(() -> request.retry(3).retryDelay(0).execute()).isInstanceOf(ProxmoxAPIError.class);
+
+        // 2 attempts plus 2 retries, then the budget is spent
+        assertThat(attempts.get()).isEqualTo(4);
+        assertThat(budget.getRejectedCount()).isEqualTo(2);
+        assertThat(budget.getRequestCount()).isEqualTo(2);
+    }
+
+    /**
+     * Fails a number of requests with a status code, then answers with empty data.
+     */
+    private static final class FailingNode implements ProxmoxTransport {
+        final List<String> methods = new CopyOnWriteArrayList<>();
+        final AtomicInteger failures;
+        final int statusCode;
+
+        FailingNode(int statusCode, int failures) {
+            this.statusCode = statusCode;
+            this.failures = new AtomicInteger(failures);
+        }
+
+        ProxmoxHttpClient client() {
+            ProxmoxHttpClient client = new ProxmoxHttpClient("https://pve.local:8006/api2/json/", "token");
+            client.setTransport(this);
+            return client;
+        }
+
+        @Override
+        public Response send(Request request) {
+            methods.add(request.method());
+            boolean fail = failures.getAndDecrement() > 0;
+            return Response.ofBytes(fail ? statusCode : 200, Map.of(),
+                    (fail ? "{\"data\":null}" : "{\"data\":{}}").getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public CompletableFuture<Response> sendAsync(Request request) {
+            return CompletableFuture.completedFuture(send(request));
+        }
+    }
+}
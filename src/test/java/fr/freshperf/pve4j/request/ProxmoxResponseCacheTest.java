@@ -0,0 +1,158 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.Proxmox;
+import fr.freshperf.pve4j.entities.nodes.node.qemu.PveQemuConfig;
+import fr.freshperf.pve4j.entities.nodes.node.qemu.PveQemuVm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxResponseCache Tests")
+class ProxmoxResponseCacheTest {
+
+    private static final byte[] BODY = "{\"data\":{}}".getBytes();
+
+    @Test
+    @DisplayName("Should pick the TTL of the first matching pattern")
+    void shouldPickTheTtlOfTheFirstMatchingPattern() {
+        ProxmoxResponseCache cache = ProxmoxResponseCache.builder()
+                .ttl("/version", Duration.ofHours(1))
+                .ttl("/nodes/{node}/qemu/{vmid}/config", Duration.ofSeconds(5))
+                .build();
+
+        assertThat(cache.ttlFor("/version")).isEqualTo(Duration.ofHours(1));
+        assertThat(cache.ttlFor("nodes/pve1/qemu/100/config")).isEqualTo(Duration.ofSeconds(5));
+        assertThat(cache.ttlFor("nodes/pve1/qemu/100/status/current")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serve entries until they expire")
+    void shouldServeEntriesUntilTheyExpire() throws InterruptedException {
+        ProxmoxResponseCache cache = ProxmoxResponseCache.builder().build();
+
+        cache.put("GET version", "/version", BODY, Duration.ofMillis(50));
+
+        assertThat(cache.get("GET version")).isEqualTo(BODY);
+        Thread.sleep(60);
+        assertThat(cache.get("GET version")).isNull();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entries")
+    void shouldEvictTheLeastRecentlyUsedEntries() {
+        ProxmoxResponseCache cache = ProxmoxResponseCache.builder().maxEntries(2).build();
+
+        cache.put("a", "a", BODY, Duration.ofMinutes(1));
+        cache.put("b", "b", BODY, Duration.ofMinutes(1));
+        cache.get("a");
+        cache.put("c", "c", BODY, Duration.ofMinutes(1));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should bound the cache by approximate size")
+    void shouldBoundTheCacheByApproximateSize() {
+        ProxmoxResponseCache cache = ProxmoxResponseCache.builder().maxBytes(1024).build();
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "path", new byte[300], Duration.ofMinutes(1));
+        }
+
+        assertThat(cache.getSizeInBytes()).isLessThanOrEqualTo(1024);
+        assertThat(cache.get("key9")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should invalidate the guest targeted by a mutation")
+    void shouldInvalidateTheGuestTargetedByAMutation() {
+        ProxmoxResponseCache cache = ProxmoxResponseCache.builder().build();
+        cache.put("config100", "nodes/pve1/qemu/100/config", BODY, Duration.ofMinutes(1));
+        cache.put("config101", "nodes/pve1/qemu/101/config", BODY, Duration.ofMinutes(1));
+        cache.put("list", "nodes/pve1/qemu", BODY, Duration.ofMinutes(1));
+        cache.put("version", "version", BODY, Duration.ofMinutes(1));
+
+        cache.invalidateAffected("/nodes/pve1/qemu/100/status/start");
+
+        assertThat(cache.get("config100")).isNull();
+        assertThat(cache.get("list")).isNull();
+        assertThat(cache.get("config101")).isNotNull();
+        assertThat(cache.get("version")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not store a response read before an invalidation")
+    void shouldNotStoreAResponseReadBeforeAnInvalidation() {
+        ProxmoxResponseCache cache = ProxmoxResponseCache.builder().build();
+        long config100 = cache.generation();
+        long version = cache.generation();
+
+        cache.invalidateAffected("/nodes/pve1/qemu/100/config");
+        cache.put("config100", "nodes/pve1/qemu/100/config", BODY, Duration.ofMinutes(1), config100);
+        cache.put("version", "version", BODY, Duration.ofMinutes(1), version);
+        cache.put("config101", "nodes/pve1/qemu/101/config", BODY, Duration.ofMinutes(1), cache.generation());
+
+        assertThat(cache.get("config100")).isNull();
+        assertThat(cache.get("version")).isNotNull();
+        assertThat(cache.get("config101")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not cache a GET that completes after a mutation of its guest")
+    void shouldNotCacheASlowGetOverlappingAMutation() throws Exception {
+        List<CompletableFuture<ProxmoxTransport.Response>> configReads = new CopyOnWriteArrayList<>();
+        ProxmoxTransport transport = new ProxmoxTransport() {
+            @Override
+            public Response send(Request request) {
+                return sendAsync(request).join();
+            }
+
+            @Override
+            public CompletableFuture<Response> sendAsync(Request request) {
+                if (request.method().equals("GET")) {
+                    CompletableFuture<Response> read = new CompletableFuture<>();
+                    configReads.add(read);
+                    return read;
+                }
+                return CompletableFuture.completedFuture(json("\"UPID:pve1:00001234:00005678:65A1B2C3:qmconfig:100:root@pam:\""));
+            }
+        };
+        Proxmox proxmox = Proxmox.create("pve.example.com", 8006, "user@pam!test=secret");
+        proxmox.getHttpClient().setTransport(transport);
+        proxmox.getHttpClient().setResponseCache(ProxmoxResponseCache.builder()
+                .ttl("/nodes/{node}/qemu/{vmid}/config", Duration.ofMinutes(1))
+                .build());
+        PveQemuVm vm = proxmox.getNodes().get("pve1").getQemu().get(100);
+
+        CompletableFuture<PveQemuConfig> slow = vm.getConfig().executeAsync();
+        vm.start().executeAsync().get(5, TimeUnit.SECONDS);
+        configReads.get(0).complete(json("{\"name\":\"before\"}"));
+
+        assertThat(slow.get(5, TimeUnit.SECONDS).getName()).isEqualTo("before");
+        CompletableFuture<PveQemuConfig> fresh = vm.getConfig().executeAsync();
+        assertThat(configReads).hasSize(2);
+        configReads.get(1).complete(json("{\"name\":\"after\"}"));
+        assertThat(fresh.get(5, TimeUnit.SECONDS).getName()).isEqualTo("after");
+        assertThat(vm.getConfig().executeAsync().get(5, TimeUnit.SECONDS).getName()).isEqualTo("after");
+        assertThat(configReads).hasSize(2);
+    }
+
+    private static ProxmoxTransport.Response json(String data) {
+        return ProxmoxTransport.Response.ofBytes(200, Map.of(),
+                ("{\"data\":" + data + "}").getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import fr.freshperf.pve4j.entities.cluster.resources.PveClusterResources;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxResponseDecoder Tests")
+class ProxmoxResponseDecoderTest {
+
+    private ProxmoxResponseDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new ProxmoxResponseDecoder(new GsonBuilder()
+                .registerTypeAdapterFactory(new ProxmoxTypeAdapterFactory())
+                .create());
+    }
+
+    @Test
+    @DisplayName("Should decode the data member and convert numeric booleans")
+    void shouldDecodeDataMember() throws IOException {
+        Type type = new TypeToken<List<PveClusterResources>>(){}.getType();
+
+        List<PveClusterResources> resources = decoder.decode(
+                body("{\"data\":[{\"id\":\"storage/pve1/local\",\"shared\":1,\"active\":0}],\"total\":1}"),
+                type, null, PveClusterResources.class);
+
+        assertThat(resources).hasSize(1);
+        assertThat(resources.get(0).getId()).isEqualTo("storage/pve1/local");
+        assertThat(resources.get(0).isShared()).isTrue();
+        assertThat(resources.get(0).isActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should decode the envelope when data is null")
+    void shouldDecodeEnvelopeWhenDataIsNull() throws IOException {
+        JsonObject result = decoder.decode(
+                body("{\"message\":\"done\",\"data\":null}"), JsonObject.class, null, JsonObject.class);
+
+        assertThat(result.get("message").getAsString()).isEqualTo("done");
+        assertThat(result.get("data").isJsonNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should decode a scalar data member")
+    void shouldDecodeScalarDataMember() throws IOException {
+        Integer nextId = decoder.decode(body("{\"data\":\"105\"}"), Integer.class, null, Integer.class);
+
+        assertThat(nextId).isEqualTo(105);
+    }
+
+    @Test
+    @DisplayName("Should hand the data element to a custom transformer")
+    void shouldApplyCustomTransformer() throws IOException {
+        JsonObject result = decoder.decode(
+                body("{\"data\":\"UPID:pve1:0001:0002:0003:qmstart:100:root@pam:\"}"),
+                JsonObject.class, new TaskResponseTransformer(), JsonObject.class);
+
+        assertThat(result.get("upid").getAsString()).startsWith("UPID:pve1");
+    }
+
+    @Test
+    @DisplayName("Should tell a body that cannot be read from malformed JSON")
+    void shouldTellReadFailuresFromMalformedJson() {
+        IOException reset = new IOException("Connection reset");
+        InputStream cut = new SequenceInputStream(body("{\"data\":{\"version\":\"8."), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw reset;
+            }
+        });
+
+        assertThatThrownBy(() -> decoder.decode(cut, JsonObject.class, null, JsonObject.class)).isSameAs(reset);
+        assertThatThrownBy(() -> decoder.decode(body("{\"data\":{\"version\":"), JsonObject.class, null,
+                JsonObject.class))
+                .isInstanceOf(JsonSyntaxException.class);
+        assertThatThrownBy(() -> decoder.decode(body("{\"data\":[}"), JsonObject.class, null, JsonObject.class))
+                .isInstanceOf(JsonParseException.class);
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
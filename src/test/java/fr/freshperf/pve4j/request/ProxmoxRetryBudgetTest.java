@@ -0,0 +1,68 @@
+package fr.freshperf.pve4j.request;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxRetryBudget Tests")
+class ProxmoxRetryBudgetTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Should allow the minimum retries without traffic")
+    void shouldAllowMinimumRetries() {
+        ProxmoxRetryBudget budget = ProxmoxRetryBudget.builder().minRetries(2).build();
+        long now = System.nanoTime();
+
+        assertThat(budget.tryAcquireRetry(now)).isTrue();
+        assertThat(budget.tryAcquireRetry(now)).isTrue();
+        assertThat(budget.tryAcquireRetry(now)).isFalse();
+        assertThat(budget.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should allow retries in proportion to requests")
+    void shouldAllowRetriesInProportionToRequests() {
+        ProxmoxRetryBudget budget = ProxmoxRetryBudget.builder().ratio(0.1).minRetries(0).build();
+        long now = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            budget.recordRequest(now);
+        }
+
+        int allowed = 0;
+        while (budget.tryAcquireRetry(now)) {
+            allowed++;
+        }
+
+        assertThat(allowed).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should forget requests and retries older than the window")
+    void shouldForgetOldCounts() {
+        ProxmoxRetryBudget budget = ProxmoxRetryBudget.builder()
+                .minRetries(1)
+                .window(Duration.ofSeconds(10))
+                .build();
+        long now = System.nanoTime();
+        assertThat(budget.tryAcquireRetry(now)).isTrue();
+        assertThat(budget.tryAcquireRetry(now + 5 * SECOND)).isFalse();
+
+        assertThat(budget.tryAcquireRetry(now + 11 * SECOND)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> ProxmoxRetryBudget.builder().ratio(-0.1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProxmoxRetryBudget.builder().minRetries(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProxmoxRetryBudget.builder().window(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
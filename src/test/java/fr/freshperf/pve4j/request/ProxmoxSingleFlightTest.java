@@ -0,0 +1,143 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import fr.freshperf.pve4j.throwable.ProxmoxDeadlineExceededError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxSingleFlight Tests")
+class ProxmoxSingleFlightTest {
+
+    @Test
+    @DisplayName("Should share one in-flight call between identical requests")
+    void shouldShareOneInFlightCall() {
+        ProxmoxSingleFlight singleFlight = new ProxmoxSingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> exchange = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.executeAsync("GET version", null, () -> {
+            calls.incrementAndGet();
+            return exchange;
+        });
+        CompletableFuture<String> second = singleFlight.executeAsync("GET version", null, () -> {
+            calls.incrementAndGet();
+            return exchange;
+        });
+        exchange.complete("8.2");
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(first.join()).isEqualTo("8.2");
+        assertThat(second.join()).isEqualTo("8.2");
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cancel other callers when one caller cancels")
+    void shouldNotCancelOtherCallers() {
+        ProxmoxSingleFlight singleFlight = new ProxmoxSingleFlight();
+        CompletableFuture<String> exchange = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.executeAsync("GET version", null, () -> exchange);
+        CompletableFuture<String> second = singleFlight.executeAsync("GET version", null, () -> exchange);
+        first.cancel(true);
+        exchange.complete("8.2");
+
+        assertThat(second.join()).isEqualTo("8.2");
+    }
+
+    @Test
+    @DisplayName("Should send a new request after a failure")
+    void shouldSendANewRequestAfterAFailure() throws ProxmoxAPIError, InterruptedException {
+        ProxmoxSingleFlight singleFlight = new ProxmoxSingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> singleFlight.execute("GET version", null, () -> {
+            calls.incrementAndGet();
+            throw new ProxmoxAPIError("Service unavailable", 503, null, "http://test.com");
+        })).isInstanceOf(ProxmoxAPIError.class);
+
+        String result = singleFlight.execute("GET version", null, () -> {
+            calls.incrementAndGet();
+            return "8.2";
+        });
+
+        assertThat(result).isEqualTo("8.2");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for a shared call at the caller's deadline")
+    void shouldStopWaitingAtDeadline() throws Exception {
+        ProxmoxSingleFlight singleFlight = new ProxmoxSingleFlight();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> {
+            try {
+                return singleFlight.execute("GET version", null, () -> {
+                    started.countDown();
+                    release.await();
+                    return "8.2";
+                });
+            } catch (ProxmoxAPIError | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofMillis(50).toNanos();
+        assertThatThrownBy(() -> singleFlight.execute("GET version", deadline, () -> "not sent"))
+                .isInstanceOf(ProxmoxDeadlineExceededError.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isBetween(Duration.ofMillis(50), Duration.ofSeconds(5));
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("8.2");
+    }
+
+    @Test
+    @DisplayName("Should send the request again when the shared call hit another caller's deadline")
+    void shouldResendAfterOtherCallersDeadline() {
+        ProxmoxSingleFlight singleFlight = new ProxmoxSingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> exchange = new CompletableFuture<>();
+
+        CompletableFuture<String> leader = singleFlight.executeAsync("GET version", System.nanoTime(), () -> {
+            calls.incrementAndGet();
+            return exchange;
+        });
+        CompletableFuture<String> withTime = singleFlight.executeAsync("GET version", null, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("8.2");
+        });
+        CompletableFuture<String> outOfTime = singleFlight.executeAsync("GET version", System.nanoTime(), () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("not sent");
+        });
+        exchange.completeExceptionally(ProxmoxDeadline.exceeded());
+
+        assertThatThrownBy(leader::join).hasCauseInstanceOf(ProxmoxDeadlineExceededError.class);
+        assertThat(withTime.join()).isEqualTo("8.2");
+        assertThatThrownBy(outOfTime::join).hasCauseInstanceOf(ProxmoxDeadlineExceededError.class);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should build the same key regardless of parameter order")
+    void shouldBuildTheSameKeyRegardlessOfParameterOrder() {
+        ProxmoxHttpClient client = new ProxmoxHttpClient("https://pve.example.com:8006/api2/json", "token");
+
+        String first = ProxmoxHttpClient.requestKey(client.get("cluster/resources").param("type", "vm").param("a", 1), String.class);
+        String second = ProxmoxHttpClient.requestKey(client.get("cluster/resources").param("a", 1).param("type", "vm"), String.class);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first).isNotEqualTo(ProxmoxHttpClient.requestKey(client.get("cluster/resources"), String.class));
+    }
+}
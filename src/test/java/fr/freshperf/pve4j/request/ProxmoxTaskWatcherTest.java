@@ -0,0 +1,225 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.Proxmox;
+import fr.freshperf.pve4j.entities.PveTask;
+import fr.freshperf.pve4j.entities.PveTaskStatus;
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxTaskWatcher Tests")
+class ProxmoxTaskWatcherTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(20);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ProxmoxTaskWatcher watcher = new ProxmoxTaskWatcher(scheduler, scheduler);
+    private final TaskNode node = new TaskNode();
+    private final Proxmox proxmox = Proxmox.create("pve.example.com", 8006, "user@pam!test=secret");
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should check the due tasks of a node with one active list call")
+    void shouldShareTheActiveListCall() throws Exception {
+        proxmox.getHttpClient().setTransport(node);
+        List<CompletableFuture<PveTaskStatus>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String upid = node.start(100 + i);
+            futures.add(watcher.watch(proxmox, new PveTask(upid), INTERVAL));
+        }
+        node.finishOnActiveListCall = 3;
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+        // 10 tasks checked 3 times each, in a handful of ticks
+        assertThat(futures).allSatisfy(future -> assertThat(future.join().isSuccessful()).isTrue());
+        assertThat(node.activeListCalls.size()).isBetween(3, 5);
+        assertThat(node.statusCalls).isEmpty();
+        assertThat(watcher.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report the run time of the server to the polling strategy")
+    void shouldReportServerRunTime() throws Exception {
+        proxmox.getHttpClient().setTransport(node);
+        List<Duration> durations = new CopyOnWriteArrayList<>();
+        TaskPollingStrategy strategy = new TaskPollingStrategy() {
+            @Override
+            public Duration nextDelay(PveTask task, int checks, Duration elapsed) {
+                return INTERVAL;
+            }
+
+            @Override
+            public void onTaskCompleted(PveTask task, Duration duration) {
+                durations.add(duration);
+            }
+        };
+        node.finishOnActiveListCall = 2;
+
+        watcher.watch(proxmox, new PveTask(node.start(100)), strategy).get(5, TimeUnit.SECONDS);
+
+        assertThat(durations).containsExactly(Duration.ofSeconds(TaskNode.RUN_TIME_SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should cap status calls per node and space the overflow")
+    void shouldCapStatusCallsPerNode() throws Exception {
+        proxmox.getHttpClient().setTransport(node);
+        watcher.setMaxStatusChecksPerNode(2);
+        List<CompletableFuture<PveTaskStatus>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String upid = node.start(100 + i);
+            node.finish(upid, "OK");
+            futures.add(watcher.watch(proxmox, new PveTask(upid), INTERVAL));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+        assertThat(node.statusCalls).hasSize(5).doesNotHaveDuplicates();
+        assertThat(node.activeListCalls).hasSize(3);
+        for (int i = 1; i < node.activeListCalls.size(); i++) {
+            assertThat(node.activeListCalls.get(i) - node.activeListCalls.get(i - 1))
+                    .isGreaterThanOrEqualTo(Duration.ofMillis(200).toNanos());
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop watching a cancelled task")
+    void shouldStopWatchingCancelledTask() throws Exception {
+        proxmox.getHttpClient().setTransport(node);
+        CompletableFuture<PveTaskStatus> cancelled = watcher.watch(proxmox, new PveTask(node.start(100)), INTERVAL);
+        String upid = node.start(101);
+        CompletableFuture<PveTaskStatus> other = watcher.watch(proxmox, new PveTask(upid), INTERVAL);
+
+        cancelled.cancel(false);
+        node.finish(upid, "OK");
+
+        assertThat(other.get(5, TimeUnit.SECONDS).isSuccessful()).isTrue();
+        Thread.sleep(4 * INTERVAL.toMillis());
+        int calls = node.activeListCalls.size();
+        Thread.sleep(4 * INTERVAL.toMillis());
+
+        assertThat(node.activeListCalls).hasSize(calls);
+        assertThat(watcher.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should retry transient status errors and fail on others")
+    void shouldRetryTransientStatusErrors() throws Exception {
+        proxmox.getHttpClient().setTransport(node);
+        String unavailable = node.start(100);
+        String unknown = node.start(101);
+        String failed = node.start(102);
+        node.finish(unavailable, "OK");
+        node.finish(unknown, "OK");
+        node.finish(failed, "command 'qm start' failed");
+        node.failStatus(unavailable, 503, 2);
+        node.failStatus(unknown, 404, Integer.MAX_VALUE);
+
+        CompletableFuture<PveTaskStatus> retried = watcher.watch(proxmox, new PveTask(unavailable), INTERVAL);
+        CompletableFuture<PveTaskStatus> notFound = watcher.watch(proxmox, new PveTask(unknown), INTERVAL);
+        CompletableFuture<PveTaskStatus> error = watcher.watch(proxmox, new PveTask(failed), INTERVAL);
+
+        assertThat(retried.get(5, TimeUnit.SECONDS).isSuccessful()).isTrue();
+        assertThat(node.statusCalls).filteredOn(unavailable::equals).hasSize(3);
+        assertThatThrownBy(() -> notFound.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ProxmoxAPIError.class)
+                .satisfies(e -> assertThat(((ProxmoxAPIError) e.getCause()).getStatusCode()).isEqualTo(404));
+        assertThatThrownBy(() -> error.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ProxmoxAPIError.class)
+                .hasMessageContaining("command 'qm start' failed");
+    }
+
+    /**
+     * A node whose tasks run until finished by the test.
+     */
+    private static final class TaskNode implements ProxmoxTransport {
+        final Map<String, String> exitStatuses = new ConcurrentHashMap<>();
+        final Map<String, StatusError> statusErrors = new ConcurrentHashMap<>();
+        final List<Long> activeListCalls = new CopyOnWriteArrayList<>();
+        final List<String> statusCalls = new CopyOnWriteArrayList<>();
+        static final long STARTTIME = 0x65A1B2C3L;
+        static final long RUN_TIME_SECONDS = 42;
+
+        volatile int finishOnActiveListCall = Integer.MAX_VALUE;
+
+        String start(int vmid) {
+            String upid = String.format("UPID:pve1:%08X:00005678:%08X:qmstart:%d:root@pam:", vmid, STARTTIME, vmid);
+            exitStatuses.put(upid, "");
+            return upid;
+        }
+
+        void finish(String upid, String exitStatus) {
+            exitStatuses.put(upid, exitStatus);
+        }
+
+        void failStatus(String upid, int statusCode, int times) {
+            statusErrors.put(upid, new StatusError(statusCode, new AtomicInteger(times)));
+        }
+
+        @Override
+        public Response send(Request request) {
+            String path = request.uri().getPath().substring("/api2/json/".length());
+            if (path.equals("nodes/pve1/tasks")) {
+                activeListCalls.add(System.nanoTime());
+                boolean finish = activeListCalls.size() >= finishOnActiveListCall;
+                StringBuilder tasks = new StringBuilder();
+                exitStatuses.forEach((upid, status) -> {
+                    // Running tasks are listed; on and after the finishing call, they are listed as done
+                    if (status.isEmpty() || finish) {
+                        String listed = finish
+                                ? "\"OK\",\"endtime\":" + (STARTTIME + RUN_TIME_SECONDS)
+                                : "null";
+                        tasks.append(tasks.isEmpty() ? "" : ",")
+                                .append("{\"upid\":\"").append(upid).append("\",\"node\":\"pve1\",\"status\":")
+                                .append(listed).append('}');
+                    }
+                });
+                return json(200, "{\"data\":[" + tasks + "]}");
+            }
+            String upid = path.substring("nodes/pve1/tasks/".length(), path.length() - "/status".length());
+            statusCalls.add(upid);
+            StatusError error = statusErrors.get(upid);
+            if (error != null && error.remaining().getAndDecrement() > 0) {
+                return json(error.statusCode(), "{\"data\":null}");
+            }
+            String exitStatus = exitStatuses.get(upid);
+            String status = exitStatus.isEmpty()
+                    ? "{\"status\":\"running\"}"
+                    : "{\"status\":\"stopped\",\"exitstatus\":\"" + exitStatus + "\"}";
+            return json(200, "{\"data\":" + status + "}");
+        }
+
+        @Override
+        public CompletableFuture<Response> sendAsync(Request request) {
+            return CompletableFuture.completedFuture(send(request));
+        }
+
+        private record StatusError(int statusCode, AtomicInteger remaining) {
+        }
+
+        private static Response json(int statusCode, String body) {
+            return Response.ofBytes(statusCode, Map.of(), body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
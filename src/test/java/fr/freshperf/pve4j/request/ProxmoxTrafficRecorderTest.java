@@ -0,0 +1,212 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.JsonObject;
+import fr.freshperf.pve4j.SecurityConfig;
+import fr.freshperf.pve4j.entities.PveVersion;
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Traffic Recording Tests")
+class ProxmoxTrafficRecorderTest {
+
+    private static final String BASE_URL = "https://pve.example.com:8006/api2/json/";
+
+    @Test
+    @DisplayName("Should replay recorded exchanges")
+    void shouldReplayRecordedExchanges(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("traffic.pve4j");
+        ProxmoxHttpClient client = client(new EchoTransport());
+        try (ProxmoxTrafficRecorder recorder = ProxmoxTrafficRecorder.open(file)) {
+            client.setTrafficRecorder(recorder);
+            client.get("version").execute(PveVersion.class);
+            client.get("nodes/pve1/tasks").param("source", "active").executeAsync(JsonObject.class).join();
+            client.post("nodes/pve1/qemu/100/status/start").execute(JsonObject.class);
+            assertThat(recorder.getCount()).isEqualTo(3);
+        }
+
+        List<ProxmoxTrafficRecorder.Exchange> exchanges = ProxmoxTrafficRecorder.read(file);
+        assertThat(exchanges).extracting(ProxmoxTrafficRecorder.Exchange::method).containsExactly("GET", "GET", "POST");
+        assertThat(exchanges).extracting(ProxmoxTrafficRecorder.Exchange::path)
+                .containsExactly("version", "nodes/pve1/tasks?source=active", "nodes/pve1/qemu/100/status/start");
+        assertThat(exchanges.get(2).pathTemplate()).isEqualTo("nodes/{node}/qemu/{vmid}/status/start");
+        assertThat(exchanges.get(2).requestBody()).isNotNull();
+        assertThat(exchanges.get(0).statusCode()).isEqualTo(200);
+
+        ProxmoxHttpClient replay = client(ProxmoxReplayTransport.load(file));
+        assertThat(replay.get("version").execute(PveVersion.class).getVersion()).isEqualTo("GET /version");
+        assertThat(replay.get("nodes/pve1/tasks").param("source", "active").execute(JsonObject.class)
+                .get("version").getAsString()).isEqualTo("GET /nodes/pve1/tasks");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the exchanges of the same path template, in turn")
+    void shouldFallBackToPathTemplate() throws Exception {
+        ProxmoxReplayTransport transport = ProxmoxReplayTransport.of(List.of(
+                exchange("nodes/pve1/qemu/100/status/current", 200, "{\"data\":{\"version\":\"first\"}}", 0),
+                exchange("nodes/pve1/qemu/100/status/current", 200, "{\"data\":{\"version\":\"second\"}}", 0)));
+        ProxmoxHttpClient client = client(transport);
+
+        assertThat(client.get("nodes/pve2/qemu/205/status/current").execute(PveVersion.class).getVersion()).isEqualTo("first");
+        assertThat(client.get("nodes/pve1/qemu/100/status/current").execute(PveVersion.class).getVersion()).isEqualTo("first");
+        assertThat(client.get("nodes/pve1/qemu/100/status/current").execute(PveVersion.class).getVersion()).isEqualTo("second");
+        assertThatThrownBy(() -> client.get("cluster/resources").execute(JsonObject.class))
+                .isInstanceOf(ProxmoxAPIError.class)
+                .hasMessageContaining("No recorded exchange");
+    }
+
+    @Test
+    @DisplayName("Should replay errors and the original timing")
+    void shouldReplayErrorsAndTiming() {
+        ProxmoxReplayTransport transport = ProxmoxReplayTransport.of(List.of(
+                exchange("version", 503, "{\"data\":null}", Duration.ofMillis(100).toNanos()))).withOriginalTiming();
+        ProxmoxHttpClient client = client(transport);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.get("version").execute(PveVersion.class))
+                .isInstanceOfSatisfying(ProxmoxAPIError.class, error -> assertThat(error.getStatusCode()).isEqualTo(503));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("Should read the exchanges flushed by an open recorder and skip logins")
+    void shouldReadFlushedExchanges(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("traffic.pve4j");
+        ProxmoxHttpClient client = client(new EchoTransport());
+        ProxmoxTrafficRecorder recorder = ProxmoxTrafficRecorder.open(file);
+        client.setTrafficRecorder(recorder);
+        client.post("access/ticket").param("password", "secret").execute(JsonObject.class);
+        client.get("version").execute(PveVersion.class);
+        recorder.flush();
+
+        assertThat(ProxmoxTrafficRecorder.read(file)).extracting(ProxmoxTrafficRecorder.Exchange::path)
+                .containsExactly("version");
+        recorder.close();
+    }
+
+    @Test
+    @DisplayName("Should record a query over 64 KB and the exchanges after it")
+    void shouldRecordLongQueries(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("traffic.pve4j");
+        ProxmoxHttpClient client = client(new EchoTransport());
+        String filter = "x".repeat(70_000);
+        try (ProxmoxTrafficRecorder recorder = ProxmoxTrafficRecorder.open(file)) {
+            client.setTrafficRecorder(recorder);
+            client.get("cluster/resources").param("filter", filter).execute(JsonObject.class);
+            client.get("version").execute(PveVersion.class);
+        }
+
+        List<ProxmoxTrafficRecorder.Exchange> exchanges = ProxmoxTrafficRecorder.read(file);
+        assertThat(exchanges).hasSize(2);
+        assertThat(exchanges.get(0).path()).isEqualTo("cluster/resources?filter=" + filter);
+        assertThat(exchanges.get(1).path()).isEqualTo("version");
+    }
+
+    @Test
+    @DisplayName("Should stop recording after a failed write and pass the error to the handler")
+    void shouldReportWriteErrors() throws Exception {
+        FailingStream stream = new FailingStream(120);
+        ProxmoxTrafficRecorder recorder = new ProxmoxTrafficRecorder(new DataOutputStream(stream));
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        recorder.setErrorHandler(errors::add);
+        ProxmoxHttpClient client = client(new EchoTransport());
+        client.setTrafficRecorder(recorder);
+
+        client.get("version").execute(PveVersion.class);
+        client.get("nodes/pve1/qemu/100/status/current").execute(JsonObject.class);
+        int written = stream.written;
+        client.get("version").execute(PveVersion.class);
+
+        assertThat(recorder.getCount()).isEqualTo(1);
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0)).isInstanceOf(IOException.class)
+                .hasMessageContaining("GET nodes/pve1/qemu/100/status/current");
+        assertThat(stream.written).isEqualTo(written);
+        recorder.close();
+        assertThat(stream.written).isEqualTo(written);
+    }
+
+    @Test
+    @DisplayName("Should cancel the transport future with the recorded one")
+    void shouldForwardCancellation() throws Exception {
+        CompletableFuture<ProxmoxTransport.Response> pending = new CompletableFuture<>();
+        ProxmoxTransport transport = new EchoTransport() {
+            @Override
+            public CompletableFuture<Response> sendAsync(Request request) {
+                return pending;
+            }
+        };
+        ProxmoxTrafficRecorder recorder = new ProxmoxTrafficRecorder(
+                new DataOutputStream(OutputStream.nullOutputStream()));
+        ProxmoxTransport.Request request = new ProxmoxTransport.Request("GET", URI.create(BASE_URL + "version"),
+                Map.of(), null, Duration.ofSeconds(5));
+
+        recorder.sendAsync(transport, request).cancel(true);
+
+        assertThat(pending.isCancelled()).isTrue();
+        assertThat(recorder.getCount()).isZero();
+    }
+
+    private static ProxmoxTrafficRecorder.Exchange exchange(String path, int status, String body, long latencyNanos) {
+        return new ProxmoxTrafficRecorder.Exchange("GET", ProxmoxTrafficRecorder.templateOf(URI.create(BASE_URL + path)),
+                path, null, status, body.getBytes(StandardCharsets.UTF_8), 0, latencyNanos);
+    }
+
+    private static ProxmoxHttpClient client(ProxmoxTransport transport) {
+        ProxmoxHttpClient client = new ProxmoxHttpClient(BASE_URL, "user@pam!test=secret", SecurityConfig.secure());
+        client.setTransport(transport);
+        return client;
+    }
+
+    /**
+     * Answers every request with its method and path.
+     */
+    private static class EchoTransport implements ProxmoxTransport {
+        @Override
+        public Response send(Request request) {
+            String path = request.uri().getPath().substring("/api2/json".length());
+            String body = "{\"data\":{\"version\":\"" + request.method() + " " + path + "\"}}";
+            return Response.ofBytes(200, Map.of(), body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public CompletableFuture<Response> sendAsync(Request request) {
+            return CompletableFuture.completedFuture(send(request));
+        }
+    }
+
+    /**
+     * Fails every write past a number of bytes.
+     */
+    private static final class FailingStream extends OutputStream {
+        private final int capacity;
+        int written;
+
+        FailingStream(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (written >= capacity) {
+                throw new IOException("No space left on device");
+            }
+            written++;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.SecurityConfig;
+import fr.freshperf.pve4j.entities.PveVersion;
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxTransport Tests")
+class ProxmoxTransportTest {
+
+    private static final String BASE_URL = "https://pve.example.com:8006/api2/json/";
+    private static final String VERSION_RESPONSE = "{\"data\":{\"version\":\"8.2.2\",\"release\":\"8.2\"}}";
+
+    @Test
+    @DisplayName("Should hand authenticated requests to the transport")
+    void shouldSendAuthenticatedRequests() throws Exception {
+        InMemoryTransport transport = new InMemoryTransport(200, Map.of(), VERSION_RESPONSE);
+        ProxmoxHttpClient client = new ProxmoxHttpClient(BASE_URL, "user@pam!test=secret", SecurityConfig.secure());
+        client.setTransport(transport);
+
+        PveVersion version = client.get("version").execute(PveVersion.class);
+        client.post("nodes/pve1/qemu/100/status/start").param("timeout", 30).executeAsync().join();
+
+        assertThat(version.getVersion()).isEqualTo("8.2.2");
+        assertThat(transport.requests).hasSize(2);
+
+        ProxmoxTransport.Request get = transport.requests.get(0);
+        assertThat(get.method()).isEqualTo("GET");
+        assertThat(get.uri().toString()).isEqualTo(BASE_URL + "version");
+        assertThat(get.headers()).containsEntry("Authorization", "PVEAPIToken=user@pam!test=secret");
+        assertThat(get.body()).isNull();
+
+        ProxmoxTransport.Request post = transport.requests.get(1);
+        assertThat(post.method()).isEqualTo("POST");
+        assertThat(post.uri().toString()).isEqualTo(BASE_URL + "nodes/pve1/qemu/100/status/start?timeout=30");
+        assertThat(new String(post.body(), StandardCharsets.UTF_8)).isEqualTo("{}");
+    }
+
+    @Test
+    @DisplayName("Should send the CSRF token on mutating ticket requests only")
+    void shouldSendCsrfTokenOnMutatingRequests() throws Exception {
+        InMemoryTransport transport = new InMemoryTransport(200, Map.of(), "{\"data\":null}");
+        ProxmoxHttpClient client = new ProxmoxHttpClient(BASE_URL, "PVE:ticket", "csrf", SecurityConfig.secure());
+        client.setTransport(transport);
+
+        client.get("version").execute();
+        client.delete("nodes/pve1/qemu/100").execute();
+
+        assertThat(transport.requests.get(0).headers())
+            .containsEntry("Cookie", "PVEAuthCookie=PVE:ticket")
+            .doesNotContainKey("CSRFPreventionToken");
+        assertThat(transport.requests.get(1).headers()).containsEntry("CSRFPreventionToken", "csrf");
+    }
+
+    @Test
+    @DisplayName("Should turn error responses into ProxmoxAPIError")
+    void shouldReportErrorResponses() {
+        InMemoryTransport transport = new InMemoryTransport(503, Map.of("retry-after", List.of("7")), "busy");
+        ProxmoxHttpClient client = new ProxmoxHttpClient(BASE_URL, "token", SecurityConfig.secure());
+        client.setTransport(transport);
+
+        assertThatThrownBy(() -> client.get("version").execute())
+            .isInstanceOfSatisfying(ProxmoxAPIError.class, error -> {
+                assertThat(error.getStatusCode()).isEqualTo(503);
+                assertThat(error.getResponseBody()).isEqualTo("busy");
+                assertThat(error.getRetryAfter()).isEqualTo(Duration.ofSeconds(7));
+            });
+        assertThatThrownBy(() -> client.get("version").executeAsync().join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(ProxmoxAPIError.class);
+    }
+
+    @Test
+    @DisplayName("Should restore the default transport")
+    void shouldRestoreDefaultTransport() {
+        ProxmoxHttpClient client = new ProxmoxHttpClient(BASE_URL, "token", SecurityConfig.secure());
+        ProxmoxTransport defaultTransport = client.getTransport();
+
+        client.setTransport(new InMemoryTransport(200, Map.of(), VERSION_RESPONSE));
+        client.setTransport(null);
+
+        assertThat(defaultTransport).isInstanceOf(ProxmoxJdkTransport.class);
+        assertThat(client.getTransport()).isSameAs(defaultTransport);
+    }
+
+    @Test
+    @DisplayName("Should read response headers in any case")
+    void shouldReadHeadersCaseInsensitively() throws Exception {
+        ProxmoxTransport.Response response = ProxmoxTransport.Response.ofStream(200,
+                Map.of("Content-Type", List.of("application/json")),
+                new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.header("content-type")).contains("application/json");
+        assertThat(response.header("Retry-After")).isEmpty();
+        assertThat(response.bodyBytes()).isEqualTo("{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should report a streamed body cut off by the network as a network error")
+    void shouldReportCutOffBodyAsNetworkError() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        ProxmoxHttpClient client = new ProxmoxHttpClient(BASE_URL, "token", SecurityConfig.secure());
+        client.setTransport(new InMemoryTransport(200, Map.of(), VERSION_RESPONSE) {
+            @Override
+            public Response send(Request request) {
+                if (attempts.incrementAndGet() > 1) {
+                    return super.send(request);
+                }
+                InputStream reset = new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Connection reset");
+                    }
+                };
+                return Response.ofStream(200, Map.of(), new SequenceInputStream(
+                        new ByteArrayInputStream(VERSION_RESPONSE.substring(0, 20).getBytes(StandardCharsets.UTF_8)),
+                        reset));
+            }
+        });
+
+        assertThatThrownBy(() -> client.get("version").execute(PveVersion.class))
+            .isInstanceOfSatisfying(ProxmoxAPIError.class, error -> {
+                assertThat(error.getStatusCode()).isEqualTo(-1);
+                assertThat(error.getCause()).isInstanceOf(IOException.class).hasMessage("Connection reset");
+            })
+            .hasMessageContaining("Network error");
+
+        attempts.set(0);
+        PveVersion version = new ProxmoxRequest<>(client.get("version"), PveVersion.class)
+                .retry(1).retryDelay(0).execute();
+        assertThat(version.getVersion()).isEqualTo("8.2.2");
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep the status of a response that is not valid JSON")
+    void shouldReportMalformedJsonWithStatus() {
+        ProxmoxHttpClient client = new ProxmoxHttpClient(BASE_URL, "token", SecurityConfig.secure());
+        client.setTransport(new InMemoryTransport(200, Map.of(), "{\"data\":{\"version\":"));
+
+        assertThatThrownBy(() -> client.get("version").execute(PveVersion.class))
+            .isInstanceOfSatisfying(ProxmoxAPIError.class, error -> assertThat(error.getStatusCode()).isEqualTo(200))
+            .hasMessageContaining("Failed to parse JSON response");
+    }
+
+    private static class InMemoryTransport implements ProxmoxTransport {
+
+        private final List<Request> requests = new CopyOnWriteArrayList<>();
+        private final int statusCode;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+
+        private InMemoryTransport(int statusCode, Map<String, List<String>> headers, String body) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Response send(Request request) {
+            requests.add(request);
+            return Response.ofBytes(statusCode, headers, body);
+        }
+
+        @Override
+        public CompletableFuture<Response> sendAsync(Request request) {
+            return CompletableFuture.completedFuture(send(request));
+        }
+    }
+}
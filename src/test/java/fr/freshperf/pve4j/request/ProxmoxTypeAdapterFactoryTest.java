@@ -0,0 +1,85 @@
+package fr.freshperf.pve4j.request;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxTypeAdapterFactory Tests")
+class ProxmoxTypeAdapterFactoryTest {
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new ProxmoxTypeAdapterFactory())
+            .create();
+
+    static class Flags {
+        boolean enabled;
+        Boolean shared;
+        int count;
+        Nested nested;
+        List<Nested> items;
+    }
+
+    static class Nested {
+        boolean online;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, true",
+        "0, false",
+        "true, true",
+        "false, false",
+        "'\"1\"', true",
+        "'\"0\"', false"
+    })
+    @DisplayName("Should read numeric and textual booleans")
+    void shouldReadNumericAndTextualBooleans(String value, boolean expected) {
+        Flags flags = gson.fromJson("{\"enabled\":" + value + "}", Flags.class);
+
+        assertThat(flags.enabled).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should leave numeric fields untouched")
+    void shouldLeaveNumericFieldsUntouched() {
+        Flags flags = gson.fromJson("{\"count\":1,\"shared\":1}", Flags.class);
+
+        assertThat(flags.count).isEqualTo(1);
+        assertThat(flags.shared).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should convert booleans in nested objects and lists")
+    void shouldConvertNestedBooleans() {
+        Flags flags = gson.fromJson(
+                "{\"nested\":{\"online\":1},\"items\":[{\"online\":0},{\"online\":1}]}", Flags.class);
+
+        assertThat(flags.nested.online).isTrue();
+        assertThat(flags.items).extracting(item -> item.online).containsExactly(false, true);
+    }
+
+    @Test
+    @DisplayName("Should keep null for boxed booleans")
+    void shouldKeepNullForBoxedBooleans() {
+        Flags flags = gson.fromJson("{\"shared\":null,\"enabled\":null}", Flags.class);
+
+        assertThat(flags.shared).isNull();
+        assertThat(flags.enabled).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should convert booleans in top-level lists")
+    void shouldConvertTopLevelLists() {
+        List<Nested> nodes = gson.fromJson("[{\"online\":1},{\"online\":0}]", new TypeToken<List<Nested>>(){}.getType());
+
+        assertThat(nodes).extracting(node -> node.online).containsExactly(true, false);
+    }
+}
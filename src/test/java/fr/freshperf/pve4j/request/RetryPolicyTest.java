@@ -0,0 +1,120 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import fr.freshperf.pve4j.throwable.ProxmoxCircuitOpenError;
+import fr.freshperf.pve4j.throwable.ProxmoxDeadlineExceededError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RetryPolicy Tests")
+class RetryPolicyTest {
+
+    @Test
+    @DisplayName("Should grow exponentially up to the cap")
+    void shouldGrowExponentiallyUpToCap() {
+        RetryPolicy policy = RetryPolicy.exponentialBackoff(Duration.ofMillis(100), 2, Duration.ofMillis(500));
+
+        assertThat(policy.nextDelay(1, null)).isEqualTo(Duration.ofMillis(100));
+        assertThat(policy.nextDelay(2, null)).isEqualTo(Duration.ofMillis(200));
+        assertThat(policy.nextDelay(3, null)).isEqualTo(Duration.ofMillis(400));
+        assertThat(policy.nextDelay(4, null)).isEqualTo(Duration.ofMillis(500));
+    }
+
+    @Test
+    @DisplayName("Should keep full jitter below the exponential cap")
+    void shouldKeepFullJitterBelowCap() {
+        RetryPolicy policy = RetryPolicy.exponentialJitter(Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(policy.nextDelay(3, null)).isBetween(Duration.ZERO, Duration.ofMillis(400));
+            assertThat(policy.nextDelay(10, null)).isBetween(Duration.ZERO, Duration.ofSeconds(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep decorrelated jitter between base and three times the previous delay")
+    void shouldKeepDecorrelatedJitterInRange() {
+        RetryPolicy policy = RetryPolicy.decorrelatedJitter(Duration.ofMillis(100), Duration.ofSeconds(2));
+
+        Duration previous = null;
+        for (int retry = 1; retry <= 50; retry++) {
+            Duration delay = policy.nextDelay(retry, previous);
+            Duration upper = previous == null ? Duration.ofMillis(300) : previous.multipliedBy(3);
+            assertThat(delay).isBetween(Duration.ofMillis(100), upper.compareTo(Duration.ofSeconds(2)) < 0
+                    ? upper : Duration.ofSeconds(2));
+            previous = delay;
+        }
+    }
+
+    @Test
+    @DisplayName("Should retry network errors, 429 and gateway errors by default")
+    void shouldRetryTransientErrorsByDefault() {
+        RetryPolicy policy = RetryPolicy.fixed(Duration.ZERO);
+
+        assertThat(policy.shouldRetry(new ProxmoxAPIError("Network error", new IOException()))).isTrue();
+        assertThat(policy.shouldRetry(new ProxmoxAPIError("", 429, "", ""))).isTrue();
+        assertThat(policy.shouldRetry(new ProxmoxAPIError("", 502, "", ""))).isTrue();
+        assertThat(policy.shouldRetry(new ProxmoxAPIError("", 503, "", ""))).isTrue();
+        assertThat(policy.shouldRetry(new ProxmoxAPIError("", 504, "", ""))).isTrue();
+        assertThat(policy.shouldRetry(new ProxmoxAPIError("", 500, "", ""))).isFalse();
+        assertThat(policy.shouldRetry(new ProxmoxAPIError("", 404, "", ""))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not retry open circuits, exceeded deadlines or errors without I/O cause")
+    void shouldNotRetryFailFastErrors() {
+        RetryPolicy policy = RetryPolicy.fixed(Duration.ZERO);
+
+        assertThat(policy.shouldRetry(new ProxmoxAPIError("Network error", new RuntimeException(new IOException()))))
+                .isTrue();
+        assertThat(policy.shouldRetry(new ProxmoxCircuitOpenError("pve1 nodes/pve1", Duration.ofSeconds(30))))
+                .isFalse();
+        assertThat(policy.shouldRetry(new ProxmoxDeadlineExceededError("Deadline exceeded"))).isFalse();
+        assertThat(policy.shouldRetry(new ProxmoxAPIError("Network error", new IllegalStateException()))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should only retry idempotent methods by default")
+    void shouldOnlyRetryIdempotentMethodsByDefault() {
+        RetryPolicy policy = RetryPolicy.fixed(Duration.ZERO);
+        ProxmoxAPIError unavailable = new ProxmoxAPIError("", 503, "", "");
+
+        assertThat(policy.shouldRetry("GET", unavailable)).isTrue();
+        assertThat(policy.shouldRetry("PUT", unavailable)).isTrue();
+        assertThat(policy.shouldRetry("DELETE", unavailable)).isTrue();
+        assertThat(policy.shouldRetry("POST", unavailable)).isFalse();
+        assertThat(policy.shouldRetry(null, unavailable)).isTrue();
+        assertThat(policy.shouldRetry("GET", new ProxmoxAPIError("", 500, "", ""))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should expose the maximum delay of bounded policies")
+    void shouldExposeMaximumDelay() {
+        assertThat(RetryPolicy.fixed(Duration.ofSeconds(1)).maxDelay()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(RetryPolicy.exponentialBackoff(Duration.ofMillis(100), 2, Duration.ofSeconds(5)).maxDelay())
+                .isEqualTo(Duration.ofSeconds(5));
+        assertThat(RetryPolicy.exponentialJitter(Duration.ofMillis(100), Duration.ofSeconds(2)).maxDelay())
+                .isEqualTo(Duration.ofSeconds(2));
+        assertThat(RetryPolicy.decorrelatedJitter(Duration.ofMillis(100), Duration.ofSeconds(3)).maxDelay())
+                .isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    @DisplayName("Should parse Retry-After seconds and dates")
+    void shouldParseRetryAfter() {
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30));
+
+        assertThat(ProxmoxResponseReader.parseRetryAfter("120")).isEqualTo(Duration.ofSeconds(120));
+        assertThat(ProxmoxResponseReader.parseRetryAfter(date)).isBetween(Duration.ofSeconds(25), Duration.ofSeconds(30));
+        assertThat(ProxmoxResponseReader.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT")).isEqualTo(Duration.ZERO);
+        assertThat(ProxmoxResponseReader.parseRetryAfter("soon")).isNull();
+    }
+}
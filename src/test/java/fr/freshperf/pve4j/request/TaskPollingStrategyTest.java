@@ -0,0 +1,79 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.entities.PveTask;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TaskPollingStrategy Tests")
+class TaskPollingStrategyTest {
+
+    private static final PveTask QMSTART = new PveTask("UPID:pve:00001234:00005678:65A1B2C3:qmstart:100:root@pam:");
+    private static final PveTask VZDUMP = new PveTask("UPID:pve:00001234:00005678:65A1B2C3:vzdump:100:root@pam:");
+
+    @Test
+    @DisplayName("Should back off exponentially up to the cap")
+    void shouldBackOffExponentiallyUpToTheCap() {
+        TaskPollingStrategy strategy = TaskPollingStrategy.exponentialBackoff(
+                Duration.ofMillis(250), 2, Duration.ofSeconds(2));
+
+        assertThat(strategy.nextDelay(QMSTART, 0, Duration.ZERO)).isEqualTo(Duration.ofMillis(250));
+        assertThat(strategy.nextDelay(QMSTART, 2, Duration.ZERO)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(strategy.nextDelay(QMSTART, 10, Duration.ZERO)).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Should pick the strategy of the task type")
+    void shouldPickTheStrategyOfTheTaskType() {
+        TaskPollingStrategy strategy = TaskPollingStrategy.byType(
+                Map.of("vzdump", TaskPollingStrategy.fixed(Duration.ofSeconds(30))),
+                TaskPollingStrategy.fixed(Duration.ofMillis(500)));
+
+        assertThat(strategy.nextDelay(VZDUMP, 0, Duration.ZERO)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(strategy.nextDelay(QMSTART, 0, Duration.ZERO)).isEqualTo(Duration.ofMillis(500));
+    }
+
+    @Test
+    @DisplayName("Should poll around the learned duration of a type")
+    void shouldPollAroundTheLearnedDurationOfAType() {
+        LearnedTaskPollingStrategy strategy = new LearnedTaskPollingStrategy(
+                TaskPollingStrategy.fixed(Duration.ofSeconds(1)), Duration.ofMillis(100), Duration.ofSeconds(60), 0.5);
+
+        assertThat(strategy.nextDelay(VZDUMP, 0, Duration.ZERO)).isEqualTo(Duration.ofSeconds(1));
+
+        strategy.onTaskCompleted(VZDUMP, Duration.ofSeconds(40));
+        strategy.onTaskCompleted(VZDUMP, Duration.ofSeconds(20));
+
+        assertThat(strategy.getObservations("vzdump")).isEqualTo(2);
+        assertThat(strategy.getExpectedDuration("vzdump")).isEqualTo(Duration.ofSeconds(30));
+        assertThat(strategy.getDurationDeviation("vzdump")).isEqualTo(Duration.ofSeconds(10));
+        // First check before the expected end, then every half deviation until 40s
+        assertThat(strategy.nextDelay(VZDUMP, 0, Duration.ZERO)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(strategy.nextDelay(VZDUMP, 1, Duration.ofSeconds(20))).isEqualTo(Duration.ofSeconds(5));
+        assertThat(strategy.nextDelay(VZDUMP, 2, Duration.ofMillis(19_950))).isEqualTo(Duration.ofMillis(100));
+        assertThat(strategy.nextDelay(VZDUMP, 4, Duration.ofSeconds(45))).isEqualTo(Duration.ofSeconds(1));
+        assertThat(strategy.nextDelay(QMSTART, 0, Duration.ZERO)).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should check tasks that got faster before their former duration")
+    void shouldFollowTasksGettingFaster() {
+        LearnedTaskPollingStrategy strategy = new LearnedTaskPollingStrategy(
+                TaskPollingStrategy.fixed(Duration.ofSeconds(1)), Duration.ofMillis(100), Duration.ofSeconds(60), 0.5);
+        for (int i = 0; i < 5; i++) {
+            strategy.onTaskCompleted(VZDUMP, Duration.ofSeconds(30));
+        }
+        assertThat(strategy.nextDelay(VZDUMP, 0, Duration.ZERO)).isLessThan(Duration.ofSeconds(30));
+
+        for (int i = 0; i < 5; i++) {
+            strategy.onTaskCompleted(VZDUMP, Duration.ofSeconds(10));
+        }
+
+        assertThat(strategy.getExpectedDuration("vzdump")).isLessThan(Duration.ofSeconds(12));
+        assertThat(strategy.nextDelay(VZDUMP, 0, Duration.ZERO)).isLessThan(Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,103 @@
+package fr.freshperf.pve4j.request;
+
+import fr.freshperf.pve4j.SecurityConfig;
+import fr.freshperf.pve4j.TransportConfig;
+import fr.freshperf.pve4j.entities.PveVersion;
+import fr.freshperf.pve4j.stub.ProxmoxStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compares the throughput of HTTP/1.1 and HTTP/2 transports against a {@link ProxmoxStubServer}
+ * serving HTTPS with a self-signed certificate, standing in for pveproxy, which only speaks
+ * HTTP/1.1. With HTTP/2, the client offers {@code h2} in the TLS handshake of every new
+ * connection and falls back to HTTP/1.1 when the server declines it.
+ *
+ * <p>Run with {@code ./gradlew benchmark}.</p>
+ */
+@Tag("benchmark")
+@DisplayName("Transport benchmark")
+class TransportBenchmark {
+
+    private static final int CONCURRENCY = 32;
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final int MEASURED_REQUESTS = 20_000;
+
+    private static ProxmoxStubServer server;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = ProxmoxStubServer.builder().https().start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("HTTP/1.1 should match HTTP/2 over TLS")
+    void http11ShouldMatchHttp2() throws Exception {
+        ProxmoxHttpClient http2 = client(HttpClient.Version.HTTP_2);
+        ProxmoxHttpClient http11 = client(HttpClient.Version.HTTP_1_1);
+
+        run(http2, WARMUP_REQUESTS);
+        run(http11, WARMUP_REQUESTS);
+        Result http2Result = measure(http2);
+        Result http11Result = measure(http11);
+
+        System.out.printf("%,d GET /version over HTTPS, %d in flight%n", MEASURED_REQUESTS, CONCURRENCY);
+        System.out.printf("  HTTP/2   : %,8.0f req/s, %d new connections%n",
+                http2Result.throughput, http2Result.connections);
+        System.out.printf("  HTTP/1.1 : %,8.0f req/s, %d new connections%n",
+                http11Result.throughput, http11Result.connections);
+
+        // Both reuse the connections opened during warmup
+        assertThat(http2Result.connections).isLessThanOrEqualTo(CONCURRENCY);
+        assertThat(http11Result.connections).isLessThanOrEqualTo(CONCURRENCY);
+    }
+
+    private static ProxmoxHttpClient client(HttpClient.Version version) {
+        return new ProxmoxHttpClient(server.getBaseUrl(), "user@pam!bench=secret", SecurityConfig.insecure(),
+                TransportConfig.builder().version(version).build());
+    }
+
+    private static Result measure(ProxmoxHttpClient client) throws Exception {
+        int connections = server.getConnectionCount();
+        long start = System.nanoTime();
+        run(client, MEASURED_REQUESTS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new Result(MEASURED_REQUESTS / seconds, server.getConnectionCount() - connections);
+    }
+
+    private static void run(ProxmoxHttpClient client, int requests) throws Exception {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger failures = new AtomicInteger();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            client.get("version").executeAsync(PveVersion.class).whenComplete((version, throwable) -> {
+                if (throwable != null) {
+                    failures.incrementAndGet();
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        assertThat(failures.get()).isZero();
+    }
+
+    private record Result(double throughput, int connections) {
+    }
+}
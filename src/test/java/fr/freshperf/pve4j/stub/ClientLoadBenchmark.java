@@ -0,0 +1,236 @@
+package fr.freshperf.pve4j.stub;
+
+import com.google.gson.reflect.TypeToken;
+import fr.freshperf.pve4j.Proxmox;
+import fr.freshperf.pve4j.SecurityConfig;
+import fr.freshperf.pve4j.entities.PveTask;
+import fr.freshperf.pve4j.entities.PveTaskStatus;
+import fr.freshperf.pve4j.entities.cluster.resources.PveClusterResources;
+import fr.freshperf.pve4j.entities.nodes.node.qemu.PveQemuConfig;
+import fr.freshperf.pve4j.entities.nodes.node.qemu.PveQemuStatus;
+import fr.freshperf.pve4j.request.ProxmoxHistogram;
+import fr.freshperf.pve4j.request.ProxmoxHttpClient;
+import fr.freshperf.pve4j.request.ProxmoxMetricsRecorder;
+import fr.freshperf.pve4j.request.ProxmoxRequest;
+import fr.freshperf.pve4j.request.TaskPollingStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Drives the client against a {@link ProxmoxStubServer} and reports its throughput and latency
+ * percentiles, end to end (decoding and retries included) and per endpoint as seen by
+ * {@link ProxmoxMetricsRecorder}.
+ *
+ * <p>Each workload runs twice. A closed loop with a fixed number of operations in flight gives the
+ * highest throughput; its percentiles are service times only, since an operation that takes long
+ * holds back the next one instead of letting it queue. An open loop then starts operations on a
+ * fixed schedule at {@value #OPEN_LOOP_LOAD} of that throughput and measures each one from its
+ * scheduled start, so the response times include the queueing a slow operation causes.</p>
+ *
+ * <p>Run with {@code ./gradlew benchmark}.</p>
+ */
+@Tag("benchmark")
+@DisplayName("Client load benchmark")
+class ClientLoadBenchmark {
+
+    private static final String TOKEN = "user@pam!bench=secret";
+    private static final int CONCURRENCY = 64;
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final int MEASURED_REQUESTS = 30_000;
+    private static final double OPEN_LOOP_LOAD = 0.8;
+    private static final TypeToken<List<PveClusterResources>> RESOURCES = new TypeToken<>() {};
+
+    @Test
+    @DisplayName("Read mix")
+    void readMix() throws Exception {
+        try (ProxmoxStubServer server = ProxmoxStubServer.builder()
+                .nodes(4)
+                .guests(500)
+                .latency(Duration.ZERO, Duration.ofMillis(2))
+                .start()) {
+            run("Read mix: 5% cluster/resources (500 guests), 30% config, 65% status", server,
+                    proxmox -> i -> readRequest(proxmox.getHttpClient(), i).executeAsync());
+        }
+    }
+
+    @Test
+    @DisplayName("Read mix with throttling and unavailability")
+    void readMixWithFaults() throws Exception {
+        try (ProxmoxStubServer server = ProxmoxStubServer.builder()
+                .nodes(4)
+                .guests(500)
+                .latency(Duration.ZERO, Duration.ofMillis(2))
+                .throttleRate(0.02)
+                .unavailableRate(0.05)
+                .start()) {
+            run("Read mix, 2% 429 and 5% 503, 5 retries", server,
+                    proxmox -> i -> readRequest(proxmox.getHttpClient(), i)
+                            .retry(5).retryDelay(Duration.ofMillis(5)).executeAsync());
+            assertThat(server.getFaultCount()).isPositive();
+        }
+    }
+
+    @Test
+    @DisplayName("Slow bodies")
+    void slowBodies() throws Exception {
+        try (ProxmoxStubServer server = ProxmoxStubServer.builder()
+                .guests(500)
+                .slowBody(16 * 1024, Duration.ofMillis(2))
+                .start()) {
+            run("cluster/resources (500 guests) sent 16 KiB every 2 ms", server,
+                    proxmox -> i -> new ProxmoxRequest<>(proxmox.getHttpClient().get("cluster/resources"), RESOURCES)
+                            .executeAsync(),
+                    16, 200, 2_000);
+        }
+    }
+
+    @Test
+    @DisplayName("Task lifecycle")
+    void taskLifecycle() throws Exception {
+        try (ProxmoxStubServer server = ProxmoxStubServer.builder()
+                .guests(500)
+                .taskDuration(Duration.ofSeconds(1))
+                .latency(Duration.ZERO, Duration.ofMillis(2))
+                .start()) {
+            run("Start a VM and wait for its task with the learned polling strategy (1 s tasks)", server,
+                    proxmox -> {
+                        TaskPollingStrategy strategy = TaskPollingStrategy.learned();
+                        return i -> startAndWait(proxmox, strategy, 100 + i % 500);
+                    }, 256, 1_000, 3_000);
+        }
+    }
+
+    private static ProxmoxRequest<?> readRequest(ProxmoxHttpClient client, int i) {
+        int vmid = 100 + i % 500;
+        String vm = "nodes/pve" + (i % 500 % 4 + 1) + "/qemu/" + vmid;
+        if (i % 20 == 0) {
+            return new ProxmoxRequest<>(client.get("cluster/resources"), RESOURCES);
+        }
+        if (i % 10 < 3) {
+            return new ProxmoxRequest<>(client.get(vm + "/config"), PveQemuConfig.class);
+        }
+        return new ProxmoxRequest<>(client.get(vm + "/status/current"), PveQemuStatus.class);
+    }
+
+    private static CompletableFuture<PveTaskStatus> startAndWait(Proxmox proxmox, TaskPollingStrategy strategy,
+                                                                 int vmid) {
+        String node = "pve" + ((vmid - 100) % 2 + 1);
+        return proxmox.getHttpClient().post("nodes/" + node + "/qemu/" + vmid + "/status/start")
+                .executeAsync(String.class)
+                .thenCompose(upid -> ProxmoxRequest.getAsyncTaskManager()
+                        .waitForTaskAsync(proxmox, new PveTask(upid), strategy, null));
+    }
+
+    private static void run(String title, ProxmoxStubServer server,
+                            Function<Proxmox, IntFunction<CompletableFuture<?>>> workload) throws Exception {
+        run(title, server, workload, CONCURRENCY, WARMUP_REQUESTS, MEASURED_REQUESTS);
+    }
+
+    private static void run(String title, ProxmoxStubServer server,
+                            Function<Proxmox, IntFunction<CompletableFuture<?>>> workload,
+                            int concurrency, int warmupRequests, int measuredRequests) throws Exception {
+        Proxmox proxmox = Proxmox.create(server.getBaseUrl(), 0, TOKEN, SecurityConfig.secure());
+        ProxmoxHttpClient client = proxmox.getHttpClient();
+        IntFunction<CompletableFuture<?>> request = workload.apply(proxmox);
+        closedLoop(request, concurrency, warmupRequests, new ProxmoxHistogram());
+
+        ProxmoxMetricsRecorder metrics = new ProxmoxMetricsRecorder();
+        client.setMetrics(metrics);
+        ProxmoxHistogram serviceTime = new ProxmoxHistogram();
+        long serverRequests = server.getRequestCount();
+        long start = System.nanoTime();
+        int failures = closedLoop(request, concurrency, measuredRequests, serviceTime);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double throughput = measuredRequests / seconds;
+        double httpThroughput = (server.getRequestCount() - serverRequests) / seconds;
+        client.setMetrics(null);
+
+        ProxmoxHistogram responseTime = new ProxmoxHistogram();
+        double rate = throughput * OPEN_LOOP_LOAD;
+        int openLoopFailures = openLoop(request, rate, measuredRequests, responseTime);
+
+        System.out.printf("%s%n  closed loop, %,d operations, %d in flight: %,.0f ops/s, %,.0f HTTP requests/s, "
+                        + "%d failed%n", title, measuredRequests, concurrency, throughput, httpThroughput, failures);
+        System.out.printf("  service time : p50=%s p99=%s p999=%s max=%s%n", serviceTime.getPercentile(0.5),
+                serviceTime.getPercentile(0.99), serviceTime.getPercentile(0.999), serviceTime.getMax());
+        metrics.getOperations().stream()
+                .sorted(Comparator.comparing(ProxmoxMetricsRecorder.Operation::getExchangeCount).reversed())
+                .forEach(operation -> System.out.printf("  %-50s %,7d exchanges, %,5d retries, p50=%s p99=%s%n",
+                        operation.getMethod() + " " + operation.getPathTemplate(), operation.getExchangeCount(),
+                        operation.getRetryCount(), operation.getLatency().getPercentile(0.5),
+                        operation.getLatency().getPercentile(0.99)));
+        System.out.printf("  open loop, %,d operations at %,.0f ops/s, %d failed%n", measuredRequests, rate,
+                openLoopFailures);
+        System.out.printf("  response time: p50=%s p99=%s p999=%s max=%s%n", responseTime.getPercentile(0.5),
+                responseTime.getPercentile(0.99), responseTime.getPercentile(0.999), responseTime.getMax());
+
+        assertThat(failures).isZero();
+        assertThat(openLoopFailures).isZero();
+    }
+
+    /**
+     * Keeps {@code concurrency} operations in flight, starting one as soon as another ends.
+     */
+    private static int closedLoop(IntFunction<CompletableFuture<?>> request, int concurrency, int requests,
+                                  ProxmoxHistogram latency) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger failures = new AtomicInteger();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            long start = System.nanoTime();
+            request.apply(i).whenComplete((result, throwable) -> {
+                latency.record(System.nanoTime() - start);
+                if (throwable != null) {
+                    failures.incrementAndGet();
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        return failures.get();
+    }
+
+    /**
+     * Starts operations at a fixed rate whatever the number in flight, timing each one from when
+     * it was scheduled to start.
+     */
+    private static int openLoop(IntFunction<CompletableFuture<?>> request, double rate, int requests,
+                                ProxmoxHistogram latency) throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            long scheduled = start + i * interval;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            request.apply(i).whenComplete((result, throwable) -> {
+                latency.record(System.nanoTime() - scheduled);
+                if (throwable != null) {
+                    failures.incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        return failures.get();
+    }
+}
@@ -0,0 +1,676 @@
+package fr.freshperf.pve4j.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded stand-in for the Proxmox API, serving synthetic data over HTTP/1.1 for load tests
+ * and end-to-end benchmarks of the client. It serves plain HTTP by default, or HTTPS with a
+ * self-signed certificate like a fresh pveproxy, see {@link Builder#https()}.
+ *
+ * <pre>{@code
+ * try (ProxmoxStubServer server = ProxmoxStubServer.builder()
+ *         .guests(500)
+ *         .taskDuration(Duration.ofMillis(200))
+ *         .unavailableRate(0.05)
+ *         .start()) {
+ *     ProxmoxHttpClient client = new ProxmoxHttpClient(server.getBaseUrl(), "user@pam!bench=secret",
+ *             SecurityConfig.secure());
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <p>The cluster has {@link Builder#nodes(int)} nodes named {@code pve1}, {@code pve2}, ... and
+ * {@link Builder#guests(int)} VMs, VM {@code 100 + i} living on node {@code pve(i % nodes + 1)}.
+ * Served endpoints:</p>
+ * <ul>
+ *     <li>{@code GET version}, {@code GET nodes}, {@code GET cluster/resources}</li>
+ *     <li>{@code GET nodes/{node}/qemu}, {@code GET nodes/{node}/qemu/{vmid}/status/current} and
+ *     {@code GET nodes/{node}/qemu/{vmid}/config}</li>
+ *     <li>{@code POST nodes/{node}/qemu/{vmid}/status/{action}}, starting a task that ends after
+ *     {@link Builder#taskDuration(Duration)}</li>
+ *     <li>{@code GET nodes/{node}/tasks} and {@code GET nodes/{node}/tasks/{upid}/status}</li>
+ *     <li>{@code POST access/ticket}</li>
+ * </ul>
+ * <p>Anything else gets a 501, like pveproxy. Requests without a token or ticket get a 401.</p>
+ */
+public final class ProxmoxStubServer implements AutoCloseable {
+
+    private static final String API_PREFIX = "/api2/json/";
+    private static final char[] KEY_STORE_PASSWORD = "pve4j-stub".toCharArray();
+
+    static {
+        // Without it, the header and body writes of each response wait on delayed ACKs
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final Builder config;
+    private final Map<String, Duration> taskDurations;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] clusterResources;
+    private final Map<String, Task> tasks = new ConcurrentHashMap<>();
+    private final AtomicInteger nextPid = new AtomicInteger(0x1000);
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong faults = new AtomicLong();
+    private final Set<String> connections = ConcurrentHashMap.newKeySet();
+
+    private ProxmoxStubServer(Builder config) throws IOException {
+        this.config = config;
+        this.taskDurations = Map.copyOf(config.taskDurations);
+        this.clusterResources = envelope(clusterResourcesJson(null));
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", 0);
+        if (config.https) {
+            HttpsServer https = HttpsServer.create(address, 1024);
+            https.setHttpsConfigurator(new HttpsConfigurator(selfSignedContext()));
+            this.server = https;
+        } else {
+            this.server = HttpServer.create(address, 1024);
+        }
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return a builder with 2 nodes, 100 guests, 1 second tasks and no injected fault
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the base API URL to give to the client.
+     *
+     * @return the URL, e.g. {@code http://127.0.0.1:41235/api2/json/}
+     */
+    public String getBaseUrl() {
+        return (config.https ? "https" : "http") + "://127.0.0.1:" + server.getAddress().getPort() + API_PREFIX;
+    }
+
+    /**
+     * Returns the number of requests received.
+     *
+     * @return the request count, faulted requests included
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the number of client connections seen so far.
+     *
+     * @return the connection count, closed connections included
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Returns the number of requests answered with an injected 429 or 503.
+     *
+     * @return the fault count
+     */
+    public long getFaultCount() {
+        return faults.get();
+    }
+
+    /**
+     * Returns the number of tasks started so far.
+     *
+     * @return the task count, finished tasks included
+     */
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            connections.add(exchange.getRemoteAddress().toString());
+            exchange.getRequestBody().readAllBytes();
+            sleep(config.minLatency.plus(jitter()));
+
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+            if (!path.startsWith(API_PREFIX)) {
+                send(exchange, 404, null);
+                return;
+            }
+            String[] segments = path.substring(API_PREFIX.length()).split("/");
+            boolean login = method.equals("POST") && path.equals(API_PREFIX + "access/ticket");
+            if (!login && !authenticated(exchange)) {
+                send(exchange, 401, null);
+                return;
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < config.throttleRate) {
+                faults.incrementAndGet();
+                send(exchange, 429, null);
+                return;
+            }
+            if (random.nextDouble() < config.unavailableRate) {
+                faults.incrementAndGet();
+                send(exchange, 503, null);
+                return;
+            }
+
+            byte[] body;
+            if (login) {
+                body = envelope(ticketJson());
+            } else if (method.equals("GET") && path.equals(API_PREFIX + "cluster/resources") && !query.containsKey("type")) {
+                body = clusterResources;
+            } else {
+                String data = route(method, segments, query);
+                body = data != null ? envelope(data) : null;
+            }
+            send(exchange, body != null ? 200 : 501, body);
+        }
+    }
+
+    private String route(String method, String[] segments, Map<String, String> query) {
+        int length = segments.length;
+        if (method.equals("GET") && length == 1 && segments[0].equals("version")) {
+            return "{\"version\":\"8.2.2\",\"release\":\"8.2\",\"repoid\":\"9355359cd7afbae4\"}";
+        }
+        if (method.equals("GET") && length == 1 && segments[0].equals("nodes")) {
+            return nodesJson();
+        }
+        if (method.equals("GET") && length == 2 && segments[0].equals("cluster") && segments[1].equals("resources")) {
+            return clusterResourcesJson(query.get("type"));
+        }
+        if (length < 3 || !segments[0].equals("nodes") || nodeIndex(segments[1]) < 0) {
+            return null;
+        }
+        String node = segments[1];
+        if (segments[2].equals("qemu")) {
+            if (length == 3 && method.equals("GET")) {
+                return qemuIndexJson(node);
+            }
+            int guest = length >= 4 ? guestIndex(node, segments[3]) : -1;
+            if (guest < 0) {
+                return null;
+            }
+            if (length == 5 && method.equals("GET") && segments[4].equals("config")) {
+                return qemuConfigJson(guest);
+            }
+            if (length == 6 && segments[4].equals("status")) {
+                if (method.equals("GET") && segments[5].equals("current")) {
+                    return qemuStatusJson(guest);
+                }
+                if (method.equals("POST")) {
+                    return '"' + startTask(node, "qm" + segments[5], String.valueOf(100 + guest)) + '"';
+                }
+            }
+            return null;
+        }
+        if (segments[2].equals("tasks") && method.equals("GET")) {
+            if (length == 3) {
+                return nodeTasksJson(node, "active".equals(query.get("source")));
+            }
+            Task task = length == 5 && segments[4].equals("status") ? tasks.get(segments[3]) : null;
+            return task != null ? taskStatusJson(task) : null;
+        }
+        return null;
+    }
+
+    private String startTask(String node, String type, String id) {
+        long now = System.currentTimeMillis();
+        Duration duration = taskDurations.getOrDefault(type, config.taskDuration);
+        String upid = String.format("UPID:%s:%08X:%08X:%08X:%s:%s:root@pam:",
+                node, nextPid.incrementAndGet(), now / 10 & 0xFFFFFFFFL, now / 1000, type, id);
+        tasks.put(upid, new Task(upid, node, type, id, now / 1000, System.nanoTime() + duration.toNanos()));
+        return upid;
+    }
+
+    private String clusterResourcesJson(String type) {
+        StringBuilder json = new StringBuilder("[");
+        if (type == null || type.equals("node")) {
+            for (int i = 0; i < config.nodes; i++) {
+                separate(json).append("{\"id\":\"node/pve").append(i + 1).append("\",\"type\":\"node\",\"node\":\"pve")
+                        .append(i + 1).append("\",\"status\":\"online\",\"cpu\":0.0734,\"maxcpu\":64,")
+                        .append("\"mem\":201863462912,\"maxmem\":540950433792,\"disk\":18253611008,")
+                        .append("\"maxdisk\":100861726720,\"uptime\":3456789,\"level\":\"\"}");
+            }
+        }
+        if (type == null || type.equals("vm")) {
+            for (int i = 0; i < config.guests; i++) {
+                separate(json).append(guestResourceJson(i));
+            }
+        }
+        return json.append(']').toString();
+    }
+
+    private String guestResourceJson(int guest) {
+        int vmid = 100 + guest;
+        return "{\"id\":\"qemu/" + vmid + "\",\"type\":\"qemu\",\"node\":\"" + nodeOf(guest) + "\",\"vmid\":" + vmid
+                + ",\"name\":\"vm-" + vmid + "\",\"status\":\"running\",\"cpu\":0.0123,\"maxcpu\":4,"
+                + "\"mem\":2147483648,\"maxmem\":4294967296,\"disk\":0,\"maxdisk\":34359738368,\"uptime\":123456,"
+                + "\"netin\":123456789,\"netout\":987654321,\"template\":0,\"tags\":\"web;prod\",\"pool\":\"pool"
+                + guest % 8 + "\",\"hastate\":\"started\"}";
+    }
+
+    private String nodesJson() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < config.nodes; i++) {
+            separate(json).append("{\"node\":\"pve").append(i + 1).append("\",\"status\":\"online\",\"level\":\"\",")
+                    .append("\"id\":\"node/pve").append(i + 1).append("\",\"type\":\"node\",\"cpu\":0.0734,\"maxcpu\":64,")
+                    .append("\"mem\":201863462912,\"maxmem\":540950433792,\"uptime\":3456789}");
+        }
+        return json.append(']').toString();
+    }
+
+    private String qemuIndexJson(String node) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = nodeIndex(node); i < config.guests; i += config.nodes) {
+            int vmid = 100 + i;
+            separate(json).append("{\"vmid\":").append(vmid).append(",\"name\":\"vm-").append(vmid)
+                    .append("\",\"status\":\"running\",\"cpus\":4,\"cpu\":0.0123,\"maxmem\":4294967296,")
+                    .append("\"mem\":2147483648,\"maxdisk\":34359738368,\"disk\":0,\"uptime\":123456,")
+                    .append("\"netin\":123456789,\"netout\":987654321,\"pid\":").append(10_000 + i).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private String qemuStatusJson(int guest) {
+        int vmid = 100 + guest;
+        return "{\"vmid\":" + vmid + ",\"name\":\"vm-" + vmid + "\",\"status\":\"running\",\"qmpstatus\":\"running\","
+                + "\"cpus\":4,\"cpu\":0.0421,\"pid\":" + (10_000 + guest) + ",\"uptime\":1209600,\"tags\":\"web;prod\","
+                + "\"maxmem\":4294967296,\"mem\":2147483648,\"maxdisk\":34359738368,\"disk\":0,"
+                + "\"netin\":98765432101,\"netout\":12345678901,\"diskread\":4567890123,\"diskwrite\":7890123456,"
+                + "\"agent\":1,\"running-machine\":\"pc-q35-8.1+pve0\",\"running-qemu\":\"8.1.5\","
+                + "\"ha\":{\"managed\":0},\"ballooninfo\":{\"actual\":4294967296,\"max_mem\":4294967296,"
+                + "\"total_mem\":4128768000,\"free_mem\":2107617792,\"last_update\":1716560000}}";
+    }
+
+    private String qemuConfigJson(int guest) {
+        int vmid = 100 + guest;
+        return "{\"name\":\"vm-" + vmid + "\",\"tags\":\"web;prod\",\"ostype\":\"l26\",\"machine\":\"pc-q35-8.1\","
+                + "\"boot\":\"order=scsi0;ide2;net0\",\"cpu\":\"x86-64-v2-AES\",\"sockets\":1,\"cores\":4,"
+                + "\"memory\":\"4096\",\"balloon\":2048,\"onboot\":1,\"agent\":\"enabled=1\","
+                + "\"scsihw\":\"virtio-scsi-single\",\"scsi0\":\"local-lvm:vm-" + vmid + "-disk-0,iothread=1,size=32G\","
+                + "\"ide2\":\"none,media=cdrom\",\"net0\":\"virtio=BC:24:11:4E:7A:01,bridge=vmbr0,firewall=1\","
+                + "\"smbios1\":\"uuid=6c1b0f2e-8a3d-4b5c-9e7f-0a1b2c3d4e5f\",\"vmgenid\":\"0d6f8a2c-1b3e-4c5d-8e9f-a0b1c2d3e4f5\","
+                + "\"digest\":\"3f1c2a9be0d4f6a7c8b9d0e1f2a3b4c5d6e7f809\",\"meta\":\"creation-qemu=8.1.5,ctime=1716560000\"}";
+    }
+
+    private String nodeTasksJson(String node, boolean activeOnly) {
+        StringBuilder json = new StringBuilder("[");
+        long now = System.nanoTime();
+        for (Task task : tasks.values()) {
+            if (task.node.equals(node) && (!activeOnly || task.isRunning(now))) {
+                separate(json).append(taskJson(task, now, false));
+            }
+        }
+        return json.append(']').toString();
+    }
+
+    private String taskStatusJson(Task task) {
+        return taskJson(task, System.nanoTime(), true);
+    }
+
+    private static String taskJson(Task task, long now, boolean detailed) {
+        boolean running = task.isRunning(now);
+        StringBuilder json = new StringBuilder("{\"upid\":\"").append(task.upid).append("\",\"node\":\"")
+                .append(task.node).append("\",\"type\":\"").append(task.type).append("\",\"id\":\"").append(task.id)
+                .append("\",\"user\":\"root@pam\",\"starttime\":").append(task.starttime);
+        if (detailed) {
+            json.append(",\"status\":\"").append(running ? "running" : "stopped").append('"');
+            if (!running) {
+                json.append(",\"exitstatus\":\"OK\"");
+            }
+        } else if (!running) {
+            json.append(",\"status\":\"OK\",\"endtime\":").append(task.starttime + 1);
+        }
+        return json.append('}').toString();
+    }
+
+    private static String ticketJson() {
+        return "{\"username\":\"root@pam\",\"ticket\":\"PVE:root@pam:6650A1B2::c3R1Yg==\","
+                + "\"CSRFPreventionToken\":\"6650A1B2:c3R1Yg\"}";
+    }
+
+    private void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        byte[] bytes = body != null ? body : envelope("null");
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        if (config.chunkDelay.isZero()) {
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            return;
+        }
+        exchange.sendResponseHeaders(status, 0);
+        OutputStream out = exchange.getResponseBody();
+        for (int offset = 0; offset < bytes.length; offset += config.chunkSize) {
+            if (offset > 0) {
+                sleep(config.chunkDelay);
+            }
+            out.write(bytes, offset, Math.min(config.chunkSize, bytes.length - offset));
+            out.flush();
+        }
+    }
+
+    /**
+     * Generates a key pair and self-signed certificate for 127.0.0.1 with keytool.
+     */
+    private static SSLContext selfSignedContext() throws IOException {
+        Path keyStore = Files.createTempFile("pve4j-stub", ".p12");
+        try {
+            Files.delete(keyStore);
+            String keytool = Path.of(System.getProperty("java.home"), "bin", "keytool").toString();
+            String password = new String(KEY_STORE_PASSWORD);
+            Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "pveproxy",
+                    "-keyalg", "EC", "-groupname", "secp256r1", "-dname", "CN=127.0.0.1", "-ext", "SAN=ip:127.0.0.1",
+                    "-validity", "1", "-storetype", "PKCS12", "-keystore", keyStore.toString(),
+                    "-storepass", password, "-keypass", password)
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (process.waitFor() != 0) {
+                throw new IOException("keytool failed: " + output);
+            }
+            KeyStore store = KeyStore.getInstance("PKCS12");
+            try (InputStream in = Files.newInputStream(keyStore)) {
+                store.load(in, KEY_STORE_PASSWORD);
+            }
+            KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagers.init(store, KEY_STORE_PASSWORD);
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keyManagers.getKeyManagers(), null, null);
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Cannot create the certificate", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while creating the certificate", e);
+        } finally {
+            Files.deleteIfExists(keyStore);
+        }
+    }
+
+    private static boolean authenticated(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+        return (authorization != null && authorization.startsWith("PVEAPIToken="))
+                || (cookie != null && cookie.contains("PVEAuthCookie="));
+    }
+
+    private int nodeIndex(String node) {
+        if (!node.startsWith("pve")) {
+            return -1;
+        }
+        try {
+            int index = Integer.parseInt(node.substring(3)) - 1;
+            return index >= 0 && index < config.nodes ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private int guestIndex(String node, String vmid) {
+        try {
+            int guest = Integer.parseInt(vmid) - 100;
+            return guest >= 0 && guest < config.guests && nodeOf(guest).equals(node) ? guest : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String nodeOf(int guest) {
+        return "pve" + (guest % config.nodes + 1);
+    }
+
+    private Duration jitter() {
+        long spread = config.maxLatency.toNanos() - config.minLatency.toNanos();
+        return spread > 0 ? Duration.ofNanos(ThreadLocalRandom.current().nextLong(spread + 1)) : Duration.ZERO;
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                params.put(pair.substring(0, equals), pair.substring(equals + 1));
+            }
+        }
+        return params;
+    }
+
+    private static StringBuilder separate(StringBuilder json) {
+        if (json.length() > 1) {
+            json.append(',');
+        }
+        return json;
+    }
+
+    private static byte[] envelope(String data) {
+        return ("{\"data\":" + data + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Task(String upid, String node, String type, String id, long starttime, long endNanos) {
+        boolean isRunning(long now) {
+            return now - endNanos < 0;
+        }
+    }
+
+    /**
+     * Builder of {@link ProxmoxStubServer}.
+     */
+    public static final class Builder {
+        private int nodes = 2;
+        private int guests = 100;
+        private Duration taskDuration = Duration.ofSeconds(1);
+        private final Map<String, Duration> taskDurations = new HashMap<>();
+        private Duration minLatency = Duration.ZERO;
+        private Duration maxLatency = Duration.ZERO;
+        private double throttleRate;
+        private double unavailableRate;
+        private int chunkSize = 1024;
+        private Duration chunkDelay = Duration.ZERO;
+        private boolean https;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of nodes.
+         *
+         * @param nodes the node count, at least 1
+         * @return this builder
+         */
+        public Builder nodes(int nodes) {
+            if (nodes < 1) {
+                throw new IllegalArgumentException("Nodes must be at least 1, got " + nodes);
+            }
+            this.nodes = nodes;
+            return this;
+        }
+
+        /**
+         * Sets the number of VMs, spread across the nodes.
+         *
+         * @param guests the VM count
+         * @return this builder
+         */
+        public Builder guests(int guests) {
+            if (guests < 0) {
+                throw new IllegalArgumentException("Guests must not be negative, got " + guests);
+            }
+            this.guests = guests;
+            return this;
+        }
+
+        /**
+         * Sets how long tasks run before ending successfully.
+         *
+         * @param duration the task duration
+         * @return this builder
+         */
+        public Builder taskDuration(Duration duration) {
+            this.taskDuration = requireNonNegative(duration, "Task duration");
+            return this;
+        }
+
+        /**
+         * Sets how long tasks of a type run, overriding {@link #taskDuration(Duration)}.
+         *
+         * @param type     the task type, e.g. "qmstart" or "qmshutdown"
+         * @param duration the task duration
+         * @return this builder
+         */
+        public Builder taskDuration(String type, Duration duration) {
+            taskDurations.put(type, requireNonNegative(duration, "Task duration"));
+            return this;
+        }
+
+        /**
+         * Adds a fixed latency to every response.
+         *
+         * @param latency the latency
+         * @return this builder
+         */
+        public Builder latency(Duration latency) {
+            return latency(latency, latency);
+        }
+
+        /**
+         * Adds a latency drawn uniformly between two bounds to every response.
+         *
+         * @param min the minimum latency
+         * @param max the maximum latency, at least min
+         * @return this builder
+         */
+        public Builder latency(Duration min, Duration max) {
+            requireNonNegative(min, "Latency");
+            if (max == null || max.compareTo(min) < 0) {
+                throw new IllegalArgumentException("Max latency must be at least " + min + ", got " + max);
+            }
+            this.minLatency = min;
+            this.maxLatency = max;
+            return this;
+        }
+
+        /**
+         * Sets the share of requests answered with 429 Too Many Requests.
+         *
+         * @param rate the rate, between 0 and 1
+         * @return this builder
+         */
+        public Builder throttleRate(double rate) {
+            this.throttleRate = requireRate(rate);
+            return this;
+        }
+
+        /**
+         * Sets the share of requests answered with 503 Service Unavailable.
+         *
+         * @param rate the rate, between 0 and 1
+         * @return this builder
+         */
+        public Builder unavailableRate(double rate) {
+            this.unavailableRate = requireRate(rate);
+            return this;
+        }
+
+        /**
+         * Sends every response body in chunks, pausing between them.
+         *
+         * @param chunkSize the chunk size in bytes, at least 1
+         * @param delay     the pause between two chunks
+         * @return this builder
+         */
+        public Builder slowBody(int chunkSize, Duration delay) {
+            if (chunkSize < 1) {
+                throw new IllegalArgumentException("Chunk size must be at least 1, got " + chunkSize);
+            }
+            this.chunkSize = chunkSize;
+            this.chunkDelay = requireNonNegative(delay, "Chunk delay");
+            return this;
+        }
+
+        /**
+         * Serves HTTPS with a self-signed certificate generated at startup, as pveproxy does out
+         * of the box. Clients have to skip certificate verification, e.g. with
+         * {@code SecurityConfig.insecure()}.
+         *
+         * @return this builder
+         */
+        public Builder https() {
+            this.https = true;
+            return this;
+        }
+
+        /**
+         * Starts the server on a free local port.
+         *
+         * @return the started server
+         * @throws IOException if the server cannot be bound
+         */
+        public ProxmoxStubServer start() throws IOException {
+            return new ProxmoxStubServer(this);
+        }
+
+        private static Duration requireNonNegative(Duration duration, String name) {
+            if (duration == null || duration.isNegative()) {
+                throw new IllegalArgumentException(name + " must not be negative, got " + duration);
+            }
+            return duration;
+        }
+
+        private static double requireRate(double rate) {
+            if (!(rate >= 0 && rate <= 1)) {
+                throw new IllegalArgumentException("Rate must be between 0 and 1, got " + rate);
+            }
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package fr.freshperf.pve4j.stub;
+
+import com.google.gson.reflect.TypeToken;
+import fr.freshperf.pve4j.SecurityConfig;
+import fr.freshperf.pve4j.entities.PveTask;
+import fr.freshperf.pve4j.entities.PveTaskStatus;
+import fr.freshperf.pve4j.entities.PveVersion;
+import fr.freshperf.pve4j.entities.cluster.resources.PveClusterResources;
+import fr.freshperf.pve4j.entities.nodes.node.qemu.PveQemuStatus;
+import fr.freshperf.pve4j.request.ProxmoxHttpClient;
+import fr.freshperf.pve4j.request.ProxmoxRequest;
+import fr.freshperf.pve4j.throwable.ProxmoxAPIError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxStubServer Tests")
+class ProxmoxStubServerTest {
+
+    private static final String TOKEN = "user@pam!test=secret";
+
+    @Test
+    @DisplayName("Should serve the cluster resources of every node and guest")
+    void shouldServeClusterResources() throws Exception {
+        try (ProxmoxStubServer server = ProxmoxStubServer.builder().nodes(3).guests(250).start()) {
+            ProxmoxHttpClient client = client(server);
+
+            List<PveClusterResources> all = new ProxmoxRequest<>(client.get("cluster/resources"),
+                    new TypeToken<List<PveClusterResources>>() {}).execute();
+            List<PveClusterResources> vms = new ProxmoxRequest<>(client.get("cluster/resources").param("type", "vm"),
+                    new TypeToken<List<PveClusterResources>>() {}).execute();
+            PveQemuStatus status = client.get("nodes/pve2/qemu/101/status/current").execute(PveQemuStatus.class);
+
+            assertThat(all).hasSize(253);
+            assertThat(vms).hasSize(250);
+            assertThat(status.getVmid()).isEqualTo(101);
+            assertThat(status.getStatus()).isEqualTo("running");
+        }
+    }
+
+    @Test
+    @DisplayName("Should end tasks after their duration")
+    void shouldEndTasksAfterTheirDuration() throws Exception {
+        try (ProxmoxStubServer server = ProxmoxStubServer.builder()
+                .taskDuration(Duration.ofMinutes(1))
+                .taskDuration("qmstart", Duration.ofMillis(200))
+                .start()) {
+            ProxmoxHttpClient client = client(server);
+
+            PveTask task = new PveTask(client.post("nodes/pve1/qemu/100/status/start").execute(String.class));
+            PveTaskStatus running = taskStatus(client, task);
+            Thread.sleep(300);
+            PveTaskStatus stopped = taskStatus(client, task);
+
+            assertThat(task.getNode()).isEqualTo("pve1");
+            assertThat(task.getType()).isEqualTo("qmstart");
+            assertThat(task.getId()).isEqualTo("100");
+            assertThat(running.isRunning()).isTrue();
+            assertThat(stopped.isSuccessful()).isTrue();
+            assertThat(server.getTaskCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should inject faults")
+    void shouldInjectFaults() throws Exception {
+        try (ProxmoxStubServer server = ProxmoxStubServer.builder().unavailableRate(1).start()) {
+            ProxmoxHttpClient client = client(server);
+
+            assertThatThrownBy(() -> client.get("version").execute(PveTaskStatus.class))
+                    .isInstanceOfSatisfying(ProxmoxAPIError.class, error -> assertThat(error.getStatusCode()).isEqualTo(503));
+            assertThat(server.getFaultCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should slow down response bodies")
+    void shouldSlowDownResponseBodies() throws Exception {
+        try (ProxmoxStubServer server = ProxmoxStubServer.builder()
+                .guests(10)
+                .slowBody(1024, Duration.ofMillis(50))
+                .start()) {
+            long start = System.nanoTime();
+            List<PveClusterResources> resources = new ProxmoxRequest<>(client(server).get("cluster/resources"),
+                    new TypeToken<List<PveClusterResources>>() {}).execute();
+
+            assertThat(resources).hasSize(12);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject unauthenticated and unknown requests")
+    void shouldRejectUnauthenticatedAndUnknownRequests() throws Exception {
+        try (ProxmoxStubServer server = ProxmoxStubServer.builder().start()) {
+            HttpClient http = HttpClient.newHttpClient();
+            HttpResponse<String> anonymous = http.send(HttpRequest.newBuilder(URI.create(server.getBaseUrl() + "version")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> unknown = http.send(HttpRequest.newBuilder(URI.create(server.getBaseUrl() + "storage"))
+                    .header("Authorization", "PVEAPIToken=" + TOKEN)
+                    .build(), HttpResponse.BodyHandlers.ofString());
+
+            assertThat(anonymous.statusCode()).isEqualTo(401);
+            assertThat(unknown.statusCode()).isEqualTo(501);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> ProxmoxStubServer.builder().nodes(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProxmoxStubServer.builder().throttleRate(1.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProxmoxStubServer.builder().latency(Duration.ofMillis(5), Duration.ofMillis(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PveTaskStatus taskStatus(ProxmoxHttpClient client, PveTask task) throws Exception {
+        return client.get("nodes/" + task.getNode() + "/tasks/" + task.getUpid() + "/status").execute(PveTaskStatus.class);
+    }
+
+    @Test
+    @DisplayName("Should serve HTTPS with a self-signed certificate")
+    void shouldServeHttps() throws Exception {
+        try (ProxmoxStubServer server = ProxmoxStubServer.builder().https().start()) {
+            ProxmoxHttpClient verifying = client(server);
+            ProxmoxHttpClient insecure = new ProxmoxHttpClient(server.getBaseUrl(), TOKEN, SecurityConfig.insecure());
+
+            PveVersion version = insecure.get("version").execute(PveVersion.class);
+
+            assertThat(server.getBaseUrl()).startsWith("https://127.0.0.1:");
+            assertThat(version.getVersion()).isEqualTo("8.2.2");
+            assertThat(server.getConnectionCount()).isEqualTo(1);
+            assertThatThrownBy(() -> verifying.get("version").execute(PveVersion.class))
+                    .isInstanceOf(ProxmoxAPIError.class);
+        }
+    }
+
+    private static ProxmoxHttpClient client(ProxmoxStubServer server) {
+        return new ProxmoxHttpClient(server.getBaseUrl(), TOKEN, SecurityConfig.secure());
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("ProxmoxApiBaseUrlBuilder Tests")
@@ -106,5 +108,19 @@ class ProxmoxApiBaseUrlBuilderTest {
 
         assertThat(url).isEqualTo("http://test.com:8080/api2/json/");
     }
-}
 
+    @Test
+    @DisplayName("Should build one URL per cluster node")
+    void shouldBuildOneUrlPerClusterNode() {
+        assertThat(ProxmoxApiBaseUrlBuilder.buildApiBaseUrls(List.of("pve1.local", "http://pve2.local"), 8006))
+            .containsExactly("https://pve1.local:8006/api2/json/", "http://pve2.local:8006/api2/json/");
+    }
+
+    @Test
+    @DisplayName("Should throw exception for empty host list")
+    void shouldThrowExceptionForEmptyHostList() {
+        assertThatThrownBy(() -> ProxmoxApiBaseUrlBuilder.buildApiBaseUrls(List.of(), 8006))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("At least one host is required");
+    }
+}
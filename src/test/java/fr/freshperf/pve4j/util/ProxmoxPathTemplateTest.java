@@ -0,0 +1,70 @@
+package fr.freshperf.pve4j.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProxmoxPathTemplate Tests")
+class ProxmoxPathTemplateTest {
+
+    @Test
+    @DisplayName("Should match placeholders against one segment")
+    void shouldMatchPlaceholdersAgainstOneSegment() {
+        ProxmoxPathTemplate template = ProxmoxPathTemplate.compile("/nodes/{node}/qemu/{vmid}/config");
+
+        assertThat(template.matches("nodes/pve1/qemu/100/config")).isTrue();
+        assertThat(template.matches("/nodes/pve1/qemu/100/config/")).isTrue();
+        assertThat(template.matches("nodes/pve1/qemu/100/status/current")).isFalse();
+        assertThat(template.matches("nodes/pve1/qemu/config")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match any remaining segments with a trailing wildcard")
+    void shouldMatchRemainingSegmentsWithTrailingWildcard() {
+        ProxmoxPathTemplate template = ProxmoxPathTemplate.compile("/cluster/**");
+
+        assertThat(template.matches("cluster")).isTrue();
+        assertThat(template.matches("cluster/resources")).isTrue();
+        assertThat(template.matches("cluster/ha/resources")).isTrue();
+        assertThat(template.matches("clusters")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should ignore leading and trailing slashes")
+    void shouldIgnoreLeadingAndTrailingSlashes() {
+        assertThat(ProxmoxPathTemplate.normalize("/version/")).isEqualTo("version");
+        assertThat(ProxmoxPathTemplate.compile("version").matches("/version")).isTrue();
+        assertThatThrownBy(() -> ProxmoxPathTemplate.compile("/"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should extract the node a path is scoped to")
+    void shouldExtractNodeOfPath() {
+        assertThat(ProxmoxPathTemplate.nodeOf("/nodes/pve1/qemu/100/config")).isEqualTo("pve1");
+        assertThat(ProxmoxPathTemplate.nodeOf("nodes/pve1")).isEqualTo("pve1");
+        assertThat(ProxmoxPathTemplate.nodeOf("nodes")).isNull();
+        assertThat(ProxmoxPathTemplate.nodeOf("cluster/resources")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should template identifiers out of a path")
+    void shouldTemplateIdentifiers() {
+        assertThat(ProxmoxPathTemplate.templateOf("/nodes/pve1/qemu/100/status/current"))
+                .isEqualTo("nodes/{node}/qemu/{vmid}/status/current");
+        assertThat(ProxmoxPathTemplate.templateOf("nodes/pve1/storage/local/content"))
+                .isEqualTo("nodes/{node}/storage/{storage}/content");
+        assertThat(ProxmoxPathTemplate.templateOf("nodes/pve1/tasks/UPID:pve1:0001:task/log"))
+                .isEqualTo("nodes/{node}/tasks/{upid}/log");
+        assertThat(ProxmoxPathTemplate.templateOf("cluster/backup/42")).isEqualTo("cluster/backup/{id}");
+        assertThat(ProxmoxPathTemplate.templateOf("cluster/resources")).isEqualTo("cluster/resources");
+    }
+
+    @Test
+    @DisplayName("Should not mistake an identifier for a collection")
+    void shouldNotMistakeIdentifierForCollection() {
+        assertThat(ProxmoxPathTemplate.templateOf("nodes/storage/qemu/100/config"))
+                .isEqualTo("nodes/{node}/qemu/{vmid}/config");
+    }
+}